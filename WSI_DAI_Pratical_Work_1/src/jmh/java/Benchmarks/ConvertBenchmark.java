@@ -0,0 +1,86 @@
+package Benchmarks;
+
+import Commands.ConvertBlackWhiteCommand;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class measures the Convert command (decode, grayscale, encode) on generated
+ *                PNG images, by resolution, color model of the decoded image and output format.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConvertBenchmark {
+    // region Parameters
+    @Param({"640x480", "1920x1080", "4000x3000"})
+    public String resolution;
+
+    @Param({"rgb", "argb", "gray", "indexed"})
+    public String colorModel;
+
+    @Param({"jpg", "png"})
+    public String outputFormat;
+    // endregion
+
+    // region Private Parameters
+    private Path directory;
+    private ConvertBlackWhiteCommand command;
+    private PrintStream out;
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : setUp
+     * Description  : Generates the input image and prepares the command.
+     * @throws IOException if the input image cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] size = resolution.split("x");
+        directory = Files.createTempDirectory("convert-benchmark");
+        Path input = directory.resolve("input.png");
+        SyntheticInputs.image(input, Integer.parseInt(size[0]), Integer.parseInt(size[1]), colorModel, "png");
+
+        command = new ConvertBlackWhiteCommand();
+        command.setInputImagePath(input.toString());
+        command.setOutputImagePath(directory.resolve("output." + outputFormat).toString());
+        out = SyntheticInputs.silence();
+    }
+
+    /**
+     * Nom          : convert
+     * Description  : Runs the Convert command on the input image.
+     */
+    @Benchmark
+    public void convert() {
+        command.run();
+    }
+
+    /**
+     * Nom          : tearDown
+     * Description  : Restores System.out and deletes the generated files.
+     * @throws IOException if a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(out);
+        Files.deleteIfExists(directory.resolve("input.png"));
+        Files.deleteIfExists(directory.resolve("output." + outputFormat));
+        Files.deleteIfExists(directory);
+    }
+    // endregion
+}
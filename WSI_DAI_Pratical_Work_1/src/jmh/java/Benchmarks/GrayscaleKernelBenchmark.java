@@ -0,0 +1,66 @@
+package Benchmarks;
+
+import Convert.GrayscaleConverter;
+import Convert.Luma;
+import org.openjdk.jmh.annotations.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class measures the grayscale kernels alone on an image in memory, without
+ *                the decode and the encode, by kernel and by layout of the image.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class GrayscaleKernelBenchmark {
+    // region Parameters
+    @Param({GrayscaleConverter.SIMD, GrayscaleConverter.SCALAR, GrayscaleConverter.JAVA2D})
+    public String kernel;
+
+    @Param({"1", "5", "6"})
+    public int imageType;
+    // endregion
+
+    // region Private Parameters
+    private BufferedImage image;
+    private GrayscaleConverter converter;
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : setUp
+     * Description  : Creates a 1920x1080 image of random pixels, TYPE_INT_RGB (1), TYPE_3BYTE_BGR (5)
+     *                or TYPE_4BYTE_ABGR (6).
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        image = new BufferedImage(1920, 1080, imageType);
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                image.setRGB(x, y, random.nextInt());
+        converter = new GrayscaleConverter(kernel, Luma.BT601);
+    }
+
+    /**
+     * Nom          : convert
+     * Description  : Converts the image to grayscale.
+     * @return      : The grayscale image, so the conversion is not removed by the JIT.
+     */
+    @Benchmark
+    public BufferedImage convert() {
+        return converter.convert(image);
+    }
+    // endregion
+}
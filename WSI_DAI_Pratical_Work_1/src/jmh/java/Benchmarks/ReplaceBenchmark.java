@@ -0,0 +1,99 @@
+package Benchmarks;
+
+import Commands.ReplaceCommand;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class measures the Replace command on generated text files, by file size,
+ *                line length, density of the searched word and first or all occurrences.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplaceBenchmark {
+    // region Parameters
+    @Param({"1048576", "16777216"})
+    public long fileSize;
+
+    @Param({"80", "65536"})
+    public int lineLength;
+
+    // Probability that a word is the searched word
+    @Param({"0.001", "0.05"})
+    public double matchDensity;
+
+    @Param({"true", "false"})
+    public String allOccurrences;
+
+    // UTF-8 : byte engine, US-ASCII : character engine, decoding the same ASCII text and encoding it to UTF-8
+    @Param({"UTF-8", "US-ASCII"})
+    public String inputEncoding;
+    // endregion
+
+    // region Private Parameters
+    private Path directory;
+    private ReplaceCommand command;
+    private PrintStream out;
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : setUp
+     * Description  : Generates the input file, creates the output file and prepares the command.
+     * @throws IOException if the input file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("replace-benchmark");
+        Path input = directory.resolve("input.txt");
+        SyntheticInputs.text(input, fileSize, lineLength, matchDensity);
+
+        command = new ReplaceCommand();
+        command.setInputFilePath(input.toString());
+        // The command writes in an existing output file
+        command.setOutputFilePath(Files.createFile(directory.resolve("output.txt")).toString());
+        command.setOldWord(SyntheticInputs.NEEDLE);
+        command.setNewWord("replacement");
+        command.setInputCharSet(inputEncoding);
+        command.setCharSet("UTF-8");
+        command.setReplaceAll(allOccurrences);
+        out = SyntheticInputs.silence();
+    }
+
+    /**
+     * Nom          : replace
+     * Description  : Runs the Replace command on the input file.
+     */
+    @Benchmark
+    public void replace() {
+        command.run();
+    }
+
+    /**
+     * Nom          : tearDown
+     * Description  : Restores System.out and deletes the generated files.
+     * @throws IOException if a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(out);
+        Files.deleteIfExists(directory.resolve("input.txt"));
+        Files.deleteIfExists(directory.resolve("output.txt"));
+        Files.deleteIfExists(directory);
+    }
+    // endregion
+}
@@ -0,0 +1,97 @@
+package Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class measures the startup of the application : each invocation starts a new JVM
+ *                on the shaded jar, like a shell script calling the CLI once per file, and waits for
+ *                its end. The class data sharing archive is built with the cds profile :
+ *                    mvn -P cds,jmh package -DskipTests
+ * -----------------------------------------------------------------------------------
+ **/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+    // region Parameters
+    // help : Replace --help, replace : Replace of a small file
+    @Param({"help", "replace"})
+    public String invocation;
+
+    // none : default JDK archive only, cds : archive of the cds profile, cds-c1 : archive and C1 compiler only
+    @Param({"none", "cds", "cds-c1"})
+    public String startup;
+
+    // Shaded jar of the application, relative to the working directory
+    @Param({"target/WSI_DAI_Pratical_Work_1-1.0-SNAPSHOT.jar"})
+    public String jar;
+    // endregion
+
+    // region Private Parameters
+    private List<String> command;
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : setUp
+     * Description  : Generates the input file and builds the command line of the JVM.
+     * @throws IOException if the jar or the archive is missing, or the input file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path application = Path.of(jar);
+        Path archive = Path.of(jar.replaceFirst("\\.jar$", ".jsa"));
+        if (!Files.exists(application))
+            throw new IOException("The jar " + application + " does not exist, run mvn package first.");
+
+        command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        if (!startup.equals("none")) {
+            if (!Files.exists(archive))
+                throw new IOException("The archive " + archive + " does not exist, run mvn -P cds package first.");
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        if (startup.equals("cds-c1"))
+            command.add("-XX:TieredStopAtLevel=1");
+        command.addAll(List.of("-jar", application.toString(), "Replace"));
+
+        if (invocation.equals("help")) {
+            command.add("--help");
+        } else {
+            Path directory = Files.createTempDirectory("startup-benchmark");
+            Path input = directory.resolve("input.txt");
+            SyntheticInputs.text(input, 4096, 80, 0.05);
+            Path output = Files.createFile(directory.resolve("output.txt"));
+            command.addAll(List.of(input.toString(), output.toString(), SyntheticInputs.NEEDLE, "replacement"));
+        }
+    }
+
+    /**
+     * Nom          : start
+     * Description  : Starts the application and waits for its end.
+     * @throws Exception if the application cannot be started or fails.
+     */
+    @Benchmark
+    public void start() throws Exception {
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (process.waitFor() != 0)
+            throw new IllegalStateException("The application exited with " + process.exitValue() + " : " + command);
+    }
+    // endregion
+}
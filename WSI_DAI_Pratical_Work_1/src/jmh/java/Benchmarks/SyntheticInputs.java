@@ -0,0 +1,134 @@
+package Benchmarks;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class generates the inputs of the benchmarks, so they run offline and give
+ *                the same files on every machine. The random generators have a fixed seed.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class SyntheticInputs {
+    // region Public Parameters
+    // Word searched by the Replace benchmarks
+    public static final String NEEDLE = "needle";
+    // endregion
+
+    // region Private Parameters
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna"};
+    // endregion
+
+    private SyntheticInputs() {
+    }
+
+    // region Public Method
+
+    /**
+     * Nom                : text
+     * Description        : Writes a UTF-8 text file made of random words.
+     * @param path        : Path of the file.
+     * @param size        : Size of the file in bytes (approximately, a word is never cut).
+     * @param lineLength  : Number of characters of a line.
+     * @param density     : Probability that a word is the NEEDLE.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void text(Path path, long size, int lineLength, double density) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            long written = 0;
+            int column = 0;
+            while (written < size) {
+                String word = random.nextDouble() < density ? NEEDLE : WORDS[random.nextInt(WORDS.length)];
+                if (column + word.length() >= lineLength && column > 0) {
+                    writer.write('\n');
+                    written += 1;
+                    column = 0;
+                } else if (column > 0) {
+                    writer.write(' ');
+                    written += 1;
+                    column += 1;
+                }
+                writer.write(word);
+                written += word.length();
+                column += word.length();
+            }
+        }
+    }
+
+    /**
+     * Nom               : image
+     * Description       : Writes an image of gradients and noise, which compresses like a photo.
+     * @param path       : Path of the image.
+     * @param width      : Width of the image.
+     * @param height     : Height of the image.
+     * @param colorModel : rgb, argb, gray or indexed, the layout of the image once decoded.
+     * @param format     : Format of the file, png keeps the color model.
+     * @throws IOException if the image cannot be written.
+     */
+    public static void image(Path path, int width, int height, String colorModel, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, imageType(colorModel));
+        Random random = new Random(42);
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                int noise = random.nextInt(16);
+                int red = (x * 255 / width + noise) & 0xFF;
+                int green = (y * 255 / height + noise) & 0xFF;
+                int blue = ((x + y) * 127 / (width + height) + noise) & 0xFF;
+                int alpha = 128 + (x * 127 / width);
+                image.setRGB(x, y, alpha << 24 | red << 16 | green << 8 | blue);
+            }
+        }
+        if (!ImageIO.write(image, format, path.toFile()))
+            throw new IOException("No writer for the format " + format + ".");
+    }
+
+    /**
+     * Nom          : silence
+     * Description  : Replaces System.out by a stream that drops everything, since the commands print a
+     *                message on each run.
+     * @return      : The previous System.out, to restore at the end of the benchmark.
+     */
+    public static PrintStream silence() {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return out;
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom               : imageType
+     * Description       : Returns the type of BufferedImage of a color model.
+     * @param colorModel : rgb, argb, gray or indexed.
+     * @return           : The type of image.
+     */
+    private static int imageType(String colorModel) {
+        switch (colorModel) {
+            case "rgb":
+                return BufferedImage.TYPE_3BYTE_BGR;
+            case "argb":
+                return BufferedImage.TYPE_4BYTE_ABGR;
+            case "gray":
+                return BufferedImage.TYPE_BYTE_GRAY;
+            case "indexed":
+                return BufferedImage.TYPE_BYTE_INDEXED;
+            default:
+                throw new IllegalArgumentException("Unknown color model " + colorModel + ".");
+        }
+    }
+    // endregion
+}
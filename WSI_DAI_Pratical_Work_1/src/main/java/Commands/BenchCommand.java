@@ -0,0 +1,468 @@
+package Commands;
+
+import Convert.OperationChain;
+import Utils.BenchResult;
+import Utils.SyntheticCorpus;
+import picocli.CommandLine;
+import picocli.CommandLine.*;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is used to perform the command that measures the Replace and Convert
+ *                commands on the machine it runs on, without real data. The inputs are generated from
+ *                a seed (see SyntheticCorpus), then each workload executes the real command, like a
+ *                job of the server : a few warm-up iterations for the JIT, then the measured ones. The
+ *                median and the 99th percentile of the durations, the throughputs and the peaks of the
+ *                heap and of the resident memory are printed as a table, and written as JSON with
+ *                --metrics-out.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@Command(name = "Bench", mixinStandardHelpOptions = true, version = "1.0",
+         description = "this command generates text files and images from a seed and measures the Replace and " +
+                       "Convert commands on them.")
+public class BenchCommand implements Runnable {
+    // region Public Parameters
+    public static final String REPLACE = "replace";
+    public static final String CONVERT = "convert";
+    public static final List<String> WORKLOADS = List.of(REPLACE, CONVERT);
+    // endregion
+
+    // region Private Parameters
+    // Replacement of the word of the text
+    private static final String REPLACEMENT = "noix";
+
+    // region Workloads
+    @Option(names = {"-wl", "--workloads"}, split = ",",
+            description = "Workloads to measure, replace and / or convert (default : replace,convert)")
+    private List<String> workloads = new ArrayList<>(WORKLOADS);
+
+    @Option(names = {"-wu", "--warmup"},
+            description = "Number of iterations of a workload before the measured ones (default : 3)", defaultValue = "3")
+    private int warmup = 3;
+
+    @Option(names = {"-it", "--iterations"},
+            description = "Number of measured iterations of a workload (default : 10)", defaultValue = "10")
+    private int iterations = 10;
+
+    @Option(names = {"-ro", "--replace-options"},
+            description = "Options added to the Replace command, for example \"-ao false\"")
+    private String replaceOptions = "";
+
+    @Option(names = {"-co", "--convert-options"},
+            description = "Options added to the Convert command, for example \"-rs 800x -bl dither\"")
+    private String convertOptions = "";
+    // endregion
+
+    // region Corpus
+    @Option(names = {"-sd", "--seed"},
+            description = "Seed of the generated inputs, the same seed gives the same files (default : 42)", defaultValue = "42")
+    private long seed = 42;
+
+    @Option(names = {"-ts", "--text-size"},
+            description = "Size of the text file of Replace in megabytes (default : 64)", defaultValue = "64")
+    private double textSize = 64;
+
+    @Option(names = {"-ll", "--line-length"},
+            description = "Number of characters of a line of the text (default : 80)", defaultValue = "80")
+    private int lineLength = 80;
+
+    @Option(names = {"-md", "--match-density"},
+            description = "Occurrences of the replaced word per megabyte of text (default : 100)", defaultValue = "100")
+    private double matchDensity = 100;
+
+    @Option(names = {"-is", "--image-size"},
+            description = "Resolution of the images of Convert, WIDTHxHEIGHT (default : 1920x1080)", defaultValue = "1920x1080")
+    private String imageSize = "1920x1080";
+
+    @Option(names = {"-cm", "--color-model"},
+            description = "Color model of the images, rgb, argb, gray or indexed (default : rgb)", defaultValue = "rgb")
+    private String colorModel = SyntheticCorpus.RGB;
+
+    @Option(names = {"-if", "--image-format"},
+            description = "Format of the input images, jpg or png (default : jpg)", defaultValue = "jpg")
+    private String imageFormat = "jpg";
+
+    @Option(names = {"-ic", "--images"},
+            description = "Number of images converted by an iteration, more than 1 for a batch (default : 1)", defaultValue = "1")
+    private int images = 1;
+
+    @Option(names = {"-wd", "--work-dir"},
+            description = "Directory of the generated inputs and of the outputs, kept after the run (default : a " +
+                          "temporary directory, deleted after the run)")
+    private String workDir;
+    // endregion
+
+    @Option(names = {"-me", "--metrics-out"},
+            description = "Write the results of the workloads in this JSON file")
+    private String metricsOutPath;
+
+    // Commands of the workloads, created once and reused by every iteration. The "@file" of a batch is the
+    // list of its inputs, picocli must not replace it with the lines of the file
+    private final CommandLine jobs = new CommandLine(new Jobs()).setExpandAtFiles(false);
+    // endregion
+
+    // region Method
+    // region Public Method
+
+    /**
+     * Nom          : run
+     * Description  : This is the method called when the bench command is used. The options are checked,
+     *                then each workload generates its inputs and is measured. The table of the results is
+     *                printed at the end.
+     */
+    @Override
+    public void run() {
+        Path directory = null;
+        try {
+            validateInput();
+            directory = workDir != null ? Files.createDirectories(Path.of(workDir)) : Files.createTempDirectory("bench");
+
+            List<BenchResult> results = new ArrayList<>();
+            for (String workload : workloads) {
+                Path workloadDir = Files.createDirectories(directory.resolve(workload));
+                results.add(workload.equals(REPLACE) ? benchReplace(workloadDir) : benchConvert(workloadDir));
+            }
+
+            System.out.println(BenchResult.HEADER);
+            results.forEach(System.out::println);
+            if (metricsOutPath != null)
+                Files.writeString(Path.of(metricsOutPath), toJson(results), StandardCharsets.UTF_8);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+        } finally {
+            if (workDir == null && directory != null)
+                deleteDirectory(directory);
+        }
+    }
+
+    // region Setter
+
+    /**
+     * Nom              : setWorkloads
+     * Description      : Defines the workloads to measure.
+     * @param workloads : Names of the workloads, from WORKLOADS.
+     * @info            : This setter exists only to be able to use the bench command in the test class.
+     */
+    public void setWorkloads(List<String> workloads) {
+        this.workloads = new ArrayList<>(workloads);
+    }
+
+    /**
+     * Nom               : setIterations
+     * Description       : Defines the number of warm-up and measured iterations.
+     * @param warmup     : Number of iterations before the measured ones.
+     * @param iterations : Number of measured iterations.
+     * @info             : This setter exists only to be able to use the bench command in the test class.
+     */
+    public void setIterations(int warmup, int iterations) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Nom             : setTextSize
+     * Description     : Defines the size of the text of Replace.
+     * @param textSize : Size in megabytes.
+     * @info           : This setter exists only to be able to use the bench command in the test class.
+     */
+    public void setTextSize(double textSize) {
+        this.textSize = textSize;
+    }
+
+    /**
+     * Nom              : setImageSize
+     * Description      : Defines the resolution of the images of Convert.
+     * @param imageSize : Resolution, WIDTHxHEIGHT.
+     * @info            : This setter exists only to be able to use the bench command in the test class.
+     */
+    public void setImageSize(String imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    /**
+     * Nom           : setImages
+     * Description   : Defines the number of images converted by an iteration.
+     * @param images : Number of images, more than 1 for a batch.
+     * @info         : This setter exists only to be able to use the bench command in the test class.
+     */
+    public void setImages(int images) {
+        this.images = images;
+    }
+
+    /**
+     * Nom               : setColorModel
+     * Description       : Defines the color model of the images of Convert.
+     * @param colorModel : One of SyntheticCorpus.COLOR_MODELS.
+     * @info             : This setter exists only to be able to use the bench command in the test class.
+     */
+    public void setColorModel(String colorModel) {
+        this.colorModel = colorModel;
+    }
+
+    /**
+     * Nom                   : setMetricsOutPath
+     * Description           : Defines the JSON file of the results.
+     * @param metricsOutPath : Path of the JSON file.
+     * @info                 : This setter exists only to be able to use the bench command in the test class.
+     */
+    public void setMetricsOutPath(String metricsOutPath) {
+        this.metricsOutPath = metricsOutPath;
+    }
+    // endregion
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : validateInput
+     * Description  : This function checks that the options are valid.
+     * @throws IOException if an option is incorrect.
+     */
+    private void validateInput() throws IOException {
+        if (workloads.isEmpty() || !WORKLOADS.containsAll(workloads))
+            throw new IOException("Invalid workloads. Supported workloads: " + String.join(", ", WORKLOADS) + ".");
+        if (warmup < 0 || iterations < 1)
+            throw new IOException("The number of iterations must be at least 1, and the warm-up cannot be negative.");
+        if (!(textSize > 0) || lineLength < 1 || matchDensity < 0)
+            throw new IOException("The size of the text and the length of a line must be positive, and the density " +
+                                  "cannot be negative.");
+        if (!SyntheticCorpus.COLOR_MODELS.contains(colorModel))
+            throw new IOException("Invalid color model. Supported color models: "
+                    + String.join(", ", SyntheticCorpus.COLOR_MODELS) + ".");
+        if (!imageFormat.equals("jpg") && !imageFormat.equals("png"))
+            throw new IOException("Invalid image format. Supported formats: jpg, png.");
+        if (imageFormat.equals("jpg") && !colorModel.equals(SyntheticCorpus.RGB) && !colorModel.equals(SyntheticCorpus.GRAY))
+            throw new IOException("The jpg format only supports the rgb and gray color models.");
+        if (images < 1)
+            throw new IOException("The number of images must be at least 1.");
+        int[] size = OperationChain.parseSize(imageSize);
+        if (size[0] == 0 || size[1] == 0)
+            throw new IOException("Invalid image size " + imageSize + ". Expected WIDTHxHEIGHT.");
+    }
+
+    /**
+     * Nom             : benchReplace
+     * Description     : Generates the text file and measures the Replace command on it.
+     * @param directory : Directory of the input and the output.
+     * @return          : The result of the workload.
+     * @throws IOException if the text cannot be written or the command fails.
+     */
+    private BenchResult benchReplace(Path directory) throws IOException {
+        Path input = directory.resolve("input.txt");
+        Path output = directory.resolve("output.txt");
+        long bytes = (long) (textSize * 1024 * 1024);
+        SyntheticCorpus.writeText(input, bytes, lineLength, matchDensity, seed);
+        // The output file must exist
+        Files.write(output, new byte[0]);
+
+        List<String> args = new ArrayList<>(List.of("Replace", input.toString(), output.toString(),
+                SyntheticCorpus.WORD, REPLACEMENT));
+        args.addAll(splitOptions(replaceOptions));
+        String description = String.format("%.1f MB, %d chars", textSize, lineLength);
+        return measure(REPLACE, description, bytes, 0, args);
+    }
+
+    /**
+     * Nom             : benchConvert
+     * Description     : Generates the images and measures the Convert command on them, as a batch when an
+     *                   iteration converts several images.
+     * @param directory : Directory of the inputs and the outputs.
+     * @return          : The result of the workload.
+     * @throws IOException if the images cannot be written or the command fails.
+     */
+    private BenchResult benchConvert(Path directory) throws IOException {
+        int[] size = OperationChain.parseSize(imageSize);
+        Path inputs = Files.createDirectories(directory.resolve("input"));
+        Path outputs = Files.createDirectories(directory.resolve("output"));
+        long bytes = 0;
+        for (int i = 0; i < images; ++i) {
+            Path image = inputs.resolve(i + "." + imageFormat);
+            SyntheticCorpus.writeImage(image, imageFormat, size[0], size[1], colorModel, seed + i);
+            bytes += Files.size(image);
+        }
+
+        List<String> args = new ArrayList<>();
+        if (images == 1)
+            args.addAll(List.of("Convert", inputs.resolve("0." + imageFormat).toString(), outputs.resolve("0.png").toString()));
+        else
+            args.addAll(List.of("Convert", inputs.toString(), outputs.toString(), "-b", "-f", "png"));
+        args.addAll(splitOptions(convertOptions));
+        String description = (images > 1 ? images + " x " : "") + size[0] + "x" + size[1] + " " + colorModel + " " + imageFormat;
+        return measure(CONVERT, description, bytes, (long) size[0] * size[1] * images, args);
+    }
+
+    /**
+     * Nom               : measure
+     * Description       : Executes a command for the warm-up iterations, then measures the duration of each
+     *                     other iteration and the peaks of memory. The messages of the command are not printed,
+     *                     an error of the command stops the workload.
+     * @param workload   : Name of the workload.
+     * @param input      : Description of the input.
+     * @param inputBytes : Bytes of the input of an iteration.
+     * @param pixels     : Pixels of the input of an iteration, 0 for a text.
+     * @param args       : Arguments of the command.
+     * @return           : The result of the workload.
+     * @throws IOException if the command fails.
+     */
+    private BenchResult measure(String workload, String input, long inputBytes, long pixels, List<String> args)
+            throws IOException {
+        String[] arguments = args.toArray(new String[0]);
+        for (int i = 0; i < warmup; ++i)
+            execute(workload, arguments);
+
+        resetPeaks();
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; ++i)
+            nanos[i] = execute(workload, arguments);
+        return new BenchResult(workload, input, inputBytes, pixels, nanos, peakHeap(), peakRss());
+    }
+
+    /**
+     * Nom             : execute
+     * Description     : Executes one iteration of a command, with its standard output discarded and its
+     *                   standard error captured.
+     * @param workload  : Name of the workload.
+     * @param arguments : Arguments of the command.
+     * @return          : Duration of the iteration in nanoseconds.
+     * @throws IOException if the command writes an error.
+     */
+    private long execute(String workload, String[] arguments) throws IOException {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        PrintStream stderr = System.err;
+        int exitCode;
+        long nanos;
+
+        try (PrintStream jobOut = new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8);
+             PrintStream jobErr = new PrintStream(err, true, StandardCharsets.UTF_8)) {
+            System.setOut(jobOut);
+            System.setErr(jobErr);
+            jobs.setOut(new PrintWriter(jobOut, true));
+            jobs.setErr(new PrintWriter(jobErr, true));
+            long start = System.nanoTime();
+            exitCode = jobs.execute(arguments);
+            nanos = System.nanoTime() - start;
+        } finally {
+            System.setOut(stdout);
+            System.setErr(stderr);
+        }
+
+        // The commands print their errors without an exit code
+        if (exitCode != 0 || err.size() > 0)
+            throw new IOException("The " + workload + " workload failed. " + err.toString(StandardCharsets.UTF_8).trim());
+        return nanos;
+    }
+
+    /**
+     * Nom          : resetPeaks
+     * Description  : Collects the garbage of the previous workload and resets the peaks of the heap pools and,
+     *                on Linux, of the resident memory of the process.
+     */
+    private static void resetPeaks() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP)
+                pool.resetPeakUsage();
+        try {
+            Files.writeString(Path.of("/proc/self/clear_refs"), "5");
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // Not Linux or an old kernel : the peak of the resident memory is the one of the process
+        }
+    }
+
+    /**
+     * Nom          : peakHeap
+     * Description  : Returns the peak of the heap since the last reset.
+     * @return      : Sum of the peaks of the heap pools, in bytes.
+     */
+    private static long peakHeap() {
+        long bytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP)
+                bytes += pool.getPeakUsage().getUsed();
+        return bytes;
+    }
+
+    /**
+     * Nom          : peakRss
+     * Description  : Returns the peak of the resident memory of the process (VmHWM of /proc/self/status).
+     * @return      : Number of bytes, -1 if the system does not give it.
+     */
+    private static long peakRss() {
+        try (Stream<String> lines = Files.lines(Path.of("/proc/self/status"))) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                    .map(line -> Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024)
+                    .findFirst().orElse(-1L);
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Nom           : splitOptions
+     * Description   : Splits the options added to a command on the spaces.
+     * @param options : Options, may be empty.
+     * @return        : The arguments.
+     */
+    private static List<String> splitOptions(String options) {
+        return options.isBlank() ? List.of() : Arrays.asList(options.trim().split("\\s+"));
+    }
+
+    /**
+     * Nom           : toJson
+     * Description   : Returns the options of the corpus and the results as a JSON object.
+     * @param results : Results of the workloads.
+     * @return        : The JSON text.
+     */
+    private String toJson(List<BenchResult> results) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"seed\": ").append(seed)
+            .append(",\n  \"warmup\": ").append(warmup)
+            .append(",\n  \"processors\": ").append(Runtime.getRuntime().availableProcessors())
+            .append(",\n  \"maxHeapBytes\": ").append(Runtime.getRuntime().maxMemory())
+            .append(",\n  \"results\": [");
+        for (int i = 0; i < results.size(); ++i)
+            json.append(i == 0 ? "\n    " : ",\n    ").append(results.get(i).toJson());
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    /**
+     * Nom             : deleteDirectory
+     * Description     : Deletes the temporary directory of the run, the files first.
+     * @param directory : Directory to delete.
+     */
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error: The directory " + directory + " cannot be deleted.");
+        }
+    }
+    // endregion
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Root of the commands measured by the workloads.
+     */
+    @Command(name = "CLI", subcommands = {ReplaceCommand.class, ConvertBlackWhiteCommand.class})
+    private static class Jobs {
+    }
+    // endregion
+}
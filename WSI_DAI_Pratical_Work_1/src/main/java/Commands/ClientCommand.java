@@ -0,0 +1,109 @@
+package Commands;
+
+import Utils.Json;
+import picocli.CommandLine.*;
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is used to perform the command that sends a Replace or Convert job to a
+ *                server started with the Serve command. It prints the output of the job and exits
+ *                with its exit code, as if the job had been executed by this JVM.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@Command(name = "Client", mixinStandardHelpOptions = true, version = "1.0",
+         description = "this command sends a Replace or Convert job to a server started with the Serve command. " +
+                       "The options of the client come before the job.")
+public class ClientCommand implements Callable<Integer> {
+    // region Private Parameters
+    @Option(names = {"-s", "--socket"}, required = true,
+            description = "Path of the Unix domain socket of the server")
+    private String socketPath;
+
+    @Option(names = {"--stop"},
+            description = "Stop the server (after the job, if there is one)")
+    private boolean stop;
+
+    @Parameters(paramLabel = "<Job>", arity = "0..*",
+                description = "Command executed by the server, with its arguments (for example Replace input.txt " +
+                              "output.txt oldWord newWord)")
+    private List<String> job = new ArrayList<>();
+    // endregion
+
+    // region Method
+    // region Public Method
+
+    /**
+     * Nom          : call
+     * Description  : This is the method called when the client command is used. The job is sent on the socket,
+     *                then its output and error are printed.
+     * @return      : Exit code of the job, 1 if the server cannot be reached.
+     */
+    @Override
+    public Integer call() {
+        if (job.isEmpty() && !stop) {
+            System.err.println("Error: No job to send.");
+            return 2;
+        }
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(Path.of(socketPath)));
+            BufferedReader answers = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            PrintWriter requests = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+
+            int exitCode = 0;
+            if (!job.isEmpty())
+                exitCode = send(requests, answers, "{\"args\": ["
+                        + job.stream().map(Json::quote).collect(Collectors.joining(", ")) + "]}");
+            if (stop)
+                send(requests, answers, "{\"stop\": true}");
+            return exitCode;
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom             : send
+     * Description     : Sends one job and prints its answer.
+     * @param requests : Lines sent to the server.
+     * @param answers  : Lines received from the server.
+     * @param request  : JSON line of the job.
+     * @return         : Exit code of the job.
+     * @throws IOException if the server closes the connection or its answer is not valid.
+     */
+    private static int send(PrintWriter requests, BufferedReader answers, String request) throws IOException {
+        requests.println(request);
+        requests.flush();
+        String answer = answers.readLine();
+        if (answer == null)
+            throw new IOException("The server closed the connection.");
+        if (!(Json.parse(answer) instanceof Map<?, ?> result) || !(result.get("exitCode") instanceof Long exitCode))
+            throw new IOException("Invalid answer of the server : " + answer);
+
+        if (result.get("out") instanceof String out)
+            System.out.print(out);
+        if (result.get("err") instanceof String err)
+            System.err.print(err);
+        return exitCode.intValue();
+    }
+    // endregion
+    // endregion
+}
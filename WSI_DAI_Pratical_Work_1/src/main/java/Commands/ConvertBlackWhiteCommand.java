@@ -1,9 +1,38 @@
 package Commands;
 
+import Convert.BilevelConverter;
+import Convert.GrayPngEncoder;
+import Convert.GrayscaleConverter;
+import Convert.ImageEncoder;
+import Convert.ImagePipeline;
+import Convert.Luma;
+import Convert.OperationChain;
+import Convert.RasterPool;
+import Convert.StripConverter;
+import Utils.BatchFiles;
+import Utils.BatchReport;
+import Utils.Metrics;
+import Utils.Progress;
+import Utils.ResultCache;
+import Utils.StandardStreams;
+import Utils.WorkerPool;
 import picocli.CommandLine.*;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * -----------------------------------------------------------------------------------
@@ -20,13 +49,136 @@ public class ConvertBlackWhiteCommand implements Runnable {
     // region Private Parameters
     // region Files Path
     @Parameters(paramLabel = "<Input-Image>", arity = "1", index = "0",
-                description = "Input image path")
+                description = "Input image path, - for the standard input (with --batch : directory, glob or @file " +
+                              "listing the inputs)")
     private String inputImagePath;
 
     @Parameters(paramLabel = "<Output-Image>", arity = "1", index = "1",
-                description = "Output image path")
+                description = "Output image path, - for the standard output (with --batch : output directory)")
     private String outputImagePath;
     // endregion
+
+    // region Conversion
+    @Option(names = {"-k", "--kernel"},
+            description = "Grayscale kernel : simd (Vector API, needs --add-modules jdk.incubator.vector), scalar (raw pixels) "
+                        + "or java2d (Graphics.drawImage, without --resize, --gamma or --threshold) (default : scalar)")
+    private String kernel = GrayscaleConverter.SCALAR;
+
+    @Option(names = {"-l", "--luma"},
+            description = "Weights of the red, green and blue components : bt601 or bt709 (default : bt601)")
+    private String luma = "bt601";
+
+    @Option(names = {"-sh", "--strip-height"},
+            description = "Decode and convert the image by strips of this number of rows, so it doesn't have to fit "
+                        + "in memory (default : 0, by strips only when the image is too large for the heap)")
+    private int stripHeight;
+    // endregion
+
+    // region Operations
+    @Option(names = {"-rs", "--resize"},
+            description = "Resize the gray image to WIDTHxHEIGHT, WIDTHx or xHEIGHT (the other side keeps the ratio), " +
+                          "by averaging the covered pixels")
+    private String resize;
+
+    @Option(names = {"-ga", "--gamma"},
+            description = "Gamma correction of the gray levels, above 1 to brighten them (default : 1, unchanged)",
+            defaultValue = "1")
+    private double gamma = 1.0;
+
+    @Option(names = {"-th", "--threshold"},
+            description = "Gray level from 0 to 255 from which a pixel becomes white, the others become black " +
+                          "(with --bilevel threshold : default 128)")
+    private Integer threshold;
+
+    @Option(names = {"-bl", "--bilevel"},
+            description = "Write a black and white PNG of 1 bit per pixel : threshold (the --threshold level), otsu " +
+                          "(level computed from the histogram) or dither (Floyd-Steinberg error diffusion)")
+    private String bilevel;
+    // endregion
+
+    // region Compression
+    @Option(names = {"-pl", "--png-level"},
+            description = "Deflate level of a PNG output, from 0 (stored) to 9 (smallest). A gray PNG is deflated by " +
+                          "all the processors (default : 4)", defaultValue = "4")
+    private int pngLevel = GrayPngEncoder.DEFAULT_LEVEL;
+
+    @Option(names = {"-jq", "--jpeg-quality"},
+            description = "Quality of a JPEG output, from 0 to 100 (default : 75)", defaultValue = "75")
+    private int jpegQuality = ImageEncoder.DEFAULT_JPEG_QUALITY;
+    // endregion
+
+    // region Batch
+    @Option(names = {"-b", "--batch"},
+            description = "Convert every image of a directory, a glob or a list of files (@file) in one run")
+    private boolean batch;
+
+    @Option(names = {"-f", "--format"},
+            description = "Output format of a batch or of the standard output : jpg, jpeg or png (default : format of " +
+                          "each input, png if not supported)")
+    private String format;
+
+    @Option(names = {"-dt", "--decode-threads"},
+            description = "Number of threads decoding the images of a batch (default : number of processors)")
+    private int decodeThreads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"-ct", "--convert-threads"},
+            description = "Number of threads converting the images of a batch (default : half the processors)")
+    private int convertThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    @Option(names = {"-et", "--encode-threads"},
+            description = "Number of threads encoding the images of a batch (default : number of processors)")
+    private int encodeThreads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"-qs", "--queue-size"},
+            description = "Number of images waiting between two stages of the batch pipeline (default : 8)", defaultValue = "8")
+    private int queueSize = 8;
+
+    @Option(names = {"-rp", "--raster-pool"},
+            description = "Maximum size in megabytes of the images of a batch kept to decode and convert the next " +
+                          "images of the same size into, 0 to allocate each image (default : 256)", defaultValue = "256")
+    private long rasterPoolSize = RasterPool.DEFAULT_SIZE_MB;
+    // endregion
+
+    // region Metrics
+    @Option(names = {"-me", "--metrics-out"},
+            description = "Write the duration of each phase, the bytes, the pixels and the allocations of the run "
+                        + "in this JSON file")
+    private String metricsOutPath;
+    // endregion
+
+    // region Progress
+    @Option(names = {"-pg", "--progress"},
+            description = "Print the progress of the run on the error output while it runs, as text or JSON lines " +
+                          "(text, json ; default : none)")
+    private String progressMode;
+
+    @Option(names = {"-pi", "--progress-interval"},
+            description = "Time in milliseconds between two progress reports (default : 1000)", defaultValue = "1000")
+    private long progressInterval = Progress.DEFAULT_INTERVAL_MILLIS;
+    // endregion
+
+    // region Cache
+    @Option(names = {"-cd", "--cache-dir"},
+            description = "Directory of a cache of the outputs : an image already converted with the same options is " +
+                          "copied from the cache instead of being converted again")
+    private String cacheDir;
+
+    @Option(names = {"-cs", "--cache-size"},
+            description = "Maximum size of the cache in megabytes, the least recently used outputs are deleted " +
+                          "(default : 1024)", defaultValue = "1024")
+    private long cacheSize = ResultCache.DEFAULT_SIZE_MB;
+    // endregion
+
+    // Cache of the outputs and parameters of their keys, built by validateInput when a cache directory is given
+    private ResultCache cache;
+    private List<String> cacheParameters;
+    // Standard input and output of the run, when the path is "-"
+    private StandardStreams.Input standardInput;
+    private StandardStreams.Output standardOutput;
+    // Progress of the run, null without --progress
+    private Progress progress;
+    // Threads shared by the jobs of the Serve command, null to start threads for each run
+    private WorkerPool workers;
     // endregion
 
     // region Method
@@ -42,13 +194,38 @@ public class ConvertBlackWhiteCommand implements Runnable {
      */
     @Override
     public void run() {
+        Metrics metrics = new Metrics("Convert", metricsOutPath != null);
         try {
-            long begin = System.currentTimeMillis();
-            validateInput();
-            convertToBlackAndWhite();
-            long end = System.currentTimeMillis();
-            long executionTime = end - begin;
-            System.out.println("The Convert command was successful!\nExecution time : " + executionTime + " ms");
+            try (Metrics.Phase phase = metrics.phase("validate")) {
+                if (batch)
+                    validateBatchInput();
+                else
+                    validateInput();
+            }
+            try (Progress progress = startProgress()) {
+                this.progress = progress;
+                if (batch)
+                    convertBatch(metrics);
+                else
+                    convertToBlackAndWhite(metrics);
+            } finally {
+                this.progress = null;
+            }
+            if (cache != null) {
+                metrics.count("cacheHits", cache.getHits());
+                metrics.count("cacheMisses", cache.getMisses());
+            }
+            metrics.finish();
+
+            // With the standard output, the messages would be mixed with the image
+            PrintStream messages = StandardStreams.messages(outputImagePath);
+            if (!batch)
+                messages.println("The Convert command was successful!\nExecution time : " + metrics.getTotalMillis() + " ms");
+            messages.println(metrics.summary());
+            if (cache != null)
+                messages.println(cache);
+            if (metricsOutPath != null)
+                metrics.write(Path.of(metricsOutPath));
         } catch (IOException e) {
             System.err.println("Error: " + e.getMessage());
         }
@@ -77,35 +254,547 @@ public class ConvertBlackWhiteCommand implements Runnable {
     public void setOutputImagePath(String outputImagePath) {
         this.outputImagePath = outputImagePath;
     }
+
+    /**
+     * Nom          : setBatch
+     * Description  : Defines if the input is a batch of images (directory, glob or @file).
+     * @param batch : true for a batch.
+     * @info        : This setter exists only to be able to use the convert command in
+     *                the test class.
+     */
+    public void setBatch(boolean batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Nom           : setFormat
+     * Description   : Defines the output format of a batch.
+     * @param format : jpg, jpeg or png.
+     * @info         : This setter exists only to be able to use the convert command in
+     *                 the test class.
+     */
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * Nom           : setKernel
+     * Description   : Defines the kernel converting the pixels to grayscale.
+     * @param kernel : simd, scalar or java2d.
+     * @info         : This setter exists only to be able to use the convert command in
+     *                 the test class.
+     */
+    public void setKernel(String kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * Nom           : setLuma
+     * Description   : Defines the weights of the red, green and blue components.
+     * @param luma   : bt601 or bt709.
+     * @info         : This setter exists only to be able to use the convert command in
+     *                 the test class.
+     */
+    public void setLuma(String luma) {
+        this.luma = luma;
+    }
+
+    /**
+     * Nom                : setStripHeight
+     * Description        : Defines the number of rows of the strips of a conversion by strips.
+     * @param stripHeight : Number of rows, 0 to convert by strips only the images too large for the heap.
+     * @info              : This setter exists only to be able to use the convert command in
+     *                      the test class.
+     */
+    public void setStripHeight(int stripHeight) {
+        this.stripHeight = stripHeight;
+    }
+
+    /**
+     * Nom                   : setMetricsOutPath
+     * Description           : Defines the JSON file receiving the metrics of the run.
+     * @param metricsOutPath : Path of the JSON file.
+     * @info                 : This setter exists only to be able to use the convert command in
+     *                         the test class.
+     */
+    public void setMetricsOutPath(String metricsOutPath) {
+        this.metricsOutPath = metricsOutPath;
+    }
+
+    /**
+     * Nom             : setCacheDir
+     * Description     : Defines the directory of the cache of the outputs.
+     * @param cacheDir : Path of the directory, null to convert without cache.
+     * @info           : This setter exists only to be able to use the convert command in
+     *                   the test class.
+     */
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Nom           : setResize
+     * Description   : Defines the size of the gray image.
+     * @param resize : WIDTHxHEIGHT, WIDTHx or xHEIGHT, null to keep the size of the input.
+     * @info         : This setter exists only to be able to use the convert command in
+     *                 the test class.
+     */
+    public void setResize(String resize) {
+        this.resize = resize;
+    }
+
+    /**
+     * Nom          : setGamma
+     * Description  : Defines the gamma correction of the gray levels.
+     * @param gamma : Gamma, 1 to keep the levels.
+     * @info        : This setter exists only to be able to use the convert command in
+     *                the test class.
+     */
+    public void setGamma(double gamma) {
+        this.gamma = gamma;
+    }
+
+    /**
+     * Nom              : setThreshold
+     * Description      : Defines the gray level from which a pixel becomes white.
+     * @param threshold : Level from 0 to 255, null for no threshold.
+     * @info            : This setter exists only to be able to use the convert command in
+     *                    the test class.
+     */
+    public void setThreshold(Integer threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Nom            : setBilevel
+     * Description    : Defines the conversion of the gray image to 1 bit per pixel.
+     * @param bilevel : threshold, otsu or dither, null to keep the gray image.
+     * @info          : This setter exists only to be able to use the convert command in
+     *                  the test class.
+     */
+    public void setBilevel(String bilevel) {
+        this.bilevel = bilevel;
+    }
+
+    /**
+     * Nom             : setPngLevel
+     * Description     : Defines the deflate level of a PNG output.
+     * @param pngLevel : Level, from 0 to 9.
+     * @info           : This setter exists only to be able to use the convert command in
+     *                   the test class.
+     */
+    public void setPngLevel(int pngLevel) {
+        this.pngLevel = pngLevel;
+    }
+
+    /**
+     * Nom                : setJpegQuality
+     * Description        : Defines the quality of a JPEG output.
+     * @param jpegQuality : Quality, from 0 to 100.
+     * @info              : This setter exists only to be able to use the convert command in
+     *                      the test class.
+     */
+    public void setJpegQuality(int jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Nom              : setCacheSize
+     * Description      : Defines the maximum size of the cache of the outputs.
+     * @param cacheSize : Size in megabytes.
+     * @info            : This setter exists only to be able to use the convert command in
+     *                    the test class.
+     */
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Nom                   : setRasterPoolSize
+     * Description           : Defines the maximum size of the images kept by the batch pipeline.
+     * @param rasterPoolSize : Size in megabytes, 0 to allocate each image.
+     * @info                 : This setter exists only to be able to use the convert command in
+     *                         the test class.
+     */
+    public void setRasterPoolSize(long rasterPoolSize) {
+        this.rasterPoolSize = rasterPoolSize;
+    }
+
+    /**
+     * Nom                 : setProgress
+     * Description         : Defines how the progress of the run is printed on the error output.
+     * @param progressMode : text or json, null to print nothing.
+     * @info               : This setter exists only to be able to use the convert command in
+     *                       the test class.
+     */
+    public void setProgress(String progressMode) {
+        this.progressMode = progressMode;
+    }
+
+    /**
+     * Nom            : setWorkers
+     * Description    : Runs the threads of the next runs on a pool kept between the runs.
+     * @param workers : Pool owned by the Serve command, null to start threads for each run.
+     */
+    public void setWorkers(WorkerPool workers) {
+        this.workers = workers;
+    }
     // endregion
     // endregion
 
     // region Private Method
 
     /**
-     * Nom          : convertToBlackAndWhite
-     * Description  : This function converts input image to black & white.
+     * Nom           : convertToBlackAndWhite
+     * Description   : This function converts input image to black & white. With a cache, an unchanged image
+     *                 converted with the same options is copied from the cache. The input and the output
+     *                 can be the standard streams ("-"), the format of the standard output is the format
+     *                 option.
+     * @param metrics : Metrics of the run.
      * @throws IOException if the input image or output path does not exist.
      * @throws IOException if the image format is incorrect.
      * @throws IllegalArgumentException if the output file extension is not valid for the output format.
      */
-    private void convertToBlackAndWhite() throws IOException, IllegalArgumentException {
-        // Loading the input image
-        BufferedImage image = ImageIO.read(new File(inputImagePath));
-
-        // Create a new image with the same dimensions as the input image
-        BufferedImage blackAndWhiteImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
-        blackAndWhiteImage.getGraphics().drawImage(image, 0, 0, null);
-
+    private void convertToBlackAndWhite(Metrics metrics) throws IOException, IllegalArgumentException {
         // Get output file extension
-        String outputExtension = outputImagePath.substring(outputImagePath.lastIndexOf(".") + 1).toLowerCase();
+        String outputExtension = StandardStreams.isStandard(outputImagePath) ? format.toLowerCase()
+                : outputImagePath.substring(outputImagePath.lastIndexOf(".") + 1).toLowerCase();
 
         // Check if the extension is valid for the output format
         if (!isValidOutputFormat(outputExtension))
             throw new IllegalArgumentException("Invalid output format. Supported formats: jpg, jpeg, png.");
 
-        // Save converted black & white image in jpg format
-        ImageIO.write(blackAndWhiteImage, outputExtension, new File(outputImagePath));
+        if (bilevel != null && !outputExtension.equals("png"))
+            throw new IOException("A black and white image of 1 bit can only be written as png.");
+
+        Path input = Path.of(inputImagePath);
+        Path output = Path.of(outputImagePath);
+        String cacheKey = null;
+        long pixels = -1;
+        standardInput = StandardStreams.isStandard(inputImagePath) ? StandardStreams.in() : null;
+        standardOutput = StandardStreams.isStandard(outputImagePath) ? StandardStreams.out() : null;
+
+        if (cache != null) {
+            try (Metrics.Phase phase = metrics.phase("cache-lookup")) {
+                cacheKey = cache.key(input, withFormat(outputExtension));
+                pixels = cache.restore(cacheKey, output);
+            }
+        }
+
+        if (pixels < 0) {
+            pixels = convertImage(outputExtension, metrics);
+            if (cache != null) {
+                try (Metrics.Phase phase = metrics.phase("cache-store")) {
+                    cache.store(cacheKey, output, pixels);
+                }
+            }
+        }
+
+        metrics.count("inputBytes", standardInput != null ? standardInput.getBytes() : Files.size(input));
+        metrics.count("outputBytes", standardOutput != null ? standardOutput.getBytes() : Files.size(output));
+        metrics.count("pixels", pixels);
+        if (progress != null)
+            progress.add(1);
+    }
+
+    /**
+     * Nom                   : convertImage
+     * Description           : Decodes the input image, converts it and writes the output image.
+     * @param outputExtension : Format of the output image.
+     * @param metrics         : Metrics of the run.
+     * @return                : Number of pixels of the image.
+     * @throws IOException if the image cannot be read or written.
+     */
+    private long convertImage(String outputExtension, Metrics metrics) throws IOException {
+        GrayscaleConverter converter = createConverter();
+        BilevelConverter bilevelConverter = createBilevel(Runtime.getRuntime().availableProcessors());
+        ImageEncoder encoder = createEncoder(Runtime.getRuntime().availableProcessors());
+
+        try (ImageInputStream input = openInput(); ImageOutputStream output = openOutput()) {
+            // A huge image is decoded and converted by strips, without the whole color image in memory
+            boolean fits = standardInput != null ? StripConverter.fitsInMemory(input)
+                    : StripConverter.fitsInMemory(new File(inputImagePath));
+            if (stripHeight > 0 || !fits) {
+                // Otsu needs the histogram of the whole image and the dithering carries its errors over the rows
+                if (bilevelConverter != null)
+                    throw new IOException("A black and white image of 1 bit cannot be converted by strips.");
+                try (Metrics.Phase phase = metrics.phase("decode-transform-encode")) {
+                    return new StripConverter(converter, stripHeight, encoder).convert(input, output, outputExtension);
+                }
+            }
+
+            BufferedImage image;
+            BufferedImage blackAndWhiteImage;
+
+            // Loading the input image
+            try (Metrics.Phase phase = metrics.phase("decode")) {
+                image = decode(input);
+            }
+
+            // Create a new image with the same dimensions as the input image
+            try (Metrics.Phase phase = metrics.phase("transform")) {
+                blackAndWhiteImage = converter.convert(image);
+                if (bilevelConverter != null)
+                    blackAndWhiteImage = bilevelConverter.convert(blackAndWhiteImage);
+            }
+
+            // Save converted black & white image in jpg format
+            try (Metrics.Phase phase = metrics.phase("encode-write")) {
+                encoder.write(blackAndWhiteImage, outputExtension, output);
+            }
+            return (long) image.getWidth() * image.getHeight();
+        } finally {
+            // The memory cache of the output is written to the standard output when it is closed
+            if (standardOutput != null)
+                standardOutput.flush();
+        }
+    }
+
+    /**
+     * Nom          : openInput
+     * Description  : Opens the input image. The standard input is kept in memory as it is read, since its
+     *                size and its strips are read from its start, but never written to a temporary file.
+     * @return      : Stream of the input image.
+     * @throws IOException if the input image cannot be opened.
+     */
+    private ImageInputStream openInput() throws IOException {
+        if (standardInput != null) {
+            return new MemoryCacheImageInputStream(standardInput) {
+                @Override
+                public void flushBefore(long position) {
+                    // The readers flush the bytes they have read, they are kept to go back to the start
+                }
+            };
+        }
+        ImageInputStream stream = ImageIO.createImageInputStream(new File(inputImagePath));
+        if (stream == null)
+            throw new IOException("The input file cannot be read.");
+        return stream;
+    }
+
+    /**
+     * Nom          : openOutput
+     * Description  : Opens the output image, replaced, or the standard output.
+     * @return      : Stream of the output image.
+     * @throws IOException if the output image cannot be created.
+     */
+    private ImageOutputStream openOutput() throws IOException {
+        if (standardOutput != null)
+            return new MemoryCacheImageOutputStream(standardOutput);
+        // The stream of a file overwrites it without truncating it
+        Files.deleteIfExists(Path.of(outputImagePath));
+        ImageOutputStream stream = ImageIO.createImageOutputStream(new File(outputImagePath));
+        if (stream == null)
+            throw new IOException("The output file cannot be created.");
+        return stream;
+    }
+
+    /**
+     * Nom           : decode
+     * Description   : Decodes an image, without closing its stream like ImageIO.read does.
+     * @param stream : Stream of the image.
+     * @return       : The decoded image.
+     * @throws IOException if the image cannot be decoded.
+     */
+    private BufferedImage decode(ImageInputStream stream) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        if (!readers.hasNext())
+            throw new IOException("The input file is not a supported image.");
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(stream, true, true);
+            return reader.read(0);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Nom           : convertBatch
+     * Description   : This function converts every image of the batch with a pipeline of decode, grayscale
+     *                 and encode stages, then prints one report and the throughput of each stage.
+     * @param metrics : Metrics of the run.
+     * @throws IOException if the images of the batch cannot be listed.
+     */
+    private void convertBatch(Metrics metrics) throws IOException {
+        ImagePipeline pipeline = new ImagePipeline(decodeThreads, convertThreads, encodeThreads, queueSize, createConverter());
+        if (cache != null)
+            pipeline.setCache(cache, this::withFormat);
+        pipeline.setEncoder(createEncoder(1));
+        pipeline.setBilevel(createBilevel(1));
+        RasterPool pool = rasterPoolSize > 0 ? new RasterPool(rasterPoolSize * 1024 * 1024) : null;
+        pipeline.setPool(pool);
+        pipeline.setProgress(progress);
+        List<BatchFiles.Job> images;
+        BatchReport report;
+
+        try (Metrics.Phase phase = metrics.phase("list")) {
+            images = listBatch();
+        }
+        try (Metrics.Phase phase = metrics.phase("convert")) {
+            report = pipeline.run(images);
+        }
+        report.print("Convert", "Pixels");
+        pipeline.printStages();
+        if (pool != null) {
+            System.out.println(pool);
+            metrics.count("poolHits", pool.getHits());
+            metrics.count("poolRecycledBytes", pool.getRecycledBytes());
+        }
+
+        metrics.count("files", report.getSucceeded());
+        metrics.count("failedFiles", report.getFailed());
+        metrics.count("inputBytes", report.getInputBytes());
+        metrics.count("outputBytes", report.getOutputBytes());
+        metrics.count("pixels", report.getItems());
+    }
+
+    /**
+     * Nom          : startProgress
+     * Description  : Starts the progress of the run, in images. A single image counts once it is written,
+     *                the pipeline of a batch gives the total once the images are listed.
+     * @return      : The progress, or null without --progress.
+     */
+    private Progress startProgress() {
+        if (progressMode == null)
+            return null;
+        Progress progress = new Progress("Convert", Progress.IMAGES, progressMode, progressInterval, System.err);
+        if (!batch)
+            progress.setTotal(1);
+        progress.start();
+        return progress;
+    }
+
+    /**
+     * Nom           : withFormat
+     * Description   : Returns the parameters of the key of an image in the cache.
+     * @param format : Format of the output image.
+     * @return       : The options of the conversion and the format.
+     */
+    private List<String> withFormat(String format) {
+        List<String> parameters = new ArrayList<>(cacheParameters);
+        parameters.add(format);
+        return parameters;
+    }
+
+    /**
+     * Nom          : createConverter
+     * Description  : Creates the grayscale converter of the kernel, luma and operation options.
+     * @return      : The converter.
+     */
+    private GrayscaleConverter createConverter() {
+        GrayscaleConverter converter = new GrayscaleConverter(kernel, Luma.fromName(luma), createOperations());
+        if (!converter.getKernelName().equals(kernel))
+            System.err.println("Warning: the jdk.incubator.vector module is not available, the " + converter.getKernelName() + " kernel is used.");
+        return converter;
+    }
+
+    /**
+     * Nom          : createOperations
+     * Description  : Creates the chain of the resize, gamma and threshold options.
+     * @return      : The operations.
+     * @throws IllegalArgumentException if an option is not valid.
+     */
+    private OperationChain createOperations() {
+        int[] size = resize != null ? OperationChain.parseSize(resize) : new int[] {0, 0};
+        // With --bilevel, the threshold is the level of the conversion to 1 bit
+        int level = threshold != null && bilevel == null ? threshold : -1;
+        return new OperationChain(size[0], size[1], gamma, level);
+    }
+
+    /**
+     * Nom            : createBilevel
+     * Description    : Creates the conversion to 1 bit of the bilevel option.
+     * @param threads : Number of threads converting the rows.
+     * @return        : The conversion, null without the bilevel option.
+     * @throws IllegalArgumentException if the mode or the threshold is not valid.
+     */
+    private BilevelConverter createBilevel(int threads) {
+        if (bilevel == null)
+            return null;
+        return new BilevelConverter(bilevel.toLowerCase(), threshold != null ? threshold : BilevelConverter.DEFAULT_THRESHOLD, threads,
+                workers);
+    }
+
+    /**
+     * Nom            : createEncoder
+     * Description    : Creates the writer of the output images with the compression options.
+     * @param threads : Number of threads deflating a gray PNG image.
+     * @return        : The encoder.
+     */
+    private ImageEncoder createEncoder(int threads) {
+        return new ImageEncoder(pngLevel, jpegQuality, threads, workers);
+    }
+
+    /**
+     * Nom          : listBatch
+     * Description  : Lists the images of the batch. The files of a directory or a glob that no image reader
+     *                supports are skipped. The extension of each output is replaced by the output format,
+     *                so a.png and a.jpg of the same directory are refused if they would both become a.png.
+     * @return      : The images of the batch.
+     * @throws IOException if the images of the batch cannot be listed, or if an output would overwrite an
+     *                     input or another output.
+     */
+    private List<BatchFiles.Job> listBatch() throws IOException {
+        Set<String> readable = Arrays.stream(ImageIO.getReaderFileSuffixes())
+                .map(String::toLowerCase).collect(Collectors.toSet());
+
+        List<BatchFiles.Job> images = BatchFiles.list(inputImagePath, Path.of(outputImagePath)).stream()
+                .filter(job -> inputImagePath.startsWith("@") || readable.contains(extensionOf(job.getInput().toString())))
+                .map(job -> {
+                    String output = job.getOutput().toString();
+                    String extension = extensionOf(output);
+                    String outputFormat = format != null ? format.toLowerCase()
+                            : bilevel == null && isValidOutputFormat(extension) ? extension : "png";
+                    int dot = output.lastIndexOf('.');
+                    String name = dot > output.lastIndexOf(File.separatorChar) ? output.substring(0, dot) : output;
+                    return new BatchFiles.Job(job.getInput(), Path.of(name + "." + outputFormat));
+                })
+                .collect(Collectors.toList());
+        BatchFiles.checkOutputs(images);
+        return images;
+    }
+
+    /**
+     * Nom          : extensionOf
+     * Description  : Returns the extension of a path, in lower case.
+     * @param path  : Path of a file.
+     * @return      : Extension without the dot, empty if there's none.
+     */
+    private String extensionOf(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf(File.separatorChar) ? path.substring(dot + 1).toLowerCase() : "";
+    }
+
+    /**
+     * Nom          : validateBatchInput
+     * Description  : This function checks that the arguments given for a batch are valid.
+     * @throws IOException if an argument is incorrect.
+     */
+    private void validateBatchInput() throws IOException {
+        if (StandardStreams.isStandard(inputImagePath) || StandardStreams.isStandard(outputImagePath))
+            throw new IOException("The standard input and output cannot be used in batch mode.");
+
+        if (inputImagePath.startsWith("@")) {
+            if (!new File(inputImagePath.substring(1)).isFile())
+                throw new IOException("The list of input images does not exist.");
+        } else if (!BatchFiles.isGlob(inputImagePath) && !new File(inputImagePath).isDirectory()) {
+            throw new IOException("The input directory does not exist.");
+        }
+
+        if (!new File(outputImagePath).isDirectory())
+            throw new IOException("The output directory does not exist.");
+
+        if (format != null && !isValidOutputFormat(format.toLowerCase()))
+            throw new IOException("Invalid output format. Supported formats: jpg, jpeg, png.");
+
+        if (decodeThreads < 1 || convertThreads < 1 || encodeThreads < 1 || queueSize < 1)
+            throw new IOException("Number of threads and queue size must be at least 1.");
+
+        if (rasterPoolSize < 0)
+            throw new IOException("The size of the raster pool cannot be negative.");
+
+        validateOptions();
     }
 
     /**
@@ -115,21 +804,97 @@ public class ConvertBlackWhiteCommand implements Runnable {
      * @throws IOException If the output image directory does not exist.
      */
     private void validateInput() throws IOException {
+        boolean standardIn = StandardStreams.isStandard(inputImagePath);
+        boolean standardOut = StandardStreams.isStandard(outputImagePath);
         // Create File object for input image
         File inputImage = new File(inputImagePath);
 
         // Check existence of input image
-        if (!inputImage.exists())
+        if (!standardIn && !inputImage.exists())
             throw new IOException("The input file does not exist.");
 
         // Check that the input image is a valid file (not a directory)
-        if (!inputImage.isFile())
+        if (!standardIn && !inputImage.isFile())
             throw new IOException("The input file is invalid.");
 
         // Check that the output directory exists
         File outputDir = new File(outputImagePath).getParentFile();
-        if (outputDir != null && !outputDir.exists())
+        if (!standardOut && outputDir != null && !outputDir.exists())
             throw new IOException("The output directory does not exist.");
+
+        // The standard output has no extension giving its format
+        if (standardOut && format == null)
+            throw new IOException("The format of the standard output must be given with --format.");
+
+        if (format != null && !isValidOutputFormat(format.toLowerCase()))
+            throw new IOException("Invalid output format. Supported formats: jpg, jpeg, png.");
+
+        validateOptions();
+
+        if ((standardIn || standardOut) && cache != null)
+            throw new IOException("The cache cannot be used with the standard input or output.");
+    }
+
+    /**
+     * Nom          : validateOptions
+     * Description  : This function checks the options of the conversion, shared by a single image and a batch.
+     * @throws IOException if the kernel or the luma is unknown.
+     */
+    private void validateOptions() throws IOException {
+        if (!GrayscaleConverter.KERNELS.contains(kernel))
+            throw new IOException("Invalid kernel. Supported kernels: " + String.join(", ", GrayscaleConverter.KERNELS) + ".");
+
+        if (Luma.fromName(luma) == null)
+            throw new IOException("Invalid luma. Supported lumas: bt601, bt709.");
+
+        if (stripHeight < 0)
+            throw new IOException("The strip height cannot be negative.");
+
+        if (pngLevel < 0 || pngLevel > 9)
+            throw new IOException("The PNG level must be between 0 and 9.");
+
+        if (jpegQuality < 0 || jpegQuality > 100)
+            throw new IOException("The JPEG quality must be between 0 and 100.");
+
+        // The resize, gamma and threshold are checked by the chain
+        OperationChain operations;
+        BilevelConverter bilevelConverter;
+        try {
+            operations = createOperations();
+            bilevelConverter = createBilevel(1);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+
+        if (kernel.equals(GrayscaleConverter.JAVA2D) && !operations.parameters().isEmpty())
+            throw new IOException("The resize, gamma and threshold can only be used with the scalar and simd kernels.");
+
+        if (bilevelConverter != null && threshold != null && !bilevel.equalsIgnoreCase(BilevelConverter.THRESHOLD))
+            throw new IOException("The threshold can only be given with the threshold bilevel mode.");
+
+        if (bilevelConverter != null && format != null && !format.equalsIgnoreCase("png"))
+            throw new IOException("A black and white image of 1 bit can only be written as png.");
+
+        if (cacheSize < 1)
+            throw new IOException("The cache size must be at least 1 megabyte.");
+
+        if (progressMode != null && !Progress.MODES.contains(progressMode))
+            throw new IOException("Unknown progress mode " + progressMode + ". Supported modes: "
+                    + String.join(", ", Progress.MODES) + ".");
+
+        if (progressInterval < 1)
+            throw new IOException("The progress interval must be at least 1 ms.");
+
+        cache = null;
+        if (cacheDir != null) {
+            cache = new ResultCache(Path.of(cacheDir), cacheSize * 1024 * 1024);
+            // Everything which changes the output, except its format, added for each image
+            cacheParameters = new ArrayList<>(List.of("Convert", kernel, Luma.fromName(luma).name()));
+            cacheParameters.addAll(operations.parameters());
+            if (bilevelConverter != null)
+                cacheParameters.addAll(bilevelConverter.parameters());
+            cacheParameters.addAll(createEncoder(1).parameters());
+        }
     }
 
     /**
@@ -0,0 +1,116 @@
+package Commands;
+
+import Replace.WordIndex;
+import Utils.Metrics;
+import Utils.StandardStreams;
+import picocli.CommandLine.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is used to perform the command that builds the index of a text file. The
+ *                Replace command then searches a word of the file at the offsets of the index instead
+ *                of scanning the whole file, as long as the file does not change.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@Command(name = "Index", mixinStandardHelpOptions = true, version = "1.0",
+         description = "this command builds the index of a text file, used by the Replace command to search a word " +
+                       "without reading the whole file.")
+public class IndexCommand implements Runnable {
+    // region Private Parameters
+    @Parameters(paramLabel = "<Input-File>", arity = "1", index = "0",
+                description = "Text file to index")
+    private String inputFilePath;
+
+    @Option(names = {"-ix", "--index"},
+            description = "Path of the index (default : <Input-File>.idx, found there by the Replace command)")
+    private String indexPath;
+
+    @Option(names = {"-mb", "--memory"},
+            description = "Megabytes of offsets kept in memory while building, the others are written to a " +
+                          "temporary file next to the index and merged at the end (default : 64)", defaultValue = "64")
+    private long memory = WordIndex.DEFAULT_MEMORY / (1024 * 1024);
+    // endregion
+
+    // region Method
+    // region Public Method
+
+    /**
+     * Nom          : run
+     * Description  : This is the method called when the index command is used. The file is checked, then
+     *                indexed, and the size of the index is displayed with the execution time.
+     */
+    @Override
+    public void run() {
+        Metrics metrics = new Metrics("Index", false);
+        try {
+            try (Metrics.Phase phase = metrics.phase("validate")) {
+                validateInput();
+            }
+            Path input = Path.of(inputFilePath);
+            Path index = indexPath != null ? Path.of(indexPath) : WordIndex.defaultPath(input);
+            long offsets;
+            try (Metrics.Phase phase = metrics.phase("index")) {
+                offsets = WordIndex.build(input, index, memory * 1024 * 1024);
+            }
+            metrics.count("inputBytes", Files.size(input));
+            metrics.count("outputBytes", Files.size(index));
+            metrics.count("offsets", offsets);
+            metrics.finish();
+
+            System.out.println("The Index command was successful!\nExecution time : " + metrics.getTotalMillis() + " ms");
+            System.out.println(metrics.summary());
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    // region Setter
+
+    /**
+     * Nom                  : setInputFilePath
+     * Description          : Defines the path of the file to index.
+     * @param inputFilePath : Path of the input file.
+     * @info                : This setter exists only to be able to use the index command in the test class.
+     */
+    public void setInputFilePath(String inputFilePath) {
+        this.inputFilePath = inputFilePath;
+    }
+
+    /**
+     * Nom              : setIndexPath
+     * Description      : Defines the path of the index.
+     * @param indexPath : Path of the index, null for the default path.
+     * @info            : This setter exists only to be able to use the index command in the test class.
+     */
+    public void setIndexPath(String indexPath) {
+        this.indexPath = indexPath;
+    }
+    // endregion
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : validateInput
+     * Description  : This function checks that the file to index exists.
+     * @throws IOException if an argument is incorrect.
+     */
+    private void validateInput() throws IOException {
+        if (StandardStreams.isStandard(inputFilePath))
+            throw new IOException("The standard input cannot be indexed.");
+
+        if (!new File(inputFilePath).isFile())
+            throw new IOException("Input file does not exist.");
+
+        if (memory < 1)
+            throw new IOException("The memory must be at least 1 megabyte.");
+    }
+    // endregion
+    // endregion
+}
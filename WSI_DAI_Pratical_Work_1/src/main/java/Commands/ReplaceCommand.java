@@ -1,9 +1,38 @@
 package Commands;
 
+import Replace.ByteReplacer;
+import Replace.LiteralMatcher;
+import Replace.MultiWordMatcher;
+import Replace.ParallelReplacer;
+import Replace.RegexMatcher;
+import Replace.Replacer;
+import Replace.StreamReplacer;
+import Replace.WordMapping;
+import Replace.WordIndex;
+import Replace.WordMatcher;
+import Utils.BatchFiles;
+import Utils.BatchReport;
+import Utils.BatchRunner;
+import Utils.Metrics;
+import Utils.Progress;
+import Utils.ResultCache;
+import Utils.StandardStreams;
+import Utils.WorkerPool;
 import picocli.CommandLine.*;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * -----------------------------------------------------------------------------------
@@ -21,25 +50,54 @@ public class ReplaceCommand implements Runnable {
     // region Private Parameters
     // region Files Path
     @Parameters(paramLabel = "<Input-File>", arity = "1", index = "0",
-                description = "Input text file path")
+                description = "Input text file path, - for the standard input (with --batch : directory, glob or @file " +
+                              "listing the inputs)")
     private String inputFilePath;
 
-    @Parameters(paramLabel = "<Output-File>", arity = "1", index = "1",
-                description = "Output text file path")
+    @Parameters(paramLabel = "<Output-File>", arity = "0..1", index = "1",
+                description = "Output text file path, - for the standard output (with --batch : output directory, " +
+                              "not given with --in-place, optional with --count)")
     private String outputFilePath;
+
+    @Option(names = {"-ip", "--in-place"},
+            description = "Replace the words in the input file itself, the output file is not given (default : false)")
+    private boolean inPlace;
+    // endregion
+
+    // region Batch
+    @Option(names = {"-b", "--batch"},
+            description = "Replace in every file of a directory, a glob or a list of files (@file) in one run")
+    private boolean batch;
+
+    @Option(names = {"-j", "--jobs"},
+            description = "Number of files replaced at the same time in batch mode (default : number of processors)")
+    private int jobs = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"-mo", "--max-open-files"},
+            description = "Maximum number of files being replaced at the same time in batch mode, " +
+                          "also with virtual threads (default : 64)", defaultValue = "64")
+    private int maxOpenFiles = 64;
     // endregion
 
     // region Words
-    @Parameters(paramLabel = "<Old-Word>", arity = "1", index = "2",
-                description = "The word that will be replaced")
+    @Parameters(paramLabel = "<Old-Word>", arity = "0..1", index = "2",
+                description = "The word that will be replaced (not used with --mapping)")
     private String oldWord;
 
-    @Parameters(paramLabel = "<New-Word>", arity = "1", index = "3",
-                description = "The new word that will replace the old one")
+    @Parameters(paramLabel = "<New-Word>", arity = "0..1", index = "3",
+                description = "The new word that will replace the old one (not used with --mapping)")
     private String newWord;
+
+    @Option(names = {"-mf", "--mapping"},
+            description = "File of <Old-Word><TAB><New-Word> lines, all replaced in a single pass over the input")
+    private String mappingFilePath;
     // endregion
 
     // region File Encoding Types
+    @Option(names = {"-ie", "--input-file-encoding"},
+            description = "type of input text file encoding (default : UTF-8)", defaultValue = "UTF-8")
+    private String inputFileEncoding = "UTF-8";
+
     @Option(names = {"-oe", "--output-file-encoding"},
             description = "type of output text file encoding (default : UTF-8)", defaultValue = "UTF-8")
     private String outputFileEncoding;
@@ -50,6 +108,83 @@ public class ReplaceCommand implements Runnable {
             description = "Replace all occurrences of the text (default : true)", defaultValue = "true")
     private String replaceAll;
     // endregion
+
+    // region Regex
+    @Option(names = {"-re", "--regex"},
+            description = "Interpret the old word as a regular expression and the new word as a replacement " +
+                          "pattern ($1, ${name}). By default both are literal text (default : false)")
+    private boolean regex;
+    // endregion
+
+    // region Streaming
+    @Option(names = {"-bs", "--buffer-size"},
+            description = "size in bytes of the read / write buffers (default : 65536)", defaultValue = "65536")
+    private int bufferSize = StreamReplacer.DEFAULT_CHUNK_SIZE;
+
+    @Option(names = {"-mm", "--memory-map"},
+            description = "Memory-map the input file in windows of 64 MB, processed chunk by chunk, instead of reading it " +
+                          "(default : false)")
+    private boolean memoryMap;
+
+    @Option(names = {"-t", "--threads"},
+            description = "Number of threads replacing the file in parallel (default : 1)", defaultValue = "1")
+    private int threads = 1;
+    // endregion
+
+    // region Metrics
+    @Option(names = {"-me", "--metrics-out"},
+            description = "Write the duration of each phase, the bytes, the replacements and the allocations of the run "
+                        + "in this JSON file")
+    private String metricsOutPath;
+    // endregion
+
+    // region Progress
+    @Option(names = {"-pg", "--progress"},
+            description = "Print the progress of the run on the error output while it runs, as text or JSON lines " +
+                          "(text, json ; default : none)")
+    private String progressMode;
+
+    @Option(names = {"-pi", "--progress-interval"},
+            description = "Time in milliseconds between two progress reports (default : 1000)", defaultValue = "1000")
+    private long progressInterval = Progress.DEFAULT_INTERVAL_MILLIS;
+    // endregion
+
+    // region Cache
+    @Option(names = {"-cd", "--cache-dir"},
+            description = "Directory of a cache of the outputs : a file already replaced with the same words and options " +
+                          "is copied from the cache instead of being replaced again")
+    private String cacheDir;
+
+    @Option(names = {"-cs", "--cache-size"},
+            description = "Maximum size of the cache in megabytes, the least recently used outputs are deleted " +
+                          "(default : 1024)", defaultValue = "1024")
+    private long cacheSize = ResultCache.DEFAULT_SIZE_MB;
+    // endregion
+
+    // region Index
+    @Option(names = {"-ix", "--index"},
+            description = "Index of the input file built by the Index command (default : <Input-File>.idx when it " +
+                          "exists). It is used if the file did not change and the word is rare enough")
+    private String indexPath;
+
+    @Option(names = {"-ct", "--count"},
+            description = "Only count the occurrences that would be replaced, nothing is written. The output file and " +
+                          "the new word are optional (default : false)")
+    private boolean count;
+    // endregion
+
+    // Matcher built once by validateInput and used for the whole file
+    private WordMatcher matcher;
+    // Cache of the outputs and parameters of their keys, built by validateInput when a cache directory is given
+    private ResultCache cache;
+    private List<String> cacheParameters;
+    // Standard input and output of the run, when the path is "-"
+    private StandardStreams.Input standardInput;
+    private StandardStreams.Output standardOutput;
+    // Progress of the run, null without --progress
+    private Progress progress;
+    // Threads shared by the jobs of the Serve command, null to start threads for each run
+    private WorkerPool workers;
     // endregion
 
     // region Method
@@ -65,13 +200,38 @@ public class ReplaceCommand implements Runnable {
      */
     @Override
     public void run() {
+        Metrics metrics = new Metrics("Replace", metricsOutPath != null);
         try {
-            long begin = System.currentTimeMillis();
-            validateInput();
-            ReplaceWord();
-            long end = System.currentTimeMillis();
-            long executionTime = end - begin;
-            System.out.println("The Replace command was successful!\nExecution time : " + executionTime + " ms");
+            try (Metrics.Phase phase = metrics.phase("validate")) {
+                if (batch)
+                    validateBatchInput();
+                else
+                    validateInput();
+            }
+            try (Progress progress = startProgress()) {
+                this.progress = progress;
+                if (batch)
+                    ReplaceBatch(metrics);
+                else
+                    ReplaceWord(metrics);
+            } finally {
+                this.progress = null;
+            }
+            if (cache != null) {
+                metrics.count("cacheHits", cache.getHits());
+                metrics.count("cacheMisses", cache.getMisses());
+            }
+            metrics.finish();
+
+            // With the standard output, the messages would be mixed with the replaced text
+            PrintStream messages = StandardStreams.messages(outputFilePath);
+            if (!batch)
+                messages.println("The Replace command was successful!\nExecution time : " + metrics.getTotalMillis() + " ms");
+            messages.println(metrics.summary());
+            if (cache != null)
+                messages.println(cache);
+            if (metricsOutPath != null)
+                metrics.write(Path.of(metricsOutPath));
         } catch (IOException e) {
             System.err.println("Error: " + e.getMessage());
         }
@@ -101,6 +261,39 @@ public class ReplaceCommand implements Runnable {
         this.outputFilePath = outputFilePath;
     }
 
+    /**
+     * Nom            : setInPlace
+     * Description    : Defines if the words are replaced in the input file itself.
+     * @param inPlace : true to replace in place, the output file is then not used.
+     * @info          : This setter exists only to be able to use the replacement command in
+     *                  the test class.
+     */
+    public void setInPlace(boolean inPlace) {
+        this.inPlace = inPlace;
+    }
+
+    /**
+     * Nom              : setIndexPath
+     * Description      : Defines the path of the index of the input file.
+     * @param indexPath : Path of the index, null for the default path.
+     * @info            : This setter exists only to be able to use the replacement command in
+     *                    the test class.
+     */
+    public void setIndexPath(String indexPath) {
+        this.indexPath = indexPath;
+    }
+
+    /**
+     * Nom          : setCount
+     * Description  : Defines if the occurrences are only counted.
+     * @param count : true to count the occurrences without writing anything.
+     * @info        : This setter exists only to be able to use the replacement command in
+     *                the test class.
+     */
+    public void setCount(boolean count) {
+        this.count = count;
+    }
+
     /**
      * Nom            : setOldWord
      * Description    : Defines the word to be replaced in the text file.
@@ -134,6 +327,17 @@ public class ReplaceCommand implements Runnable {
         this.outputFileEncoding = charset;
     }
 
+    /**
+     * Nom            : setInputCharSet
+     * Description    : Defines the encoding type of the input file.
+     * @param charset : The charset of the input (UTF-8, ISO-8859-1 etc.)
+     * @info          : This setter exists only to be able to use the replacement command in
+     *                  the test class.
+     */
+    public void setInputCharSet(String charset) {
+        this.inputFileEncoding = charset;
+    }
+
     /**
      * Nom               : setReplaceAll
      * Description       : Defines the string which indicate if the Replace function will replace
@@ -145,47 +349,472 @@ public class ReplaceCommand implements Runnable {
     public void setReplaceAll(String replaceAll) {
         this.replaceAll = replaceAll;
     }
+
+    /**
+     * Nom                    : setMappingFilePath
+     * Description            : Defines the path of the mapping file that gives the words to replace.
+     * @param mappingFilePath : Path of the mapping file.
+     * @info                  : This setter exists only to be able to use the replacement command in
+     *                          the test class.
+     */
+    public void setMappingFilePath(String mappingFilePath) {
+        this.mappingFilePath = mappingFilePath;
+    }
+
+    /**
+     * Nom          : setRegex
+     * Description  : Defines if the old word is a regular expression or a literal word.
+     * @param regex : true to use a regular expression.
+     * @info        : This setter exists only to be able to use the replacement command in
+     *                the test class.
+     */
+    public void setRegex(boolean regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * Nom               : setBufferSize
+     * Description       : Defines the size of the chunks read from the input file and written to the output file.
+     * @param bufferSize : Size in bytes of the buffers.
+     * @info             : This setter exists only to be able to use the replacement command in
+     *                     the test class.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Nom              : setMemoryMap
+     * Description      : Defines if the input file is memory-mapped instead of read.
+     * @param memoryMap : true to map the input file.
+     * @info            : This setter exists only to be able to use the replacement command in
+     *                    the test class.
+     */
+    public void setMemoryMap(boolean memoryMap) {
+        this.memoryMap = memoryMap;
+    }
+
+    /**
+     * Nom          : setBatch
+     * Description  : Defines if the input is a batch of files (directory, glob or @file).
+     * @param batch : true for a batch.
+     * @info        : This setter exists only to be able to use the replacement command in
+     *                the test class.
+     */
+    public void setBatch(boolean batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Nom            : setThreads
+     * Description    : Defines the number of threads replacing the file.
+     * @param threads : Number of threads, 1 to replace sequentially.
+     * @info          : This setter exists only to be able to use the replacement command in
+     *                  the test class.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Nom                   : setMetricsOutPath
+     * Description           : Defines the JSON file receiving the metrics of the run.
+     * @param metricsOutPath : Path of the JSON file.
+     * @info                 : This setter exists only to be able to use the replacement command in
+     *                         the test class.
+     */
+    public void setMetricsOutPath(String metricsOutPath) {
+        this.metricsOutPath = metricsOutPath;
+    }
+
+    /**
+     * Nom             : setCacheDir
+     * Description     : Defines the directory of the cache of the outputs.
+     * @param cacheDir : Path of the directory, null to replace without cache.
+     * @info           : This setter exists only to be able to use the replacement command in
+     *                   the test class.
+     */
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Nom              : setCacheSize
+     * Description      : Defines the maximum size of the cache of the outputs.
+     * @param cacheSize : Size in megabytes.
+     * @info            : This setter exists only to be able to use the replacement command in
+     *                    the test class.
+     */
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Nom                 : setProgress
+     * Description         : Defines how the progress of the run is printed on the error output.
+     * @param progressMode : text or json, null to print nothing.
+     * @info               : This setter exists only to be able to use the replacement command in
+     *                       the test class.
+     */
+    public void setProgress(String progressMode) {
+        this.progressMode = progressMode;
+    }
+
+    /**
+     * Nom            : setWorkers
+     * Description    : Runs the threads of the next runs on a pool kept between the runs.
+     * @param workers : Pool owned by the Serve command, null to start threads for each run.
+     */
+    public void setWorkers(WorkerPool workers) {
+        this.workers = workers;
+    }
     // endregion
     // endregion
 
     // region Private Method
 
     /**
-     * Nom         : ReplaceWord
-     * Description : This function reads the input text and rewrites it in the output text file and replacing
-     *               a given word with another one.
+     * Nom           : ReplaceWord
+     * Description   : This function reads the input text and rewrites it in the output text file and replacing
+     *                 a given word with another one. The file is streamed in chunks of the buffer size, so
+     *                 neither the file nor one of its lines is ever fully loaded in memory. With more
+     *                 than one thread, ranges of the file are replaced in parallel. With a cache, an
+     *                 unchanged file replaced with the same words is copied from the cache. The input
+     *                 and the output can be the standard streams ("-").
+     * @param metrics : Metrics of the run.
      * @throws IOException if an argument is incorrect or there's a problem when reading / writing a text file.
      */
-    private void ReplaceWord() throws IOException {
-        // Creating Charset for output file
-        Charset outputFileCharset = Charset.forName(outputFileEncoding);
+    private void ReplaceWord(Metrics metrics) throws IOException {
+        if (count) {
+            countOccurrences(metrics);
+            return;
+        }
+        if (inPlace) {
+            replaceInPlace(metrics);
+            return;
+        }
+
+        Path input = Path.of(inputFilePath);
+        Path output = Path.of(outputFilePath);
+        String cacheKey = null;
+        long replacements = -1;
+        standardInput = StandardStreams.isStandard(inputFilePath) ? StandardStreams.in() : null;
+        standardOutput = StandardStreams.isStandard(outputFilePath) ? StandardStreams.out() : null;
+
+        if (cache != null) {
+            try (Metrics.Phase phase = metrics.phase("cache-lookup")) {
+                cacheKey = cache.key(input, cacheParameters);
+                replacements = cache.restore(cacheKey, output);
+            }
+            if (replacements >= 0 && progress != null)
+                progress.add(Files.size(input));
+        }
+
+        if (replacements < 0) {
+            replacements = replaceFile(metrics, output);
+            if (cache != null) {
+                try (Metrics.Phase phase = metrics.phase("cache-store")) {
+                    cache.store(cacheKey, output, replacements);
+                }
+            }
+        }
 
-        // Creating the files
-        try (BufferedReader inputFile = new BufferedReader(new FileReader(inputFilePath, StandardCharsets.UTF_8));
-             BufferedWriter outputFile = new BufferedWriter(new FileWriter(outputFilePath, outputFileCharset))) {
+        metrics.count("inputBytes", standardInput != null ? standardInput.getBytes() : Files.size(input));
+        metrics.count("outputBytes", standardOutput != null ? standardOutput.getBytes() : Files.size(output));
+        metrics.count("replacements", replacements);
+    }
 
-            String currentLine;
-            String tempLine;
-            boolean firstOccurrenceReplaced = false;
+    /**
+     * Nom           : countOccurrences
+     * Description   : Counts the occurrences the replacement would change, with the index of the file if
+     *                 it can be used, otherwise by running the engine without output. Nothing is written.
+     * @param metrics : Metrics of the run.
+     * @throws IOException if there's a problem when reading the text file.
+     */
+    private void countOccurrences(Metrics metrics) throws IOException {
+        standardInput = StandardStreams.isStandard(inputFilePath) ? StandardStreams.in() : null;
+        standardOutput = null;
+        ByteReplacer byteReplacer = createByteReplacer();
+        WordIndex index = openIndex(metrics, byteReplacer);
+        long occurrences;
+
+        try (Metrics.Phase phase = metrics.phase("count")) {
+            if (index != null) {
+                byteReplacer.setProgress(progress);
+                try (FileChannel in = FileChannel.open(Path.of(inputFilePath), StandardOpenOption.READ)) {
+                    occurrences = byteReplacer.count(in, index);
+                }
+            } else {
+                Replacer replacer = byteReplacer != null ? byteReplacer : createReplacer(matcher);
+                replacer.setProgress(progress);
+                try (ReadableByteChannel in = openInput();
+                     WritableByteChannel out = Channels.newChannel(OutputStream.nullOutputStream())) {
+                    occurrences = replacer.replace(in, out);
+                }
+            }
+        }
 
-            while ((currentLine = inputFile.readLine()) != null) {
-                if (currentLine.contains(oldWord) && !firstOccurrenceReplaced) {
-                    tempLine = currentLine;
+        metrics.count("inputBytes", standardInput != null ? standardInput.getBytes() : Files.size(Path.of(inputFilePath)));
+        metrics.count("occurrences", occurrences);
+        System.out.println("Occurrences : " + occurrences);
+    }
 
-                    if (replaceAll.equals("true"))
-                        tempLine = tempLine.replaceAll(oldWord, newWord);
+    /**
+     * Nom                : openIndex
+     * Description        : Opens the index of the input file when it can be used : the word is searched in the
+     *                      bytes, the file did not change since it was indexed and the word is rare enough
+     *                      in the file for the index to be faster than a scan.
+     * @param metrics      : Metrics of the run.
+     * @param byteReplacer : Byte engine of the word, null if the word is not searched in the bytes.
+     * @return             : The index, or null if the file is scanned.
+     * @throws IOException if the index is not an index file or the input cannot be read.
+     */
+    private WordIndex openIndex(Metrics metrics, ByteReplacer byteReplacer) throws IOException {
+        if (byteReplacer == null || standardInput != null)
+            return null;
+        Path input = Path.of(inputFilePath);
+        WordIndex index;
+
+        try (Metrics.Phase phase = metrics.phase("index")) {
+            index = WordIndex.open(input, indexPath != null ? Path.of(indexPath) : WordIndex.defaultPath(input));
+        }
+        return index != null && byteReplacer.isSelective(index) ? index : null;
+    }
 
-                    else if (replaceAll.equals("false")) {
-                        tempLine = tempLine.replaceFirst(oldWord, newWord);
-                        firstOccurrenceReplaced = true;
+    /**
+     * Nom           : replaceInPlace
+     * Description   : Replaces the words in the input file itself. When the word and its replacement have
+     *                 the same length in bytes, the matches are patched through a writable memory mapping
+     *                 and only the pages holding a match are written. Otherwise the file is replaced in a
+     *                 temporary file of the same directory, which then takes the place of the file with an
+     *                 atomic move : the file is never seen half replaced. A file without any match is not
+     *                 written at all.
+     * @param metrics : Metrics of the run.
+     * @throws IOException if there's a problem when reading / writing the file.
+     */
+    private void replaceInPlace(Metrics metrics) throws IOException {
+        // The target of a link is replaced, not the link
+        Path file = Path.of(inputFilePath).toRealPath();
+        long inputBytes = Files.size(file);
+        long replacements;
+        standardInput = null;
+        standardOutput = null;
+
+        ByteReplacer patcher = createByteReplacer();
+
+        if (patcher != null && patcher.canPatch()) {
+            patcher.setProgress(progress);
+            try (Metrics.Phase phase = metrics.phase("patch");
+                 FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                replacements = patcher.patch(channel);
+            }
+        } else {
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                replacements = replaceFile(metrics, temporary);
+                if (replacements > 0) {
+                    try (Metrics.Phase phase = metrics.phase("commit")) {
+                        // The temporary file is only readable by its owner, it gets the permissions of the file
+                        PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+                        if (view != null)
+                            Files.setPosixFilePermissions(temporary, view.readAttributes().permissions());
+                        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
                     }
-                    outputFile.write(tempLine);
-                } else
-                    outputFile.write(currentLine);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        metrics.count("inputBytes", inputBytes);
+        metrics.count("outputBytes", Files.size(file));
+        metrics.count("replacements", replacements);
+    }
 
-                outputFile.newLine();
+    /**
+     * Nom           : replaceFile
+     * Description   : Replaces the words of the input file, sequentially or with several threads.
+     * @param metrics : Metrics of the run.
+     * @param output  : Output file, not used for the standard output.
+     * @return        : Number of replacements.
+     * @throws IOException if there's a problem when reading / writing a text file.
+     */
+    private long replaceFile(Metrics metrics, Path output) throws IOException {
+        // Creating Charset for input and output file
+        Charset inputFileCharset = Charset.forName(inputFileEncoding);
+        Charset outputFileCharset = Charset.forName(outputFileEncoding);
+        ByteReplacer byteReplacer = createByteReplacer();
+        WordIndex index = openIndex(metrics, byteReplacer);
+        long replacements;
+
+        if (index != null) {
+            // Only the candidates of the index are read, the spans between the matches are transferred
+            long start = System.nanoTime();
+            byteReplacer.setProgress(progress);
+            try (FileChannel in = FileChannel.open(Path.of(inputFilePath), StandardOpenOption.READ);
+                 WritableByteChannel out = openOutput(output)) {
+                replacements = byteReplacer.replace(in, out, index);
+            }
+            long nanos = System.nanoTime() - start;
+            metrics.record("read", byteReplacer.getReadNanos());
+            metrics.record("match-write", nanos - byteReplacer.getReadNanos());
+        } else if (threads > 1) {
+            ParallelReplacer parallelReplacer = new ParallelReplacer(matcher, replaceAll.equals("true"), inputFileCharset,
+                    outputFileCharset, bufferSize, threads);
+            parallelReplacer.setProgress(progress);
+            parallelReplacer.setWorkers(workers);
+            try (Metrics.Phase phase = metrics.phase("replace")) {
+                replacements = parallelReplacer.replace(Path.of(inputFilePath), output);
             }
+        } else {
+            // Reading, replacing and writing are interleaved chunk by chunk, the engine measures the reading part
+            Replacer replacer = createReplacer(matcher);
+            replacer.setProgress(progress);
+            long start = System.nanoTime();
+            try (ReadableByteChannel in = openInput(); WritableByteChannel out = openOutput(output)) {
+                replacements = replacer.replace(in, out);
+            }
+            long nanos = System.nanoTime() - start;
+            // Same phases for both engines, the byte engine has nothing to decode or encode
+            metrics.record("read", replacer.getReadNanos());
+            metrics.record("match-write", nanos - replacer.getReadNanos());
+        }
+        return replacements;
+    }
+
+    /**
+     * Nom           : createReplacer
+     * Description   : Creates the sequential engine of a file. A literal word is searched directly in the
+     *                 bytes when the input and the output have the same encoding, so nothing is decoded
+     *                 or encoded ; otherwise the input is decoded into characters and transcoded.
+     * @param matcher : Matcher of the words, used by the character engine.
+     * @return        : The engine.
+     */
+    private Replacer createReplacer(WordMatcher matcher) {
+        ByteReplacer byteReplacer = createByteReplacer();
+        if (byteReplacer != null)
+            return byteReplacer;
+        return new StreamReplacer(matcher, replaceAll.equals("true"), Charset.forName(inputFileEncoding),
+                Charset.forName(outputFileEncoding), bufferSize, memoryMap);
+    }
+
+    /**
+     * Nom          : createByteReplacer
+     * Description  : Creates the byte engine, if the word is literal and nothing has to be transcoded.
+     * @return      : The engine, or null if the input must be decoded into characters.
+     */
+    private ByteReplacer createByteReplacer() {
+        Charset inputFileCharset = Charset.forName(inputFileEncoding);
+        Charset outputFileCharset = Charset.forName(outputFileEncoding);
+
+        if (mappingFilePath == null && !regex && ByteReplacer.supports(oldWord, inputFileCharset, outputFileCharset))
+            return new ByteReplacer(oldWord, newWord, replaceAll.equals("true"), outputFileCharset, bufferSize, memoryMap);
+        return null;
+    }
+
+    /**
+     * Nom          : openInput
+     * Description  : Opens the input of a single file, the standard input is read as it comes.
+     * @return      : Channel of the input.
+     * @throws IOException if the input file cannot be opened.
+     */
+    private ReadableByteChannel openInput() throws IOException {
+        if (standardInput != null)
+            return Channels.newChannel(standardInput);
+        return FileChannel.open(Path.of(inputFilePath), StandardOpenOption.READ);
+    }
+
+    /**
+     * Nom          : openOutput
+     * Description  : Opens the output of a single file, truncated, or the standard output.
+     * @param output : Output file, not used for the standard output.
+     * @return       : Channel of the output.
+     * @throws IOException if the output file cannot be opened.
+     */
+    private WritableByteChannel openOutput(Path output) throws IOException {
+        if (standardOutput != null)
+            return Channels.newChannel(standardOutput);
+        return FileChannel.open(output, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Nom           : ReplaceBatch
+     * Description   : This function replaces the words in every file of the batch, several files at the same
+     *                 time, then prints one report for the whole batch. Each file is streamed like a single
+     *                 replace and written in the output directory under the same relative path.
+     * @param metrics : Metrics of the run.
+     * @throws IOException if the files of the batch cannot be listed, or if an output would overwrite an input.
+     */
+    private void ReplaceBatch(Metrics metrics) throws IOException {
+        List<BatchFiles.Job> files;
+        BatchReport report;
+
+        try (Metrics.Phase phase = metrics.phase("list")) {
+            files = BatchFiles.list(inputFilePath, Path.of(outputFilePath));
+            BatchFiles.checkOutputs(files);
+        }
+        BatchRunner runner = new BatchRunner(maxOpenFiles, jobs);
+        runner.setProgress(progress);
+        try (Metrics.Phase phase = metrics.phase("replace")) {
+            report = runner.run(files, job -> cached(job, () ->
+                    createReplacer(matcher.copy()).replace(job.getInput(), job.getOutput())));
         }
+        report.print("Replace", "Replacements");
+
+        metrics.count("files", report.getSucceeded());
+        metrics.count("failedFiles", report.getFailed());
+        metrics.count("inputBytes", report.getInputBytes());
+        metrics.count("outputBytes", report.getOutputBytes());
+        metrics.count("replacements", report.getItems());
+    }
+
+    /**
+     * Nom             : cached
+     * Description     : Replaces the words in one file of the batch, or copies its output from the cache.
+     * @param job       : Input and output of the file.
+     * @param operation : Replacement of the file.
+     * @return          : Number of replacements in the file.
+     * @throws Exception if the file cannot be replaced.
+     */
+    private long cached(BatchFiles.Job job, ResultCache.Operation operation) throws Exception {
+        if (cache == null)
+            return operation.apply();
+        return cache.apply(job.getInput(), job.getOutput(), cacheParameters, operation);
+    }
+
+    /**
+     * Nom          : startProgress
+     * Description  : Starts the progress of the run, in bytes of the input for a single file and in files
+     *                for a batch, whose runner gives the total once the files are listed.
+     * @return      : The progress, or null without --progress.
+     * @throws IOException if the size of the input file cannot be read.
+     */
+    private Progress startProgress() throws IOException {
+        if (progressMode == null)
+            return null;
+        Progress progress = new Progress("Replace", batch ? Progress.FILES : Progress.BYTES, progressMode,
+                progressInterval, System.err);
+        if (!batch && !StandardStreams.isStandard(inputFilePath))
+            progress.setTotal(Files.size(Path.of(inputFilePath)));
+        progress.start();
+        return progress;
+    }
+
+    /**
+     * Nom          : createMatcher
+     * Description  : Creates the matcher of the old word, built once for the whole run. The old word is
+     *                searched literally unless the regex option is given. With a mapping file, all
+     *                its words are searched at once.
+     * @return      : The matcher.
+     * @throws IOException if the mapping file cannot be read.
+     */
+    private WordMatcher createMatcher() throws IOException {
+        if (mappingFilePath != null)
+            return new MultiWordMatcher(WordMapping.read(Path.of(mappingFilePath)));
+        if (regex)
+            return new RegexMatcher(oldWord, newWord, bufferSize);
+        return new LiteralMatcher(oldWord, newWord);
     }
 
     /**
@@ -194,27 +823,182 @@ public class ReplaceCommand implements Runnable {
      * @throws IOException if an argument is incorrect.
      */
     private void validateInput() throws IOException {
+        if (inPlace || count) {
+            validateInPlaceInput();
+            return;
+        }
+
+        if (outputFilePath == null)
+            throw new IOException("The output file is missing.");
+
+        boolean standardIn = StandardStreams.isStandard(inputFilePath);
+        boolean standardOut = StandardStreams.isStandard(outputFilePath);
         // No opening of file streams requiring closing, so no try with resources
         File inputFile = new File(inputFilePath);
         File outputFile = new File(outputFilePath);
 
-        if (!inputFile.exists() || !outputFile.exists())
+        if ((!standardIn && !inputFile.exists()) || (!standardOut && !outputFile.exists()))
             throw new IOException("Input or output file does not exist.");
 
-        if (!inputFile.isFile() || !outputFile.isFile())
+        if ((!standardIn && !inputFile.isFile()) || (!standardOut && !outputFile.isFile()))
             throw new IOException("Input or output is not a valid file.");
 
-        if (oldWord == null || oldWord.isEmpty())
-            throw new IOException("Old word cannot be empty.");
+        validateOptions();
+
+        if (standardIn || standardOut) {
+            // The standard streams are read and written once, from the start to the end
+            if (threads > 1)
+                throw new IOException("The standard input and output can only be replaced with one thread.");
+
+            if (cache != null)
+                throw new IOException("The cache cannot be used with the standard input or output.");
+        }
+    }
+
+    /**
+     * Nom          : validateInPlaceInput
+     * Description  : This function checks that the arguments given to replace a file in place, or to count
+     *                the occurrences, are valid. Without output file, picocli gives the words as the output
+     *                file and the old word, so they are moved back to their place. A count can also be
+     *                given a complete command line, whose output file is not written.
+     * @throws IOException if an argument is incorrect.
+     */
+    private void validateInPlaceInput() throws IOException {
+        if (inPlace && count)
+            throw new IOException("--in-place and --count cannot be used together.");
+
+        if (outputFilePath != null) {
+            if (mappingFilePath == null && newWord == null) {
+                newWord = oldWord;
+                oldWord = outputFilePath;
+                outputFilePath = null;
+            } else if (inPlace) {
+                throw new IOException("The output file cannot be given with --in-place.");
+            }
+        }
+        // The new word of a count is never written
+        if (count && mappingFilePath == null && newWord == null)
+            newWord = "";
+
+        if (StandardStreams.isStandard(inputFilePath)) {
+            if (inPlace)
+                throw new IOException("The standard input cannot be replaced in place.");
+        } else if (!new File(inputFilePath).isFile()) {
+            throw new IOException("Input file does not exist.");
+        }
+
+        validateOptions();
+
+        if (cache != null)
+            throw new IOException("The cache cannot be used with --in-place or --count.");
+    }
+
+    /**
+     * Nom          : validateBatchInput
+     * Description  : This function checks that the arguments given for a batch are valid.
+     * @throws IOException if an argument is incorrect.
+     */
+    private void validateBatchInput() throws IOException {
+        if (inPlace)
+            throw new IOException("The files of a batch cannot be replaced in place.");
 
-        if (newWord == null)
-            throw new IOException("New word cannot be null.");
+        if (count || indexPath != null)
+            throw new IOException("The index and the count cannot be used in batch mode.");
+
+        if (outputFilePath == null)
+            throw new IOException("The output directory is missing.");
+
+        if (StandardStreams.isStandard(inputFilePath) || StandardStreams.isStandard(outputFilePath))
+            throw new IOException("The standard input and output cannot be used in batch mode.");
+
+        if (inputFilePath.startsWith("@")) {
+            if (!new File(inputFilePath.substring(1)).isFile())
+                throw new IOException("The list of input files does not exist.");
+        } else if (!BatchFiles.isGlob(inputFilePath) && !new File(inputFilePath).isDirectory()) {
+            throw new IOException("The input directory does not exist.");
+        }
+
+        if (!new File(outputFilePath).isDirectory())
+            throw new IOException("The output directory does not exist.");
+
+        if (jobs < 1 || maxOpenFiles < 1)
+            throw new IOException("Number of jobs and of open files must be at least 1.");
+
+        validateOptions();
+    }
+
+    /**
+     * Nom          : validateOptions
+     * Description  : This function checks the words and the options common to a single file and a batch.
+     *                It also builds the matcher.
+     * @throws IOException if an argument is incorrect.
+     */
+    private void validateOptions() throws IOException {
+        if (mappingFilePath != null) {
+            if (oldWord != null || newWord != null)
+                throw new IOException("Old and new words cannot be given with a mapping file.");
+
+            if (regex)
+                throw new IOException("The words of a mapping file cannot be regular expressions.");
+
+            if (!new File(mappingFilePath).isFile())
+                throw new IOException("Mapping file does not exist.");
+        } else {
+            if (oldWord == null || oldWord.isEmpty())
+                throw new IOException("Old word cannot be empty.");
+
+            if (newWord == null)
+                throw new IOException("New word cannot be null.");
+        }
+
+        if (indexPath != null && !new File(indexPath).isFile())
+            throw new IOException("Index file does not exist.");
+
+        if (!Charset.isSupported(inputFileEncoding))
+            throw new IOException("Invalid input file encoding specified.");
 
         if (!Charset.isSupported(outputFileEncoding))
             throw new IOException("Invalid output file encoding specified.");
 
         if (!replaceAll.equals("true") && !replaceAll.equals("false"))
             throw new IOException("Replace all parameter can't be different from true or false");
+
+        if (bufferSize < StreamReplacer.MIN_CHUNK_SIZE)
+            throw new IOException("Buffer size must be at least " + StreamReplacer.MIN_CHUNK_SIZE + " bytes.");
+
+        if (threads < 1)
+            throw new IOException("Number of threads must be at least 1.");
+
+        if (threads > 1 && !ParallelReplacer.supports(Charset.forName(inputFileEncoding), Charset.forName(outputFileEncoding)))
+            throw new IOException("More than one thread needs a UTF-8 or single-byte input file encoding, and an output "
+                                  + "file encoding without shift states.");
+
+        if (cacheSize < 1)
+            throw new IOException("The cache size must be at least 1 megabyte.");
+
+        if (progressMode != null && !Progress.MODES.contains(progressMode))
+            throw new IOException("Unknown progress mode " + progressMode + ". Supported modes: "
+                    + String.join(", ", Progress.MODES) + ".");
+
+        if (progressInterval < 1)
+            throw new IOException("The progress interval must be at least 1 ms.");
+
+        try {
+            matcher = createMatcher();
+        } catch (PatternSyntaxException e) {
+            throw new IOException("Invalid regular expression: " + e.getDescription());
+        }
+
+        cache = null;
+        if (cacheDir != null) {
+            cache = new ResultCache(Path.of(cacheDir), cacheSize * 1024 * 1024);
+            // Everything which changes the output : the words (or the content of the mapping file) and the options
+            cacheParameters = Arrays.asList("Replace",
+                    mappingFilePath != null ? ResultCache.hash(Path.of(mappingFilePath)) : null, oldWord, newWord,
+                    // A regex match cannot be longer than the buffer
+                    regex ? "regex " + bufferSize : "literal", replaceAll, Charset.forName(inputFileEncoding).name(),
+                    Charset.forName(outputFileEncoding).name());
+        }
     }
     // endregion
     // endregion
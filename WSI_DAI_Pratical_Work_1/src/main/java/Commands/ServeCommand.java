@@ -0,0 +1,257 @@
+package Commands;
+
+import Utils.Json;
+import Utils.WorkerPool;
+import picocli.CommandLine;
+import picocli.CommandLine.*;
+import javax.imageio.ImageIO;
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is used to perform the command that keeps the JVM running and executes
+ *                Replace, Convert and Index jobs, so the JVM startup, the reflection of picocli, the scan of
+ *                the ImageIO plugins and the warm-up of the JIT are only paid once. The jobs are JSON
+ *                lines read on a Unix domain socket (see the Client command) or on the standard
+ *                input :
+ *                    {"args": ["Replace", "input.txt", "output.txt", "oldWord", "newWord"]}
+ *                Each job is answered with one JSON line :
+ *                    {"exitCode": 0, "millis": 3, "out": "...", "err": "..."}
+ *                The line {"stop": true} stops the server. The jobs are executed one after the
+ *                other by the same command objects, each job using all the cores. The threads of the
+ *                parallel Replace, of the PNG deflate and of the black and white conversion come from
+ *                one pool owned by the server, so they are not started again for each job. The relative
+ *                paths of a job are relative to the working directory of the server.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@Command(name = "Serve", mixinStandardHelpOptions = true, version = "1.0",
+         description = "this command keeps the application running and executes the Replace, Convert and Index jobs " +
+                       "sent on a Unix domain socket or on the standard input.")
+public class ServeCommand implements Runnable {
+    // region Private Parameters
+    @Option(names = {"-s", "--socket"},
+            description = "Path of the Unix domain socket of the server (default : JSON lines on the standard input " +
+                          "and output)")
+    private String socketPath;
+
+    // Commands of the jobs, created once and reused by every job. The "@file" of a batch is the list of its
+    // inputs, picocli must not replace it with the lines of the file
+    private final CommandLine jobs = new CommandLine(new Jobs()).setExpandAtFiles(false);
+    // Threads of the jobs, kept between the jobs and stopped with the server
+    private final WorkerPool workers = new WorkerPool("serve-worker");
+    private volatile boolean stopped;
+    private ServerSocketChannel server;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom          : ServeCommand
+     * Description  : Gives the pool of the server to the commands of the jobs.
+     */
+    public ServeCommand() {
+        ((ReplaceCommand) jobs.getSubcommands().get("Replace").getCommand()).setWorkers(workers);
+        ((ConvertBlackWhiteCommand) jobs.getSubcommands().get("Convert").getCommand()).setWorkers(workers);
+    }
+    // endregion
+
+    // region Method
+    // region Public Method
+
+    /**
+     * Nom          : run
+     * Description  : This is the method called when the serve command is used. The commands and the ImageIO
+     *                plugins are loaded, then the jobs are executed until the server is stopped, or the
+     *                end of the standard input.
+     */
+    @Override
+    public void run() {
+        ImageIO.getReaderFormatNames();
+        try {
+            if (socketPath == null) {
+                serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                      new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+            } else {
+                serveSocket(Path.of(socketPath));
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        } finally {
+            workers.close();
+        }
+    }
+
+    /**
+     * Nom             : serve
+     * Description     : Executes the jobs read from a reader and writes their answers, until the end of the
+     *                   reader or a stop line.
+     * @param requests : JSON lines of the jobs.
+     * @param answers  : JSON lines of the answers.
+     * @throws IOException if the lines cannot be read or written.
+     */
+    public void serve(BufferedReader requests, PrintWriter answers) throws IOException {
+        String request;
+        while (!stopped && (request = requests.readLine()) != null) {
+            if (request.isBlank())
+                continue;
+            answers.println(execute(request));
+            answers.flush();
+        }
+        // The socket is closed once the answer of the stop line is sent, the JVM can exit before this thread
+        if (stopped)
+            closeServer();
+    }
+
+    /**
+     * Nom             : execute
+     * Description     : Executes one job. The standard output and error of the job are captured for its
+     *                   answer, the jobs are executed one at a time since they share them.
+     * @param request  : JSON line of the job.
+     * @return         : JSON line of the answer.
+     */
+    public synchronized String execute(String request) {
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int exitCode;
+
+        PrintStream stdout = System.out;
+        PrintStream stderr = System.err;
+        try (PrintStream jobOut = new PrintStream(out, true, StandardCharsets.UTF_8);
+             PrintStream jobErr = new PrintStream(err, true, StandardCharsets.UTF_8)) {
+            System.setOut(jobOut);
+            System.setErr(jobErr);
+            jobs.setOut(new PrintWriter(jobOut, true));
+            jobs.setErr(new PrintWriter(jobErr, true));
+            exitCode = executeJob(request);
+        } finally {
+            System.setOut(stdout);
+            System.setErr(stderr);
+        }
+
+        return "{\"exitCode\": " + exitCode
+             + ", \"millis\": " + (System.nanoTime() - start) / 1_000_000
+             + ", \"out\": " + Json.quote(out.toString(StandardCharsets.UTF_8))
+             + ", \"err\": " + Json.quote(err.toString(StandardCharsets.UTF_8)) + "}";
+    }
+
+    // region Setter
+
+    /**
+     * Nom               : setSocketPath
+     * Description       : Defines the Unix domain socket of the server.
+     * @param socketPath : Path of the socket, null to use the standard input and output.
+     * @info             : This setter exists only to be able to use the serve command in
+     *                     the test class.
+     */
+    public void setSocketPath(String socketPath) {
+        this.socketPath = socketPath;
+    }
+    // endregion
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom             : executeJob
+     * Description     : Reads a job and executes it with the commands of the server.
+     * @param request  : JSON line of the job.
+     * @return         : Exit code of the job, 2 if the line is not a job.
+     */
+    private int executeJob(String request) {
+        try {
+            if (!(Json.parse(request) instanceof Map<?, ?> job))
+                throw new IOException("A job must be a JSON object.");
+            if (Boolean.TRUE.equals(job.get("stop"))) {
+                stopped = true;
+                return 0;
+            }
+            if (!(job.get("args") instanceof List<?> args) || args.isEmpty()
+                    || !args.stream().allMatch(arg -> arg instanceof String))
+                throw new IOException("A job must have an \"args\" array of strings.");
+            return jobs.execute(args.toArray(new String[0]));
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Nom          : serveSocket
+     * Description  : Accepts the connections of the clients on a Unix domain socket until the server is
+     *                stopped. Each connection is read by its own thread and can send several jobs.
+     * @param path  : Path of the socket, replaced if it exists.
+     * @throws IOException if the socket cannot be created.
+     */
+    private void serveSocket(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(path));
+            synchronized (this) {
+                this.server = server;
+            }
+            System.err.println("The server is listening on " + path);
+            while (!stopped) {
+                SocketChannel client = server.accept();
+                Thread thread = new Thread(() -> serveClient(client), "client");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (ClosedChannelException e) {
+            // Closed by a stop line
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Nom            : serveClient
+     * Description    : Executes the jobs of one connection until the client closes it.
+     * @param client  : Connection of the client.
+     */
+    private void serveClient(SocketChannel client) {
+        try (client;
+             BufferedReader requests = new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8));
+             PrintWriter answers = new PrintWriter(Channels.newWriter(client, StandardCharsets.UTF_8))) {
+            serve(requests, answers);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Nom          : closeServer
+     * Description  : Closes the socket of the server, which stops accepting the clients.
+     * @throws IOException if the socket cannot be closed.
+     */
+    private synchronized void closeServer() throws IOException {
+        if (server != null)
+            server.close();
+    }
+    // endregion
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Root of the commands a job can execute.
+     */
+    @Command(name = "CLI", subcommands = {ReplaceCommand.class, ConvertBlackWhiteCommand.class, IndexCommand.class})
+    private static class Jobs {
+    }
+    // endregion
+}
@@ -0,0 +1,304 @@
+package Convert;
+
+import Utils.WorkerPool;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class converts a gray image to a black and white image of 1 bit per pixel
+ *                (TYPE_BYTE_BINARY, 8 pixels per byte). A pixel is white from a fixed gray level,
+ *                from the level chosen by the method of Otsu, or it is dithered with the error
+ *                diffusion of Floyd and Steinberg.
+ *                The rows are shared between the threads, the thread t converting the rows t,
+ *                t + threads ... The error of a pixel goes to its right neighbour and to the three
+ *                pixels below it, so a row can convert a pixel once the previous row has converted
+ *                the next one : the rows run as a wavefront, each a few columns behind the previous
+ *                one. The result does not depend on the number of threads.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class BilevelConverter {
+    // region Public Parameters
+    public static final String THRESHOLD = "threshold";
+    public static final String OTSU = "otsu";
+    public static final String DITHER = "dither";
+    public static final List<String> MODES = List.of(THRESHOLD, OTSU, DITHER);
+
+    // Gray level from which a pixel is white in the threshold mode
+    public static final int DEFAULT_THRESHOLD = 128;
+    // endregion
+
+    // region Private Parameters
+    // Columns converted by a row between two publications of its progress
+    private static final int BLOCK_COLUMNS = 256;
+    // Checks of the progress of the previous row before the thread yields
+    private static final int SPINS = 100;
+
+    private final String mode;
+    private final int threshold;
+    private final int threads;
+    // Threads shared by the jobs of a server, null to start threads for each image
+    private final WorkerPool workers;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom              : BilevelConverter
+     * Description      : Creates a converter.
+     * @param mode      : One of MODES.
+     * @param threshold : Gray level from which a pixel is white in the threshold mode.
+     * @param threads   : Number of threads converting the rows.
+     * @throws IllegalArgumentException if the mode or the threshold is not valid.
+     */
+    public BilevelConverter(String mode, int threshold, int threads) {
+        this(mode, threshold, threads, null);
+    }
+
+    /**
+     * Nom              : BilevelConverter
+     * Description      : Creates a converter running its rows on the threads of a shared pool.
+     * @param mode      : One of MODES.
+     * @param threshold : Gray level from which a pixel is white in the threshold mode.
+     * @param threads   : Number of threads converting the rows.
+     * @param workers   : Pool kept between the images, null to start threads for each image.
+     * @throws IllegalArgumentException if the mode or the threshold is not valid.
+     */
+    public BilevelConverter(String mode, int threshold, int threads, WorkerPool workers) {
+        if (!MODES.contains(mode))
+            throw new IllegalArgumentException("Unknown bilevel mode " + mode + ". Supported modes: " + String.join(", ", MODES) + ".");
+        if (threshold < 0 || threshold > 255)
+            throw new IllegalArgumentException("The threshold must be between 0 and 255.");
+        this.mode = mode;
+        this.threshold = threshold;
+        this.threads = Math.max(1, threads);
+        this.workers = workers;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : convert
+     * Description  : Creates the black and white image of a gray image.
+     * @param gray  : Gray image of 8 bits.
+     * @return      : The image of 1 bit per pixel, 0 for black and 1 for white.
+     */
+    public BufferedImage convert(BufferedImage gray) {
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+        BufferedImage bilevel = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+        byte[] bits = ((DataBufferByte) bilevel.getRaster().getDataBuffer()).getData();
+        int stride = (width + 7) / 8;
+        Raster raster = gray.getRaster();
+
+        if (mode.equals(DITHER)) {
+            dither(raster, bits, stride);
+        } else {
+            int level = mode.equals(OTSU) ? otsuLevel(raster) : threshold;
+            runRows(height, width, (worker, y, row) -> {
+                raster.getDataElements(raster.getMinX(), raster.getMinY() + y, width, 1, row);
+                int offset = y * stride;
+                for (int x = 0; x < width; ++x) {
+                    if ((row[x] & 0xFF) >= level)
+                        bits[offset + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            });
+        }
+        return bilevel;
+    }
+
+    /**
+     * Nom          : parameters
+     * Description  : Returns the options which change the output, for the keys of a cache.
+     * @return      : The mode, with the level of the threshold mode.
+     */
+    public List<String> parameters() {
+        return List.of("bilevel " + mode + (mode.equals(THRESHOLD) ? " " + threshold : ""));
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : otsuLevel
+     * Description   : Computes the level of Otsu : the level separating the histogram in two classes with
+     *                 the largest variance between them. The histogram is counted in parallel.
+     * @param raster : Gray pixels.
+     * @return       : The gray level from which a pixel is white.
+     */
+    private int otsuLevel(Raster raster) {
+        int width = raster.getWidth();
+        long[][] histograms = new long[threads][256];
+        runRows(raster.getHeight(), width, (worker, y, row) -> {
+            long[] histogram = histograms[worker];
+            raster.getDataElements(raster.getMinX(), raster.getMinY() + y, width, 1, row);
+            for (int x = 0; x < width; ++x)
+                ++histogram[row[x] & 0xFF];
+        });
+
+        long[] histogram = new long[256];
+        long total = 0;
+        double sum = 0;
+        for (int level = 0; level < 256; ++level) {
+            for (long[] part : histograms)
+                histogram[level] += part[level];
+            total += histogram[level];
+            sum += (double) level * histogram[level];
+        }
+
+        // The class 0 holds the levels up to "level"
+        double bestVariance = -1;
+        int best = 0;
+        long count0 = 0;
+        double sum0 = 0;
+        for (int level = 0; level < 255; ++level) {
+            count0 += histogram[level];
+            sum0 += (double) level * histogram[level];
+            long count1 = total - count0;
+            if (count0 == 0 || count1 == 0)
+                continue;
+            double mean0 = sum0 / count0;
+            double mean1 = (sum - sum0) / count1;
+            double variance = (double) count0 * count1 * (mean0 - mean1) * (mean0 - mean1);
+            if (variance > bestVariance) {
+                bestVariance = variance;
+                best = level;
+            }
+        }
+        return best + 1;
+    }
+
+    /**
+     * Nom           : dither
+     * Description   : Dithers the gray pixels with the weights of Floyd and Steinberg : 7/16 of the error to
+     *                 the right, 3/16, 5/16 and 1/16 below left, below and below right. The errors are kept
+     *                 times 16 in two rows, like the sequential algorithm : the row y reads the errors of
+     *                 the row y & 1 and adds the ones of the row y + 1 in the other. A row clears each
+     *                 error it reads, before the next row, which is behind it, adds the errors of the row
+     *                 y + 2 there. A row publishes the number of its converted columns after each block,
+     *                 and waits before a block until the previous row is one column further.
+     * @param raster : Gray pixels.
+     * @param bits   : Data of the black and white image.
+     * @param stride : Bytes of a row of the black and white image.
+     */
+    private void dither(Raster raster, byte[] bits, int stride) {
+        int width = raster.getWidth();
+        // The error of the column x is at x + 1, so the neighbours of the first and last columns exist
+        int[][] errors = new int[2][width + 2];
+        AtomicIntegerArray progress = new AtomicIntegerArray(raster.getHeight());
+
+        runRows(raster.getHeight(), width, (worker, y, row) -> {
+            raster.getDataElements(raster.getMinX(), raster.getMinY() + y, width, 1, row);
+            int[] incoming = errors[y & 1];
+            int[] outgoing = errors[(y + 1) & 1];
+            int offset = y * stride;
+            int right = 0;
+
+            for (int start = 0; start < width; start += BLOCK_COLUMNS) {
+                int end = Math.min(width, start + BLOCK_COLUMNS);
+                if (y > 0)
+                    awaitColumns(progress, y - 1, Math.min(width, end + 1));
+                for (int x = start; x < end; ++x) {
+                    int value = (row[x] & 0xFF) + ((incoming[x + 1] + right + 8) >> 4);
+                    incoming[x + 1] = 0;
+                    boolean white = value >= 128;
+                    int error = value - (white ? 255 : 0);
+                    if (white)
+                        bits[offset + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                    right = 7 * error;
+                    outgoing[x] += 3 * error;
+                    outgoing[x + 1] += 5 * error;
+                    outgoing[x + 2] += error;
+                }
+                progress.set(y, end);
+            }
+        });
+    }
+
+    /**
+     * Nom             : awaitColumns
+     * Description     : Waits until a row has converted a number of columns, by spinning, then yielding the
+     *                   processor to the thread of that row.
+     * @param progress : Number of converted columns of each row.
+     * @param y        : Row.
+     * @param columns  : Number of columns.
+     * @throws IllegalStateException if the thread is interrupted, when another row failed.
+     */
+    private static void awaitColumns(AtomicIntegerArray progress, int y, int columns) {
+        for (int spins = 0; progress.get(y) < columns; ++spins) {
+            if (spins < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                if (Thread.currentThread().isInterrupted())
+                    throw new IllegalStateException("Interrupted while dithering the image.");
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Nom           : runRows
+     * Description   : Converts the rows on the threads, the thread t converting the rows t, t + threads ...
+     *                 Each thread has its own row of gray bytes. When a row fails, the other threads are
+     *                 interrupted, so none waits for a row that will never be converted.
+     * @param height : Number of rows.
+     * @param width  : Number of gray bytes of a row.
+     * @param rows   : Conversion of a row.
+     */
+    private void runRows(int height, int width, RowTask rows) {
+        int workers = Math.min(threads, Math.max(1, height));
+        if (workers == 1) {
+            byte[] row = new byte[width];
+            for (int y = 0; y < height; ++y)
+                rows.convert(0, y, row);
+            return;
+        }
+
+        // The rows wait for each other, all the threads of the lane run at the same time
+        ExecutorService pool = WorkerPool.executor(this.workers, "bilevel", workers);
+        CompletionService<Void> done = new ExecutorCompletionService<>(pool);
+        try {
+            for (int t = 0; t < workers; ++t) {
+                int worker = t;
+                done.submit(() -> {
+                    byte[] row = new byte[width];
+                    for (int y = worker; y < height; y += workers)
+                        rows.convert(worker, y, row);
+                    return null;
+                });
+            }
+            for (int t = 0; t < workers; ++t)
+                done.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while converting the image to black and white.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Converts the row y on the thread "worker", in the bytes of the row of the thread.
+     */
+    @FunctionalInterface
+    private interface RowTask {
+        void convert(int worker, int y, byte[] row);
+    }
+    // endregion
+}
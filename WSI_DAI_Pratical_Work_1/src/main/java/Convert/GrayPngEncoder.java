@@ -0,0 +1,466 @@
+package Convert;
+
+import Utils.WorkerPool;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Rectangle;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class writes an 8-bit grayscale or a 1-bit black and white image as a PNG file,
+ *                faster than the ImageIO writer for large images. The rows are read tile by tile (one strip of a StripConverter
+ *                at a time), filtered with the filter giving the smallest sum of absolute differences
+ *                for each row, and gathered in blocks of about BLOCK_SIZE bytes. The blocks are
+ *                deflated in parallel, like pigz : each block is a raw deflate stream ended by a sync
+ *                flush (the last one is finished), with the end of the previous block as dictionary,
+ *                so the blocks written one after the other are one zlib stream. The Adler-32 of the
+ *                stream is combined from the checksums of the blocks.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class GrayPngEncoder {
+    // region Public Parameters
+    // Deflate level of the PNG writer of the JDK (0 : stored, 9 : smallest)
+    public static final int DEFAULT_LEVEL = 4;
+    // endregion
+
+    // region Private Parameters
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    // Filtered bytes of a block, a block is at least one row
+    private static final int BLOCK_SIZE = 256 * 1024;
+    // Deflate window, the part of the previous block used as dictionary
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int ADLER_BASE = 65521;
+
+    private final int level;
+    private final int threads;
+    // Threads shared by the jobs of a server, null to start threads for each image
+    private final WorkerPool workers;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom            : GrayPngEncoder
+     * Description    : Creates an encoder.
+     * @param level   : Deflate level, from 0 to 9.
+     * @param threads : Number of threads deflating the blocks, 1 to deflate them in the calling thread.
+     */
+    public GrayPngEncoder(int level, int threads) {
+        this(level, threads, null);
+    }
+
+    /**
+     * Nom            : GrayPngEncoder
+     * Description    : Creates an encoder deflating on the threads of a shared pool.
+     * @param level   : Deflate level, from 0 to 9.
+     * @param threads : Number of threads deflating the blocks, 1 to deflate them in the calling thread.
+     * @param workers : Pool kept between the images, null to start threads for each image.
+     */
+    public GrayPngEncoder(int level, int threads, WorkerPool workers) {
+        this.level = level;
+        this.threads = threads;
+        this.workers = workers;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : supports
+     * Description  : Checks that an image has one band of bytes, or of bits whose 0 is black and 1 is white
+     *                (TYPE_BYTE_BINARY), the only layouts written by this encoder.
+     * @param image : Image to write.
+     * @return      : true for a gray image of 8 bits or a black and white image of 1 bit.
+     */
+    public static boolean supports(RenderedImage image) {
+        SampleModel sampleModel = image.getSampleModel();
+        if (sampleModel.getNumBands() != 1 || sampleModel.getDataType() != DataBuffer.TYPE_BYTE)
+            return false;
+        if (sampleModel.getSampleSize(0) == 8)
+            return true;
+        ColorModel colorModel = image.getColorModel();
+        return sampleModel instanceof MultiPixelPackedSampleModel && sampleModel.getSampleSize(0) == 1
+                && colorModel.getRGB(0) == 0xFF000000 && colorModel.getRGB(1) == 0xFFFFFFFF;
+    }
+
+    /**
+     * Nom           : write
+     * Description   : Writes the image as a PNG file. The stream is not closed.
+     * @param image  : Gray or black and white image, supported by supports().
+     * @param output : Stream of the PNG file.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void write(RenderedImage image, ImageOutputStream output) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        ExecutorService pool = threads > 1 ? WorkerPool.executor(workers, "png-deflate", threads) : null;
+
+        output.write(SIGNATURE);
+        writeChunk(output, "IHDR", ByteBuffer.allocate(13).putInt(width).putInt(height)
+                .put((byte) image.getSampleModel().getSampleSize(0)).put((byte) 0).put((byte) 0).put((byte) 0).put((byte) 0).array(), 13);
+        try {
+            writeImageData(image, output, pool);
+        } finally {
+            if (pool != null)
+                pool.shutdownNow();
+        }
+        writeChunk(output, "IEND", new byte[0], 0);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : writeImageData
+     * Description   : Filters the rows in blocks and writes each deflated block in an IDAT chunk, in order.
+     *                 The header and the checksum of the zlib stream have their own chunks, a decoder
+     *                 reads the data of the IDAT chunks as one stream. At most two blocks per thread are
+     *                 waiting, so the memory does not depend on the size of the image.
+     * @param image  : Gray or black and white image.
+     * @param output : Stream of the PNG file.
+     * @param pool   : Threads deflating the blocks, null to deflate them in this thread.
+     * @throws IOException if the stream cannot be written.
+     */
+    private void writeImageData(RenderedImage image, ImageOutputStream output, ExecutorService pool) throws IOException {
+        int height = image.getHeight();
+        // A filter compares the bytes, 8 pixels of 1 bit are one byte
+        int width = (image.getWidth() * image.getSampleModel().getSampleSize(0) + 7) / 8;
+        int rowSize = width + 1;
+        int rowsPerBlock = Math.max(1, BLOCK_SIZE / rowSize);
+        Deque<Future<Block>> pending = new ArrayDeque<>();
+        Deque<Block> ready = new ArrayDeque<>();
+        long adler = 1;
+
+        byte[] previous = new byte[width];
+        byte[] row = new byte[width];
+        byte[] scratch = new byte[width];
+        byte[] dictionary = null;
+        byte[] block = null;
+        int blockLength = 0;
+        Raster tile = null;
+
+        writeChunk(output, "IDAT", zlibHeader(), 2);
+        for (int y = 0; y < height; ++y) {
+            if (tile == null || y >= tile.getMinY() + tile.getHeight())
+                tile = rowsOf(image, y);
+            readRow(tile, y, row);
+
+            if (block == null) {
+                block = new byte[Math.min(rowsPerBlock, height - y) * rowSize];
+                blockLength = 0;
+            }
+            filter(row, previous, block, blockLength, scratch);
+            blockLength += rowSize;
+            byte[] swap = previous;
+            previous = row;
+            row = swap;
+
+            if (blockLength == block.length) {
+                boolean last = y == height - 1;
+                Block task = new Block(block, dictionary, last);
+                if (pool != null)
+                    pending.add(pool.submit(task));
+                else
+                    ready.add(task.call());
+                dictionary = block;
+                block = null;
+
+                while (pool != null && (pending.size() > 2 * threads || last && !pending.isEmpty()))
+                    ready.add(await(pending.poll()));
+                while (!ready.isEmpty()) {
+                    Block done = ready.poll();
+                    writeChunk(output, "IDAT", done.compressed, done.compressedLength);
+                    adler = combineAdler(adler, done.adler, done.data.length);
+                }
+            }
+        }
+        writeChunk(output, "IDAT", ByteBuffer.allocate(4).putInt((int) adler).array(), 4);
+    }
+
+    /**
+     * Nom          : rowsOf
+     * Description  : Returns the rows of the image starting at a row : the tile holding it (a strip of a
+     *                StripConverter, the raster of a BufferedImage), or a copy of the row.
+     * @param image : Gray image.
+     * @param y     : Row.
+     * @return      : A raster holding the whole row.
+     */
+    private static Raster rowsOf(RenderedImage image, int y) {
+        if (image.getNumXTiles() == 1) {
+            int tileY = Math.floorDiv(y - image.getTileGridYOffset(), image.getTileHeight());
+            Raster tile = image.getTile(image.getMinTileX(), tileY);
+            if (tile.getMinX() == image.getMinX() && tile.getWidth() == image.getWidth())
+                return tile;
+        }
+        return image.getData(new Rectangle(image.getMinX(), y, image.getWidth(), 1));
+    }
+
+    /**
+     * Nom          : readRow
+     * Description  : Reads the bytes of a row of a tile : one per pixel, or 8 pixels of 1 bit per byte, the
+     *                first one in the highest bit like in PNG.
+     * @param tile  : Raster holding the row.
+     * @param y     : Row.
+     * @param row   : Bytes of the row.
+     */
+    private static void readRow(Raster tile, int y, byte[] row) {
+        if (!(tile.getSampleModel() instanceof MultiPixelPackedSampleModel)) {
+            tile.getDataElements(tile.getMinX(), y, tile.getWidth(), 1, row);
+            return;
+        }
+
+        // getDataElements would give one byte per pixel, the packed bytes are copied
+        MultiPixelPackedSampleModel packed = (MultiPixelPackedSampleModel) tile.getSampleModel();
+        int x = tile.getMinX() - tile.getSampleModelTranslateX();
+        if (packed.getBitOffset(x) == 0) {
+            int offset = tile.getDataBuffer().getOffset() + packed.getOffset(x, y - tile.getSampleModelTranslateY());
+            System.arraycopy(((DataBufferByte) tile.getDataBuffer()).getData(), offset, row, 0, row.length);
+            return;
+        }
+        Arrays.fill(row, (byte) 0);
+        for (int i = 0; i < tile.getWidth(); ++i)
+            row[i >> 3] |= (byte) (tile.getSample(tile.getMinX() + i, y, 0) << (7 - (i & 7)));
+    }
+
+    /**
+     * Nom             : filter
+     * Description     : Filters a row with the five filters of PNG and keeps the one whose bytes have the
+     *                   smallest sum of absolute values, the heuristic of libpng. Each filter is written
+     *                   in the block after the type byte, the best one stays there.
+     * @param row      : Gray bytes of the row.
+     * @param previous : Gray bytes of the previous row, zeros for the first one.
+     * @param block    : Block receiving the filter type and the filtered bytes.
+     * @param offset   : Index of the row in the block.
+     * @param scratch  : Row of the size of the filtered bytes, to compare them.
+     */
+    private void filter(byte[] row, byte[] previous, byte[] block, int offset, byte[] scratch) {
+        int width = row.length;
+        System.arraycopy(row, 0, block, offset + 1, width);
+        block[offset] = 0;
+        // Stored data is not compressed, the filters would only cost time
+        if (level == 0)
+            return;
+
+        long bestSum = absoluteSum(block, offset + 1, width);
+        for (int type = 1; type < 5; ++type) {
+            filtered(type, row, previous, scratch);
+            long sum = absoluteSum(scratch, 0, width);
+            if (sum < bestSum) {
+                bestSum = sum;
+                block[offset] = (byte) type;
+                System.arraycopy(scratch, 0, block, offset + 1, width);
+            }
+        }
+    }
+
+    /**
+     * Nom             : filtered
+     * Description     : Filters a row, one loop per filter.
+     * @param type     : Filter : sub, up, average or Paeth.
+     * @param row      : Gray bytes of the row.
+     * @param previous : Gray bytes of the previous row.
+     * @param filtered : Row receiving the filtered bytes.
+     */
+    private static void filtered(int type, byte[] row, byte[] previous, byte[] filtered) {
+        int width = row.length;
+        switch (type) {
+            case 1:
+                filtered[0] = row[0];
+                for (int x = 1; x < width; ++x)
+                    filtered[x] = (byte) (row[x] - row[x - 1]);
+                break;
+            case 2:
+                for (int x = 0; x < width; ++x)
+                    filtered[x] = (byte) (row[x] - previous[x]);
+                break;
+            case 3:
+                filtered[0] = (byte) (row[0] - ((previous[0] & 0xFF) >>> 1));
+                for (int x = 1; x < width; ++x)
+                    filtered[x] = (byte) (row[x] - ((row[x - 1] & 0xFF) + (previous[x] & 0xFF) >>> 1));
+                break;
+            default:
+                filtered[0] = (byte) (row[0] - previous[0]);
+                for (int x = 1; x < width; ++x)
+                    filtered[x] = (byte) (row[x] - paeth(row[x - 1] & 0xFF, previous[x] & 0xFF, previous[x - 1] & 0xFF));
+        }
+    }
+
+    /**
+     * Nom           : absoluteSum
+     * Description   : Returns the sum of the filtered bytes read as signed values, in absolute value.
+     * @param bytes  : Filtered bytes.
+     * @param offset : Index of the first byte.
+     * @param length : Number of bytes.
+     * @return       : The sum.
+     */
+    private static long absoluteSum(byte[] bytes, int offset, int length) {
+        long sum = 0;
+        for (int i = offset; i < offset + length; ++i)
+            sum += Math.abs(bytes[i]);
+        return sum;
+    }
+
+    /**
+     * Nom           : paeth
+     * Description   : Predicts a byte from its left, upper and upper left neighbours.
+     * @param left   : Left byte.
+     * @param up     : Upper byte.
+     * @param corner : Upper left byte.
+     * @return       : The neighbour closest to left + up - corner.
+     */
+    private static int paeth(int left, int up, int corner) {
+        int estimate = left + up - corner;
+        int toLeft = Math.abs(estimate - left);
+        int toUp = Math.abs(estimate - up);
+        int toCorner = Math.abs(estimate - corner);
+        if (toLeft <= toUp && toLeft <= toCorner)
+            return left;
+        return toUp <= toCorner ? up : corner;
+    }
+
+    /**
+     * Nom          : zlibHeader
+     * Description  : Returns the two bytes starting the zlib stream, with the level class of the deflater.
+     * @return      : 0x78 and the flags, a multiple of 31 with the first byte.
+     */
+    private byte[] zlibHeader() {
+        int levelClass = level <= 1 ? 0 : level <= 5 ? 1 : level == 6 ? 2 : 3;
+        int header = 0x78 << 8 | levelClass << 6;
+        header += 31 - header % 31;
+        return new byte[] {(byte) (header >>> 8), (byte) header};
+    }
+
+    /**
+     * Nom            : combineAdler
+     * Description    : Combines the Adler-32 of two consecutive parts of a stream (adler32_combine of zlib).
+     * @param first   : Adler-32 of the first part.
+     * @param second  : Adler-32 of the second part.
+     * @param length  : Length of the second part.
+     * @return        : Adler-32 of the two parts.
+     */
+    private static long combineAdler(long first, long second, long length) {
+        long remainder = length % ADLER_BASE;
+        long sum1 = first & 0xFFFF;
+        long sum2 = remainder * sum1 % ADLER_BASE;
+        sum1 += (second & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += (first >>> 16 & 0xFFFF) + (second >>> 16 & 0xFFFF) + ADLER_BASE - remainder;
+        sum1 %= ADLER_BASE;
+        sum2 %= ADLER_BASE;
+        return sum2 << 16 | sum1;
+    }
+
+    /**
+     * Nom           : writeChunk
+     * Description   : Writes a PNG chunk : its length, its type, its data and their CRC-32.
+     * @param output : Stream of the PNG file.
+     * @param type   : Type of the chunk, 4 ASCII letters.
+     * @param data   : Data of the chunk.
+     * @param length : Number of bytes of data.
+     * @throws IOException if the stream cannot be written.
+     */
+    private static void writeChunk(ImageOutputStream output, String type, byte[] data, int length) throws IOException {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(data, 0, length);
+        output.writeInt(length);
+        output.write(name);
+        output.write(data, 0, length);
+        output.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Nom           : await
+     * Description   : Waits for a deflated block.
+     * @param future : Block being deflated.
+     * @return       : The deflated block.
+     * @throws IOException if the thread is interrupted.
+     */
+    private static Block await(Future<Block> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while deflating the image.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Block of filtered rows, deflated by a thread of the pool.
+     */
+    private class Block implements Callable<Block> {
+        private final byte[] data;
+        private final byte[] dictionary;
+        private final boolean last;
+        private byte[] compressed;
+        private int compressedLength;
+        private long adler;
+
+        private Block(byte[] data, byte[] dictionary, boolean last) {
+            this.data = data;
+            this.dictionary = dictionary;
+            this.last = last;
+        }
+
+        @Override
+        public Block call() {
+            Deflater deflater = new Deflater(level, true);
+            try {
+                if (dictionary != null && level > 0) {
+                    int size = Math.min(DICTIONARY_SIZE, dictionary.length);
+                    deflater.setDictionary(dictionary, dictionary.length - size, size);
+                }
+                deflater.setInput(data);
+                if (last)
+                    deflater.finish();
+
+                // A block of stored data takes 5 more bytes per 64 KB
+                compressed = new byte[data.length + data.length / 1024 + 64];
+                int flush = last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH;
+                while (true) {
+                    compressedLength += deflater.deflate(compressed, compressedLength,
+                            compressed.length - compressedLength, flush);
+                    if (last ? deflater.finished() : compressedLength < compressed.length)
+                        break;
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+            } finally {
+                deflater.end();
+            }
+
+            Adler32 checksum = new Adler32();
+            checksum.update(data);
+            adler = checksum.getValue();
+            return this;
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,416 @@
+package Convert;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class converts an image to black and white (8-bit grayscale). It is shared
+ *                by the single image conversion and by the batch pipeline. The pixels are read
+ *                directly from the data buffer of the image and the rows are cut in tiles that
+ *                are converted in parallel on the common ForkJoin pool. The images whose layout
+ *                is not supported are read row by row with getRGB, and the "java2d" kernel keeps
+ *                the original conversion with Graphics.drawImage. The "simd" kernel needs the
+ *                jdk.incubator.vector module (java --add-modules jdk.incubator.vector), without
+ *                it the scalar kernel is used.
+ *                The operations of an OperationChain (resize, gamma, threshold) are fused with the
+ *                conversion : each tile converts the input rows it needs in a buffer of the tile,
+ *                resizes them and changes their levels, so no other image than the output is
+ *                allocated. The java2d kernel draws the whole image, it cannot be combined with them.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class GrayscaleConverter {
+    // region Public Parameters
+    public static final String SIMD = "simd";
+    public static final String SCALAR = "scalar";
+    public static final String JAVA2D = "java2d";
+    public static final List<String> KERNELS = List.of(SIMD, SCALAR, JAVA2D);
+    // endregion
+
+    // region Private Parameters
+    // Number of pixels of a tile, enough to hide the cost of a task and small enough to stay in the cache
+    private static final int TILE_PIXELS = 1 << 16;
+
+    // null for the java2d kernel
+    private final GrayscaleKernel kernel;
+    private final String kernelName;
+    private final Luma luma;
+    private final OperationChain operations;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom          : GrayscaleConverter
+     * Description  : Creates a converter.
+     * @param kernel : Name of the kernel, one of KERNELS.
+     * @param luma   : Weights of the components, ignored by the java2d kernel.
+     * @throws IllegalArgumentException if the kernel is unknown.
+     */
+    public GrayscaleConverter(String kernel, Luma luma) {
+        this(kernel, luma, OperationChain.NONE);
+    }
+
+    /**
+     * Nom               : GrayscaleConverter
+     * Description       : Creates a converter applying operations to the gray images.
+     * @param kernel     : Name of the kernel, one of KERNELS.
+     * @param luma       : Weights of the components, ignored by the java2d kernel.
+     * @param operations : Resize, gamma and threshold of the gray images, none with the java2d kernel.
+     * @throws IllegalArgumentException if the kernel is unknown, or if it is java2d with operations.
+     */
+    public GrayscaleConverter(String kernel, Luma luma, OperationChain operations) {
+        switch (kernel) {
+            case SIMD:
+                GrayscaleKernel simd = simdAvailable() ? newSimdKernel() : null;
+                this.kernel = simd != null ? simd : new ScalarKernel();
+                this.kernelName = simd != null ? SIMD : SCALAR;
+                break;
+            case SCALAR:
+                this.kernel = new ScalarKernel();
+                this.kernelName = SCALAR;
+                break;
+            case JAVA2D:
+                if (!operations.parameters().isEmpty())
+                    throw new IllegalArgumentException("The java2d kernel cannot resize or change the levels, use the scalar or simd kernel.");
+                this.kernel = null;
+                this.kernelName = JAVA2D;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown kernel " + kernel + ". Supported kernels: " + String.join(", ", KERNELS) + ".");
+        }
+        this.luma = luma;
+        this.operations = operations;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : simdAvailable
+     * Description  : Tells if the Vector API module was added to the JVM.
+     * @return      : true if the simd kernel can be used.
+     */
+    public static boolean simdAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    /**
+     * Nom          : getKernelName
+     * Description  : Returns the kernel really used, the simd kernel falls back to the scalar one.
+     * @return      : simd, scalar or java2d.
+     */
+    public String getKernelName() {
+        return kernelName;
+    }
+
+    /**
+     * Nom          : getOperations
+     * Description  : Returns the operations applied to the gray images.
+     * @return      : The operations.
+     */
+    public OperationChain getOperations() {
+        return operations;
+    }
+
+    /**
+     * Nom          : convert
+     * Description  : Creates a grayscale copy of the image, with the size given by the operations.
+     * @param image : Image to convert.
+     * @return      : The grayscale image.
+     */
+    public BufferedImage convert(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        return convert(image, 0, height, 0, operations.outputHeight(width, height));
+    }
+
+    /**
+     * Nom          : convert
+     * Description  : Creates a grayscale copy of the image in an image of a pool, with the size given by the
+     *                operations. The caller releases the copy to the pool when it is no longer used.
+     * @param image : Image to convert.
+     * @param pool  : Pool of the free images.
+     * @return      : The grayscale image.
+     */
+    public BufferedImage convert(BufferedImage image, RasterPool pool) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        return convert(image, 0, height, 0, operations.outputHeight(width, height), pool);
+    }
+
+    /**
+     * Nom                 : convert
+     * Description         : Converts some rows of the output from a part of the input image (a strip), which
+     *                       must hold the input rows from Resampler.firstSource(from) to Resampler.endSource(to).
+     * @param image        : Rows of the input image, with its whole width.
+     * @param sourceY      : Row of the input image of the first row of image.
+     * @param sourceHeight : Height of the whole input image.
+     * @param from         : First row of the output.
+     * @param to           : End of the rows of the output, excluded.
+     * @return             : The grayscale image of the output rows.
+     */
+    public BufferedImage convert(BufferedImage image, int sourceY, int sourceHeight, int from, int to) {
+        return convert(image, sourceY, sourceHeight, from, to, null);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom                 : convert
+     * Description         : Converts some rows of the output from a part of the input image.
+     * @param image        : Rows of the input image, with its whole width.
+     * @param sourceY      : Row of the input image of the first row of image.
+     * @param sourceHeight : Height of the whole input image.
+     * @param from         : First row of the output.
+     * @param to           : End of the rows of the output, excluded.
+     * @param pool         : Pool of the free images, null to allocate the output.
+     * @return             : The grayscale image of the output rows.
+     */
+    private BufferedImage convert(BufferedImage image, int sourceY, int sourceHeight, int from, int to, RasterPool pool) {
+        if (kernel == null)
+            return convertJava2d(image, pool);
+
+        int sourceWidth = image.getWidth();
+
+        int width = operations.outputWidth(sourceWidth, sourceHeight);
+        int height = operations.outputHeight(sourceWidth, sourceHeight);
+        BufferedImage blackAndWhiteImage = pool != null ? pool.acquireGray(width, to - from)
+                : new BufferedImage(width, to - from, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] gray = ((DataBufferByte) blackAndWhiteImage.getRaster().getDataBuffer()).getData();
+        SourceRows source = rowsOf(image, sourceWidth);
+        byte[] table = operations.lookupTable();
+
+        RowRange rows;
+        if (width == sourceWidth && height == sourceHeight) {
+            rows = (first, end) -> {
+                int offset = (first - from) * width;
+                source.read(first - sourceY, end - sourceY, gray, offset);
+                if (table != null)
+                    OperationChain.lookup(table, gray, offset, (end - first) * width);
+            };
+        } else {
+            Resampler resampler = new Resampler(sourceWidth, sourceHeight, width, height);
+            rows = (first, end) -> {
+                // Only the input rows of the tile are converted, in a buffer of the tile
+                int sourceFirst = Resampler.firstSource(first, sourceHeight, height);
+                int sourceEnd = Resampler.endSource(end, sourceHeight, height);
+                byte[] sourceGray = new byte[(sourceEnd - sourceFirst) * sourceWidth];
+                source.read(sourceFirst - sourceY, sourceEnd - sourceY, sourceGray, 0);
+                resampler.resample(sourceGray, first, end, gray, (first - from) * width, table);
+            };
+        }
+
+        // A tile covers about TILE_PIXELS pixels of the input and of the output
+        int sourceRows = (sourceHeight + height - 1) / height;
+        int tileRows = Math.max(1, TILE_PIXELS / Math.max(1, Math.max(width, sourceWidth * sourceRows)));
+        if (to - from <= tileRows)
+            rows.convert(from, to);
+        else
+            ForkJoinPool.commonPool().invoke(new RowTiles(rows, from, to, tileRows));
+        return blackAndWhiteImage;
+    }
+
+    /**
+     * Description : Converts the rows [from, to[ of the output.
+     */
+    @FunctionalInterface
+    private interface RowRange {
+        void convert(int from, int to);
+    }
+
+    /**
+     * Description : Writes the gray levels of the rows [from, to[ of the image in gray, from the index "index".
+     */
+    @FunctionalInterface
+    private interface SourceRows {
+        void read(int from, int to, byte[] gray, int index);
+    }
+
+    /**
+     * Nom          : rowsOf
+     * Description  : Chooses how the rows of the image are read : packed ints, interleaved bytes, a copy of
+     *                the gray bytes, or getRGB for the other layouts (indexed, 16-bit, other color spaces ...).
+     * @param image : Image to convert.
+     * @param width : Width of the image.
+     * @return      : The conversion of a range of rows, "width" gray bytes per row.
+     */
+    private SourceRows rowsOf(BufferedImage image, int width) {
+        WritableRaster raster = image.getRaster();
+        SampleModel sampleModel = raster.getSampleModel();
+        DataBuffer dataBuffer = raster.getDataBuffer();
+        ColorModel colorModel = image.getColorModel();
+        // Position of the pixel (0, y) of the image in the sample model, not 0 for a sub-image
+        int x0 = -raster.getSampleModelTranslateX();
+        int y0 = -raster.getSampleModelTranslateY();
+        int offset = dataBuffer.getOffset();
+
+        if (dataBuffer.getNumBanks() == 1 && hasBytes(sampleModel)) {
+            if (dataBuffer instanceof DataBufferInt && sampleModel instanceof SinglePixelPackedSampleModel
+                    && colorModel instanceof DirectColorModel && colorModel.getColorSpace().isCS_sRGB()) {
+                SinglePixelPackedSampleModel packed = (SinglePixelPackedSampleModel) sampleModel;
+                PixelFormat format = packedFormat(packed, colorModel);
+                if (format != null) {
+                    int[] data = ((DataBufferInt) dataBuffer).getData();
+                    return (from, to, gray, index) -> {
+                        for (int y = from; y < to; ++y)
+                            kernel.packed(data, offset + packed.getOffset(x0, y + y0), format, gray, index + (y - from) * width, width, luma);
+                    };
+                }
+            }
+
+            if (dataBuffer instanceof DataBufferByte && sampleModel instanceof PixelInterleavedSampleModel
+                    && colorModel instanceof ComponentColorModel) {
+                PixelInterleavedSampleModel interleaved = (PixelInterleavedSampleModel) sampleModel;
+                byte[] data = ((DataBufferByte) dataBuffer).getData();
+
+                if (image.getType() == BufferedImage.TYPE_BYTE_GRAY && interleaved.getPixelStride() == 1)
+                    return (from, to, gray, index) -> {
+                        for (int y = from; y < to; ++y)
+                            System.arraycopy(data, offset + interleaved.getOffset(x0, y + y0), gray, index + (y - from) * width, width);
+                    };
+
+                if (colorModel.getColorSpace().isCS_sRGB() && interleaved.getNumBands() >= 3) {
+                    // getOffset gives the position of the band 0, the format gives the bands from the start of the pixel
+                    int[] bands = interleaved.getBandOffsets();
+                    PixelFormat format = new PixelFormat(bands[0], bands[1], bands[2],
+                            colorModel.hasAlpha() ? bands[3] : PixelFormat.NONE,
+                            interleaved.getPixelStride(), colorModel.isAlphaPremultiplied());
+                    int start = offset - bands[0];
+                    return (from, to, gray, index) -> {
+                        for (int y = from; y < to; ++y)
+                            kernel.interleaved(data, start + interleaved.getOffset(x0, y + y0), format, gray, index + (y - from) * width, width, luma);
+                    };
+                }
+            }
+        }
+
+        return (from, to, gray, index) -> {
+            int[] row = new int[width];
+            for (int y = from; y < to; ++y) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                kernel.packed(row, 0, PixelFormat.ARGB, gray, index + (y - from) * width, width, luma);
+            }
+        };
+    }
+
+    /**
+     * Nom                : packedFormat
+     * Description        : Returns the positions of the components of pixels packed in ints.
+     * @param sampleModel : Sample model of the image.
+     * @param colorModel  : Color model of the image.
+     * @return            : The pixel format, null if a component is not 8 bits aligned on a byte.
+     */
+    private static PixelFormat packedFormat(SinglePixelPackedSampleModel sampleModel, ColorModel colorModel) {
+        int[] masks = sampleModel.getBitMasks();
+        int[] shifts = new int[masks.length];
+        for (int i = 0; i < masks.length; ++i) {
+            shifts[i] = Integer.numberOfTrailingZeros(masks[i]);
+            if (shifts[i] % 8 != 0 || masks[i] != 0xFF << shifts[i])
+                return null;
+        }
+        return new PixelFormat(shifts[0], shifts[1], shifts[2],
+                colorModel.hasAlpha() ? shifts[3] : PixelFormat.NONE, 1, colorModel.isAlphaPremultiplied());
+    }
+
+    /**
+     * Nom                : hasBytes
+     * Description        : Checks that every component of the pixels has 8 bits.
+     * @param sampleModel : Sample model of the image.
+     * @return            : true if every sample has 8 bits.
+     */
+    private static boolean hasBytes(SampleModel sampleModel) {
+        for (int size : sampleModel.getSampleSize()) {
+            if (size != 8)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Nom          : newSimdKernel
+     * Description  : Creates the simd kernel by reflection, so its class and the Vector API are only loaded
+     *                when the module is present.
+     * @return      : The simd kernel, null if it cannot be created.
+     */
+    private static GrayscaleKernel newSimdKernel() {
+        try {
+            return (GrayscaleKernel) Class.forName("Convert.SimdKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Nom          : convertJava2d
+     * Description  : Converts the image by drawing it on a grayscale image with Java 2D.
+     * @param image : Image to convert.
+     * @param pool  : Pool of the free images, null to allocate the grayscale image.
+     * @return      : The grayscale image.
+     */
+    private static BufferedImage convertJava2d(BufferedImage image, RasterPool pool) {
+        BufferedImage blackAndWhiteImage = pool != null ? pool.acquireGray(image.getWidth(), image.getHeight())
+                : new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = blackAndWhiteImage.createGraphics();
+        try {
+            // A recycled image keeps its last pixels, the transparent pixels are drawn over black
+            if (pool != null && image.getColorModel().hasAlpha()) {
+                graphics.setColor(Color.BLACK);
+                graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            }
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return blackAndWhiteImage;
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Splits a range of rows in two until it is not larger than a tile.
+     */
+    private static class RowTiles extends RecursiveAction {
+        private final RowRange rows;
+        private final int from;
+        private final int to;
+        private final int tileRows;
+
+        private RowTiles(RowRange rows, int from, int to, int tileRows) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.tileRows = tileRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= tileRows) {
+                rows.convert(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RowTiles(rows, from, middle, tileRows), new RowTiles(rows, middle, to, tileRows));
+        }
+    }
+    // endregion
+}
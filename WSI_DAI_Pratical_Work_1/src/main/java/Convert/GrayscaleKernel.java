@@ -0,0 +1,40 @@
+package Convert;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This interface is implemented by the backends computing the gray levels of a
+ *                run of pixels read directly from the data buffer of an image. Both methods
+ *                convert "length" consecutive pixels of one row.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public interface GrayscaleKernel {
+
+    /**
+     * Nom                : packed
+     * Description        : Converts pixels packed in ints (INT_RGB, INT_ARGB, INT_BGR ...).
+     * @param src         : Data of the source image.
+     * @param srcOffset   : Index of the first pixel.
+     * @param format      : Position of the components in an int.
+     * @param dst         : Data of the gray image.
+     * @param dstOffset   : Index of the first gray pixel.
+     * @param length      : Number of pixels.
+     * @param luma        : Weights of the components.
+     */
+    void packed(int[] src, int srcOffset, PixelFormat format, byte[] dst, int dstOffset, int length, Luma luma);
+
+    /**
+     * Nom                : interleaved
+     * Description        : Converts pixels stored as interleaved bytes (3BYTE_BGR, 4BYTE_ABGR ...).
+     * @param src         : Data of the source image.
+     * @param srcOffset   : Index of the first byte of the first pixel.
+     * @param format      : Position of the components in a pixel and number of bytes per pixel.
+     * @param dst         : Data of the gray image.
+     * @param dstOffset   : Index of the first gray pixel.
+     * @param length      : Number of pixels.
+     * @param luma        : Weights of the components.
+     */
+    void interleaved(byte[] src, int srcOffset, PixelFormat format, byte[] dst, int dstOffset, int length, Luma luma);
+}
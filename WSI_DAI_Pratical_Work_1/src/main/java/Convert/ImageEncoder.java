@@ -0,0 +1,149 @@
+package Convert;
+
+import Utils.WorkerPool;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.RenderedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class writes the converted images with the compression options of the Convert
+ *                command. A gray PNG is written by the GrayPngEncoder, which deflates in parallel ;
+ *                the other images go through the ImageWriter of their format, with the PNG level or
+ *                the JPEG quality given in its ImageWriteParam.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ImageEncoder {
+    // region Public Parameters
+    // Quality of the JPEG writers in percent, the default of ImageIO
+    public static final int DEFAULT_JPEG_QUALITY = 75;
+    // endregion
+
+    // region Private Parameters
+    private final int pngLevel;
+    private final int jpegQuality;
+    private final int threads;
+    // Threads shared by the jobs of a server, null to start threads for each image
+    private final WorkerPool workers;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom               : ImageEncoder
+     * Description       : Creates an encoder.
+     * @param pngLevel    : Deflate level of the PNG images, from 0 to 9.
+     * @param jpegQuality : Quality of the JPEG images, from 0 to 100.
+     * @param threads     : Number of threads deflating a gray PNG image.
+     */
+    public ImageEncoder(int pngLevel, int jpegQuality, int threads) {
+        this(pngLevel, jpegQuality, threads, null);
+    }
+
+    /**
+     * Nom                : ImageEncoder
+     * Description        : Creates an encoder deflating the gray PNG images on the threads of a shared pool.
+     * @param pngLevel    : Deflate level of the PNG images, from 0 to 9.
+     * @param jpegQuality : Quality of the JPEG images, from 0 to 100.
+     * @param threads     : Number of threads deflating a gray PNG image.
+     * @param workers     : Pool kept between the images, null to start threads for each image.
+     */
+    public ImageEncoder(int pngLevel, int jpegQuality, int threads, WorkerPool workers) {
+        this.pngLevel = pngLevel;
+        this.jpegQuality = jpegQuality;
+        this.threads = threads;
+        this.workers = workers;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom           : write
+     * Description   : Writes an image in a format. The stream is not closed.
+     * @param image  : Image to write.
+     * @param format : Format of the output : jpg, jpeg or png.
+     * @param output : Stream of the output image.
+     * @throws IOException if there's no writer for the format or the stream cannot be written.
+     */
+    public void write(RenderedImage image, String format, ImageOutputStream output) throws IOException {
+        if (output == null)
+            throw new IOException("The output file cannot be created.");
+        if (format.equals("png") && GrayPngEncoder.supports(image)) {
+            new GrayPngEncoder(pngLevel, threads, workers).write(image, output);
+            return;
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext())
+            throw new IOException("No writer for the output format " + format + ".");
+        ImageWriter writer = writers.next();
+        try {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), writeParam(writer, format));
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Nom           : write
+     * Description   : Writes an image in a file, replaced.
+     * @param image  : Image to write.
+     * @param format : Format of the output : jpg, jpeg or png.
+     * @param output : Output file.
+     * @throws IOException if there's no writer for the format or the file cannot be written.
+     */
+    public void write(RenderedImage image, String format, File output) throws IOException {
+        // The stream of a file overwrites it without truncating it
+        Files.deleteIfExists(output.toPath());
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            write(image, format, stream);
+        }
+    }
+
+    /**
+     * Nom          : parameters
+     * Description  : Returns the options which change the encoded images, for the keys of a cache.
+     * @return      : The PNG level and the JPEG quality.
+     */
+    public List<String> parameters() {
+        return List.of("png " + pngLevel, "jpeg " + jpegQuality);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : writeParam
+     * Description   : Returns the parameters of a writer with the compression of its format.
+     * @param writer : Writer of the format.
+     * @param format : Format of the output.
+     * @return       : The parameters.
+     */
+    private ImageWriteParam writeParam(ImageWriter writer, String format) {
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (!param.canWriteCompressed())
+            return param;
+
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        if (format.equals("png"))
+            // The PNG writer of the JDK uses the level (int) (9 * (1 - quality)), the half avoids rounding down
+            param.setCompressionQuality(Math.max(0f, 1f - (pngLevel + 0.5f) / 9f));
+        else
+            param.setCompressionQuality(jpegQuality / 100f);
+        return param;
+    }
+    // endregion
+}
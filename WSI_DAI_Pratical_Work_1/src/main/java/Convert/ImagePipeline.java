@@ -0,0 +1,412 @@
+package Convert;
+
+import Utils.BatchFiles;
+import Utils.BatchReport;
+import Utils.Progress;
+import Utils.ResultCache;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class converts a batch of images with a pipeline of three stages :
+ *                decode, grayscale and encode. Each stage has its own threads and the stages
+ *                are linked by bounded queues, so a slow JPEG decode overlaps with the
+ *                conversion, the encoding and the disk I/O of the other images, while the
+ *                number of decoded images in memory stays bounded by the queue sizes. With a cache,
+ *                an image already converted is copied by the decode stage and skips the others.
+ *                With a RasterPool, the images are decoded and converted into the images of the
+ *                previous ones, which are released once the next stage no longer needs them.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ImagePipeline {
+    // region Private Parameters
+    // Marks the end of a queue, one per thread of the next stage
+    private static final Frame END = new Frame(null);
+
+    private final int decodeThreads;
+    private final int convertThreads;
+    private final int encodeThreads;
+    private final int queueSize;
+    private final GrayscaleConverter converter;
+
+    private final StageStats decodeStats;
+    private final StageStats convertStats;
+    private final StageStats encodeStats;
+
+    private ResultCache cache;
+    private Function<String, List<String>> cacheParameters;
+    // Each image is deflated by its encode thread, the threads of the stage already use the cores
+    private ImageEncoder encoder = new ImageEncoder(GrayPngEncoder.DEFAULT_LEVEL, ImageEncoder.DEFAULT_JPEG_QUALITY, 1);
+    // Conversion of the gray images to 1 bit, null to keep them gray
+    private BilevelConverter bilevel;
+    // Free images to decode and convert into, null to allocate each image
+    private RasterPool pool;
+    // Progress of the command, null if it is not reported
+    private Progress progress;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                   : ImagePipeline
+     * Description           : Creates a pipeline.
+     * @param decodeThreads  : Number of threads reading and decoding the images.
+     * @param convertThreads : Number of threads converting the images to grayscale.
+     * @param encodeThreads  : Number of threads encoding and writing the images.
+     * @param queueSize      : Capacity of each queue between two stages.
+     * @param converter      : Grayscale conversion of the images.
+     */
+    public ImagePipeline(int decodeThreads, int convertThreads, int encodeThreads, int queueSize, GrayscaleConverter converter) {
+        this.decodeThreads = decodeThreads;
+        this.convertThreads = convertThreads;
+        this.encodeThreads = encodeThreads;
+        this.queueSize = queueSize;
+        this.converter = converter;
+        this.decodeStats = new StageStats("Decode", decodeThreads);
+        this.convertStats = new StageStats("Grayscale", convertThreads);
+        this.encodeStats = new StageStats("Encode", encodeThreads);
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : run
+     * Description  : Converts every image of the batch and waits for the end of the pipeline.
+     * @param jobs  : Images of the batch, the format of each output is given by its extension.
+     * @return      : Report of the batch, the items are the pixels converted.
+     * @throws IOException if the pipeline is interrupted.
+     */
+    public BatchReport run(List<BatchFiles.Job> jobs) throws IOException {
+        BatchReport report = new BatchReport();
+        report.setProgress(progress);
+        if (progress != null)
+            progress.setTotal(jobs.size());
+        BlockingQueue<Frame> decoded = new ArrayBlockingQueue<>(queueSize);
+        BlockingQueue<Frame> converted = new ArrayBlockingQueue<>(queueSize);
+        AtomicInteger nextJob = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        threads.addAll(stage("decode", decodeThreads, convertThreads, decoded, () -> {
+            int index;
+            while ((index = nextJob.getAndIncrement()) < jobs.size())
+                decode(jobs.get(index), decoded, report);
+        }));
+        threads.addAll(stage("grayscale", convertThreads, encodeThreads, converted, () -> {
+            Frame frame;
+            while ((frame = decoded.take()) != END)
+                convert(frame, converted, report);
+        }));
+        threads.addAll(stage("encode", encodeThreads, 0, null, () -> {
+            Frame frame;
+            while ((frame = converted.take()) != END)
+                encode(frame, report);
+        }));
+
+        try {
+            for (Thread thread : threads)
+                thread.join();
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch interrupted.", e);
+        }
+
+        report.finish();
+        return report;
+    }
+
+    /**
+     * Nom                    : setCache
+     * Description            : Copies the images already converted from a cache, and stores the others in it.
+     * @param cache           : Cache of the outputs.
+     * @param cacheParameters : Parameters of the key of an image, from the format of its output.
+     */
+    public void setCache(ResultCache cache, Function<String, List<String>> cacheParameters) {
+        this.cache = cache;
+        this.cacheParameters = cacheParameters;
+    }
+
+    /**
+     * Nom           : setEncoder
+     * Description   : Writes the images with the compression options of an encoder.
+     * @param encoder : Writer of the output images.
+     */
+    public void setEncoder(ImageEncoder encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Nom           : setBilevel
+     * Description   : Converts the gray images to black and white images of 1 bit in the convert stage.
+     * @param bilevel : Conversion to 1 bit, null to keep the images gray.
+     */
+    public void setBilevel(BilevelConverter bilevel) {
+        this.bilevel = bilevel;
+    }
+
+    /**
+     * Nom          : setPool
+     * Description  : Decodes and converts the images into the free images of a pool.
+     * @param pool  : Pool of the free images, null to allocate each image.
+     */
+    public void setPool(RasterPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Nom             : setProgress
+     * Description     : Reports the images written or failed by the next runs.
+     * @param progress : Progress of the command, null to report nothing.
+     */
+    public void setProgress(Progress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Nom          : printStages
+     * Description  : Prints the throughput of each stage of the last run.
+     */
+    public void printStages() {
+        System.out.println(decodeStats);
+        System.out.println(convertStats);
+        System.out.println(encodeStats);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Description : Work of the threads of a stage, it may be interrupted while waiting on a queue.
+     */
+    @FunctionalInterface
+    private interface StageWork {
+        void run() throws InterruptedException;
+    }
+
+    /**
+     * Nom              : stage
+     * Description      : Starts the threads of a stage. The last thread of the stage to finish puts one end
+     *                    mark per thread of the next stage in the output queue.
+     * @param name      : Name of the threads.
+     * @param count     : Number of threads of the stage.
+     * @param nextCount : Number of threads of the next stage.
+     * @param output    : Output queue of the stage, null for the last stage.
+     * @param work      : Work of each thread.
+     * @return          : The started threads.
+     */
+    private List<Thread> stage(String name, int count, int nextCount, BlockingQueue<Frame> output, StageWork work) {
+        AtomicInteger running = new AtomicInteger(count);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < count; ++i) {
+            Thread thread = new Thread(() -> {
+                try {
+                    work.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    // Also on failure, otherwise the next stage would wait forever
+                    if (running.decrementAndGet() == 0 && output != null)
+                        endQueue(output, nextCount);
+                }
+            }, "convert-" + name + "-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        return threads;
+    }
+
+    /**
+     * Nom           : endQueue
+     * Description   : Puts the end marks of the next stage in a queue.
+     * @param output : Queue of the next stage.
+     * @param count  : Number of threads of the next stage.
+     */
+    private void endQueue(BlockingQueue<Frame> output, int count) {
+        try {
+            for (int i = 0; i < count; ++i)
+                output.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Nom          : decode
+     * Description  : Reads and decodes one image, then passes it to the grayscale stage.
+     * @param job    : Image of the batch.
+     * @param output : Queue of the grayscale stage.
+     * @param report : Report receiving the failures.
+     * @throws InterruptedException if the pipeline is interrupted.
+     */
+    private void decode(BatchFiles.Job job, BlockingQueue<Frame> output, BatchReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        Frame frame = new Frame(job);
+        try {
+            frame.inputBytes = Files.size(job.getInput());
+            if (cache != null) {
+                frame.cacheKey = cache.key(job.getInput(), cacheParameters.apply(extensionOf(job)));
+                if (job.getOutput().getParent() != null)
+                    Files.createDirectories(job.getOutput().getParent());
+                long pixels = cache.restore(frame.cacheKey, job.getOutput());
+                if (pixels >= 0) {
+                    report.succeeded(frame.inputBytes, Files.size(job.getOutput()), pixels);
+                    return;
+                }
+            }
+            frame.image = pool != null ? read(job.getInput().toFile()) : ImageIO.read(job.getInput().toFile());
+            if (frame.image == null)
+                throw new IOException("The input file is not a supported image.");
+            frame.pixels = (long) frame.image.getWidth() * frame.image.getHeight();
+        } catch (IOException | RuntimeException e) {
+            report.failed(job.getInput(), e);
+            return;
+        }
+        decodeStats.record(start, System.nanoTime(), frame.pixels);
+        output.put(frame);
+    }
+
+    /**
+     * Nom          : convert
+     * Description  : Converts one image to grayscale, then passes it to the encode stage.
+     * @param frame  : Decoded image.
+     * @param output : Queue of the encode stage.
+     * @param report : Report receiving the failures.
+     * @throws InterruptedException if the pipeline is interrupted.
+     */
+    private void convert(Frame frame, BlockingQueue<Frame> output, BatchReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            BufferedImage source = frame.image;
+            if (pool == null) {
+                frame.image = converter.convert(source);
+            } else {
+                frame.image = converter.convert(source, pool);
+                pool.release(source);
+            }
+            if (bilevel != null) {
+                BufferedImage gray = frame.image;
+                frame.image = bilevel.convert(gray);
+                if (pool != null)
+                    pool.release(gray);
+            }
+        } catch (RuntimeException e) {
+            report.failed(frame.job.getInput(), e);
+            return;
+        }
+        convertStats.record(start, System.nanoTime(), frame.pixels);
+        output.put(frame);
+    }
+
+    /**
+     * Nom          : encode
+     * Description  : Encodes one image in the format of its output extension and writes it.
+     * @param frame  : Converted image.
+     * @param report : Report receiving the result.
+     */
+    private void encode(Frame frame, BatchReport report) {
+        long start = System.nanoTime();
+        try {
+            String extension = extensionOf(frame.job);
+            if (frame.job.getOutput().getParent() != null)
+                Files.createDirectories(frame.job.getOutput().getParent());
+
+            encoder.write(frame.image, extension, frame.job.getOutput().toFile());
+            if (frame.cacheKey != null)
+                cache.store(frame.cacheKey, frame.job.getOutput(), frame.pixels);
+            report.succeeded(frame.inputBytes, Files.size(frame.job.getOutput()), frame.pixels);
+        } catch (IOException | RuntimeException e) {
+            report.failed(frame.job.getInput(), e);
+            return;
+        } finally {
+            // The images of 1 bit are not taken from the pool
+            if (pool != null && bilevel == null)
+                pool.release(frame.image);
+        }
+        encodeStats.record(start, System.nanoTime(), frame.pixels);
+    }
+
+    /**
+     * Nom          : read
+     * Description  : Decodes an image into a free image of the pool of its size and of the pixel layout
+     *                chosen by its reader.
+     * @param file  : Image file.
+     * @return      : The decoded image, null if the format is not supported.
+     * @throws IOException if the image cannot be decoded.
+     */
+    private BufferedImage read(File file) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(file)) {
+            Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+            if (readers == null || !readers.hasNext())
+                return null;
+            ImageReader reader = readers.next();
+            BufferedImage destination = null;
+            try {
+                reader.setInput(stream, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+                if (types.hasNext()) {
+                    destination = pool.acquire(types.next(), reader.getWidth(0), reader.getHeight(0));
+                    param.setDestination(destination);
+                }
+                BufferedImage image = reader.read(0, param);
+                destination = null;
+                return image;
+            } finally {
+                // Released on failure, the pixels of a free image do not matter
+                pool.release(destination);
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Nom          : extensionOf
+     * Description  : Returns the format of the output of a job.
+     * @param job   : Image of the batch.
+     * @return      : The extension of the output, in lower case.
+     */
+    private static String extensionOf(BatchFiles.Job job) {
+        String path = job.getOutput().toString();
+        return path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Image moving through the pipeline with the job it comes from.
+     */
+    private static class Frame {
+        private final BatchFiles.Job job;
+        private BufferedImage image;
+        private long inputBytes;
+        private String cacheKey;
+        // Pixels of the decoded image, the output is smaller with a resize
+        private long pixels;
+
+        private Frame(BatchFiles.Job job) {
+            this.job = job;
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,59 @@
+package Convert;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This enum gives the weights of the red, green and blue components in the gray
+ *                level (luma) of a pixel. The weights are fixed-point numbers whose sum is 65536,
+ *                so gray = (r * red + g * green + b * blue + 32768) >>> 16 stays between 0 and 255.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public enum Luma {
+    // ITU-R BT.601 (SD video, JPEG) : 0.299 R + 0.587 G + 0.114 B
+    BT601(19595, 38470, 7471),
+    // ITU-R BT.709 (HD video, sRGB) : 0.2126 R + 0.7152 G + 0.0722 B
+    BT709(13933, 46871, 4732);
+
+    // region Public Parameters
+    public static final int SHIFT = 16;
+    public static final int ROUND = 1 << (SHIFT - 1);
+
+    public final int red;
+    public final int green;
+    public final int blue;
+    // endregion
+
+    Luma(int red, int green, int blue) {
+        this.red = red;
+        this.green = green;
+        this.blue = blue;
+    }
+
+    /**
+     * Nom          : gray
+     * Description  : Computes the gray level of a pixel.
+     * @param r     : Red component (0 - 255).
+     * @param g     : Green component (0 - 255).
+     * @param b     : Blue component (0 - 255).
+     * @return      : Gray level (0 - 255).
+     */
+    public int gray(int r, int g, int b) {
+        return (r * red + g * green + b * blue + ROUND) >>> SHIFT;
+    }
+
+    /**
+     * Nom          : fromName
+     * Description  : Returns the luma of a name given on the command line.
+     * @param name  : bt601 or bt709, in any case.
+     * @return      : The luma, null if the name is unknown.
+     */
+    public static Luma fromName(String name) {
+        for (Luma luma : values()) {
+            if (luma.name().equalsIgnoreCase(name) || luma.name().equalsIgnoreCase(name.replace(".", "")))
+                return luma;
+        }
+        return null;
+    }
+}
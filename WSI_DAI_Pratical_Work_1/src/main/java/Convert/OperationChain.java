@@ -0,0 +1,187 @@
+package Convert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class describes the operations applied to the gray image by the Convert command,
+ *                in this order : a resize, a gamma correction and a threshold. They are not applied
+ *                one after the other on whole images : the GrayscaleConverter runs them on each tile
+ *                of rows while it converts it. The gamma and the threshold only depend on the gray
+ *                level of a pixel, so they are merged in one table of 256 levels.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class OperationChain {
+    // region Public Parameters
+    // No operation, the gray image has the size of the input
+    public static final OperationChain NONE = new OperationChain(0, 0, 1.0, -1);
+    // endregion
+
+    // region Private Parameters
+    // Size of the output, 0 for the side proportional to the other one, both 0 to keep the size
+    private final int width;
+    private final int height;
+    private final double gamma;
+    // Gray level from which a pixel is white, -1 for no threshold
+    private final int threshold;
+    // New gray level of each level, null if the levels are not changed
+    private final byte[] table;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom              : OperationChain
+     * Description      : Creates a chain of operations.
+     * @param width     : Width of the output, 0 to keep the ratio of the input.
+     * @param height    : Height of the output, 0 to keep the ratio of the input.
+     * @param gamma     : Gamma correction, 1 to keep the levels (higher : brighter).
+     * @param threshold : Gray level from which a pixel is white, -1 for no threshold.
+     * @throws IllegalArgumentException if an operation is not valid.
+     */
+    public OperationChain(int width, int height, double gamma, int threshold) {
+        if (width < 0 || height < 0)
+            throw new IllegalArgumentException("The size of the resize cannot be negative.");
+        if (!(gamma > 0) || Double.isInfinite(gamma))
+            throw new IllegalArgumentException("The gamma must be a positive number.");
+        if (threshold < -1 || threshold > 255)
+            throw new IllegalArgumentException("The threshold must be between 0 and 255.");
+        this.width = width;
+        this.height = height;
+        this.gamma = gamma;
+        this.threshold = threshold;
+        this.table = gamma == 1.0 && threshold < 0 ? null : createTable();
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : parseSize
+     * Description  : Reads the size of a resize : WIDTHxHEIGHT, WIDTHx or WIDTH (proportional height), or
+     *                xHEIGHT (proportional width).
+     * @param size  : Size given on the command line.
+     * @return      : The width and the height, 0 for a proportional side.
+     * @throws IllegalArgumentException if the size is not valid.
+     */
+    public static int[] parseSize(String size) {
+        String[] sides = size.trim().toLowerCase().split("x", -1);
+        if (sides.length > 2 || sides[0].isEmpty() && (sides.length == 1 || sides[1].isEmpty()))
+            throw new IllegalArgumentException("Invalid size " + size + ". Expected WIDTHxHEIGHT, WIDTHx or xHEIGHT.");
+        try {
+            int width = sides[0].isEmpty() ? 0 : Integer.parseInt(sides[0]);
+            int height = sides.length == 1 || sides[1].isEmpty() ? 0 : Integer.parseInt(sides[1]);
+            if (width < 0 || height < 0 || width == 0 && height == 0)
+                throw new IllegalArgumentException("The size of the resize must be positive.");
+            return new int[] {width, height};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size " + size + ". Expected WIDTHxHEIGHT, WIDTHx or xHEIGHT.");
+        }
+    }
+
+    /**
+     * Nom                 : outputWidth
+     * Description         : Returns the width of the output of an image.
+     * @param sourceWidth  : Width of the input image.
+     * @param sourceHeight : Height of the input image.
+     * @return             : The width after the resize.
+     */
+    public int outputWidth(int sourceWidth, int sourceHeight) {
+        if (width > 0)
+            return width;
+        if (height > 0)
+            return (int) Math.max(1, Math.round((double) sourceWidth * height / sourceHeight));
+        return sourceWidth;
+    }
+
+    /**
+     * Nom                 : outputHeight
+     * Description         : Returns the height of the output of an image.
+     * @param sourceWidth  : Width of the input image.
+     * @param sourceHeight : Height of the input image.
+     * @return             : The height after the resize.
+     */
+    public int outputHeight(int sourceWidth, int sourceHeight) {
+        if (height > 0)
+            return height;
+        if (width > 0)
+            return (int) Math.max(1, Math.round((double) sourceHeight * width / sourceWidth));
+        return sourceHeight;
+    }
+
+    /**
+     * Nom          : lookupTable
+     * Description  : Returns the new gray level of each level, after the gamma and the threshold. The table
+     *                is shared and must not be changed.
+     * @return      : 256 levels, null if the levels are not changed.
+     */
+    public byte[] lookupTable() {
+        return table;
+    }
+
+    /**
+     * Nom                 : isIdentity
+     * Description         : Tells if the chain changes an image.
+     * @param sourceWidth  : Width of the input image.
+     * @param sourceHeight : Height of the input image.
+     * @return             : true if the gray image is the output.
+     */
+    public boolean isIdentity(int sourceWidth, int sourceHeight) {
+        return table == null && outputWidth(sourceWidth, sourceHeight) == sourceWidth
+                && outputHeight(sourceWidth, sourceHeight) == sourceHeight;
+    }
+
+    /**
+     * Nom          : parameters
+     * Description  : Returns the operations which change the output, for the keys of a cache.
+     * @return      : The operations, empty if there's none.
+     */
+    public List<String> parameters() {
+        List<String> parameters = new ArrayList<>();
+        if (width > 0 || height > 0)
+            parameters.add("resize " + width + "x" + height);
+        if (gamma != 1.0)
+            parameters.add("gamma " + gamma);
+        if (threshold >= 0)
+            parameters.add("threshold " + threshold);
+        return parameters;
+    }
+
+    /**
+     * Nom           : lookup
+     * Description   : Replaces gray levels by their value in a table.
+     * @param table  : New gray level of each level.
+     * @param gray   : Gray levels.
+     * @param offset : Index of the first level.
+     * @param length : Number of levels.
+     */
+    public static void lookup(byte[] table, byte[] gray, int offset, int length) {
+        for (int i = offset; i < offset + length; ++i)
+            gray[i] = table[gray[i] & 0xFF];
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : createTable
+     * Description  : Computes the table of the gamma correction, level = 255 * (level / 255) ^ (1 / gamma),
+     *                followed by the threshold.
+     * @return      : 256 levels.
+     */
+    private byte[] createTable() {
+        byte[] levels = new byte[256];
+        for (int level = 0; level < 256; ++level) {
+            int value = (int) Math.round(255 * Math.pow(level / 255.0, 1 / gamma));
+            if (threshold >= 0)
+                value = value >= threshold ? 255 : 0;
+            levels[level] = (byte) value;
+        }
+        return levels;
+    }
+    // endregion
+}
@@ -0,0 +1,63 @@
+package Convert;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class describes where the components of a pixel are in the data buffer of an
+ *                image. For pixels packed in ints, the positions are bit shifts ; for interleaved
+ *                bytes, they are byte offsets inside a pixel of "pixelStride" bytes.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class PixelFormat {
+    // region Public Parameters
+    // Position of a missing alpha component
+    public static final int NONE = -1;
+
+    // Default ARGB ints, as returned by BufferedImage.getRGB
+    public static final PixelFormat ARGB = new PixelFormat(16, 8, 0, 24, 1, false);
+
+    public final int red;
+    public final int green;
+    public final int blue;
+    public final int alpha;
+    public final int pixelStride;
+    public final boolean premultiplied;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                  : PixelFormat
+     * Description          : Creates the description of a pixel.
+     * @param red           : Position of the red component.
+     * @param green         : Position of the green component.
+     * @param blue          : Position of the blue component.
+     * @param alpha         : Position of the alpha component, NONE for an opaque image.
+     * @param pixelStride   : Number of data elements of a pixel (1 for packed ints).
+     * @param premultiplied : true if the colors are already multiplied by the alpha.
+     */
+    public PixelFormat(int red, int green, int blue, int alpha, int pixelStride, boolean premultiplied) {
+        this.red = red;
+        this.green = green;
+        this.blue = blue;
+        this.alpha = alpha;
+        this.pixelStride = pixelStride;
+        this.premultiplied = premultiplied;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : blendsAlpha
+     * Description  : Tells if the gray level must be multiplied by the alpha, which gives the same result as
+     *                drawing the image over a black background.
+     * @return      : true if the image has an alpha that is not premultiplied.
+     */
+    public boolean blendsAlpha() {
+        return alpha != NONE && !premultiplied;
+    }
+    // endregion
+}
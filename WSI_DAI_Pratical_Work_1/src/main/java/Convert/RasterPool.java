@@ -0,0 +1,224 @@
+package Convert;
+
+import javax.imageio.ImageTypeSpecifier;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class keeps the images of a batch which are no longer used, so the next images
+ *                of the same size and pixel layout are decoded and converted into them instead of new
+ *                ones : a batch of photos of the same camera allocates its buffers only for the first
+ *                images in flight. An image is found by its color model and its sample model, which
+ *                hold the size, the type of the samples and their order.
+ *                The pooled images are bounded by a number of bytes, the layouts used the least
+ *                recently are dropped first. A pooled image keeps the pixels of its last use, it is
+ *                only given to code that writes all of its pixels. The pool can be shared by several
+ *                threads.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class RasterPool {
+    // region Public Parameters
+    // Default maximum size of the pooled images, in megabytes
+    public static final long DEFAULT_SIZE_MB = 256;
+    // endregion
+
+    // region Private Parameters
+    private static final ImageTypeSpecifier GRAY = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_BYTE_GRAY);
+
+    // Free images of each layout, in the order of their last use
+    private final LinkedHashMap<Layout, ArrayDeque<BufferedImage>> free = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private long pooledBytes;
+
+    private long acquires;
+    private long hits;
+    private long recycledBytes;
+    private long dropped;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom             : RasterPool
+     * Description     : Creates an empty pool.
+     * @param maxBytes : Maximum size of the pooled images, in bytes.
+     */
+    public RasterPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : acquire
+     * Description  : Returns a free image of a layout, or a new one if the pool has none.
+     * @param type   : Pixel layout of the image, like the types of an ImageReader.
+     * @param width  : Width of the image.
+     * @param height : Height of the image.
+     * @return       : The image, with the pixels of its last use.
+     */
+    public BufferedImage acquire(ImageTypeSpecifier type, int width, int height) {
+        Layout layout = new Layout(type.getColorModel(), type.getSampleModel(width, height));
+        synchronized (this) {
+            ++acquires;
+            ArrayDeque<BufferedImage> images = free.get(layout);
+            if (images != null) {
+                BufferedImage image = images.pop();
+                if (images.isEmpty())
+                    free.remove(layout);
+                long bytes = bytesOf(image);
+                pooledBytes -= bytes;
+                recycledBytes += bytes;
+                ++hits;
+                return image;
+            }
+        }
+        return type.createBufferedImage(width, height);
+    }
+
+    /**
+     * Nom          : acquireGray
+     * Description  : Returns a free gray image of 8 bits, or a new one if the pool has none.
+     * @param width  : Width of the image.
+     * @param height : Height of the image.
+     * @return       : The image, with the pixels of its last use.
+     */
+    public BufferedImage acquireGray(int width, int height) {
+        return acquire(GRAY, width, height);
+    }
+
+    /**
+     * Nom          : release
+     * Description  : Gives back an image which is no longer used by its owner. An image sharing its pixels
+     *                with another one (a sub-image) or larger than the pool is not kept.
+     * @param image : Image to recycle, may be null.
+     */
+    public void release(BufferedImage image) {
+        if (image == null || image.getRaster().getParent() != null || image.getRaster().getMinX() != 0
+                || image.getRaster().getMinY() != 0)
+            return;
+        long bytes = bytesOf(image);
+        Layout layout = new Layout(image.getColorModel(), image.getSampleModel());
+        synchronized (this) {
+            if (bytes > maxBytes) {
+                ++dropped;
+                return;
+            }
+            free.computeIfAbsent(layout, key -> new ArrayDeque<>()).push(image);
+            pooledBytes += bytes;
+
+            // Drops the free images of the layouts used the least recently
+            Iterator<Map.Entry<Layout, ArrayDeque<BufferedImage>>> entries = free.entrySet().iterator();
+            while (pooledBytes > maxBytes) {
+                Map.Entry<Layout, ArrayDeque<BufferedImage>> entry = entries.next();
+                while (pooledBytes > maxBytes && !entry.getValue().isEmpty()) {
+                    pooledBytes -= bytesOf(entry.getValue().removeLast());
+                    ++dropped;
+                }
+                if (entry.getValue().isEmpty())
+                    entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Nom          : getHits
+     * Description  : Returns the number of images taken from the pool.
+     * @return      : The number of recycled images.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Nom          : getAcquires
+     * Description  : Returns the number of images asked to the pool.
+     * @return      : The number of recycled and new images.
+     */
+    public synchronized long getAcquires() {
+        return acquires;
+    }
+
+    /**
+     * Nom          : getRecycledBytes
+     * Description  : Returns the size of the images taken from the pool instead of being allocated.
+     * @return      : The number of bytes.
+     */
+    public synchronized long getRecycledBytes() {
+        return recycledBytes;
+    }
+
+    /**
+     * Nom          : getPooledBytes
+     * Description  : Returns the size of the free images kept by the pool.
+     * @return      : The number of bytes.
+     */
+    public synchronized long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    /**
+     * Nom          : toString
+     * Description  : Returns the hit rate and the recycled bytes of the pool.
+     * @return      : The statistics of the pool.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("Raster pool : %d hits / %d images (%.1f %%), %.1f MB recycled, %.1f MB pooled, %d dropped",
+                hits, acquires, acquires == 0 ? 0.0 : 100.0 * hits / acquires, recycledBytes / 1e6, pooledBytes / 1e6, dropped);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : bytesOf
+     * Description  : Computes the size of the pixels of an image.
+     * @param image : Image.
+     * @return      : The number of bytes of its data buffer.
+     */
+    private static long bytesOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Size and pixel layout of an image, the key of its free images.
+     */
+    private static final class Layout {
+        private final ColorModel colorModel;
+        private final SampleModel sampleModel;
+
+        private Layout(ColorModel colorModel, SampleModel sampleModel) {
+            this.colorModel = colorModel;
+            this.sampleModel = sampleModel;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Layout && colorModel.equals(((Layout) other).colorModel)
+                    && sampleModel.equals(((Layout) other).sampleModel);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(colorModel, sampleModel);
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,144 @@
+package Convert;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class resizes gray rows by area averaging : a pixel of the output is the mean
+ *                of the input pixels it covers, weighted by the covered part of each one, so a
+ *                thumbnail keeps the details of all the input rows. The weights are exact integers :
+ *                the input pixel i covers [i * size, (i + 1) * size[ and the output pixel o covers
+ *                [o * sourceSize, (o + 1) * sourceSize[, so the weights of a pixel sum to sourceSize.
+ *                The rows are resized by tiles, each tile only needs the input rows it covers.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class Resampler {
+    // region Private Parameters
+    private final Axis columns;
+    private final Axis rows;
+    private final int sourceWidth;
+    private final int width;
+    // Sum of the weights of an output pixel
+    private final long total;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                 : Resampler
+     * Description         : Computes the weights of a resize.
+     * @param sourceWidth  : Width of the input image.
+     * @param sourceHeight : Height of the input image.
+     * @param width        : Width of the output image.
+     * @param height       : Height of the output image.
+     */
+    public Resampler(int sourceWidth, int sourceHeight, int width, int height) {
+        this.columns = new Axis(sourceWidth, width);
+        this.rows = new Axis(sourceHeight, height);
+        this.sourceWidth = sourceWidth;
+        this.width = width;
+        this.total = (long) sourceWidth * sourceHeight;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom               : firstSource
+     * Description       : Returns the first input row (or column) covered by an output row.
+     * @param from       : Output row.
+     * @param sourceSize : Number of input rows.
+     * @param size       : Number of output rows.
+     * @return           : The first input row.
+     */
+    public static int firstSource(int from, int sourceSize, int size) {
+        return (int) ((long) from * sourceSize / size);
+    }
+
+    /**
+     * Nom               : endSource
+     * Description       : Returns the end of the input rows covered by the output rows before a row.
+     * @param to         : End of the output rows, excluded.
+     * @param sourceSize : Number of input rows.
+     * @param size       : Number of output rows.
+     * @return           : The end of the input rows, excluded.
+     */
+    public static int endSource(int to, int sourceSize, int size) {
+        return (int) (((long) to * sourceSize + size - 1) / size);
+    }
+
+    /**
+     * Nom            : resample
+     * Description    : Resizes output rows from the input rows they cover, then changes their levels.
+     * @param source  : Gray input rows, from the row firstSource(from), sourceWidth bytes per row.
+     * @param from    : First output row.
+     * @param to      : End of the output rows, excluded.
+     * @param dst     : Data of the output rows, width bytes per row.
+     * @param offset  : Index of the output row "from" in dst.
+     * @param table   : New gray level of each level, null to keep them.
+     */
+    public void resample(byte[] source, int from, int to, byte[] dst, int offset, byte[] table) {
+        int first = rows.start[from];
+        int count = rows.start[to - 1] + rows.count[to - 1] - first;
+
+        // Each input row resized horizontally, times the sum of the weights of a column
+        int[] horizontal = new int[count * width];
+        for (int r = 0; r < count; ++r) {
+            int row = r * sourceWidth;
+            int out = r * width;
+            for (int x = 0; x < width; ++x) {
+                int sum = 0;
+                int start = row + columns.start[x];
+                for (int i = 0, w = columns.offset[x]; i < columns.count[x]; ++i, ++w)
+                    sum += (source[start + i] & 0xFF) * columns.weights[w];
+                horizontal[out + x] = sum;
+            }
+        }
+
+        long half = total / 2;
+        for (int y = from; y < to; ++y) {
+            int row = offset + (y - from) * width;
+            int start = (rows.start[y] - first) * width;
+            for (int x = 0; x < width; ++x) {
+                long sum = 0;
+                for (int i = 0, w = rows.offset[y]; i < rows.count[y]; ++i, ++w)
+                    sum += (long) horizontal[start + i * width + x] * rows.weights[w];
+                int gray = (int) ((sum + half) / total);
+                dst[row + x] = table != null ? table[gray] : (byte) gray;
+            }
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Input pixels covered by each output pixel of one axis, and their weights.
+     */
+    private static final class Axis {
+        private final int[] start;
+        private final int[] count;
+        // Index of the first weight of each output pixel
+        private final int[] offset;
+        private final int[] weights;
+
+        private Axis(int sourceSize, int size) {
+            start = new int[size];
+            count = new int[size];
+            offset = new int[size];
+            weights = new int[size + sourceSize];
+            int next = 0;
+            for (int o = 0; o < size; ++o) {
+                long low = (long) o * sourceSize;
+                long high = low + sourceSize;
+                start[o] = firstSource(o, sourceSize, size);
+                count[o] = endSource(o + 1, sourceSize, size) - start[o];
+                offset[o] = next;
+                for (int i = start[o]; i < start[o] + count[o]; ++i)
+                    weights[next++] = (int) (Math.min(high, (long) (i + 1) * size) - Math.max(low, (long) i * size));
+            }
+        }
+    }
+    // endregion
+}
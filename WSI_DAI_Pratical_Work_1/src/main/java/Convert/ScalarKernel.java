@@ -0,0 +1,45 @@
+package Convert;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class computes the gray levels one pixel at a time with integer arithmetic.
+ *                It works with every pixel format and every JVM.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ScalarKernel implements GrayscaleKernel {
+
+    @Override
+    public void packed(int[] src, int srcOffset, PixelFormat format, byte[] dst, int dstOffset, int length, Luma luma) {
+        int wr = luma.red, wg = luma.green, wb = luma.blue;
+        int rs = format.red, gs = format.green, bs = format.blue, as = format.alpha;
+        boolean blend = format.blendsAlpha();
+
+        for (int i = 0; i < length; ++i) {
+            int pixel = src[srcOffset + i];
+            int gray = (((pixel >>> rs) & 0xFF) * wr + ((pixel >>> gs) & 0xFF) * wg
+                    + ((pixel >>> bs) & 0xFF) * wb + Luma.ROUND) >>> Luma.SHIFT;
+            if (blend)
+                gray = (gray * ((pixel >>> as) & 0xFF) + 127) / 255;
+            dst[dstOffset + i] = (byte) gray;
+        }
+    }
+
+    @Override
+    public void interleaved(byte[] src, int srcOffset, PixelFormat format, byte[] dst, int dstOffset, int length, Luma luma) {
+        int wr = luma.red, wg = luma.green, wb = luma.blue;
+        int ro = format.red, go = format.green, bo = format.blue, ao = format.alpha;
+        int stride = format.pixelStride;
+        boolean blend = format.blendsAlpha();
+
+        for (int i = 0, p = srcOffset; i < length; ++i, p += stride) {
+            int gray = ((src[p + ro] & 0xFF) * wr + (src[p + go] & 0xFF) * wg
+                    + (src[p + bo] & 0xFF) * wb + Luma.ROUND) >>> Luma.SHIFT;
+            if (blend)
+                gray = (gray * (src[p + ao] & 0xFF) + 127) / 255;
+            dst[dstOffset + i] = (byte) gray;
+        }
+    }
+}
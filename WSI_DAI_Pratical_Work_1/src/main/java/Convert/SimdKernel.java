@@ -0,0 +1,132 @@
+package Convert;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class computes the gray levels of several pixels at once with the Vector API
+ *                (jdk.incubator.vector). Each lane of an int vector holds one pixel : the components
+ *                are extracted with shifts and masks, weighted and narrowed to bytes. Pixels of 4
+ *                interleaved bytes are read as ints, pixels of 3 bytes are first spread to 4 bytes
+ *                with a shuffle. The pixels that don't fill a whole vector at the end of a row go
+ *                through the scalar kernel.
+ *                This class must only be loaded when the module is present, see GrayscaleConverter.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class SimdKernel extends ScalarKernel {
+    // region Private Parameters
+    // At least 8 lanes, so the gray levels fill a 64 bits byte vector
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED.length() >= 8
+            ? IntVector.SPECIES_PREFERRED : IntVector.SPECIES_256;
+    private static final VectorSpecies<Byte> BYTES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.length() * Byte.SIZE));
+    // Bytes of LANES pixels of 4 bytes
+    private static final VectorSpecies<Byte> PIXEL_BYTES = VectorSpecies.of(byte.class, INTS.vectorShape());
+    private static final int LANES = INTS.length();
+    // Moves LANES pixels of 3 bytes to the first 3 bytes of the LANES ints
+    private static final VectorShuffle<Byte> SPREAD =
+            VectorShuffle.fromOp(PIXEL_BYTES, i -> i % 4 == 3 ? 0 : i / 4 * 3 + i % 4);
+    // endregion
+
+    // region Public Method
+    @Override
+    public void packed(int[] src, int srcOffset, PixelFormat format, byte[] dst, int dstOffset, int length, Luma luma) {
+        int vectorLength = length - length % LANES;
+
+        for (int i = 0; i < vectorLength; i += LANES) {
+            IntVector pixels = IntVector.fromArray(INTS, src, srcOffset + i);
+            IntVector gray = weigh(component(pixels, format.red), component(pixels, format.green),
+                    component(pixels, format.blue), luma);
+            if (format.blendsAlpha())
+                gray = blend(gray, component(pixels, format.alpha));
+            store(gray, dst, dstOffset + i);
+        }
+        super.packed(src, srcOffset + vectorLength, format, dst, dstOffset + vectorLength, length - vectorLength, luma);
+    }
+
+    @Override
+    public void interleaved(byte[] src, int srcOffset, PixelFormat format, byte[] dst, int dstOffset, int length, Luma luma) {
+        int stride = format.pixelStride;
+        if (stride != 3 && stride != 4) {
+            super.interleaved(src, srcOffset, format, dst, dstOffset, length, luma);
+            return;
+        }
+        // The pixels are read as little endian ints : the byte at offset k of a pixel is at the shift 8 * k
+        int red = format.red * Byte.SIZE, green = format.green * Byte.SIZE, blue = format.blue * Byte.SIZE;
+        int alpha = format.alpha * Byte.SIZE;
+        // Each load reads PIXEL_BYTES bytes, more than LANES pixels of 3 bytes, without going past the row
+        int vectorLength = Math.max(0, (length * stride - PIXEL_BYTES.length()) / stride + 1);
+        vectorLength -= vectorLength % LANES;
+
+        for (int i = 0; i < vectorLength; i += LANES) {
+            ByteVector bytes = ByteVector.fromArray(PIXEL_BYTES, src, srcOffset + i * stride);
+            IntVector pixels = (stride == 3 ? bytes.rearrange(SPREAD) : bytes).reinterpretAsInts();
+            IntVector gray = weigh(component(pixels, red), component(pixels, green), component(pixels, blue), luma);
+            if (format.blendsAlpha())
+                gray = blend(gray, component(pixels, alpha));
+            store(gray, dst, dstOffset + i);
+        }
+        super.interleaved(src, srcOffset + vectorLength * stride, format, dst, dstOffset + vectorLength,
+                length - vectorLength, luma);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : component
+     * Description   : Extracts one component of packed pixels.
+     * @param pixels : Packed pixels.
+     * @param shift  : Position of the component.
+     * @return       : The component of each pixel (0 - 255).
+     */
+    private static IntVector component(IntVector pixels, int shift) {
+        return pixels.lanewise(VectorOperators.LSHR, shift).and(0xFF);
+    }
+
+    /**
+     * Nom          : weigh
+     * Description  : Computes the gray levels of the components.
+     * @param red   : Red components.
+     * @param green : Green components.
+     * @param blue  : Blue components.
+     * @param luma  : Weights of the components.
+     * @return      : The gray levels (0 - 255).
+     */
+    private static IntVector weigh(IntVector red, IntVector green, IntVector blue, Luma luma) {
+        return red.mul(luma.red).add(green.mul(luma.green)).add(blue.mul(luma.blue))
+                .add(Luma.ROUND).lanewise(VectorOperators.LSHR, Luma.SHIFT);
+    }
+
+    /**
+     * Nom          : blend
+     * Description  : Multiplies the gray levels by the alpha, rounded like (gray * alpha + 127) / 255.
+     * @param gray  : Gray levels.
+     * @param alpha : Alpha of each pixel.
+     * @return      : The blended gray levels.
+     */
+    private static IntVector blend(IntVector gray, IntVector alpha) {
+        IntVector product = gray.mul(alpha).add(128);
+        return product.add(product.lanewise(VectorOperators.LSHR, 8)).lanewise(VectorOperators.LSHR, 8);
+    }
+
+    /**
+     * Nom             : store
+     * Description     : Narrows the gray levels to bytes and writes them.
+     * @param gray      : Gray levels.
+     * @param dst       : Data of the gray image.
+     * @param dstOffset : Index of the first gray pixel.
+     */
+    private static void store(IntVector gray, byte[] dst, int dstOffset) {
+        ((ByteVector) gray.convertShape(VectorOperators.I2B, BYTES, 0)).intoArray(dst, dstOffset);
+    }
+    // endregion
+}
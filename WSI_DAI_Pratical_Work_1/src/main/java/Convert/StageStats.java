@@ -0,0 +1,77 @@
+package Convert;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class measures one stage of the conversion pipeline : number of images,
+ *                pixels, time spent working by its threads and wall time between the start of
+ *                its first image and the end of its last one.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class StageStats {
+    // region Private Parameters
+    private final String name;
+    private final int threads;
+
+    private final LongAdder images = new LongAdder();
+    private final LongAdder pixels = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom            : StageStats
+     * Description    : Creates the statistics of a stage.
+     * @param name    : Name of the stage.
+     * @param threads : Number of threads of the stage.
+     */
+    public StageStats(String name, int threads) {
+        this.name = name;
+        this.threads = threads;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : record
+     * Description  : Records one image processed by the stage.
+     * @param start  : System.nanoTime() when the image started.
+     * @param end    : System.nanoTime() when the image ended.
+     * @param pixels : Number of pixels of the image.
+     */
+    public void record(long start, long end, long pixels) {
+        images.increment();
+        this.pixels.add(pixels);
+        busyNanos.add(end - start);
+        firstStart.accumulateAndGet(start, Math::min);
+        lastEnd.accumulateAndGet(end, Math::max);
+    }
+
+    /**
+     * Nom          : toString
+     * Description  : Returns one line with the throughput of the stage.
+     * @return      : Images/s and megapixels/s on the wall time of the stage, and the busy part of its threads.
+     */
+    @Override
+    public String toString() {
+        long count = images.sum();
+        double wallSeconds = count == 0 ? 0 : Math.max(lastEnd.get() - firstStart.get(), 1) / 1e9;
+        double busySeconds = busyNanos.sum() / 1e9;
+        double throughput = wallSeconds == 0 ? 0 : count / wallSeconds;
+        double megaPixels = wallSeconds == 0 ? 0 : pixels.sum() / 1e6 / wallSeconds;
+        double utilisation = wallSeconds == 0 ? 0 : 100 * busySeconds / (wallSeconds * threads);
+
+        return String.format("%-9s: %d images, %d threads, %.1f images/s, %.1f MPix/s, %.0f%% busy",
+                name, count, threads, throughput, megaPixels, utilisation);
+    }
+    // endregion
+}
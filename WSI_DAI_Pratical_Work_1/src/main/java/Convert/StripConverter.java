@@ -0,0 +1,360 @@
+package Convert;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Vector;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class converts an image too large for the heap. The image is seen by the
+ *                ImageWriter as a gray image made of horizontal strips ; each strip is decoded
+ *                only when the writer asks for its rows, with ImageReadParam.setSourceRegion, and
+ *                converted to gray. The PNG writers ask for one row at a time, so only one strip
+ *                of the input is in memory. The JPEG writer asks for the whole image at once, so
+ *                the gray image is kept, but never the full color image.
+ *                The PNG and JPEG readers cannot seek to a row : they decode the image from its
+ *                start up to the end of each strip, so a strip should be as high as the memory
+ *                allows.
+ *                With a resize, the strips are made of rows of the output, and each one decodes the
+ *                input rows it covers.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class StripConverter {
+    // region Private Parameters
+    // Part of the maximum heap a decoded image or strip may use
+    private static final int HEAP_FRACTION = 8;
+    // Bytes of a decoded color pixel (ints or 3-4 interleaved bytes) plus its gray byte
+    private static final int BYTES_PER_PIXEL = 5;
+
+    private final GrayscaleConverter converter;
+    private final int stripHeight;
+    private final ImageEncoder encoder;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom               : StripConverter
+     * Description       : Creates a converter by strips.
+     * @param converter   : Grayscale conversion of each strip.
+     * @param stripHeight : Number of rows of a strip, 0 to use the largest strip that fits in the heap.
+     */
+    public StripConverter(GrayscaleConverter converter, int stripHeight) {
+        this(converter, stripHeight, new ImageEncoder(GrayPngEncoder.DEFAULT_LEVEL, ImageEncoder.DEFAULT_JPEG_QUALITY, 1));
+    }
+
+    /**
+     * Nom               : StripConverter
+     * Description       : Creates a converter by strips writing the image with compression options.
+     * @param converter   : Grayscale conversion of each strip.
+     * @param stripHeight : Number of rows of a strip, 0 to use the largest strip that fits in the heap.
+     * @param encoder     : Writer of the output image.
+     */
+    public StripConverter(GrayscaleConverter converter, int stripHeight, ImageEncoder encoder) {
+        this.converter = converter;
+        this.stripHeight = stripHeight;
+        this.encoder = encoder;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : fitsInMemory
+     * Description  : Reads the dimensions of an image, without decoding it, to know if it can be converted
+     *                as a whole.
+     * @param input : Input image.
+     * @return      : true if the decoded image and its gray copy fit in a part of the maximum heap.
+     * @throws IOException if the image cannot be read.
+     */
+    public static boolean fitsInMemory(File input) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            ImageReader reader = readerOf(stream);
+            try {
+                return fits(reader);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Nom           : fitsInMemory
+     * Description   : Reads the dimensions of an image from a stream, which is then moved back to its start,
+     *                 so the image can still be decoded from it. The reader must not flush the stream.
+     * @param stream : Stream of the input image.
+     * @return       : true if the decoded image and its gray copy fit in a part of the maximum heap.
+     * @throws IOException if the image cannot be read.
+     */
+    public static boolean fitsInMemory(ImageInputStream stream) throws IOException {
+        long start = stream == null ? 0 : stream.getStreamPosition();
+        ImageReader reader = readerOf(stream);
+        try {
+            return fits(reader);
+        } finally {
+            reader.dispose();
+            stream.seek(start);
+        }
+    }
+
+    /**
+     * Nom           : convert
+     * Description   : Converts an image to grayscale strip by strip.
+     * @param input  : Input image.
+     * @param output : Output image.
+     * @param format : Format of the output image.
+     * @return       : Number of pixels of the image.
+     * @throws IOException if the image cannot be read or written.
+     */
+    public long convert(File input, File output, String format) throws IOException {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(input);
+             ImageOutputStream outputStream = ImageIO.createImageOutputStream(output)) {
+            return convert(inputStream, outputStream, format);
+        }
+    }
+
+    /**
+     * Nom           : convert
+     * Description   : Converts an image to grayscale strip by strip, from a stream to a stream (standard
+     *                 input and output ...). The input stream must be able to go back to the start of the
+     *                 image for each strip. The streams are not closed.
+     * @param input  : Stream of the input image.
+     * @param output : Stream of the output image.
+     * @param format : Format of the output image.
+     * @return       : Number of pixels of the image.
+     * @throws IOException if the image cannot be read or written.
+     */
+    public long convert(ImageInputStream input, ImageOutputStream output, String format) throws IOException {
+        ImageReader reader = readerOf(input);
+
+        try {
+            StripImage image = new StripImage(reader);
+            encoder.write(image, format, output);
+            return (long) image.sourceWidth * image.sourceHeight;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            reader.dispose();
+        }
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : fits
+     * Description   : Checks the dimensions of the image of a reader against the maximum heap.
+     * @param reader : Reader of the image.
+     * @return       : true if the decoded image and its gray copy fit in a part of the maximum heap.
+     * @throws IOException if the header of the image cannot be read.
+     */
+    private static boolean fits(ImageReader reader) throws IOException {
+        return (long) reader.getWidth(0) * reader.getHeight(0) * BYTES_PER_PIXEL
+                <= Runtime.getRuntime().maxMemory() / HEAP_FRACTION;
+    }
+
+    /**
+     * Nom           : readerOf
+     * Description   : Returns a reader of the image, which can read it more than once.
+     * @param stream : Stream of the image.
+     * @return       : The reader.
+     * @throws IOException if no reader supports the image.
+     */
+    private static ImageReader readerOf(ImageInputStream stream) throws IOException {
+        if (stream == null)
+            throw new IOException("The input file cannot be read.");
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        if (!readers.hasNext())
+            throw new IOException("The input file is not a supported image.");
+        ImageReader reader = readers.next();
+        reader.setInput(stream, false, true);
+        return reader;
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Gray image whose tiles are the strips of the output image, decoded and converted when
+     *               they are asked. The last strip asked is kept, since the writers read it row by row.
+     */
+    private class StripImage implements RenderedImage {
+        private final ImageReader reader;
+        private final int sourceWidth;
+        private final int sourceHeight;
+        private final int width;
+        private final int height;
+        // Rows of the output in a strip
+        private final int rows;
+        private final ColorModel colorModel = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_GRAY),
+                false, false, ColorModel.OPAQUE, DataBuffer.TYPE_BYTE);
+
+        private int cachedStrip = -1;
+        private Raster cachedTile;
+
+        private StripImage(ImageReader reader) throws IOException {
+            this.reader = reader;
+            this.sourceWidth = reader.getWidth(0);
+            this.sourceHeight = reader.getHeight(0);
+            this.width = converter.getOperations().outputWidth(sourceWidth, sourceHeight);
+            this.height = converter.getOperations().outputHeight(sourceWidth, sourceHeight);
+            long fitting = Runtime.getRuntime().maxMemory() / HEAP_FRACTION / ((long) sourceWidth * BYTES_PER_PIXEL);
+            long sourceRows = stripHeight > 0 ? stripHeight : fitting;
+            this.rows = (int) Math.max(1, Math.min(height, sourceRows * height / sourceHeight));
+        }
+
+        @Override
+        public synchronized Raster getTile(int tileX, int tileY) {
+            if (tileY != cachedStrip) {
+                int y = tileY * rows;
+                int end = Math.min(height, y + rows);
+                int sourceY = Resampler.firstSource(y, sourceHeight, height);
+                int sourceEnd = Resampler.endSource(end, sourceHeight, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle(0, sourceY, sourceWidth, sourceEnd - sourceY));
+                try {
+                    BufferedImage strip = reader.read(0, param);
+                    cachedTile = converter.convert(strip, sourceY, sourceHeight, y, end).getRaster()
+                            .createTranslatedChild(0, y);
+                } catch (IOException e) {
+                    // The writer calls getTile, which cannot throw IOException
+                    throw new UncheckedIOException(e);
+                }
+                cachedStrip = tileY;
+            }
+            return cachedTile;
+        }
+
+        @Override
+        public Raster getData(Rectangle rect) {
+            WritableRaster raster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, rect.width, rect.height, 1,
+                    new Point(rect.x, rect.y));
+            copyData(raster);
+            return raster;
+        }
+
+        @Override
+        public Raster getData() {
+            return getData(new Rectangle(0, 0, width, height));
+        }
+
+        @Override
+        public WritableRaster copyData(WritableRaster raster) {
+            if (raster == null)
+                raster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, width, height, 1, null);
+            int first = Math.max(0, raster.getMinY()) / rows;
+            int last = Math.min(height, raster.getMinY() + raster.getHeight()) - 1;
+            for (int tileY = first; tileY <= last / rows; ++tileY)
+                raster.setRect(getTile(0, tileY));
+            return raster;
+        }
+
+        @Override
+        public SampleModel getSampleModel() {
+            return colorModel.createCompatibleSampleModel(width, rows);
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return colorModel;
+        }
+
+        @Override
+        public Vector<RenderedImage> getSources() {
+            return null;
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return Image.UndefinedProperty;
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            return null;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getMinX() {
+            return 0;
+        }
+
+        @Override
+        public int getMinY() {
+            return 0;
+        }
+
+        @Override
+        public int getNumXTiles() {
+            return 1;
+        }
+
+        @Override
+        public int getNumYTiles() {
+            return (height + rows - 1) / rows;
+        }
+
+        @Override
+        public int getMinTileX() {
+            return 0;
+        }
+
+        @Override
+        public int getMinTileY() {
+            return 0;
+        }
+
+        @Override
+        public int getTileWidth() {
+            return width;
+        }
+
+        @Override
+        public int getTileHeight() {
+            return rows;
+        }
+
+        @Override
+        public int getTileGridXOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getTileGridYOffset() {
+            return 0;
+        }
+    }
+    // endregion
+}
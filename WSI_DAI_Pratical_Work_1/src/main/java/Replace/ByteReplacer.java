@@ -0,0 +1,518 @@
+package Replace;
+
+import Utils.Progress;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is the byte engine of the replace command, used for a literal word when
+ *                the input and the output have the same encoding. The word is encoded once and
+ *                searched directly in the bytes of the input with the Boyer-Moore-Horspool algorithm,
+ *                so there is no decoder or encoder in the loop : the bytes between two matches are
+ *                written unchanged, from the read buffer or the mapped window. This is only exact
+ *                when a byte match is a character match, so the encoding must be UTF-8 (no
+ *                character is the end of another one) or use one byte per character. Unlike the
+ *                character engine, malformed bytes are copied as they are.
+ *                When the word and its replacement have the same length in bytes, the engine can also
+ *                patch a file in place through writable mapped windows : the bytes around the matches
+ *                don't move, so only the pages holding a match are written back.
+ *                With the index of the file (WordIndex), only the candidate offsets are checked and the
+ *                spans between the matches are transferred from the input file without being read.
+ *                When only the first occurrence is replaced, the rest of an input file after it is
+ *                transferred the same way, so the time depends on the position of the match and not
+ *                on the size of the file.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ByteReplacer implements Replacer {
+    // region Private Parameters
+    // Size of the mapped windows, independent of the chunk size : a mapping is only released by the GC, which
+    // the byte engine hardly ever triggers, so a mapping per chunk would exhaust the mappings of the process
+    private static final int MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+    // Minimum number of bytes of the file per candidate of the index to use it : closer matches are
+    // copied faster by a scan than by a transfer per span
+    private static final int INDEX_SELECTIVITY = 64;
+
+    private final byte[] word;
+    private final ByteBuffer replacement;
+    private final int[] shift;
+    private final boolean replaceAll;
+    private final int chunkSize;
+    private final boolean memoryMapped;
+
+    // State of the current run
+    private long replacements;
+    private boolean searching;
+    // Time spent reading the input during the last run
+    private long readNanos;
+    // Progress of the command, null if it is not reported
+    private Progress progress;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                 : ByteReplacer
+     * Description         : Creates a byte engine and the skip table of the encoded word.
+     * @param word         : The word to search (not empty, encodable in the charset).
+     * @param replacement  : The word that replaces each occurrence.
+     * @param replaceAll   : true to replace all occurrences, false to replace only the first one.
+     * @param charset      : Charset of the input and the output, supported by supports().
+     * @param chunkSize    : Size in bytes of the read and write buffers.
+     * @param memoryMapped : Maps the input file window by window instead of reading it.
+     */
+    public ByteReplacer(String word, String replacement, boolean replaceAll, Charset charset,
+                        int chunkSize, boolean memoryMapped) {
+        this.word = encode(word, charset);
+        this.replacement = ByteBuffer.wrap(encode(replacement, charset)).asReadOnlyBuffer();
+        this.replaceAll = replaceAll;
+        this.chunkSize = Math.max(chunkSize, StreamReplacer.MIN_CHUNK_SIZE);
+        this.memoryMapped = memoryMapped;
+        this.shift = new int[256];
+
+        int last = this.word.length - 1;
+        Arrays.fill(shift, this.word.length);
+        for (int i = 0; i < last; ++i)
+            shift[this.word[i] & 0xFF] = last - i;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom                  : supports
+     * Description          : Checks that the bytes of the input can be searched instead of its characters.
+     * @param word          : The word to search.
+     * @param inputCharset  : Charset of the input file.
+     * @param outputCharset : Charset of the output file.
+     * @return              : true if there's nothing to transcode and a byte match is a character match.
+     */
+    public static boolean supports(String word, Charset inputCharset, Charset outputCharset) {
+        if (!inputCharset.equals(outputCharset))
+            return false;
+        CharsetEncoder encoder = inputCharset.newEncoder();
+        // In UTF-8 a lead byte is never a continuation byte, in a single-byte charset a byte is a character
+        return (inputCharset.equals(StandardCharsets.UTF_8) || encoder.maxBytesPerChar() == 1)
+                && encoder.canEncode(word);
+    }
+
+    @Override
+    public long replace(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        replacements = 0;
+        searching = true;
+        readNanos = 0;
+
+        try (ByteWriter writer = new ByteWriter(out, chunkSize)) {
+            if (memoryMapped && in instanceof FileChannel)
+                replaceMapped((FileChannel) in, writer);
+            else
+                replaceRead(in, writer);
+        }
+        return replacements;
+    }
+
+    /**
+     * Nom          : canPatch
+     * Description  : Checks that the file can be patched in place.
+     * @return      : true if the word and its replacement have the same length in bytes.
+     */
+    public boolean canPatch() {
+        return replacement.remaining() == word.length;
+    }
+
+    /**
+     * Nom          : patch
+     * Description  : Replaces the word in the file itself, window by window. A window is mapped for
+     *                reading and writing, so a page is only written back if a match was replaced in it.
+     * @param file  : Channel of the file, opened for reading and writing.
+     * @return      : Number of replacements made.
+     * @throws IOException if the file cannot be mapped.
+     * @throws IllegalStateException if the replacement does not have the length of the word.
+     */
+    public long patch(FileChannel file) throws IOException {
+        if (!canPatch())
+            throw new IllegalStateException("The replacement must have the length of the word to patch a file.");
+        long size = file.size();
+        long base = 0;
+        replacements = 0;
+        searching = true;
+        readNanos = 0;
+
+        while (base < size && searching) {
+            int length = (int) Math.min(size - base, (long) MAP_WINDOW_SIZE + word.length - 1);
+            ByteBuffer window = file.map(FileChannel.MapMode.READ_WRITE, base, length);
+            // Like replaceMapped, a match starting after the window is found in the next one
+            int windowEnd = Math.min(length, MAP_WINDOW_SIZE);
+            int position = 0;
+            int match;
+
+            while (searching && (match = find(window, position, length)) >= 0 && match < windowEnd) {
+                window.put(match, replacement, 0, word.length);
+                position = match + word.length;
+                ++replacements;
+                searching = replaceAll;
+            }
+            base += Math.max(position, windowEnd);
+            advance(Math.max(position, windowEnd));
+        }
+        return replacements;
+    }
+
+    /**
+     * Nom          : isSelective
+     * Description  : Checks that the index of the input gives few enough candidates to be faster than a scan.
+     * @param index : Index of the input file.
+     * @return      : true if the word is long enough to be searched in the index and is rare in the file.
+     */
+    public boolean isSelective(WordIndex index) {
+        long candidates = index.candidateCount(word);
+        return candidates >= 0 && candidates * INDEX_SELECTIVITY <= index.getFileSize();
+    }
+
+    /**
+     * Nom          : replace
+     * Description  : Replaces the word at the offsets given by the index. The candidates are checked in
+     *                mapped windows of the input and the spans between the matches are transferred to
+     *                the output by the channel, without going through a buffer when both are files.
+     * @param in    : Channel of the indexed file.
+     * @param out   : Channel to write to.
+     * @param index : Index of the input file, of a word at least WordIndex.GRAM_LENGTH bytes long.
+     * @return      : Number of replacements made.
+     * @throws IOException if there's a problem when reading / writing a channel.
+     */
+    public long replace(FileChannel in, WritableByteChannel out, WordIndex index) throws IOException {
+        return replaceIndexed(in, out, index);
+    }
+
+    /**
+     * Nom          : count
+     * Description  : Counts the occurrences the replace would change, without writing anything.
+     * @param in    : Channel of the indexed file.
+     * @param index : Index of the input file, of a word at least WordIndex.GRAM_LENGTH bytes long.
+     * @return      : Number of occurrences (at most 1 when only the first occurrence is replaced).
+     * @throws IOException if the file cannot be mapped.
+     */
+    public long count(FileChannel in, WordIndex index) throws IOException {
+        return replaceIndexed(in, null, index);
+    }
+
+    @Override
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    @Override
+    public void setProgress(Progress progress) {
+        this.progress = progress;
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : replaceRead
+     * Description   : Reads the input in a window of the chunk size. The last bytes of the window, which may
+     *                 be the beginning of a match, are kept for the next read. Once there's nothing more to
+     *                 replace, the rest of an input file is transferred without being read.
+     * @param in     : Channel to read from.
+     * @param writer : Output.
+     * @throws IOException if there's a problem when reading / writing a channel.
+     */
+    private void replaceRead(ReadableByteChannel in, ByteWriter writer) throws IOException {
+        int lookBehind = word.length - 1;
+        ByteBuffer window = ByteBuffer.allocate(chunkSize + lookBehind);
+        boolean more = true;
+
+        while (more) {
+            long readStart = System.nanoTime();
+            int read = in.read(window);
+            more = read >= 0;
+            readNanos += System.nanoTime() - readStart;
+            advance(Math.max(read, 0));
+            window.flip();
+
+            int position = replaceWindow(window, window.position(), window.limit(), window.limit(), writer);
+            if (!searching && in instanceof FileChannel) {
+                FileChannel file = (FileChannel) in;
+                writer.write(window.duplicate().position(position));
+                writer.transfer(file, file.position(), file.size());
+                advance(file.size() - file.position());
+                return;
+            }
+            int flushUpTo = more ? Math.max(position, window.limit() - lookBehind) : window.limit();
+            writer.write(window.duplicate().position(position).limit(flushUpTo));
+
+            window.position(flushUpTo);
+            window.compact();
+        }
+    }
+
+    /**
+     * Nom           : replaceMapped
+     * Description   : Maps the input file in windows of MAP_WINDOW_SIZE, whatever the chunk size, so a large
+     *                 file only needs a few mappings. A window is searched and written chunk by chunk, each
+     *                 chunk only up to the last byte a match starting in it may need. The window also maps
+     *                 the bytes a match starting in the window may need, a match starting after it is
+     *                 found in the next window, which starts at the end of the window or of the last
+     *                 match. Once there's nothing more to replace, the rest of the file is transferred
+     *                 without being mapped.
+     * @param in     : Channel of the input file.
+     * @param writer : Output.
+     * @throws IOException if there's a problem when reading / writing a channel.
+     */
+    private void replaceMapped(FileChannel in, ByteWriter writer) throws IOException {
+        long size = in.size();
+        long base = in.position();
+
+        while (base < size) {
+            long readStart = System.nanoTime();
+            int length = (int) Math.min(size - base, (long) MAP_WINDOW_SIZE + word.length - 1);
+            ByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, base, length);
+            readNanos += System.nanoTime() - readStart;
+
+            int windowEnd = Math.min(length, MAP_WINDOW_SIZE);
+            int position = 0;
+            for (int chunkStart = 0; chunkStart < windowEnd; chunkStart += chunkSize) {
+                int chunkEnd = Math.min(windowEnd, chunkStart + chunkSize);
+                // A match starting in the chunk ends before this index, the rest of the window is not searched
+                int searchEnd = (int) Math.min(length, (long) chunkEnd + word.length - 1);
+                int written = position;
+                position = replaceWindow(window, position, searchEnd, chunkEnd, writer);
+                if (!searching) {
+                    writer.write(window.duplicate().position(position));
+                    writer.transfer(in, base + length, size);
+                    advance(size - base - written);
+                    return;
+                }
+                int flushUpTo = Math.max(position, chunkEnd);
+                writer.write(window.duplicate().position(position).limit(flushUpTo));
+                advance(flushUpTo - written);
+                position = flushUpTo;
+            }
+            base += position;
+        }
+    }
+
+    /**
+     * Nom           : replaceIndexed
+     * Description   : Checks the candidates of the index in order. A candidate overlapping the last match
+     *                 is skipped, like in a scan.
+     * @param in     : Channel of the indexed file.
+     * @param out    : Channel to write to, null to only count the matches.
+     * @param index  : Index of the input file.
+     * @return       : Number of matches.
+     * @throws IOException if there's a problem when reading / writing a channel.
+     */
+    private long replaceIndexed(FileChannel in, WritableByteChannel out, WordIndex index) throws IOException {
+        long size = in.size();
+        PrimitiveIterator.OfLong candidates = index.candidates(word);
+        ByteBuffer window = null;
+        long base = 0;
+        long position = 0;
+        replacements = 0;
+        readNanos = 0;
+
+        while (candidates.hasNext()) {
+            long match = candidates.nextLong();
+            if (match < position || match > size - word.length)
+                continue;
+            if (window == null || match + word.length > base + window.limit()) {
+                long readStart = System.nanoTime();
+                base = match;
+                window = in.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, MAP_WINDOW_SIZE));
+                readNanos += System.nanoTime() - readStart;
+            }
+            if (!matches(window, (int) (match - base)))
+                continue;
+
+            if (out != null) {
+                transfer(in, position, match, out);
+                ByteBuffer bytes = replacement.duplicate();
+                while (bytes.hasRemaining())
+                    out.write(bytes);
+            }
+            advance(match + word.length - position);
+            position = match + word.length;
+            ++replacements;
+            if (!replaceAll)
+                break;
+        }
+        if (out != null)
+            transfer(in, position, size, out);
+        advance(size - position);
+        return replacements;
+    }
+
+    /**
+     * Nom           : matches
+     * Description   : Checks that the word is at an index of a buffer.
+     * @param bytes  : Bytes, with absolute indexes.
+     * @param at     : Index of the first byte.
+     * @return       : true if the bytes are the word.
+     */
+    private boolean matches(ByteBuffer bytes, int at) {
+        for (int j = word.length - 1; j >= 0; --j)
+            if (bytes.get(at + j) != word[j])
+                return false;
+        return true;
+    }
+
+    /**
+     * Nom           : advance
+     * Description   : Reports bytes of the input processed, if the progress is reported.
+     * @param bytes  : Number of bytes.
+     */
+    private void advance(long bytes) {
+        if (progress != null)
+            progress.add(bytes);
+    }
+
+    /**
+     * Nom           : transfer
+     * Description   : Transfers a span of the input file to the output.
+     * @param in     : Channel of the input file.
+     * @param from   : First offset of the span.
+     * @param to     : End offset (exclusive) of the span.
+     * @param out    : Channel to write to.
+     * @throws IOException if there's a problem when reading / writing a channel.
+     */
+    private static void transfer(FileChannel in, long from, long to, WritableByteChannel out) throws IOException {
+        while (from < to)
+            from += in.transferTo(from, to - from, out);
+    }
+
+    /**
+     * Nom           : replaceWindow
+     * Description   : Replaces the matches of a window and writes the bytes before each of them.
+     * @param window : Bytes to search in, with absolute indexes.
+     * @param from   : First index of the search.
+     * @param to     : End index (exclusive) of the bytes available.
+     * @param before : A match must start before this index.
+     * @param writer : Output.
+     * @return       : Index following the last match, or from if there's none.
+     * @throws IOException if the output cannot be written.
+     */
+    private int replaceWindow(ByteBuffer window, int from, int to, int before, ByteWriter writer) throws IOException {
+        int position = from;
+        int match;
+
+        while (searching && (match = find(window, position, to)) >= 0 && match < before) {
+            writer.write(window.duplicate().position(position).limit(match));
+            writer.write(replacement.duplicate());
+            position = match + word.length;
+            ++replacements;
+            searching = replaceAll;
+        }
+        return position;
+    }
+
+    /**
+     * Nom           : find
+     * Description   : Searches the first occurrence of the encoded word in [from, to) of the buffer.
+     * @param bytes  : Bytes to search in, with absolute indexes.
+     * @param from   : First index of the search.
+     * @param to     : End index (exclusive).
+     * @return       : Index of the occurrence, -1 if there's none.
+     */
+    private int find(ByteBuffer bytes, int from, int to) {
+        int last = word.length - 1;
+        byte lastByte = word[last];
+        int i = from;
+
+        while (i <= to - word.length) {
+            byte b = bytes.get(i + last);
+
+            if (b == lastByte) {
+                int j = last - 1;
+                while (j >= 0 && bytes.get(i + j) == word[j])
+                    --j;
+                if (j < 0)
+                    return i;
+            }
+            i += shift[b & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Nom            : encode
+     * Description    : Encodes a word, the unmappable characters are replaced like in the character engine.
+     * @param text    : Word to encode.
+     * @param charset : Charset of the output.
+     * @return        : The bytes of the word.
+     */
+    private static byte[] encode(String text, Charset charset) {
+        try {
+            ByteBuffer bytes = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .encode(CharBuffer.wrap(text));
+            return Arrays.copyOfRange(bytes.array(), bytes.arrayOffset() + bytes.position(),
+                    bytes.arrayOffset() + bytes.limit());
+        } catch (CharacterCodingException e) {
+            // Not thrown with the REPLACE actions
+            throw new IllegalStateException(e);
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Output gathering the small spans between close matches in one buffer, so they are
+     *               written with one call ; a span larger than the buffer is written directly.
+     */
+    private static class ByteWriter implements AutoCloseable {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+
+        private ByteWriter(WritableByteChannel channel, int chunkSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(chunkSize);
+        }
+
+        private void write(ByteBuffer bytes) throws IOException {
+            if (bytes.remaining() > buffer.remaining()) {
+                flush();
+                if (bytes.remaining() >= buffer.capacity()) {
+                    while (bytes.hasRemaining())
+                        channel.write(bytes);
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        private void transfer(FileChannel in, long from, long to) throws IOException {
+            flush();
+            ByteReplacer.transfer(in, from, to, channel);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+    // endregion
+}
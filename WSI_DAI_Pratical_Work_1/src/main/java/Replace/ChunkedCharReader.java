@@ -0,0 +1,151 @@
+package Replace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class decodes a byte channel into characters chunk by chunk. The bytes
+ *                are either read into one fixed-size buffer or memory-mapped window by window
+ *                through a FileChannel, so the memory used never depends on the size of the
+ *                file or on the length of its lines. A mapped window is much larger than a chunk
+ *                and the chunks are views of it : a mapping is only released by the GC, so mapping
+ *                each chunk would hold as many mappings as chunks between two collections.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ChunkedCharReader {
+    // region Private Parameters
+    // Size of the mapped windows, whatever the chunk size
+    private static final int MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final int chunkSize;
+    private final boolean memoryMapped;
+
+    private ByteBuffer bytes;
+    // Current mapped window and its offset in the file, bytes is a view of one of its chunks
+    private ByteBuffer mapping;
+    private long mappedBase;
+    private boolean endOfInput;
+    private boolean needsMoreBytes = true;
+    private boolean flushed;
+    // Bytes loaded from the channel
+    private long bytesRead;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom               : ChunkedCharReader
+     * Description       : Creates a reader on the given channel.
+     * @param channel    : Channel to read the bytes from.
+     * @param charset    : Charset used to decode the bytes.
+     * @param chunkSize  : Size in bytes of the read buffer or of a chunk of a mapped window.
+     * @param memoryMap  : Maps the file window by window instead of reading it (FileChannel only).
+     */
+    public ChunkedCharReader(ReadableByteChannel channel, Charset charset, int chunkSize, boolean memoryMap) {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.memoryMapped = memoryMap && channel instanceof FileChannel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        if (!memoryMapped) {
+            bytes = ByteBuffer.allocateDirect(chunkSize);
+            bytes.flip();
+        }
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : read
+     * Description  : Decodes as many characters as possible into the free space of the buffer.
+     * @param dst   : Buffer in write mode that receives the characters.
+     * @return      : false when the whole input has been decoded and nothing was added, true otherwise.
+     * @throws IOException if the channel cannot be read.
+     */
+    public boolean read(CharBuffer dst) throws IOException {
+        int start = dst.position();
+
+        while (dst.hasRemaining() && !flushed) {
+            if (needsMoreBytes) {
+                // Underflow after the last bytes : only the decoder state is left to write
+                if (endOfInput) {
+                    if (!decoder.flush(dst).isOverflow())
+                        flushed = true;
+                    break;
+                }
+                refill();
+            }
+
+            if (decoder.decode(bytes, dst, endOfInput).isOverflow())
+                break;
+            needsMoreBytes = true;
+        }
+        return dst.position() > start || !flushed;
+    }
+
+    /**
+     * Nom          : getBytesRead
+     * Description  : Returns the number of bytes loaded from the channel, each byte counted once.
+     * @return      : Number of bytes.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : refill
+     * Description  : Loads the next bytes of the input. The bytes not consumed by the decoder
+     *                (an incomplete multi-byte character at the end of the chunk) are kept.
+     * @throws IOException if the channel cannot be read or mapped.
+     */
+    private void refill() throws IOException {
+        needsMoreBytes = false;
+
+        if (memoryMapped) {
+            FileChannel file = (FileChannel) channel;
+            long size = file.size();
+            long position = bytes == null ? file.position() : mappedBase + bytes.position();
+            int length = (int) Math.min(chunkSize, size - position);
+            // The bytes not consumed are in the next chunk again, only the new ones are counted
+            bytesRead += length - (bytes == null ? 0 : bytes.remaining());
+
+            // A new window is only mapped when the chunk goes past the current one
+            if (mapping == null || position + length > mappedBase + mapping.limit()) {
+                mappedBase = position;
+                mapping = file.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(Math.max(MAP_WINDOW_SIZE, chunkSize), size - position));
+            }
+            int offset = (int) (position - mappedBase);
+            bytes = mapping.duplicate().position(offset).limit(offset + length);
+            endOfInput = position + length >= size;
+            return;
+        }
+
+        // A single read : whatever is available is decoded right away instead of waiting for a full chunk
+        bytes.compact();
+        int read = channel.read(bytes);
+        bytes.flip();
+        endOfInput = read < 0;
+        if (read > 0)
+            bytesRead += read;
+    }
+    // endregion
+}
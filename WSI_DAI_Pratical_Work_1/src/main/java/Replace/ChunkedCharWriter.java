@@ -0,0 +1,138 @@
+package Replace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class encodes characters into a fixed-size byte buffer and writes it to
+ *                a channel each time it is full. It is the output side of the chunked replace.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ChunkedCharWriter implements AutoCloseable {
+    // region Private Parameters
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes;
+    private long bytesWritten;
+
+    // High surrogate left at the end of a write, encoded together with the next character
+    private char pendingSurrogate;
+    private boolean hasPendingSurrogate;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom               : ChunkedCharWriter
+     * Description       : Creates a writer on the given channel.
+     * @param channel    : Channel the encoded bytes are written to.
+     * @param charset    : Charset used to encode the characters.
+     * @param chunkSize  : Size in bytes of the output buffer.
+     */
+    public ChunkedCharWriter(WritableByteChannel channel, Charset charset, int chunkSize) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocateDirect(Math.max(chunkSize, 16));
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : write
+     * Description  : Encodes the characters between position and limit of the buffer. The position
+     *                of the buffer is moved to its limit.
+     * @param chars : Characters to write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void write(CharBuffer chars) throws IOException {
+        while (hasPendingSurrogate && chars.hasRemaining()) {
+            CharBuffer pair = CharBuffer.wrap(new char[]{pendingSurrogate, chars.get()});
+            hasPendingSurrogate = false;
+            encode(pair, false);
+        }
+
+        if (!hasPendingSurrogate)
+            encode(chars, false);
+    }
+
+    /**
+     * Nom          : write
+     * Description  : Encodes a whole string.
+     * @param text  : Text to write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void write(String text) throws IOException {
+        if (!text.isEmpty())
+            write(CharBuffer.wrap(text));
+    }
+
+    /**
+     * Nom          : getBytesWritten
+     * Description  : Returns the number of bytes already handed to the channel.
+     * @return      : Number of bytes written.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Nom          : close
+     * Description  : Ends the encoding and writes the remaining bytes. The channel itself is not closed.
+     * @throws IOException if the channel cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        CharBuffer rest = hasPendingSurrogate ? CharBuffer.wrap(new char[]{pendingSurrogate}) : CharBuffer.allocate(0);
+        hasPendingSurrogate = false;
+        encode(rest, true);
+        while (encoder.flush(bytes).isOverflow())
+            drain();
+        drain();
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom               : encode
+     * Description       : Encodes the characters, draining the byte buffer as often as needed. A high
+     *                     surrogate left alone at the end of the characters is kept for the next call.
+     * @param chars      : Characters to encode.
+     * @param endOfInput : true if no more characters will follow.
+     * @throws IOException if the channel cannot be written.
+     */
+    private void encode(CharBuffer chars, boolean endOfInput) throws IOException {
+        while (encoder.encode(chars, bytes, endOfInput).isOverflow())
+            drain();
+
+        if (chars.hasRemaining()) {
+            pendingSurrogate = chars.get();
+            hasPendingSurrogate = true;
+        }
+    }
+
+    /**
+     * Nom          : drain
+     * Description  : Writes the content of the byte buffer to the channel and empties it.
+     * @throws IOException if the channel cannot be written.
+     */
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining())
+            bytesWritten += channel.write(bytes);
+        bytes.clear();
+    }
+    // endregion
+}
@@ -0,0 +1,116 @@
+package Replace;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class searches a literal word with the Boyer-Moore-Horspool algorithm.
+ *                The skip table is computed once and indexed by the low byte of the characters,
+ *                which keeps it small for any alphabet (two characters sharing a low byte get
+ *                the smallest of their shifts, so no match can be skipped).
+ *                The word is never interpreted, regex metacharacters like '.' or '$' are
+ *                searched as they are.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class LiteralMatcher implements WordMatcher {
+    // region Private Parameters
+    private final char[] word;
+    private final String replacement;
+    private final int[] shift;
+
+    private int start;
+    private int keepFrom;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                : LiteralMatcher
+     * Description        : Creates the matcher and its skip table.
+     * @param word        : The word to search (not empty).
+     * @param replacement : The word that replaces each occurrence.
+     */
+    public LiteralMatcher(String word, String replacement) {
+        this.word = word.toCharArray();
+        this.replacement = replacement;
+        this.shift = new int[256];
+
+        int last = this.word.length - 1;
+        Arrays.fill(shift, this.word.length);
+        for (int i = 0; i < last; ++i)
+            shift[this.word[i] & 0xFF] = last - i;
+    }
+
+    /**
+     * Nom             : LiteralMatcher
+     * Description     : Creates a matcher sharing the word and the skip table of another one.
+     * @param original : Matcher to copy.
+     */
+    private LiteralMatcher(LiteralMatcher original) {
+        this.word = original.word;
+        this.replacement = original.replacement;
+        this.shift = original.shift;
+    }
+    // endregion
+
+    // region Public Method
+    @Override
+    public boolean find(CharBuffer chars, int from, int to, boolean endOfInput) {
+        int last = word.length - 1;
+        char lastChar = word[last];
+        int i = from;
+
+        while (i <= to - word.length) {
+            char c = chars.get(i + last);
+
+            if (c == lastChar) {
+                int j = last - 1;
+                while (j >= 0 && chars.get(i + j) == word[j])
+                    --j;
+                if (j < 0) {
+                    start = i;
+                    return true;
+                }
+            }
+            i += shift[c & 0xFF];
+        }
+
+        keepFrom = Math.max(from, to - last);
+        return false;
+    }
+
+    @Override
+    public int start() {
+        return start;
+    }
+
+    @Override
+    public int end() {
+        return start + word.length;
+    }
+
+    @Override
+    public String replacement() {
+        return replacement;
+    }
+
+    @Override
+    public int keepFrom() {
+        return keepFrom;
+    }
+
+    @Override
+    public int lookBehind() {
+        return word.length - 1;
+    }
+
+    @Override
+    public WordMatcher copy() {
+        return new LiteralMatcher(this);
+    }
+    // endregion
+}
@@ -0,0 +1,289 @@
+package Replace;
+
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class searches many words at once with an Aho-Corasick automaton, so the
+ *                text is read a single time whatever the number of words. When several words
+ *                match, the one starting first wins and, among those, the longest one
+ *                (leftmost-longest). The automaton is built once per run.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class MultiWordMatcher implements WordMatcher {
+    // region Private Parameters
+    private static final int ROOT = 0;
+
+    private final String[] replacements;
+    private final int maxWordLength;
+
+    // Transitions of the root for every char, the others are in an open addressing table
+    private final int[] rootNext;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+
+    // Per state : failure link, depth and the longest word that is a suffix of the state
+    private int[] fail;
+    private int[] depth;
+    private int[] matchWord;
+    private int[] matchLength;
+
+    private int start;
+    private int end;
+    private int word;
+    private int keepFrom;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom            : MultiWordMatcher
+     * Description    : Builds the automaton of the words.
+     * @param mapping : Words to search (not empty) and their replacement, in the order of the mapping file.
+     */
+    public MultiWordMatcher(Map<String, String> mapping) {
+        String[] words = mapping.keySet().toArray(new String[0]);
+        this.replacements = mapping.values().toArray(new String[0]);
+        this.maxWordLength = Arrays.stream(words).mapToInt(String::length).max().orElse(1);
+        this.rootNext = new int[Character.MAX_VALUE + 1];
+        build(words);
+    }
+
+    /**
+     * Nom             : MultiWordMatcher
+     * Description     : Creates a matcher sharing the automaton of another one.
+     * @param original : Matcher to copy.
+     */
+    private MultiWordMatcher(MultiWordMatcher original) {
+        this.replacements = original.replacements;
+        this.maxWordLength = original.maxWordLength;
+        this.rootNext = original.rootNext;
+        this.keys = original.keys;
+        this.values = original.values;
+        this.mask = original.mask;
+        this.fail = original.fail;
+        this.depth = original.depth;
+        this.matchWord = original.matchWord;
+        this.matchLength = original.matchLength;
+    }
+    // endregion
+
+    // region Public Method
+    @Override
+    public boolean find(CharBuffer chars, int from, int to, boolean endOfInput) {
+        int state = ROOT;
+        int bestStart = -1;
+
+        for (int i = from; i < to; ++i) {
+            state = next(state, chars.get(i));
+
+            if (matchWord[state] >= 0) {
+                int matchStart = i + 1 - matchLength[state];
+
+                // A match starting before the best one, or starting at the same place and longer
+                if (bestStart < 0 || matchStart <= bestStart) {
+                    bestStart = matchStart;
+                    start = matchStart;
+                    end = i + 1;
+                    word = matchWord[state];
+                }
+            }
+
+            // No match to come can start at or before the best one : it is the leftmost-longest
+            if (bestStart >= 0 && i + 1 - depth[state] > bestStart)
+                return true;
+        }
+
+        if (bestStart >= 0 && endOfInput)
+            return true;
+
+        if (endOfInput)
+            keepFrom = to;
+        else
+            keepFrom = bestStart >= 0 ? bestStart : Math.max(from, to - depth[state]);
+        return false;
+    }
+
+    @Override
+    public int start() {
+        return start;
+    }
+
+    @Override
+    public int end() {
+        return end;
+    }
+
+    @Override
+    public String replacement() {
+        return replacements[word];
+    }
+
+    @Override
+    public int keepFrom() {
+        return keepFrom;
+    }
+
+    @Override
+    public int lookBehind() {
+        return maxWordLength;
+    }
+
+    @Override
+    public WordMatcher copy() {
+        return new MultiWordMatcher(this);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : build
+     * Description  : Builds the trie of the words, then the failure links breadth first.
+     * @param words : Words to search.
+     */
+    private void build(String[] words) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        children.add(new HashMap<>());
+        int[] terminal = new int[16];
+        int[] depths = new int[16];
+        Arrays.fill(terminal, -1);
+
+        for (int w = 0; w < words.length; ++w) {
+            int state = ROOT;
+            for (char c : words[w].toCharArray()) {
+                Integer child = children.get(state).get(c);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new HashMap<>());
+                    if (child >= terminal.length) {
+                        int oldLength = terminal.length;
+                        terminal = Arrays.copyOf(terminal, oldLength * 2);
+                        depths = Arrays.copyOf(depths, oldLength * 2);
+                        Arrays.fill(terminal, oldLength, terminal.length, -1);
+                    }
+                    depths[child] = depths[state] + 1;
+                    children.get(state).put(c, child);
+                }
+                state = child;
+            }
+            if (terminal[state] < 0)
+                terminal[state] = w;
+        }
+
+        int states = children.size();
+        depth = Arrays.copyOf(depths, states);
+        fail = new int[states];
+        matchWord = new int[states];
+        matchLength = new int[states];
+        Arrays.fill(matchWord, -1);
+
+        int capacity = Integer.highestOneBit(Math.max(states * 2, 16)) * 2;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, -1L);
+
+        // Breadth first, the failure link of a state is always computed before its children
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+
+            if (terminal[state] >= 0) {
+                matchWord[state] = terminal[state];
+                matchLength[state] = depth[state];
+            } else if (state != ROOT) {
+                matchWord[state] = matchWord[fail[state]];
+                matchLength[state] = matchLength[fail[state]];
+            }
+
+            for (Map.Entry<Character, Integer> edge : children.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+
+                if (state == ROOT) {
+                    rootNext[c] = child;
+                    fail[child] = ROOT;
+                } else {
+                    put(state, c, child);
+                    fail[child] = next(fail[state], c);
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Nom          : next
+     * Description  : Returns the state reached from a state with a character, following the failure
+     *                links when the state has no transition for it.
+     * @param state : Current state.
+     * @param c     : Character read.
+     * @return      : Next state.
+     */
+    private int next(int state, char c) {
+        while (state != ROOT) {
+            int child = get(state, c);
+            if (child >= 0)
+                return child;
+            state = fail[state];
+        }
+        return rootNext[c];
+    }
+
+    /**
+     * Nom          : get
+     * Description  : Returns the transition of a state (not the root) for a character.
+     * @param state : State.
+     * @param c     : Character.
+     * @return      : Child state, -1 if there's none.
+     */
+    private int get(int state, char c) {
+        long key = ((long) state << 16) | c;
+        for (int slot = hash(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key)
+                return values[slot];
+            if (keys[slot] < 0)
+                return -1;
+        }
+    }
+
+    /**
+     * Nom          : put
+     * Description  : Adds the transition of a state (not the root) for a character.
+     * @param state : State.
+     * @param c     : Character.
+     * @param child : Child state.
+     */
+    private void put(int state, char c, int child) {
+        long key = ((long) state << 16) | c;
+        int slot = hash(key);
+        while (keys[slot] >= 0)
+            slot = (slot + 1) & mask;
+        keys[slot] = key;
+        values[slot] = child;
+    }
+
+    /**
+     * Nom          : hash
+     * Description  : Spreads a transition key over the table.
+     * @param key   : (state, character) key.
+     * @return      : First slot to probe.
+     */
+    private int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+    // endregion
+}
@@ -0,0 +1,428 @@
+package Replace;
+
+import Utils.Progress;
+import Utils.WorkerPool;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class replaces the words of one UTF-8 (or single-byte charset) file on
+ *                several threads. The file is split into byte ranges (cut on character boundaries)
+ *                that are decoded, searched and encoded on a pool of threads. Each range also reads
+ *                the first characters of the next one, so a match starting in a range and ending
+ *                in the next one is still found. The results are written back in order by the calling
+ *                thread; only a few ranges per thread are in flight, so the memory stays bounded.
+ *                When a match overlaps the next range, the next range is computed again from the
+ *                end of the match, which gives exactly the result of a sequential replace.
+ *                When only the first occurrence is replaced, the ranges after the range of the
+ *                first match are only transcoded.
+ *                Each range is encoded by its own encoder, so the output charset must encode a text
+ *                cut in two like the whole text. Only a byte order mark is allowed, it is removed from
+ *                the output of every range but the first one.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ParallelReplacer {
+    // region Public Parameters
+    public static final int MIN_RANGE_SIZE = 64 * 1024;
+    public static final int MAX_RANGE_SIZE = 2 * 1024 * 1024;
+    // endregion
+
+    // region Private Parameters
+    // Maximum number of bytes of a UTF-8 encoded char
+    private static final int MAX_BYTES_PER_CHAR = 3;
+    private static final int RANGES_PER_THREAD = 2;
+    // Characters encoded by supports() to check that the output charset keeps no state between them
+    private static final String SAMPLE_CHARS = "aé€あ";
+
+    private final WordMatcher matcher;
+    private final boolean replaceAll;
+    private final Charset inputCharset;
+    private final Charset outputCharset;
+    private final int chunkSize;
+    private final int threads;
+    // Bytes of the byte order mark written by the output charset, removed after the first range
+    private final int byteOrderMark;
+    // Progress of the command, null if it is not reported
+    private Progress progress;
+    // Threads shared by the jobs of a server, null to start threads for each run
+    private WorkerPool workers;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                  : ParallelReplacer
+     * Description          : Creates a parallel replace engine.
+     * @param matcher       : Matcher of the word to replace, copied for each range.
+     * @param replaceAll    : true to replace all occurrences, false to replace only the first one.
+     * @param inputCharset  : Charset of the input file, supported by supports().
+     * @param outputCharset : Charset of the output file, supported by supports().
+     * @param chunkSize     : Size in bytes of the output buffers.
+     * @param threads       : Number of threads of the pool.
+     */
+    public ParallelReplacer(WordMatcher matcher, boolean replaceAll, Charset inputCharset, Charset outputCharset,
+                            int chunkSize, int threads) {
+        this.matcher = matcher;
+        this.replaceAll = replaceAll;
+        this.inputCharset = inputCharset;
+        this.outputCharset = outputCharset;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.byteOrderMark = byteOrderMarkLength(outputCharset);
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom                  : supports
+     * Description          : Checks that a file in this charset can be cut into ranges on character boundaries,
+     *                        and that the ranges encoded one by one give the output of a sequential replace :
+     *                        the output charset must encode two texts one after the other like their
+     *                        concatenation, except for the byte order mark of the second one. A charset with
+     *                        shift states, such as ISO-2022-JP, is refused.
+     * @param inputCharset  : Charset of the input file.
+     * @param outputCharset : Charset of the output file.
+     * @return              : true for a UTF-8 or single-byte input and an output charset without state.
+     */
+    public static boolean supports(Charset inputCharset, Charset outputCharset) {
+        if (!inputCharset.equals(StandardCharsets.UTF_8) && inputCharset.newEncoder().maxBytesPerChar() != 1)
+            return false;
+        if (!outputCharset.canEncode())
+            return false;
+
+        CharsetEncoder encoder = outputCharset.newEncoder();
+        List<String> samples = new ArrayList<>();
+        for (char c : SAMPLE_CHARS.toCharArray())
+            if (encoder.canEncode(c))
+                samples.add(String.valueOf(c));
+        int byteOrderMark = byteOrderMarkLength(outputCharset);
+        for (String first : samples) {
+            for (String second : samples) {
+                byte[] head = encode(outputCharset, first);
+                byte[] tail = encode(outputCharset, second);
+                byte[] ranges = Arrays.copyOf(head, head.length + tail.length - byteOrderMark);
+                System.arraycopy(tail, byteOrderMark, ranges, head.length, tail.length - byteOrderMark);
+                if (!Arrays.equals(encode(outputCharset, first + second), ranges))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nom             : setProgress
+     * Description     : Reports the bytes of the input written by the next runs, range by range.
+     * @param progress : Progress of the command, null to report nothing.
+     */
+    public void setProgress(Progress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Nom            : setWorkers
+     * Description    : Runs the ranges of the next runs on the threads of a pool kept between the runs.
+     * @param workers : Shared pool, null to start threads for each run.
+     */
+    public void setWorkers(WorkerPool workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Nom          : replace
+     * Description  : Rewrites the input file in the output file, replacing the old word by the new one.
+     *                The output file is created or truncated.
+     * @param input  : Path of the input file.
+     * @param output : Path of the output file.
+     * @return       : Number of replacements made.
+     * @throws IOException if there's a problem when reading / writing a file.
+     */
+    public long replace(Path input, Path output) throws IOException {
+        ExecutorService pool = WorkerPool.executor(workers, "replace", threads);
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return replace(in, out, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : replace
+     * Description  : Submits the ranges to the pool and writes their results in order.
+     * @param in     : Channel of the input file.
+     * @param out    : Channel of the output file.
+     * @param pool   : Pool running the ranges.
+     * @return       : Number of replacements made.
+     * @throws IOException if there's a problem when reading / writing a file.
+     */
+    private long replace(FileChannel in, FileChannel out, ExecutorService pool) throws IOException {
+        List<long[]> ranges = split(in);
+        // Index of the range holding the first match, the next ranges are then only transcoded
+        AtomicInteger firstMatchRange = new AtomicInteger(Integer.MAX_VALUE);
+
+        ArrayDeque<Future<RangeResult>> inFlight = new ArrayDeque<>();
+        int submitted = 0;
+        long replacements = 0;
+        long resumeAt = 0;
+
+        for (int i = 0; i < ranges.size(); ++i) {
+            while (submitted < ranges.size() && inFlight.size() < threads * RANGES_PER_THREAD) {
+                int index = submitted++;
+                long[] range = ranges.get(index);
+                inFlight.add(pool.submit(() -> process(in, range[0], range[1],
+                        index <= firstMatchRange.get(), matcher.copy())));
+            }
+
+            RangeResult result = await(inFlight.poll());
+            long[] range = ranges.get(i);
+            boolean search = replaceAll || replacements == 0;
+
+            // The last match of the previous ranges covers this whole range
+            if (resumeAt >= range[1] && range[1] > range[0])
+                continue;
+
+            // The previous range ended with a match overlapping this one, or the first match is already done
+            if (resumeAt > range[0] || (!search && result.replacements > 0))
+                result = process(in, resumeAt, range[1], search, matcher.copy());
+
+            ByteBuffer bytes = result.output.toByteBuffer().position(result.skip);
+            while (bytes.hasRemaining())
+                out.write(bytes);
+
+            replacements += result.replacements;
+            if (progress != null)
+                progress.add(result.resumeAt - Math.max(range[0], resumeAt));
+            resumeAt = result.resumeAt;
+            if (!replaceAll && replacements > 0)
+                firstMatchRange.compareAndSet(Integer.MAX_VALUE, i);
+        }
+        return replacements;
+    }
+
+    /**
+     * Nom          : split
+     * Description  : Splits the file into ranges of about the same size, moving each cut to the start
+     *                of a UTF-8 character. In a single-byte charset, every byte starts a character.
+     * @param in     : Channel of the input file.
+     * @return       : List of [start, end) byte ranges.
+     * @throws IOException if the file cannot be read.
+     */
+    private List<long[]> split(FileChannel in) throws IOException {
+        long size = in.size();
+        long rangeSize = Math.max(MIN_RANGE_SIZE, Math.min(MAX_RANGE_SIZE, (size + threads - 1) / threads));
+        List<long[]> ranges = new ArrayList<>();
+        ByteBuffer lead = ByteBuffer.allocate(MAX_BYTES_PER_CHAR + 1);
+        long start = 0;
+
+        while (start < size) {
+            long end = Math.min(size, start + rangeSize);
+
+            if (end < size && inputCharset.equals(StandardCharsets.UTF_8)) {
+                lead.clear();
+                in.read(lead, end);
+                int skip = 0;
+                while (skip < lead.position() && (lead.get(skip) & 0xC0) == 0x80)
+                    ++skip;
+                end += skip;
+            }
+            ranges.add(new long[]{start, end});
+            start = end;
+        }
+
+        if (ranges.isEmpty())
+            ranges.add(new long[]{0, 0});
+        return ranges;
+    }
+
+    /**
+     * Nom          : process
+     * Description  : Decodes, searches and encodes one range. Only the matches starting before the end
+     *                of the range are replaced, the characters of the next range are only read to
+     *                complete them.
+     * @param in      : Channel of the input file.
+     * @param start   : First byte of the range.
+     * @param end     : End byte (exclusive) of the range.
+     * @param search  : false to only transcode the range.
+     * @param matcher : Matcher used by this range only.
+     * @return        : Output, replacements and byte where the next range must resume.
+     * @throws IOException if the file cannot be read.
+     */
+    private RangeResult process(FileChannel in, long start, long end, boolean search,
+                                WordMatcher matcher) throws IOException {
+        long size = in.size();
+        long overlapEnd = search ? Math.min(size, end + (long) (matcher.lookBehind() + 1) * MAX_BYTES_PER_CHAR) : end;
+        MappedByteBuffer bytes = in.map(FileChannel.MapMode.READ_ONLY, start, overlapEnd - start);
+
+        // One char at most per byte, the range itself ends on a character boundary
+        CharBuffer window = CharBuffer.allocate((int) (overlapEnd - start));
+        ByteBuffer rangeBytes = bytes.slice(0, (int) (end - start));
+        CharsetDecoder decoder = newDecoder();
+        decoder.decode(rangeBytes, window, true);
+        decoder.flush(window);
+        int rangeEnd = window.position();
+
+        ByteBuffer overlapBytes = bytes.slice((int) (end - start), (int) (overlapEnd - end));
+        newDecoder().decode(overlapBytes, window, overlapEnd == size);
+        window.flip();
+
+        RangeResult result = new RangeResult();
+        ChunkedCharWriter writer = new ChunkedCharWriter(result.output, outputCharset, chunkSize);
+        int position = 0;
+
+        while (search && matcher.find(window, position, window.limit(), true) && matcher.start() < rangeEnd) {
+            writer.write(window.duplicate().position(position).limit(matcher.start()));
+            writer.write(matcher.replacement());
+            position = matcher.end();
+            ++result.replacements;
+            search = replaceAll;
+        }
+
+        int outputEnd = Math.max(position, rangeEnd);
+        writer.write(window.duplicate().position(position).limit(outputEnd));
+        writer.close();
+        // The byte order mark of the output is written by the first range only
+        if (start > 0)
+            result.skip = Math.min(byteOrderMark, result.output.size());
+
+        result.resumeAt = end;
+        if (outputEnd > rangeEnd) {
+            // Bytes of the next range covered by the last match, found by decoding exactly its characters
+            ByteBuffer covered = bytes.slice((int) (end - start), (int) (overlapEnd - end));
+            newDecoder().decode(covered, CharBuffer.allocate(outputEnd - rangeEnd), false);
+            result.resumeAt += covered.position();
+        }
+        return result;
+    }
+
+    /**
+     * Nom            : byteOrderMarkLength
+     * Description    : Returns the number of bytes a charset writes before the first character : the byte
+     *                  order mark of UTF-16, 0 for most charsets.
+     * @param charset : Output charset.
+     * @return        : Length of the byte order mark.
+     */
+    private static int byteOrderMarkLength(Charset charset) {
+        int one = encode(charset, "a").length;
+        int two = encode(charset, "aa").length;
+        return Math.max(0, 2 * one - two);
+    }
+
+    /**
+     * Nom            : encode
+     * Description    : Encodes a text with a new encoder of a charset, like the writer of a range.
+     * @param charset : Output charset.
+     * @param text    : Text to encode.
+     * @return        : The bytes.
+     */
+    private static byte[] encode(Charset charset, String text) {
+        ByteBuffer bytes = charset.encode(text);
+        byte[] array = new byte[bytes.remaining()];
+        bytes.get(array);
+        return array;
+    }
+
+    /**
+     * Nom          : newDecoder
+     * Description  : Creates a decoder of the input replacing the malformed bytes, like the sequential engine.
+     * @return      : The decoder.
+     */
+    private CharsetDecoder newDecoder() {
+        return inputCharset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Nom          : await
+     * Description  : Waits for the result of a range.
+     * @param task  : Task of the range.
+     * @return      : Result of the range.
+     * @throws IOException if the range could not be processed.
+     */
+    private RangeResult await(Future<RangeResult> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Replace interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Result of one range : the encoded output, the number of replacements and the byte
+     *               of the file where the next range must start.
+     */
+    private static class RangeResult {
+        private final ByteArrayChannel output = new ByteArrayChannel();
+        private long replacements;
+        private long resumeAt;
+        // Bytes of the output before the first character, the byte order mark of a range after the first one
+        private int skip;
+    }
+
+    /**
+     * Description : Channel writing in memory, whose content is then read without copy.
+     */
+    private static class ByteArrayChannel extends ByteArrayOutputStream implements WritableByteChannel {
+        @Override
+        public int write(ByteBuffer src) {
+            int length = src.remaining();
+            ensureCapacity(count + length);
+            src.get(buf, count, length);
+            count += length;
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buf.length)
+                buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+        }
+
+        private ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+    // endregion
+}
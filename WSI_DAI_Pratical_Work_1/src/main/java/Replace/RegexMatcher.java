@@ -0,0 +1,161 @@
+package Replace;
+
+import java.nio.CharBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class searches a regular expression. The pattern is compiled once per run
+ *                and the replacement accepts the same syntax as String.replaceAll ($1, ${name},
+ *                \ to escape). A match is limited to the maximum length given at creation : when
+ *                a match could still grow with the next chunk, it is kept until it is complete or
+ *                reaches this length. Empty matches are ignored.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class RegexMatcher implements WordMatcher {
+    // region Private Parameters
+    private final Pattern pattern;
+    private final String replacement;
+    private final boolean literalReplacement;
+    private final int maxMatchLength;
+
+    private Matcher matcher;
+    private CharBuffer chars;
+    private int keepFrom;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                   : RegexMatcher
+     * Description           : Creates the matcher.
+     * @param regex          : The regular expression to search.
+     * @param replacement    : The replacement of each match, with the syntax of String.replaceAll.
+     * @param maxMatchLength : Maximum number of characters of a match.
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid.
+     */
+    public RegexMatcher(String regex, String replacement, int maxMatchLength) {
+        this(Pattern.compile(regex), replacement, maxMatchLength);
+    }
+
+    /**
+     * Nom                   : RegexMatcher
+     * Description           : Creates a matcher of an already compiled pattern.
+     * @param pattern        : The compiled expression.
+     * @param replacement    : The replacement of each match, with the syntax of String.replaceAll.
+     * @param maxMatchLength : Maximum number of characters of a match.
+     */
+    private RegexMatcher(Pattern pattern, String replacement, int maxMatchLength) {
+        this.pattern = pattern;
+        this.replacement = replacement;
+        this.literalReplacement = replacement.indexOf('$') < 0 && replacement.indexOf('\\') < 0;
+        this.maxMatchLength = maxMatchLength;
+    }
+    // endregion
+
+    // region Public Method
+    @Override
+    public boolean find(CharBuffer chars, int from, int to, boolean endOfInput) {
+        // The window is reused from chunk to chunk, the matcher reads its current content
+        if (this.chars != chars) {
+            matcher = pattern.matcher(chars).useTransparentBounds(true).useAnchoringBounds(false);
+            this.chars = chars;
+        }
+        matcher.region(from, to);
+
+        while (matcher.find()) {
+            if (matcher.end() == matcher.start())
+                continue;
+
+            // The match touches the end of the window and could be longer with the next characters
+            if (!endOfInput && matcher.hitEnd() && to - matcher.start() < maxMatchLength) {
+                keepFrom = matcher.start();
+                return false;
+            }
+            return true;
+        }
+
+        keepFrom = (!endOfInput && matcher.hitEnd()) ? Math.max(from, to - maxMatchLength + 1) : to;
+        return false;
+    }
+
+    @Override
+    public int start() {
+        return matcher.start();
+    }
+
+    @Override
+    public int end() {
+        return matcher.end();
+    }
+
+    @Override
+    public String replacement() {
+        if (literalReplacement)
+            return replacement;
+
+        StringBuilder result = new StringBuilder();
+
+        for (int i = 0; i < replacement.length(); ++i) {
+            char c = replacement.charAt(i);
+
+            if (c == '\\' && i + 1 < replacement.length()) {
+                result.append(replacement.charAt(++i));
+            } else if (c == '$' && i + 1 < replacement.length() && replacement.charAt(i + 1) == '{') {
+                int close = replacement.indexOf('}', i);
+                if (close < 0)
+                    throw new IllegalArgumentException("Named capturing group is missing trailing '}'");
+                appendGroup(result, matcher.group(replacement.substring(i + 2, close)));
+                i = close;
+            } else if (c == '$' && i + 1 < replacement.length() && Character.isDigit(replacement.charAt(i + 1))) {
+                // Like Matcher.appendReplacement, the group number is as long as the group exists
+                int group = replacement.charAt(++i) - '0';
+                while (i + 1 < replacement.length() && Character.isDigit(replacement.charAt(i + 1))) {
+                    int next = group * 10 + replacement.charAt(i + 1) - '0';
+                    if (next > matcher.groupCount())
+                        break;
+                    group = next;
+                    ++i;
+                }
+                appendGroup(result, matcher.group(group));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public int keepFrom() {
+        return keepFrom;
+    }
+
+    @Override
+    public int lookBehind() {
+        return maxMatchLength - 1;
+    }
+
+    @Override
+    public WordMatcher copy() {
+        return new RegexMatcher(pattern, replacement, maxMatchLength);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : appendGroup
+     * Description  : Appends the text captured by a group, nothing if the group did not match.
+     * @param result : Text being built.
+     * @param group  : Captured text, may be null.
+     */
+    private void appendGroup(StringBuilder result, String group) {
+        if (group != null)
+            result.append(group);
+    }
+    // endregion
+}
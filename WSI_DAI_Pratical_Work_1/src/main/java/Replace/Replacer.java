@@ -0,0 +1,67 @@
+package Replace;
+
+import Utils.Progress;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This interface is implemented by the sequential engines of the replace command :
+ *                the engine decoding the input into characters (StreamReplacer) and the engine
+ *                searching the encoded word directly in the bytes (ByteReplacer). An engine streams
+ *                the input to the output and holds no state between two runs, except the read time
+ *                of the last one.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public interface Replacer {
+
+    /**
+     * Nom          : replace
+     * Description  : Rewrites the content of the input channel in the output channel, replacing the
+     *                old word by the new one. The channels are not closed.
+     * @param in     : Channel to read from.
+     * @param out    : Channel to write to.
+     * @return       : Number of replacements made.
+     * @throws IOException if there's a problem when reading / writing a channel.
+     */
+    long replace(ReadableByteChannel in, WritableByteChannel out) throws IOException;
+
+    /**
+     * Nom          : replace
+     * Description  : Rewrites the input file in the output file, replacing the old word by the new one.
+     *                The output file is created or truncated.
+     * @param input  : Path of the input file.
+     * @param output : Path of the output file.
+     * @return       : Number of replacements made.
+     * @throws IOException if there's a problem when reading / writing a file.
+     */
+    default long replace(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return replace(in, out);
+        }
+    }
+
+    /**
+     * Nom          : getReadNanos
+     * Description  : Returns the time spent reading (and decoding) the input during the last run, the
+     *                rest of the run is spent matching, encoding and writing.
+     * @return      : Nanoseconds.
+     */
+    long getReadNanos();
+
+    /**
+     * Nom             : setProgress
+     * Description     : Reports the bytes of the input processed by the next runs.
+     * @param progress : Progress of the command, null to report nothing.
+     */
+    void setProgress(Progress progress);
+}
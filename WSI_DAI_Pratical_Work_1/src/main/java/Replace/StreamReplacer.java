@@ -0,0 +1,140 @@
+package Replace;
+
+import Utils.Progress;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is the streaming engine of the replace command. The input is decoded
+ *                in fixed-size chunks, the matches are replaced in a window of characters and
+ *                the result is encoded to the output as soon as it can no longer be part of a
+ *                match. Only the end of a chunk that may still begin a match is kept for the
+ *                next one (at most the look-behind of the matcher), so a match crossing two
+ *                chunks is still found and the memory used stays bounded whatever the size
+ *                of the file or of its lines.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class StreamReplacer implements Replacer {
+    // region Public Parameters
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    public static final int MIN_CHUNK_SIZE = 16;
+    // endregion
+
+    // region Private Parameters
+    private final WordMatcher matcher;
+    private final boolean replaceAll;
+    private final Charset inputCharset;
+    private final Charset outputCharset;
+    private final int chunkSize;
+    private final boolean memoryMapped;
+
+    // Time spent reading and decoding the input during the last run
+    private long readNanos;
+    // Progress of the command, null if it is not reported
+    private Progress progress;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                  : StreamReplacer
+     * Description          : Creates a replace engine. The engine holds no state between two runs, except
+     *                        the read time of the last one.
+     * @param matcher       : Matcher of the word to replace, it gives the replacement of each match.
+     * @param replaceAll    : true to replace all occurrences, false to replace only the first one.
+     * @param inputCharset  : Charset of the input file.
+     * @param outputCharset : Charset of the output file.
+     * @param chunkSize     : Size in bytes of the read and write buffers.
+     * @param memoryMapped  : Maps the input file window by window instead of reading it.
+     */
+    public StreamReplacer(WordMatcher matcher, boolean replaceAll,
+                          Charset inputCharset, Charset outputCharset,
+                          int chunkSize, boolean memoryMapped) {
+        this.matcher = matcher;
+        this.replaceAll = replaceAll;
+        this.inputCharset = inputCharset;
+        this.outputCharset = outputCharset;
+        this.chunkSize = Math.max(chunkSize, MIN_CHUNK_SIZE);
+        this.memoryMapped = memoryMapped;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : replace
+     * Description  : Rewrites the content of the input channel in the output channel, replacing the
+     *                old word by the new one. The channels are not closed.
+     * @param in     : Channel to read from.
+     * @param out    : Channel to write to.
+     * @return       : Number of replacements made.
+     * @throws IOException if there's a problem when reading / writing a channel.
+     */
+    @Override
+    public long replace(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        ChunkedCharReader reader = new ChunkedCharReader(in, inputCharset, chunkSize, memoryMapped);
+        CharBuffer window = CharBuffer.allocate(chunkSize + matcher.lookBehind());
+        long replacements = 0;
+        boolean searching = true;
+        long reported = 0;
+        readNanos = 0;
+
+        try (ChunkedCharWriter writer = new ChunkedCharWriter(out, outputCharset, chunkSize)) {
+            boolean more = true;
+
+            while (more) {
+                long readStart = System.nanoTime();
+                more = reader.read(window);
+                readNanos += System.nanoTime() - readStart;
+                if (progress != null) {
+                    progress.add(reader.getBytesRead() - reported);
+                    reported = reader.getBytesRead();
+                }
+                window.flip();
+
+                int position = window.position();
+                int limit = window.limit();
+
+                while (searching && matcher.find(window, position, limit, !more)) {
+                    writer.write(window.duplicate().position(position).limit(matcher.start()));
+                    writer.write(matcher.replacement());
+                    position = matcher.end();
+                    ++replacements;
+                    searching = replaceAll;
+                }
+
+                // The end of the window may be the beginning of a match, it is kept for the next chunk
+                int flushUpTo = (!more || !searching) ? limit : Math.max(position, matcher.keepFrom());
+                writer.write(window.duplicate().position(position).limit(flushUpTo));
+
+                window.position(flushUpTo);
+                window.compact();
+            }
+        }
+        return replacements;
+    }
+
+    /**
+     * Nom          : getReadNanos
+     * Description  : Returns the time spent reading and decoding the input during the last run, the rest
+     *                of the run is spent matching, encoding and writing.
+     * @return      : Nanoseconds.
+     */
+    @Override
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    @Override
+    public void setProgress(Progress progress) {
+        this.progress = progress;
+    }
+    // endregion
+}
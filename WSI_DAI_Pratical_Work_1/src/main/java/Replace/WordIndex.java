@@ -0,0 +1,537 @@
+package Replace;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is an on-disk index of the byte offsets of a file, used to search a word
+ *                without scanning the whole file. Each group of GRAM_LENGTH bytes of the file is hashed
+ *                into one of BUCKETS lists of offsets, so the occurrences of a word are among the
+ *                offsets of the list of any of its grams : the shortest list is read and each of its
+ *                offsets is checked in the file (two grams sharing a list only add candidates).
+ *                The index is a single file, read through memory mappings of INDEX_WINDOW_SIZE :
+ *                    header  : magic, version, gram length, number of lists, size, last modification
+ *                              time and SHA-256 of the indexed file
+ *                    table   : start (in the lists) and number of offsets of each list
+ *                    lists   : increasing offsets, each one stored as the varint of the gap with the
+ *                              previous one, so most offsets take one or two bytes
+ *                The lists take about the size of the file, so they are not kept in memory while
+ *                building : once a given amount is buffered, the buffered part of every list is
+ *                written as a run in a temporary file. The file is read in order, so the runs are
+ *                already sorted by offset and the gaps continue from one run to the next : the merge
+ *                only appends the parts of a list from each run, reading the runs sequentially.
+ *                The index is only used while the file has its size and its content : when the last
+ *                modification time changed, the SHA-256 of the file decides.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class WordIndex {
+    // region Public Parameters
+    // Number of bytes of a gram, a shorter word cannot be searched in the index
+    public static final int GRAM_LENGTH = 3;
+    // Extension of the index, next to the indexed file
+    public static final String EXTENSION = ".idx";
+    // Default bytes of the lists buffered in memory while building, before a run is written
+    public static final long DEFAULT_MEMORY = 64L * 1024 * 1024;
+    // endregion
+
+    // region Private Parameters
+    private static final int MAGIC = 0x57534958; // "WSIX"
+    private static final int VERSION = 2;
+    private static final int BUCKETS = 1 << 16;
+    private static final int HEADER_SIZE = 64;
+    private static final int ENTRY_SIZE = 2 * Long.BYTES;
+    private static final int TABLE_SIZE = BUCKETS * ENTRY_SIZE;
+    // Size of the mapped windows of the indexed file while building
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    // Size of the mapped windows of the index (1 GB), the header and the table are in the first one
+    private static final int INDEX_WINDOW_BITS = 30;
+    private static final int INDEX_WINDOW_SIZE = 1 << INDEX_WINDOW_BITS;
+    // Bounds of the read buffer of each run while merging
+    private static final int MIN_RUN_BUFFER_SIZE = 4 * 1024;
+    private static final int MAX_RUN_BUFFER_SIZE = 1024 * 1024;
+
+    // Mapped windows of the index file
+    private final MappedByteBuffer[] windows;
+    private final long fileSize;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom             : WordIndex
+     * Description     : Creates an index from its mapped file, checked by open.
+     * @param windows  : Mapped windows of the index.
+     * @param fileSize : Size of the indexed file.
+     */
+    private WordIndex(MappedByteBuffer[] windows, long fileSize) {
+        this.windows = windows;
+        this.fileSize = fileSize;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : defaultPath
+     * Description  : Returns the path of the index of a file when no other path is given.
+     * @param file  : Indexed file.
+     * @return      : The path of the file followed by ".idx".
+     */
+    public static Path defaultPath(Path file) {
+        return file.resolveSibling(file.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Nom          : build
+     * Description  : Indexes a file with the default memory, see build(Path, Path, long).
+     * @param file  : File to index.
+     * @param path  : Path of the index, replaced.
+     * @return      : Number of offsets in the index.
+     * @throws IOException if the file cannot be read or the index cannot be written.
+     */
+    public static long build(Path file, Path path) throws IOException {
+        return build(file, path, DEFAULT_MEMORY);
+    }
+
+    /**
+     * Nom           : build
+     * Description   : Indexes a file in one pass over its mapped windows, writing runs next to the index
+     *                 when the lists exceed the memory, then writes the index in a temporary file moved in
+     *                 place, so a reader never sees a half written index.
+     * @param file   : File to index.
+     * @param path   : Path of the index, replaced.
+     * @param memory : Bytes of the lists buffered in memory before a run is written.
+     * @return       : Number of offsets in the index.
+     * @throws IOException if the file cannot be read or the index cannot be written.
+     */
+    public static long build(Path file, Path path, long memory) throws IOException {
+        long mtime = Files.getLastModifiedTime(file).toMillis();
+        MessageDigest digest = sha256();
+        Path directory = path.toAbsolutePath().getParent();
+        Path runs = Files.createTempFile(directory, path.getFileName().toString(), ".runs");
+
+        try (Postings postings = new Postings(runs, memory)) {
+            long size;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                size = channel.size();
+                long base = 0;
+                while (base < size) {
+                    // The last grams of a window end in the next one
+                    int length = (int) Math.min(size - base, (long) WINDOW_SIZE + GRAM_LENGTH - 1);
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+                    int windowEnd = Math.min(length, WINDOW_SIZE);
+
+                    for (int i = 0; i < windowEnd && i <= length - GRAM_LENGTH; ++i)
+                        postings.add(bucket(window, i), base + i);
+                    digest.update(window.limit(windowEnd));
+                    base += windowEnd;
+                }
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + TABLE_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(GRAM_LENGTH).putInt(BUCKETS).putLong(size).putLong(mtime)
+                  .put(digest.digest());
+            long start = 0;
+            for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+                header.putLong(HEADER_SIZE + ENTRY_SIZE * bucket, start)
+                      .putLong(HEADER_SIZE + ENTRY_SIZE * bucket + Long.BYTES, postings.counts[bucket]);
+                start += postings.listLengths[bucket];
+            }
+
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), MAX_RUN_BUFFER_SIZE)) {
+                    out.write(header.array());
+                    postings.merge(out);
+                }
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            return postings.total;
+        } finally {
+            Files.deleteIfExists(runs);
+        }
+    }
+
+    /**
+     * Nom          : open
+     * Description  : Opens the index of a file, if it exists and still matches the file.
+     * @param file  : Indexed file.
+     * @param path  : Path of the index.
+     * @return      : The index, or null if there's no index or the file changed since it was built.
+     * @throws IOException if the index is not an index file, or the file cannot be read.
+     */
+    public static WordIndex open(Path file, Path path) throws IOException {
+        if (!Files.isRegularFile(path))
+            return null;
+
+        MappedByteBuffer[] windows;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE + TABLE_SIZE)
+                throw new IOException(path + " is not an index file.");
+            // A mapping is limited to 2 GB, the lists of a large file are mapped in several windows
+            windows = new MappedByteBuffer[(int) ((length + INDEX_WINDOW_SIZE - 1) >>> INDEX_WINDOW_BITS)];
+            for (int i = 0; i < windows.length; ++i) {
+                long base = (long) i << INDEX_WINDOW_BITS;
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(length - base, INDEX_WINDOW_SIZE));
+            }
+        }
+        MappedByteBuffer index = windows[0];
+        if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION || index.getInt(8) != GRAM_LENGTH
+                || index.getInt(12) != BUCKETS)
+            throw new IOException(path + " is not an index file of this version.");
+
+        long size = index.getLong(16);
+        if (Files.size(file) != size)
+            return null;
+        if (Files.getLastModifiedTime(file).toMillis() != index.getLong(24)) {
+            // Touched or copied : the index is still valid if the content is the same
+            byte[] hash = new byte[32];
+            index.get(32, hash);
+            if (!Arrays.equals(hash, hash(file)))
+                return null;
+        }
+        return new WordIndex(windows, size);
+    }
+
+    /**
+     * Nom          : candidateCount
+     * Description  : Returns the number of offsets read to search a word, an upper bound of its occurrences.
+     * @param word  : Encoded word.
+     * @return      : Number of candidates, -1 if the word is shorter than a gram.
+     */
+    public long candidateCount(byte[] word) {
+        int gram = bestGram(word);
+        return gram < 0 ? -1 : count(bucket(ByteBuffer.wrap(word), gram));
+    }
+
+    /**
+     * Nom          : candidates
+     * Description  : Returns the offsets where the word may start, in increasing order. Each one must be
+     *                checked in the file.
+     * @param word  : Encoded word, at least GRAM_LENGTH bytes long.
+     * @return      : Iterator of the candidate offsets.
+     */
+    public PrimitiveIterator.OfLong candidates(byte[] word) {
+        int gram = bestGram(word);
+        if (gram < 0)
+            throw new IllegalArgumentException("The word is shorter than a gram of the index.");
+        return new Candidates(bucket(ByteBuffer.wrap(word), gram), gram);
+    }
+
+    /**
+     * Nom          : getFileSize
+     * Description  : Returns the size of the indexed file.
+     * @return      : Number of bytes.
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Nom          : hash
+     * Description  : Computes the SHA-256 of the content of a file.
+     * @param file  : File to hash.
+     * @return      : The 32 bytes of the SHA-256.
+     * @throws IOException if the file cannot be read.
+     */
+    public static byte[] hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long base = 0; base < size; base += WINDOW_SIZE)
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, WINDOW_SIZE)));
+        }
+        return digest.digest();
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : bestGram
+     * Description   : Chooses the gram of the word with the shortest list of offsets.
+     * @param word   : Encoded word.
+     * @return       : Position of the gram in the word, -1 if the word is shorter than a gram.
+     */
+    private int bestGram(byte[] word) {
+        ByteBuffer bytes = ByteBuffer.wrap(word);
+        int best = -1;
+        long bestCount = Long.MAX_VALUE;
+        for (int i = 0; i <= word.length - GRAM_LENGTH; ++i) {
+            long count = count(bucket(bytes, i));
+            if (count < bestCount) {
+                best = i;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Nom           : count
+     * Description   : Returns the number of offsets of a list.
+     * @param bucket : Index of the list.
+     * @return       : Number of offsets.
+     */
+    private long count(int bucket) {
+        return windows[0].getLong(HEADER_SIZE + ENTRY_SIZE * bucket + Long.BYTES);
+    }
+
+    /**
+     * Nom             : get
+     * Description     : Reads a byte of the index, in the window holding it.
+     * @param position : Position in the index file.
+     * @return         : The byte.
+     */
+    private byte get(long position) {
+        return windows[(int) (position >>> INDEX_WINDOW_BITS)].get((int) (position & (INDEX_WINDOW_SIZE - 1)));
+    }
+
+    /**
+     * Nom           : bucket
+     * Description   : Hashes the gram starting at a position into the index of its list.
+     * @param bytes  : Bytes, with absolute indexes.
+     * @param i      : Position of the gram.
+     * @return       : Index of the list.
+     */
+    private static int bucket(ByteBuffer bytes, int i) {
+        int gram = (bytes.get(i) & 0xFF) << 16 | (bytes.get(i + 1) & 0xFF) << 8 | bytes.get(i + 2) & 0xFF;
+        // Fibonacci hashing, the high bits of the product depend on all the bytes of the gram
+        return (gram * 0x9E3779B1) >>> (Integer.SIZE - 16);
+    }
+
+    /**
+     * Nom          : sha256
+     * Description  : Creates a SHA-256 digest.
+     * @return      : The digest.
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Lists of offsets while building, one growing array of varints per bucket. When the
+     *               arrays hold the memory given, their content is appended to the runs file as a run :
+     *               for each bucket, the varint of its length then its bytes. The gaps go on from the
+     *               last offset of the previous run, so the parts of a list are simply appended.
+     */
+    private static class Postings implements AutoCloseable {
+        private final byte[][] bytes = new byte[BUCKETS][];
+        private final int[] lengths = new int[BUCKETS];
+        private final long[] counts = new long[BUCKETS];
+        private final long[] listLengths = new long[BUCKETS];
+        private final long[] last = new long[BUCKETS];
+        private final Path runsPath;
+        private final long memory;
+        private long buffered;
+        private long total;
+
+        // Runs file, opened by the first run, and start of each run in it
+        private OutputStream runs;
+        private long runsLength;
+        private final List<Long> runStarts = new ArrayList<>();
+
+        private Postings(Path runsPath, long memory) {
+            this.runsPath = runsPath;
+            this.memory = memory;
+        }
+
+        private void add(int bucket, long offset) throws IOException {
+            byte[] list = bytes[bucket];
+            int length = lengths[bucket];
+            if (list == null || length + 10 > list.length)
+                list = bytes[bucket] = Arrays.copyOf(list == null ? new byte[16] : list,
+                        list == null ? 16 : list.length * 2);
+
+            int written = putVarint(list, length, offset - last[bucket]);
+            lengths[bucket] = length + written;
+            listLengths[bucket] += written;
+            last[bucket] = offset;
+            ++counts[bucket];
+            ++total;
+
+            buffered += written;
+            if (buffered >= memory)
+                spill();
+        }
+
+        private void spill() throws IOException {
+            if (runs == null)
+                runs = new BufferedOutputStream(Files.newOutputStream(runsPath), MAX_RUN_BUFFER_SIZE);
+            runStarts.add(runsLength);
+            byte[] varint = new byte[10];
+            for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+                int length = putVarint(varint, 0, lengths[bucket]);
+                runs.write(varint, 0, length);
+                if (lengths[bucket] > 0)
+                    runs.write(bytes[bucket], 0, lengths[bucket]);
+                runsLength += length + lengths[bucket];
+                lengths[bucket] = 0;
+            }
+            buffered = 0;
+        }
+
+        private void merge(OutputStream out) throws IOException {
+            if (runs == null) {
+                for (int bucket = 0; bucket < BUCKETS; ++bucket)
+                    if (lengths[bucket] > 0)
+                        out.write(bytes[bucket], 0, lengths[bucket]);
+                return;
+            }
+            runs.close();
+            runs = null;
+
+            try (FileChannel channel = FileChannel.open(runsPath, StandardOpenOption.READ)) {
+                // The buffers of the runs together take about the memory given
+                int bufferSize = (int) Math.max(MIN_RUN_BUFFER_SIZE, Math.min(MAX_RUN_BUFFER_SIZE, memory / runStarts.size()));
+                List<Run> readers = new ArrayList<>();
+                for (long start : runStarts)
+                    readers.add(new Run(channel, start, bufferSize));
+
+                for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+                    for (Run run : readers)
+                        run.copyTo(out, run.readVarint());
+                    // The offsets buffered since the last run
+                    if (lengths[bucket] > 0)
+                        out.write(bytes[bucket], 0, lengths[bucket]);
+                }
+            }
+        }
+
+        private static int putVarint(byte[] bytes, int at, long value) {
+            int start = at;
+            while (value >= 0x80) {
+                bytes[at++] = (byte) (value | 0x80);
+                value >>>= 7;
+            }
+            bytes[at++] = (byte) value;
+            return at - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (runs != null)
+                runs.close();
+        }
+    }
+
+    /**
+     * Description : Sequential reader of one run of the runs file, with its own buffer.
+     */
+    private static class Run {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        private Run(FileChannel channel, long start, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize).flip();
+            this.position = start;
+        }
+
+        private long readVarint() throws IOException {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                fill();
+                b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private void copyTo(OutputStream out, long length) throws IOException {
+            while (length > 0) {
+                fill();
+                int count = (int) Math.min(length, buffer.remaining());
+                out.write(buffer.array(), buffer.position(), count);
+                buffer.position(buffer.position() + count);
+                length -= count;
+            }
+        }
+
+        private void fill() throws IOException {
+            if (buffer.hasRemaining())
+                return;
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0)
+                throw new EOFException("The runs of the index are truncated.");
+            position += read;
+            buffer.flip();
+        }
+    }
+
+    /**
+     * Description : Offsets of a list, moved back to the start of the word.
+     */
+    private class Candidates implements PrimitiveIterator.OfLong {
+        private long position;
+        private long remaining;
+        private long offset;
+        private final int gram;
+
+        private Candidates(int bucket, int gram) {
+            this.position = HEADER_SIZE + TABLE_SIZE + windows[0].getLong(HEADER_SIZE + ENTRY_SIZE * bucket);
+            this.remaining = count(bucket);
+            this.gram = gram;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (remaining == 0)
+                throw new NoSuchElementException();
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = get(position++);
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            offset += gap;
+            --remaining;
+            // Before the start of the file for a gram found in the first bytes, never a match
+            return offset - gram;
+        }
+    }
+    // endregion
+}
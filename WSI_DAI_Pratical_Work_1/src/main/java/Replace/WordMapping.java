@@ -0,0 +1,59 @@
+package Replace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class reads a mapping file for the replace command. The file is encoded
+ *                in UTF-8 and contains one replacement per line, the old word and the new word
+ *                separated by a tab. Empty lines and lines starting with '#' are ignored.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class WordMapping {
+
+    private WordMapping() {
+    }
+
+    /**
+     * Nom          : read
+     * Description  : Reads the pairs of words of a mapping file.
+     * @param path  : Path of the mapping file.
+     * @return      : Old words and their new word, in the order of the file.
+     * @throws IOException if the file cannot be read or a line is invalid.
+     */
+    public static Map<String, String> read(Path path) throws IOException {
+        Map<String, String> mapping = new LinkedHashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                ++lineNumber;
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+
+                int tab = line.indexOf('\t');
+                if (tab <= 0)
+                    throw new IOException("Mapping file line " + lineNumber + ": expected <Old-Word><TAB><New-Word>.");
+
+                String oldWord = line.substring(0, tab);
+                if (mapping.putIfAbsent(oldWord, line.substring(tab + 1)) != null)
+                    throw new IOException("Mapping file line " + lineNumber + ": \"" + oldWord + "\" is already mapped.");
+            }
+        }
+
+        if (mapping.isEmpty())
+            throw new IOException("Mapping file does not contain any word.");
+        return mapping;
+    }
+}
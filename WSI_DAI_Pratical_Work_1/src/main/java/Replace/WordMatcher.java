@@ -0,0 +1,73 @@
+package Replace;
+
+import java.nio.CharBuffer;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This interface is implemented by the different ways of searching the word to
+ *                replace in a window of characters (literal word, regular expression ...). A
+ *                matcher is built once per run and reused for every chunk of the input.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public interface WordMatcher {
+
+    /**
+     * Nom               : find
+     * Description       : Searches the first match starting in [from, to) of the buffer. The indexes
+     *                     are absolute indexes of the buffer, whose position must be 0.
+     * @param chars      : Window of characters to search in.
+     * @param from       : First index of the search.
+     * @param to         : End index (exclusive) of the characters available.
+     * @param endOfInput : true if no character will follow the index to.
+     * @return           : true if a match was found, false otherwise. In this case, keepFrom()
+     *                     tells where a match could still begin once more characters are read.
+     */
+    boolean find(CharBuffer chars, int from, int to, boolean endOfInput);
+
+    /**
+     * Nom          : start
+     * Description  : Returns the index of the first character of the last match.
+     * @return      : Start index of the match.
+     */
+    int start();
+
+    /**
+     * Nom          : end
+     * Description  : Returns the index following the last character of the last match.
+     * @return      : End index (exclusive) of the match.
+     */
+    int end();
+
+    /**
+     * Nom          : replacement
+     * Description  : Returns the text that replaces the last match.
+     * @return      : Replacement text.
+     */
+    String replacement();
+
+    /**
+     * Nom          : keepFrom
+     * Description  : After an unsuccessful find, returns the first index that may still be part of a
+     *                match. The characters before it can be written to the output.
+     * @return      : Index to keep the characters from.
+     */
+    int keepFrom();
+
+    /**
+     * Nom          : lookBehind
+     * Description  : Returns the maximum number of characters keepFrom() can keep, used to size the window.
+     * @return      : Number of characters.
+     */
+    int lookBehind();
+
+    /**
+     * Nom          : copy
+     * Description  : Returns a matcher searching the same words, to be used by another thread. The
+     *                tables built at creation are shared, only the state of the last search is not.
+     * @return      : The new matcher.
+     */
+    WordMatcher copy();
+}
@@ -0,0 +1,202 @@
+package Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class lists the input files of a batch and gives the output path of each
+ *                one. The input can be :
+ *                - a directory : all its regular files, recursively.
+ *                - a glob (ex. "logs/**.txt") : the files under the part of the glob without
+ *                  wildcards that match it.
+ *                - "@file" : a text file with one input path per line. A relative path keeps its
+ *                  directories and cannot go up with "..", an absolute one only keeps its name.
+ *                Each output keeps the path of its input relative to the base of the batch,
+ *                resolved in the output directory. An output directory inside the input tree is
+ *                not walked, so the outputs of a previous run are not read again, and checkOutputs
+ *                refuses a batch writing over one of its inputs or writing two inputs to the same
+ *                output, before anything is written.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class BatchFiles {
+
+    /**
+     * Description : One file of the batch, with the output it is written to.
+     */
+    public static class Job {
+        private final Path input;
+        private final Path output;
+
+        public Job(Path input, Path output) {
+            this.input = input;
+            this.output = output;
+        }
+
+        public Path getInput() {
+            return input;
+        }
+
+        public Path getOutput() {
+            return output;
+        }
+    }
+
+    private BatchFiles() {
+    }
+
+    /**
+     * Nom              : list
+     * Description      : Lists the files of a batch.
+     * @param input     : Directory, glob or "@file" giving the input files.
+     * @param outputDir : Directory receiving the output files.
+     * @return          : The jobs of the batch, sorted by input path.
+     * @throws IOException if the input cannot be listed, or if a path of the list goes up with "..".
+     */
+    public static List<Job> list(String input, Path outputDir) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+
+        if (input.startsWith("@")) {
+            for (String line : Files.readAllLines(Path.of(input.substring(1)), StandardCharsets.UTF_8)) {
+                if (line.isBlank())
+                    continue;
+                Path file = Path.of(line.strip());
+                // Relative paths keep their directories, absolute ones only their name
+                Path relative = file.isAbsolute() ? file.getFileName() : file.normalize();
+                if (relative.startsWith(".."))
+                    throw new IOException("The path " + line.strip() + " of the list goes up with .., its output would be "
+                                          + "outside of the output directory.");
+                jobs.add(new Job(file, outputDir.resolve(relative)));
+            }
+            return jobs;
+        }
+
+        Path base;
+        PathMatcher matcher;
+        if (isGlob(input)) {
+            // The directories before the first wildcard are walked, the rest is matched on the relative paths
+            String[] parts = input.replace(File.separatorChar, '/').split("/", -1);
+            int first = 0;
+            while (first < parts.length - 1 && !isGlob(parts[first]))
+                ++first;
+
+            String directories = String.join("/", Arrays.copyOfRange(parts, 0, first));
+            base = first == 0 ? Path.of(".") : Path.of(directories.isEmpty() ? "/" : directories);
+            String glob = String.join("/", Arrays.copyOfRange(parts, first, parts.length));
+            matcher = base.getFileSystem().getPathMatcher("glob:" + glob);
+        } else {
+            base = Path.of(input);
+            matcher = path -> true;
+        }
+
+        for (Path file : walk(base, outputDir)) {
+            Path relative = base.relativize(file);
+            if (matcher.matches(relative))
+                jobs.add(new Job(file, outputDir.resolve(relative)));
+        }
+        return jobs;
+    }
+
+    /**
+     * Nom          : checkOutputs
+     * Description  : Checks that no output of a batch is one of its inputs, and that no two inputs have the
+     *                same output. The paths are compared once their links are resolved, so a link or a
+     *                path written differently is caught too.
+     * @param jobs  : Jobs of the batch, with their final output paths.
+     * @throws IOException if an output would overwrite an input or another output.
+     */
+    public static void checkOutputs(List<Job> jobs) throws IOException {
+        Set<Path> inputs = new HashSet<>();
+        for (Job job : jobs)
+            inputs.add(realPath(job.getInput()));
+
+        Map<Path, Path> inputOf = new HashMap<>();
+        for (Job job : jobs) {
+            Path output = realPath(job.getOutput());
+            if (inputs.contains(output))
+                throw new IOException("The output " + job.getOutput() + " of " + job.getInput() + " is an input of the batch.");
+            Path other = inputOf.putIfAbsent(output, job.getInput());
+            if (other != null)
+                throw new IOException("The inputs " + other + " and " + job.getInput() + " have the same output "
+                                      + job.getOutput() + ".");
+        }
+    }
+
+    /**
+     * Nom          : isGlob
+     * Description  : Checks if the input contains glob wildcards.
+     * @param input : Input of the batch.
+     * @return      : true if the input is a glob.
+     */
+    public static boolean isGlob(String input) {
+        return input.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    /**
+     * Nom              : walk
+     * Description      : Lists the regular files under a directory, recursively, without the output
+     *                    directory when it is inside.
+     * @param base      : Directory walked.
+     * @param outputDir : Output directory of the batch.
+     * @return          : The files, sorted.
+     * @throws IOException if a directory cannot be read.
+     */
+    private static List<Path> walk(Path base, Path outputDir) throws IOException {
+        Path output = Files.isDirectory(outputDir) ? outputDir.toRealPath() : null;
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(base, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                // The base itself is kept, checkOutputs refuses a batch written over its inputs
+                if (output != null && !directory.equals(base) && directory.toRealPath().equals(output))
+                    return FileVisitResult.SKIP_SUBTREE;
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile())
+                    files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Nom          : realPath
+     * Description  : Returns the real path of a file which may not exist yet : the real path of its closest
+     *                existing directory, followed by the rest of the path.
+     * @param path  : Path of the file.
+     * @return      : The path without links, "." or "..".
+     * @throws IOException if the existing part cannot be resolved.
+     */
+    private static Path realPath(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath().normalize();
+        Path existing = absolute;
+        while (existing != null && !Files.exists(existing))
+            existing = existing.getParent();
+        if (existing == null)
+            return absolute;
+        return existing.toRealPath().resolve(existing.relativize(absolute));
+    }
+}
@@ -0,0 +1,150 @@
+package Utils;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class gathers the results of the files of a batch. It is updated by the
+ *                threads of the batch without locking and printed once at the end.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class BatchReport {
+    // region Private Parameters
+    // Maximum number of failures listed in the report
+    private static final int MAX_LISTED_FAILURES = 20;
+
+    private final long begin = System.nanoTime();
+    private long elapsedNanos;
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder inputBytes = new LongAdder();
+    private final LongAdder outputBytes = new LongAdder();
+    private final Map<Path, String> failures = new ConcurrentSkipListMap<>();
+    // Progress of the command, null if it is not reported
+    private Progress progress;
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom             : setProgress
+     * Description     : Reports each file processed, successfully or not.
+     * @param progress : Progress of the command, null to report nothing.
+     */
+    public void setProgress(Progress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Nom                : succeeded
+     * Description        : Records a file processed successfully.
+     * @param inputBytes  : Size of the input file.
+     * @param outputBytes : Size of the output file.
+     * @param items       : Number of items processed in the file.
+     */
+    public void succeeded(long inputBytes, long outputBytes, long items) {
+        this.succeeded.increment();
+        this.inputBytes.add(inputBytes);
+        this.outputBytes.add(outputBytes);
+        this.items.add(items);
+        if (progress != null)
+            progress.add(1);
+    }
+
+    /**
+     * Nom          : failed
+     * Description  : Records a file that could not be processed.
+     * @param input : Path of the input file.
+     * @param error : Error raised by the file.
+     */
+    public void failed(Path input, Exception error) {
+        failures.put(input, error.getMessage() == null ? error.toString() : error.getMessage());
+        if (progress != null)
+            progress.add(1);
+    }
+
+    /**
+     * Nom          : finish
+     * Description  : Stops the clock of the batch.
+     */
+    public void finish() {
+        elapsedNanos = System.nanoTime() - begin;
+    }
+
+    /**
+     * Nom          : getSucceeded
+     * Description  : Returns the number of files processed successfully.
+     * @return      : Number of files.
+     */
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * Nom          : getFailed
+     * Description  : Returns the number of files that could not be processed.
+     * @return      : Number of files.
+     */
+    public long getFailed() {
+        return failures.size();
+    }
+
+    /**
+     * Nom          : getItems
+     * Description  : Returns the total number of items processed.
+     * @return      : Number of items.
+     */
+    public long getItems() {
+        return items.sum();
+    }
+
+    /**
+     * Nom          : getInputBytes
+     * Description  : Returns the size of the input files processed successfully.
+     * @return      : Number of bytes.
+     */
+    public long getInputBytes() {
+        return inputBytes.sum();
+    }
+
+    /**
+     * Nom          : getOutputBytes
+     * Description  : Returns the size of the output files written successfully.
+     * @return      : Number of bytes.
+     */
+    public long getOutputBytes() {
+        return outputBytes.sum();
+    }
+
+    /**
+     * Nom             : print
+     * Description     : Prints the report : files, items, bytes, execution time and throughput, then the
+     *                   first failures on the error output.
+     * @param command   : Name of the command (Replace, Convert ...).
+     * @param itemsName : Name of the items processed (replacements ...).
+     */
+    public void print(String command, String itemsName) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        long files = getSucceeded() + getFailed();
+
+        System.out.println("The batch " + command + " command processed " + files + " files : "
+                + getSucceeded() + " succeeded, " + getFailed() + " failed.");
+        System.out.println(itemsName + " : " + getItems());
+        System.out.println("Input bytes : " + inputBytes.sum() + ", output bytes : " + outputBytes.sum());
+        System.out.printf("Execution time : %d ms (%.1f files/s, %.1f MB/s)%n", elapsedNanos / 1_000_000,
+                files / seconds, inputBytes.sum() / seconds / (1024 * 1024));
+
+        failures.entrySet().stream().limit(MAX_LISTED_FAILURES)
+                .forEach(failure -> System.err.println("Error: " + failure.getKey() + " : " + failure.getValue()));
+        if (failures.size() > MAX_LISTED_FAILURES)
+            System.err.println("Error: ... and " + (failures.size() - MAX_LISTED_FAILURES) + " more.");
+    }
+    // endregion
+}
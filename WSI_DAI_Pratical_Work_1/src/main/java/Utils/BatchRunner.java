@@ -0,0 +1,139 @@
+package Utils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class runs one operation on every file of a batch in a single JVM. The
+ *                files are processed concurrently, on virtual threads when the JVM has them
+ *                (JDK 21 and later) and on a fixed pool of platform threads otherwise. A semaphore
+ *                bounds the number of files processed, and so opened, at the same time. The
+ *                results are gathered in one report.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class BatchRunner {
+
+    /**
+     * Description : Operation applied to one file of the batch.
+     */
+    @FunctionalInterface
+    public interface FileOperation {
+        /**
+         * Nom          : apply
+         * Description  : Processes one file.
+         * @param job   : Input and output of the file.
+         * @return      : Number of items processed in the file (replacements ...).
+         * @throws Exception if the file cannot be processed.
+         */
+        long apply(BatchFiles.Job job) throws Exception;
+    }
+
+    // region Private Parameters
+    private final int maxOpenFiles;
+    private final int threads;
+    // Progress of the command, null if it is not reported
+    private Progress progress;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                  : BatchRunner
+     * Description          : Creates a runner.
+     * @param maxOpenFiles  : Maximum number of files processed at the same time.
+     * @param threads       : Number of platform threads used when virtual threads are not available.
+     */
+    public BatchRunner(int maxOpenFiles, int threads) {
+        this.maxOpenFiles = maxOpenFiles;
+        this.threads = threads;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom             : setProgress
+     * Description     : Reports the files processed by the next runs.
+     * @param progress : Progress of the command, null to report nothing.
+     */
+    public void setProgress(Progress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Nom             : run
+     * Description     : Applies the operation to every file and waits for all of them. A failing file
+     *                   is recorded in the report and does not stop the others.
+     * @param jobs      : Files of the batch.
+     * @param operation : Operation applied to each file.
+     * @return          : Report of the batch.
+     * @throws IOException if the batch is interrupted.
+     */
+    public BatchReport run(List<BatchFiles.Job> jobs, FileOperation operation) throws IOException {
+        BatchReport report = new BatchReport();
+        report.setProgress(progress);
+        if (progress != null)
+            progress.setTotal(jobs.size());
+        Semaphore openFiles = new Semaphore(maxOpenFiles);
+        ExecutorService executor = newExecutor();
+
+        try {
+            for (BatchFiles.Job job : jobs) {
+                openFiles.acquire();
+                executor.execute(() -> {
+                    try {
+                        long inputBytes = Files.size(job.getInput());
+                        if (job.getOutput().getParent() != null)
+                            Files.createDirectories(job.getOutput().getParent());
+
+                        long items = operation.apply(job);
+                        report.succeeded(inputBytes, Files.size(job.getOutput()), items);
+                    } catch (Exception e) {
+                        report.failed(job.getInput(), e);
+                    } finally {
+                        openFiles.release();
+                    }
+                });
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch interrupted.", e);
+        }
+
+        report.finish();
+        return report;
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : newExecutor
+     * Description  : Creates a virtual thread per task executor if the JVM has one (looked up by
+     *                reflection, the project targets Java 17), a fixed pool otherwise.
+     * @return      : The executor.
+     */
+    private ExecutorService newExecutor() {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.min(threads, maxOpenFiles));
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,135 @@
+package Utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class holds the result of one workload of the Bench command : the duration of
+ *                each measured iteration, the size of the input and the peaks of memory. The result is
+ *                printed as one row of a table with a fixed header, so the outputs of two machines or
+ *                two versions can be compared line by line, and written as a JSON object.
+ *                The throughputs are computed from the median duration, which a slow iteration (a
+ *                pause of the GC, another process) does not move.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class BenchResult {
+    // region Public Parameters
+    // Header of the rows of the table
+    public static final String HEADER = String.format(Locale.ROOT, "%-10s %-22s %5s %10s %10s %9s %9s %10s %10s",
+            "Workload", "Input", "Iter", "p50 (ms)", "p99 (ms)", "MB/s", "MPix/s", "Heap (MB)", "RSS (MB)");
+    // endregion
+
+    // region Private Parameters
+    private final String workload;
+    private final String input;
+    private final long inputBytes;
+    private final long pixels;
+    // Sorted durations of the iterations
+    private final long[] nanos;
+    private final long peakHeapBytes;
+    private final long peakRssBytes;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                 : BenchResult
+     * Description         : Creates the result of a workload.
+     * @param workload      : Name of the workload.
+     * @param input         : Description of the input (size, resolution ...).
+     * @param inputBytes    : Bytes of the input of an iteration.
+     * @param pixels        : Pixels of the input of an iteration, 0 for a text.
+     * @param nanos         : Duration of each measured iteration.
+     * @param peakHeapBytes : Peak of the heap used during the workload.
+     * @param peakRssBytes  : Peak of the resident memory of the process, -1 if it is not known.
+     */
+    public BenchResult(String workload, String input, long inputBytes, long pixels, long[] nanos,
+                       long peakHeapBytes, long peakRssBytes) {
+        this.workload = workload;
+        this.input = input;
+        this.inputBytes = inputBytes;
+        this.pixels = pixels;
+        this.nanos = nanos.clone();
+        Arrays.sort(this.nanos);
+        this.peakHeapBytes = peakHeapBytes;
+        this.peakRssBytes = peakRssBytes;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom              : percentile
+     * Description      : Returns a percentile of the durations, by the nearest rank.
+     * @param percent   : Percentile, from 0 to 100.
+     * @return          : The duration in nanoseconds, 0 without iteration.
+     */
+    public long percentile(double percent) {
+        if (nanos.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(percent / 100 * nanos.length);
+        return nanos[Math.max(0, Math.min(nanos.length, rank) - 1)];
+    }
+
+    /**
+     * Nom          : megabytesPerSecond
+     * Description  : Returns the throughput of the median iteration.
+     * @return      : Millions of input bytes per second.
+     */
+    public double megabytesPerSecond() {
+        return inputBytes / 1e6 / seconds(percentile(50));
+    }
+
+    /**
+     * Nom          : megapixelsPerSecond
+     * Description  : Returns the throughput of the median iteration.
+     * @return      : Millions of input pixels per second, 0 for a text.
+     */
+    public double megapixelsPerSecond() {
+        return pixels / 1e6 / seconds(percentile(50));
+    }
+
+    /**
+     * Nom          : toString
+     * Description  : Returns the row of the result in the table of HEADER.
+     * @return      : The row.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-10s %-22s %5d %10.1f %10.1f %9.1f %9s %10.1f %10s",
+                workload, input, nanos.length, percentile(50) / 1e6, percentile(99) / 1e6, megabytesPerSecond(),
+                pixels > 0 ? String.format(Locale.ROOT, "%.1f", megapixelsPerSecond()) : "-",
+                peakHeapBytes / 1e6, peakRssBytes >= 0 ? String.format(Locale.ROOT, "%.1f", peakRssBytes / 1e6) : "-");
+    }
+
+    /**
+     * Nom          : toJson
+     * Description  : Returns the result as a JSON object.
+     * @return      : The JSON text, on one line.
+     */
+    public String toJson() {
+        return String.format(Locale.ROOT, "{\"workload\": %s, \"input\": %s, \"inputBytes\": %d, \"pixels\": %d, "
+                        + "\"iterations\": %d, \"p50Nanos\": %d, \"p99Nanos\": %d, \"megabytesPerSecond\": %.1f, "
+                        + "\"megapixelsPerSecond\": %.1f, \"peakHeapBytes\": %d, \"peakRssBytes\": %d}",
+                Json.quote(workload), Json.quote(input), inputBytes, pixels, nanos.length, percentile(50),
+                percentile(99), megabytesPerSecond(), megapixelsPerSecond(), peakHeapBytes, peakRssBytes);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : seconds
+     * Description  : Converts a duration to seconds, at least one nanosecond.
+     * @param nanos : Duration in nanoseconds.
+     * @return      : The duration in seconds.
+     */
+    private static double seconds(long nanos) {
+        return Math.max(nanos, 1) / 1e9;
+    }
+    // endregion
+}
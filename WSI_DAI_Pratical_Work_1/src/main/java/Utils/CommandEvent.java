@@ -0,0 +1,49 @@
+package Utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This JFR event is emitted at the end of a command with its totals, so a
+ *                recording can follow the throughput of the commands over time.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@Name("ch.heigvd.Command")
+@Label("Command")
+@Category({"MyApp", "Commands"})
+@Description("Totals of a Replace or Convert command")
+public class CommandEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Total Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long totalNanos;
+
+    @Label("Input")
+    @DataAmount
+    long inputBytes;
+
+    @Label("Output")
+    @DataAmount
+    long outputBytes;
+
+    @Label("Pixels")
+    long pixels;
+
+    @Label("Replacements")
+    long replacements;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,268 @@
+package Utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class reads and writes the small JSON texts of the application (metrics, jobs of
+ *                the server). A JSON value is read as a Map (object), a List (array), a String, a
+ *                Long or a Double (number), a Boolean or null.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class Json {
+    // region Private Parameters
+    private final String text;
+    private int index;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom          : Json
+     * Description  : Creates a reader of a JSON text.
+     * @param text  : JSON text.
+     */
+    private Json(String text) {
+        this.text = text;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : parse
+     * Description  : Reads a JSON text.
+     * @param text  : JSON text, with one value.
+     * @return      : The value.
+     * @throws IOException if the text is not valid JSON.
+     */
+    public static Object parse(String text) throws IOException {
+        Json json = new Json(text);
+        Object value = json.value();
+        json.skipSpaces();
+        if (json.index != text.length())
+            throw json.error("end of the text");
+        return value;
+    }
+
+    /**
+     * Nom          : quote
+     * Description  : Returns a JSON string.
+     * @param text  : Text of the string.
+     * @return      : The text between quotes, with its quotes, backslashes and control characters escaped.
+     */
+    public static String quote(String text) {
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"'  -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default   -> {
+                    if (c < 0x20)
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    else
+                        quoted.append(c);
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : value
+     * Description  : Reads the value at the current position.
+     * @return      : The value.
+     * @throws IOException if the value is not valid JSON.
+     */
+    private Object value() throws IOException {
+        skipSpaces();
+        if (index >= text.length())
+            throw error("a value");
+        char c = text.charAt(index);
+        switch (c) {
+            case '{': return object();
+            case '[': return array();
+            case '"': return string();
+            case 't': return literal("true", Boolean.TRUE);
+            case 'f': return literal("false", Boolean.FALSE);
+            case 'n': return literal("null", null);
+            default : return number();
+        }
+    }
+
+    /**
+     * Nom          : object
+     * Description  : Reads an object.
+     * @return      : Its members, in their order.
+     * @throws IOException if the object is not valid JSON.
+     */
+    private Map<String, Object> object() throws IOException {
+        Map<String, Object> members = new LinkedHashMap<>();
+        ++index;
+        if (next() == '}') {
+            ++index;
+            return members;
+        }
+        while (true) {
+            if (next() != '"')
+                throw error("a name");
+            String name = string();
+            if (next() != ':')
+                throw error("':'");
+            ++index;
+            members.put(name, value());
+            char c = next();
+            ++index;
+            if (c == '}')
+                return members;
+            if (c != ',')
+                throw error("',' or '}'");
+        }
+    }
+
+    /**
+     * Nom          : array
+     * Description  : Reads an array.
+     * @return      : Its values.
+     * @throws IOException if the array is not valid JSON.
+     */
+    private List<Object> array() throws IOException {
+        List<Object> values = new ArrayList<>();
+        ++index;
+        if (next() == ']') {
+            ++index;
+            return values;
+        }
+        while (true) {
+            values.add(value());
+            char c = next();
+            ++index;
+            if (c == ']')
+                return values;
+            if (c != ',')
+                throw error("',' or ']'");
+        }
+    }
+
+    /**
+     * Nom          : string
+     * Description  : Reads a string, the current character being its opening quote.
+     * @return      : The unescaped text.
+     * @throws IOException if the string is not valid JSON.
+     */
+    private String string() throws IOException {
+        StringBuilder string = new StringBuilder();
+        ++index;
+        while (index < text.length()) {
+            char c = text.charAt(index++);
+            if (c == '"')
+                return string.toString();
+            if (c != '\\') {
+                string.append(c);
+                continue;
+            }
+            if (index >= text.length())
+                break;
+            char escaped = text.charAt(index++);
+            switch (escaped) {
+                case 'n' -> string.append('\n');
+                case 'r' -> string.append('\r');
+                case 't' -> string.append('\t');
+                case 'b' -> string.append('\b');
+                case 'f' -> string.append('\f');
+                case 'u' -> {
+                    if (index + 4 > text.length())
+                        throw error("4 hexadecimal digits");
+                    try {
+                        string.append((char) Integer.parseInt(text.substring(index, index + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("4 hexadecimal digits");
+                    }
+                    index += 4;
+                }
+                default -> string.append(escaped);
+            }
+        }
+        throw error("'\"'");
+    }
+
+    /**
+     * Nom          : number
+     * Description  : Reads a number.
+     * @return      : A Long for an integer, otherwise a Double.
+     * @throws IOException if the number is not valid JSON.
+     */
+    private Number number() throws IOException {
+        int start = index;
+        while (index < text.length() && "+-0123456789.eE".indexOf(text.charAt(index)) >= 0)
+            ++index;
+        String number = text.substring(start, index);
+        try {
+            if (number.matches("-?\\d+"))
+                return Long.parseLong(number);
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            index = start;
+            throw error("a value");
+        }
+    }
+
+    /**
+     * Nom          : literal
+     * Description  : Reads true, false or null.
+     * @param word  : Expected word.
+     * @param value : Value of the word.
+     * @return      : The value.
+     * @throws IOException if the text is not the word.
+     */
+    private Object literal(String word, Object value) throws IOException {
+        if (!text.startsWith(word, index))
+            throw error("'" + word + "'");
+        index += word.length();
+        return value;
+    }
+
+    /**
+     * Nom          : next
+     * Description  : Skips the spaces and returns the next character, without reading it.
+     * @return      : The next character, 0 at the end of the text.
+     */
+    private char next() {
+        skipSpaces();
+        return index < text.length() ? text.charAt(index) : 0;
+    }
+
+    /**
+     * Nom          : skipSpaces
+     * Description  : Moves the position after the spaces.
+     */
+    private void skipSpaces() {
+        while (index < text.length() && Character.isWhitespace(text.charAt(index)))
+            ++index;
+    }
+
+    /**
+     * Nom             : error
+     * Description     : Returns the error of an unexpected character.
+     * @param expected : What was expected.
+     * @return         : The error, with the position of the character.
+     */
+    private IOException error(String expected) {
+        return new IOException("Invalid JSON : " + expected + " expected at the index " + index + ".");
+    }
+    // endregion
+}
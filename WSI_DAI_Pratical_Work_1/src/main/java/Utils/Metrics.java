@@ -0,0 +1,323 @@
+package Utils;
+
+import jdk.jfr.FlightRecorder;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class measures one run of a command : the duration of each phase with
+ *                System.nanoTime, the bytes allocated by all the threads of the JVM during each
+ *                phase (the worker threads of --threads, --batch or the Convert pipeline included),
+ *                and counters such as bytes, pixels or replacements. The metrics are
+ *                printed as one line, written as JSON with --metrics-out, and emitted as JFR
+ *                events when the JVM records (-XX:StartFlightRecording). The JFR event classes and
+ *                the allocation counters are only loaded when they are used, since they take
+ *                more time to load than a small run.
+ *                A phase is measured with try-with-resources :
+ *                    try (Metrics.Phase phase = metrics.phase("decode")) { ... }
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class Metrics {
+    // region Private Parameters
+    private final String command;
+    private final boolean allocations;
+    private final boolean events = FlightRecorder.isInitialized();
+    private final Allocations allocatedAtBegin;
+    private final long begin;
+    private long totalNanos = -1;
+    private long allocatedBytes = -1;
+
+    private final List<Phase> phases = new ArrayList<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                : Metrics
+     * Description        : Starts the measure of a run.
+     * @param command     : Name of the command.
+     * @param allocations : true to measure the bytes allocated by each phase.
+     */
+    public Metrics(String command, boolean allocations) {
+        this.command = command;
+        this.allocations = allocations;
+        this.allocatedAtBegin = allocations ? Allocations.now() : null;
+        this.begin = System.nanoTime();
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : phase
+     * Description  : Starts a phase, it ends when it is closed.
+     * @param name  : Name of the phase.
+     * @return      : The phase.
+     */
+    public Phase phase(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Nom          : record
+     * Description  : Adds a phase measured elsewhere (for example by the engine of a command).
+     * @param name  : Name of the phase.
+     * @param nanos : Duration of the phase.
+     */
+    public void record(String name, long nanos) {
+        Phase phase = new Phase(name);
+        phase.nanos = nanos;
+        phase.allocatedBytes = -1;
+        phases.add(phase);
+    }
+
+    /**
+     * Nom          : count
+     * Description  : Adds a value to a counter.
+     * @param name  : Name of the counter.
+     * @param value : Value to add.
+     */
+    public void count(String name, long value) {
+        counters.merge(name, value, Long::sum);
+    }
+
+    /**
+     * Nom          : finish
+     * Description  : Stops the measure of the run and emits the JFR event of the command.
+     */
+    public void finish() {
+        totalNanos = System.nanoTime() - begin;
+        allocatedBytes = Allocations.since(allocatedAtBegin);
+
+        if (!events)
+            return;
+        CommandEvent event = new CommandEvent();
+        if (event.shouldCommit()) {
+            event.command = command;
+            event.totalNanos = totalNanos;
+            event.inputBytes = counters.getOrDefault("inputBytes", 0L);
+            event.outputBytes = counters.getOrDefault("outputBytes", 0L);
+            event.pixels = counters.getOrDefault("pixels", 0L);
+            event.replacements = counters.getOrDefault("replacements", 0L);
+            event.allocatedBytes = allocatedBytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Nom          : getTotalMillis
+     * Description  : Returns the duration of the run.
+     * @return      : Milliseconds between the creation of the metrics and finish.
+     */
+    public long getTotalMillis() {
+        return totalNanos / 1_000_000;
+    }
+
+    /**
+     * Nom          : summary
+     * Description  : Returns one line with the duration of each phase.
+     * @return      : The phases and their milliseconds.
+     */
+    public String summary() {
+        StringBuilder line = new StringBuilder("Phases :");
+        for (int i = 0; i < phases.size(); ++i)
+            line.append(i == 0 ? " " : ", ").append(phases.get(i).name)
+                    .append(String.format(Locale.ROOT, " %.1f ms", phases.get(i).nanos / 1e6));
+        return line.toString();
+    }
+
+    /**
+     * Nom          : toJson
+     * Description  : Returns the metrics of the run as a JSON object. Each counter also has a rate per
+     *                second of the whole run.
+     * @return      : The JSON text.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"command\": ").append(Json.quote(command))
+            .append(",\n  \"totalNanos\": ").append(totalNanos)
+            .append(",\n  \"allocatedBytes\": ").append(allocatedBytes)
+            .append(",\n  \"allocatedBytesScope\": ").append(Json.quote(allocations ? Allocations.scope() : "none"))
+            .append(",\n  \"phases\": [");
+        for (int i = 0; i < phases.size(); ++i) {
+            Phase phase = phases.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                .append("    {\"name\": ").append(Json.quote(phase.name))
+                .append(", \"nanos\": ").append(phase.nanos)
+                .append(", \"allocatedBytes\": ").append(phase.allocatedBytes).append('}');
+        }
+        json.append(phases.isEmpty() ? "]" : "\n  ]").append(",\n  \"counters\": {");
+        appendMap(json, counters, "%d");
+
+        Map<String, Double> rates = new LinkedHashMap<>();
+        double seconds = Math.max(totalNanos, 1) / 1e9;
+        counters.forEach((name, value) -> rates.put(name + "PerSecond", value / seconds));
+        json.append(",\n  \"rates\": {");
+        appendMap(json, rates, "%.1f");
+        return json.append("\n}\n").toString();
+    }
+
+    /**
+     * Nom          : write
+     * Description  : Writes the metrics of the run as JSON.
+     * @param path  : Path of the JSON file, created or replaced.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        Files.writeString(path, toJson(), StandardCharsets.UTF_8);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom           : appendMap
+     * Description   : Appends the entries of a map to a JSON object and closes it.
+     * @param json   : JSON text.
+     * @param map    : Names and values.
+     * @param format : Format of the values.
+     */
+    private static void appendMap(StringBuilder json, Map<String, ? extends Number> map, String format) {
+        int index = 0;
+        for (Map.Entry<String, ? extends Number> entry : map.entrySet())
+            json.append(index++ == 0 ? "\n" : ",\n").append("    ").append(Json.quote(entry.getKey())).append(": ")
+                .append(String.format(Locale.ROOT, format, entry.getValue()));
+        json.append(map.isEmpty() ? "}" : "\n  }");
+    }
+    // endregion
+
+    // region Public Class
+
+    /**
+     * Description : Phase of a run, measured from its creation until it is closed.
+     */
+    public class Phase implements AutoCloseable {
+        private final String name;
+        private final PhaseEvent event;
+        private final Allocations allocatedAtStart;
+        private final long start;
+        private long nanos;
+        private long allocatedBytes;
+
+        private Phase(String name) {
+            this.name = name;
+            this.event = events ? new PhaseEvent() : null;
+            this.allocatedAtStart = allocations ? Allocations.now() : null;
+            this.start = System.nanoTime();
+            if (event != null)
+                event.begin();
+        }
+
+        @Override
+        public void close() {
+            nanos = System.nanoTime() - start;
+            allocatedBytes = Allocations.since(allocatedAtStart);
+            phases.add(this);
+
+            if (event != null && event.shouldCommit()) {
+                event.command = command;
+                event.phase = name;
+                event.allocatedBytes = allocatedBytes;
+                event.commit();
+            }
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Bytes allocated by the threads of the JVM at one time. When the JVM has the total of
+     *               all its threads, the ended ones included (JDK 21, called by reflection since the
+     *               project targets Java 17), only the total is kept. Otherwise the bytes of each live
+     *               thread are kept : a thread started during the measure counts from zero, a thread
+     *               ended before its end is not counted, which the scope "liveThreads" tells.
+     */
+    private static final class Allocations {
+        private static final com.sun.management.ThreadMXBean THREADS = threads();
+        private static final Method TOTAL = total();
+
+        private final long total;
+        private final Map<Long, Long> perThread = new HashMap<>();
+
+        private Allocations() {
+            if (TOTAL != null) {
+                total = invokeTotal();
+                return;
+            }
+            total = -1;
+            long[] ids = THREADS.getAllThreadIds();
+            long[] bytes = THREADS.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; ++i)
+                if (bytes[i] >= 0)
+                    perThread.put(ids[i], bytes[i]);
+        }
+
+        private static Allocations now() {
+            return THREADS == null ? null : new Allocations();
+        }
+
+        private static long since(Allocations start) {
+            if (start == null)
+                return -1;
+            Allocations end = new Allocations();
+            if (TOTAL != null)
+                return end.total - start.total;
+            long allocated = 0;
+            for (Map.Entry<Long, Long> thread : end.perThread.entrySet())
+                allocated += thread.getValue() - start.perThread.getOrDefault(thread.getKey(), 0L);
+            return allocated;
+        }
+
+        private static String scope() {
+            if (THREADS == null)
+                return "none";
+            return TOTAL != null ? "allThreads" : "liveThreads";
+        }
+
+        private static com.sun.management.ThreadMXBean threads() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+                if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled())
+                    return allocations;
+            }
+            return null;
+        }
+
+        private static Method total() {
+            if (THREADS == null)
+                return null;
+            try {
+                return com.sun.management.ThreadMXBean.class.getMethod("getTotalThreadAllocatedBytes");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private long invokeTotal() {
+            try {
+                return (long) TOTAL.invoke(THREADS);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,34 @@
+package Utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This JFR event is one phase of a command (validate, decode, transform ...). Its
+ *                duration is the time between begin and commit. It costs nothing when the JVM
+ *                does not record.
+ * -----------------------------------------------------------------------------------
+ **/
+
+@Name("ch.heigvd.Phase")
+@Label("Command Phase")
+@Category({"MyApp", "Commands"})
+@Description("One phase of a Replace or Convert command")
+public class PhaseEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,196 @@
+package Utils;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class reports the progress of a long command while it runs : the bytes of a
+ *                file replaced, or the files and images of a batch. The engines add their units to a
+ *                LongAdder from their loops, once per chunk or per file, so the threads never wait on
+ *                each other. A reporter thread reads the counter at a low frequency and prints the
+ *                units done, the current rate and the remaining time on the error output, as a line
+ *                of text or a JSON line for a scheduler. A command without --progress has no Progress
+ *                (null) and its engines only test it.
+ *                The progress is started and stopped with try-with-resources :
+ *                    try (Progress progress = ...) { progress.start(); ... }
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class Progress implements AutoCloseable {
+    // region Public Parameters
+    public static final String TEXT = "text";
+    public static final String JSON = "json";
+    public static final List<String> MODES = List.of(TEXT, JSON);
+
+    public static final String BYTES = "bytes";
+    public static final String FILES = "files";
+    public static final String IMAGES = "images";
+
+    // Default time between two reports, in milliseconds
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    // endregion
+
+    // region Private Parameters
+    private final LongAdder done = new LongAdder();
+    private final String command;
+    private final String unit;
+    private final String mode;
+    private final long intervalMillis;
+    private final PrintStream out;
+    private final long begin = System.nanoTime();
+    // Units of the whole work, -1 if it is not known (standard input)
+    private volatile long total = -1;
+    private Thread reporter;
+
+    // Units and time of the last report, for the current rate
+    private long lastDone;
+    private long lastNanos = begin;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom                   : Progress
+     * Description           : Creates the progress of a command, it is reported once started.
+     * @param command        : Name of the command.
+     * @param unit           : Unit of the work, BYTES, FILES or IMAGES.
+     * @param mode           : One of MODES.
+     * @param intervalMillis : Time between two reports.
+     * @param out            : Output of the reports, the error output of the command.
+     * @throws IllegalArgumentException if the mode or the interval is not valid.
+     */
+    public Progress(String command, String unit, String mode, long intervalMillis, PrintStream out) {
+        if (!MODES.contains(mode))
+            throw new IllegalArgumentException("Unknown progress mode " + mode + ". Supported modes: " + String.join(", ", MODES) + ".");
+        if (intervalMillis < 1)
+            throw new IllegalArgumentException("The progress interval must be at least 1 ms.");
+        this.command = command;
+        this.unit = unit;
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+        this.out = out;
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : add
+     * Description  : Adds units done, from any thread.
+     * @param units : Number of units.
+     */
+    public void add(long units) {
+        done.add(units);
+    }
+
+    /**
+     * Nom          : setTotal
+     * Description  : Defines the units of the whole work, for the percentage and the remaining time.
+     * @param total : Number of units, -1 if it is not known.
+     */
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Nom          : getDone
+     * Description  : Returns the units done.
+     * @return      : Number of units.
+     */
+    public long getDone() {
+        return done.sum();
+    }
+
+    /**
+     * Nom          : start
+     * Description  : Starts the reporter thread, which prints a report after each interval.
+     */
+    public void start() {
+        reporter = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(intervalMillis);
+                    report(false);
+                }
+            } catch (InterruptedException e) {
+                // Stopped by close
+            }
+        }, "progress");
+        reporter.setDaemon(true);
+        reporter.start();
+    }
+
+    /**
+     * Nom          : close
+     * Description  : Stops the reporter thread and prints the last report.
+     */
+    @Override
+    public void close() {
+        if (reporter == null)
+            return;
+        reporter.interrupt();
+        try {
+            reporter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        reporter = null;
+        report(true);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : report
+     * Description  : Prints the units done, the rate since the last report and the remaining time.
+     * @param last  : true for the report of the end of the command.
+     */
+    private synchronized void report(boolean last) {
+        long now = System.nanoTime();
+        long units = done.sum();
+        long known = total;
+        double seconds = Math.max(now - lastNanos, 1) / 1e9;
+        // The last report gives the mean rate of the command
+        double rate = last ? units / (Math.max(now - begin, 1) / 1e9) : (units - lastDone) / seconds;
+        long etaSeconds = known >= 0 && rate > 0 ? (long) Math.ceil(Math.max(0, known - units) / rate) : -1;
+        lastDone = units;
+        lastNanos = now;
+
+        if (mode.equals(JSON)) {
+            out.println(String.format(Locale.ROOT, "{\"command\": %s, \"unit\": %s, \"done\": %d, \"total\": %d, "
+                            + "\"rate\": %.1f, \"etaSeconds\": %d, \"elapsedMillis\": %d, \"last\": %b}",
+                    Json.quote(command), Json.quote(unit), units, known, rate, etaSeconds, (now - begin) / 1_000_000, last));
+            return;
+        }
+
+        StringBuilder line = new StringBuilder(command).append(" : ").append(amount(units));
+        if (known >= 0)
+            line.append(" / ").append(amount(known))
+                .append(String.format(Locale.ROOT, " (%.1f %%)", known == 0 ? 100.0 : 100.0 * units / known));
+        line.append(", ").append(amount(rate)).append("/s");
+        if (!last && etaSeconds >= 0)
+            line.append(String.format(Locale.ROOT, ", ETA %d:%02d", etaSeconds / 60, etaSeconds % 60));
+        if (last)
+            line.append(String.format(Locale.ROOT, ", done in %.1f s", (now - begin) / 1e9));
+        out.println(line);
+    }
+
+    /**
+     * Nom          : amount
+     * Description  : Formats a number of units, the bytes in megabytes.
+     * @param units : Number of units.
+     * @return      : The number and its unit.
+     */
+    private String amount(double units) {
+        if (unit.equals(BYTES))
+            return String.format(Locale.ROOT, "%.1f MB", units / (1024 * 1024));
+        return String.format(Locale.ROOT, units == Math.rint(units) ? "%.0f %s" : "%.1f %s", units, unit);
+    }
+    // endregion
+}
@@ -0,0 +1,336 @@
+package Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is an on-disk cache of the outputs of the commands. An output is stored
+ *                under the SHA-256 of the operation parameters and of the content of its input, so an
+ *                unchanged input processed with the same parameters is copied from the cache instead
+ *                of being processed again, even if it was renamed or moved. The entries are files named
+ *                <key>.<items> (items : replacements, pixels ...) and the least recently used ones are
+ *                deleted when the cache is larger than its maximum size. The last modification time of
+ *                an entry is its last use, so the order survives between runs.
+ *                The cache can be shared by several threads and processes : an entry is written in a
+ *                temporary file and moved, and an entry deleted by another process is a miss.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ResultCache {
+    /**
+     * Description : Operation whose output is cached.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Nom          : apply
+         * Description  : Processes the input and writes the output.
+         * @return      : Number of items processed (replacements, pixels ...).
+         * @throws Exception if the input cannot be processed.
+         */
+        long apply() throws Exception;
+    }
+
+    // region Public Parameters
+    // Default maximum size of the cache, in megabytes
+    public static final long DEFAULT_SIZE_MB = 1024;
+    // endregion
+
+    // region Private Parameters
+    // Changed when a command writes different outputs for the same parameters, it invalidates the old entries
+    private static final String VERSION = "1";
+    private static final Pattern ENTRY = Pattern.compile("([0-9a-f]{64})\\.(\\d+)");
+    private static final int READ_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final long maxBytes;
+    // Entries in the order of their last use, the least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom              : ResultCache
+     * Description      : Opens a cache, created if it does not exist.
+     * @param directory : Directory of the entries.
+     * @param maxBytes  : Maximum size of the entries.
+     * @throws IOException if the directory cannot be created or listed.
+     */
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+
+        List<Entry> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher name = ENTRY.matcher(file.getFileName().toString());
+                if (name.matches())
+                    found.add(new Entry(name.group(1), file, Files.size(file), Long.parseLong(name.group(2)),
+                            Files.getLastModifiedTime(file).toMillis()));
+                else if (file.getFileName().toString().endsWith(".tmp"))
+                    // Left by a process stopped while storing
+                    Files.deleteIfExists(file);
+            }
+        }
+        found.sort(Comparator.comparingLong(entry -> entry.lastUse));
+        for (Entry entry : found) {
+            entries.put(entry.key, entry);
+            totalBytes += entry.size;
+        }
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom               : apply
+     * Description       : Copies the cached output of the input, or applies the operation and caches its output.
+     * @param input      : Input of the operation.
+     * @param output     : Output of the operation.
+     * @param parameters : Parameters of the operation which change its output.
+     * @param operation  : Operation writing the output.
+     * @return           : Number of items processed, when the output was first written.
+     * @throws Exception if the input cannot be read or the operation fails.
+     */
+    public long apply(Path input, Path output, List<String> parameters, Operation operation) throws Exception {
+        String key = key(input, parameters);
+        long items = restore(key, output);
+        if (items >= 0)
+            return items;
+        items = operation.apply();
+        store(key, output, items);
+        return items;
+    }
+
+    /**
+     * Nom               : key
+     * Description       : Computes the key of an input processed with some parameters.
+     * @param input      : Input of the operation.
+     * @param parameters : Parameters of the operation which change its output.
+     * @return           : The SHA-256 of the parameters and of the content of the input, in hexadecimal.
+     * @throws IOException if the input cannot be read.
+     */
+    public String key(Path input, List<String> parameters) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+        // Each parameter is prefixed by its length, so ("ab", "c") and ("a", "bc") are different
+        for (String parameter : parameters) {
+            byte[] bytes = String.valueOf(parameter).getBytes(StandardCharsets.UTF_8);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(parameter == null ? -1 : bytes.length).array());
+            digest.update(bytes);
+        }
+        update(digest, input);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Nom          : hash
+     * Description  : Computes the SHA-256 of the content of a file, to use a file (mapping ...) as a parameter.
+     * @param file  : File to hash.
+     * @return      : The SHA-256 in hexadecimal.
+     * @throws IOException if the file cannot be read.
+     */
+    public static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        update(digest, file);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Nom           : restore
+     * Description   : Copies the cached output of a key.
+     * @param key    : Key of the input and the parameters.
+     * @param output : Output file, replaced.
+     * @return       : Number of items of the cached output, -1 if the key is not in the cache.
+     * @throws IOException if the output cannot be written.
+     */
+    public long restore(String key, Path output) throws IOException {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            try {
+                Files.copy(entry.path, output, StandardCopyOption.REPLACE_EXISTING);
+                Files.setLastModifiedTime(entry.path, FileTime.fromMillis(System.currentTimeMillis()));
+                hits.incrementAndGet();
+                return entry.items;
+            } catch (NoSuchFileException e) {
+                // Evicted by another process
+                synchronized (this) {
+                    if (entries.remove(key) != null)
+                        totalBytes -= entry.size;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return -1;
+    }
+
+    /**
+     * Nom           : store
+     * Description   : Stores an output in the cache, then evicts the least recently used entries if the cache
+     *                 is too large.
+     * @param key    : Key of the input and the parameters.
+     * @param output : Output file.
+     * @param items  : Number of items of the output.
+     * @throws IOException if the entry cannot be written.
+     */
+    public void store(String key, Path output, long items) throws IOException {
+        long size = Files.size(output);
+        if (size > maxBytes)
+            return;
+
+        Path path = directory.resolve(key + "." + items);
+        Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            Files.copy(output, temporary, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        List<Path> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(key, path, size, items, System.currentTimeMillis()));
+            if (previous != null) {
+                totalBytes -= previous.size;
+                if (!previous.path.equals(path))
+                    evicted.add(previous.path);
+            }
+            totalBytes += size;
+            Iterator<Entry> leastRecent = entries.values().iterator();
+            while (totalBytes > maxBytes && leastRecent.hasNext()) {
+                Entry entry = leastRecent.next();
+                leastRecent.remove();
+                totalBytes -= entry.size;
+                evicted.add(entry.path);
+            }
+        }
+        for (Path file : evicted)
+            Files.deleteIfExists(file);
+    }
+
+    /**
+     * Nom          : getHits
+     * Description  : Returns the number of outputs copied from the cache.
+     * @return      : Number of hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Nom          : getMisses
+     * Description  : Returns the number of inputs which were not in the cache.
+     * @return      : Number of misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Nom          : getSize
+     * Description  : Returns the size of the entries of the cache.
+     * @return      : Number of bytes.
+     */
+    public synchronized long getSize() {
+        return totalBytes;
+    }
+
+    /**
+     * Nom          : toString
+     * Description  : Returns the hits and misses of the cache.
+     * @return      : One line for the user.
+     */
+    @Override
+    public String toString() {
+        return String.format("Cache : %d hits, %d misses, %.1f MB in %s", getHits(), getMisses(),
+                getSize() / 1e6, directory);
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : sha256
+     * Description  : Creates a SHA-256 digest, which every JVM has.
+     * @return      : The digest.
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Nom           : update
+     * Description   : Adds the content of a file to a digest.
+     * @param digest : Digest.
+     * @param file   : File to read.
+     * @throws IOException if the file cannot be read.
+     */
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Output stored in the cache.
+     */
+    private static class Entry {
+        private final String key;
+        private final Path path;
+        private final long size;
+        private final long items;
+        private final long lastUse;
+
+        private Entry(String key, Path path, long size, long items, long lastUse) {
+            this.key = key;
+            this.path = path;
+            this.size = size;
+            this.items = items;
+            this.lastUse = lastUse;
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,162 @@
+package Utils;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class gives access to the standard input and output of the application, used by
+ *                the commands when a path is "-". The streams are read and written as they come, without
+ *                an intermediate file, and closing them does not close System.in or System.out, so the
+ *                messages of the command can still be printed. When the output is the standard output,
+ *                the messages are printed on the standard error, so they don't mix with the data.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class StandardStreams {
+    // region Public Parameters
+    // Path meaning the standard input or output
+    public static final String PATH = "-";
+    // endregion
+
+    // region Constructor
+    private StandardStreams() {
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom          : isStandard
+     * Description  : Checks if a path of the command line means the standard input or output.
+     * @param path  : Path given by the user.
+     * @return      : true for "-".
+     */
+    public static boolean isStandard(String path) {
+        return PATH.equals(path);
+    }
+
+    /**
+     * Nom               : messages
+     * Description       : Returns the stream of the messages of a command (success, execution time, metrics).
+     * @param outputPath : Output path of the command.
+     * @return           : System.err if the output is the standard output, System.out otherwise.
+     */
+    public static PrintStream messages(String outputPath) {
+        return isStandard(outputPath) ? System.err : System.out;
+    }
+
+    /**
+     * Nom          : in
+     * Description  : Opens the standard input.
+     * @return      : A stream on System.in which counts the bytes read.
+     */
+    public static Input in() {
+        return new Input();
+    }
+
+    /**
+     * Nom          : out
+     * Description  : Opens the standard output.
+     * @return      : A stream on System.out which counts the bytes written.
+     */
+    public static Output out() {
+        return new Output();
+    }
+    // endregion
+
+    // region Public Class
+
+    /**
+     * Description : Standard input, not closed with the stream.
+     */
+    public static class Input extends FilterInputStream {
+        private long bytes;
+
+        private Input() {
+            super(System.in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = in.read();
+            if (read >= 0)
+                ++bytes;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = in.read(buffer, offset, length);
+            if (read > 0)
+                bytes += read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // System.in stays open
+        }
+
+        /**
+         * Nom          : getBytes
+         * Description  : Returns the number of bytes read.
+         * @return      : Number of bytes.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Description : Standard output, flushed but not closed with the stream.
+     */
+    public static class Output extends FilterOutputStream {
+        private long bytes;
+
+        private Output() {
+            super(System.out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            ++bytes;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            // FilterOutputStream would write the bytes one by one
+            out.write(buffer, offset, length);
+            bytes += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            // A PrintStream never throws, a closed pipe is only seen by checkError
+            if (out instanceof PrintStream && ((PrintStream) out).checkError())
+                throw new IOException("The standard output cannot be written.");
+        }
+
+        @Override
+        public void close() throws IOException {
+            // System.out stays open for the messages
+            flush();
+        }
+
+        /**
+         * Nom          : getBytes
+         * Description  : Returns the number of bytes written.
+         * @return      : Number of bytes.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,181 @@
+package Utils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class generates the inputs of the Bench command : text files for Replace and
+ *                images for Convert. Everything comes from a seed, so the same options give the same
+ *                files on every machine and the results of two machines can be compared without
+ *                sending real data. The text is made of lines of words of a small vocabulary, in which
+ *                the searched word is placed at a given density. The images are gradients with noise,
+ *                so they don't compress to nothing like a flat image would.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class SyntheticCorpus {
+    // region Public Parameters
+    // Word placed in the text, none of the words of the vocabulary contains it
+    public static final String WORD = "fruits";
+
+    public static final String RGB = "rgb";
+    public static final String ARGB = "argb";
+    public static final String GRAY = "gray";
+    public static final String INDEXED = "indexed";
+    public static final List<String> COLOR_MODELS = List.of(RGB, ARGB, GRAY, INDEXED);
+    // endregion
+
+    // region Private Parameters
+    private static final String[] VOCABULARY = {
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do",
+            "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim",
+            "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi", "aliquip",
+            "ex", "ea", "commodo", "consequat", "duis", "aute", "irure", "in", "reprehenderit", "voluptate"
+    };
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom                : writeText
+     * Description        : Writes a text file of lines of words, with the word WORD at a given density. The
+     *                      word is placed every 1 000 000 / density bytes on average, at a random position
+     *                      of its line, and at most lineLength / (WORD.length() + 2) times per line.
+     * @param path        : File to write, created or replaced.
+     * @param size        : Size of the file in bytes.
+     * @param lineLength  : Number of characters of a line, without its line break.
+     * @param density     : Occurrences of WORD per million bytes.
+     * @param seed        : Seed of the words.
+     * @return            : Number of occurrences of WORD written.
+     * @throws IOException if the file cannot be written.
+     */
+    public static long writeText(Path path, long size, int lineLength, double density, long seed) throws IOException {
+        Random random = new Random(seed);
+        StringBuilder line = new StringBuilder(lineLength + 1);
+        // The occurrences take distinct slots of a line, so they never overlap
+        int slot = WORD.length() + 2;
+        int slots = lineLength / slot;
+        double credit = 0;
+        long written = 0;
+        long occurrences = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            while (written < size) {
+                line.setLength(0);
+                while (line.length() < lineLength) {
+                    if (line.length() > 0)
+                        line.append(' ');
+                    line.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+                }
+                line.setLength(lineLength);
+                line.append('\n');
+                int length = (int) Math.min(lineLength + 1, size - written);
+
+                // The credit of occurrences grows with the bytes, so the density is exact on a large file.
+                // The last line may be cut, it has none.
+                credit += density * length / 1_000_000.0;
+                int count = length == lineLength + 1 ? (int) Math.min(slots, Math.floor(credit)) : 0;
+                credit -= count;
+                occurrences += count;
+                for (int s = 0; s < slots && count > 0; ++s) {
+                    if (random.nextInt(slots - s) < count) {
+                        line.replace(s * slot, (s + 1) * slot, " " + WORD + " ");
+                        --count;
+                    }
+                }
+
+                writer.append(line, 0, length);
+                written += length;
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Nom               : createImage
+     * Description       : Creates an image of gradients and noise.
+     * @param width      : Width of the image.
+     * @param height     : Height of the image.
+     * @param colorModel : One of COLOR_MODELS.
+     * @param seed       : Seed of the noise.
+     * @return           : The image.
+     * @throws IllegalArgumentException if the color model is unknown.
+     */
+    public static BufferedImage createImage(int width, int height, String colorModel, long seed) {
+        BufferedImage image = new BufferedImage(width, height, imageType(colorModel));
+        Random random = new Random(seed);
+        int[] row = new int[width];
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                int red = x * 255 / Math.max(1, width - 1);
+                int green = y * 255 / Math.max(1, height - 1);
+                int blue = (x + y) * 255 / Math.max(1, width + height - 2);
+                int noise = random.nextInt(32) - 16;
+                int alpha = colorModel.equals(ARGB) ? 128 + random.nextInt(128) : 255;
+                row[x] = alpha << 24 | clamp(red + noise) << 16 | clamp(green + noise) << 8 | clamp(blue + noise);
+            }
+            image.setRGB(0, y, width, 1, row, 0, width);
+        }
+        return image;
+    }
+
+    /**
+     * Nom               : writeImage
+     * Description       : Creates an image of gradients and noise and writes it.
+     * @param path       : File to write, created or replaced.
+     * @param format     : Format of the file, png or jpg.
+     * @param width      : Width of the image.
+     * @param height     : Height of the image.
+     * @param colorModel : One of COLOR_MODELS, the JPEG format only supports rgb and gray.
+     * @param seed       : Seed of the noise.
+     * @throws IOException if the format cannot write the image or the file cannot be written.
+     */
+    public static void writeImage(Path path, String format, int width, int height, String colorModel, long seed)
+            throws IOException {
+        if (!ImageIO.write(createImage(width, height, colorModel, seed), format, path.toFile()))
+            throw new IOException("The " + format + " format cannot write " + colorModel + " images.");
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom               : imageType
+     * Description       : Returns the type of BufferedImage of a color model.
+     * @param colorModel : One of COLOR_MODELS.
+     * @return           : The type of the image.
+     * @throws IllegalArgumentException if the color model is unknown.
+     */
+    private static int imageType(String colorModel) {
+        switch (colorModel) {
+            case RGB:     return BufferedImage.TYPE_3BYTE_BGR;
+            case ARGB:    return BufferedImage.TYPE_INT_ARGB;
+            case GRAY:    return BufferedImage.TYPE_BYTE_GRAY;
+            case INDEXED: return BufferedImage.TYPE_BYTE_INDEXED;
+            default:
+                throw new IllegalArgumentException("Unknown color model " + colorModel + ". Supported color models: "
+                        + String.join(", ", COLOR_MODELS) + ".");
+        }
+    }
+
+    /**
+     * Nom          : clamp
+     * Description  : Limits a component to the levels of a byte.
+     * @param value : Component.
+     * @return      : The component between 0 and 255.
+     */
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+    // endregion
+}
@@ -0,0 +1,198 @@
+package Utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class keeps daemon threads alive between the jobs of a long-lived JVM (the Serve
+ *                command), so the engines running a job on several threads (the ranges of the parallel
+ *                Replace, the deflate of a gray PNG, the rows of a black and white conversion) do not
+ *                start and stop their threads for each job. An engine asks for a lane of n threads :
+ *                the tasks of the lane run on the threads of the pool, at most n at the same time, and
+ *                shutting the lane down only cancels and interrupts its own tasks. The threads are
+ *                created when all of them are busy and end after a minute without task, so two lanes
+ *                never wait for each other.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public final class WorkerPool implements AutoCloseable {
+    // region Private Parameters
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService threads;
+    // endregion
+
+    // region Constructor
+
+    /**
+     * Nom          : WorkerPool
+     * Description  : Creates a pool, without any thread until its first task.
+     * @param name  : Name of the threads.
+     */
+    public WorkerPool(String name) {
+        this.threads = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> daemon(runnable, name));
+    }
+    // endregion
+
+    // region Public Method
+
+    /**
+     * Nom            : lane
+     * Description    : Returns an executor running its tasks on the threads of the pool, at most a number
+     *                  of them at the same time.
+     * @param width   : Maximum number of tasks running at the same time.
+     * @return        : The executor, to shut down once its tasks are done.
+     */
+    public ExecutorService lane(int width) {
+        return new Lane(Math.max(1, width));
+    }
+
+    /**
+     * Nom            : executor
+     * Description    : Returns the executor of an engine : a lane of a shared pool, or its own daemon
+     *                  threads when it has no pool.
+     * @param pool    : Shared pool, null to create the threads.
+     * @param name    : Name of the threads created.
+     * @param threads : Maximum number of tasks running at the same time.
+     * @return        : The executor, to shut down once its tasks are done.
+     */
+    public static ExecutorService executor(WorkerPool pool, String name, int threads) {
+        if (pool != null)
+            return pool.lane(threads);
+        return Executors.newFixedThreadPool(threads, runnable -> daemon(runnable, name));
+    }
+
+    /**
+     * Nom          : close
+     * Description  : Stops the threads of the pool, the running tasks are interrupted.
+     */
+    @Override
+    public void close() {
+        threads.shutdownNow();
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom             : daemon
+     * Description     : Creates a daemon thread, which does not keep the JVM running.
+     * @param runnable : Task of the thread.
+     * @param name     : Name of the thread.
+     * @return         : The thread, not started.
+     */
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+    // endregion
+
+    // region Private Class
+
+    /**
+     * Description : Tasks of one engine, queued until one of its width threads is free.
+     */
+    private final class Lane extends AbstractExecutorService {
+        private final int width;
+        private final ArrayDeque<Runnable> queued = new ArrayDeque<>();
+        // Threads of the pool running a task of this lane, interrupted by shutdownNow
+        private final Set<Thread> running = new HashSet<>();
+        // Tasks handed to the pool and not finished
+        private int started;
+        private boolean shutdown;
+
+        private Lane(int width) {
+            this.width = width;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            if (shutdown)
+                throw new RejectedExecutionException("The lane is shut down.");
+            queued.add(task);
+            startQueued();
+        }
+
+        @Override
+        public synchronized void shutdown() {
+            shutdown = true;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> cancelled = new ArrayList<>(queued);
+            queued.clear();
+            for (Thread thread : running)
+                thread.interrupt();
+            notifyAll();
+            return cancelled;
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated() {
+            return shutdown && started == 0;
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated()) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0)
+                    return false;
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+            return true;
+        }
+
+        // Hands the queued tasks to the pool while fewer than width of them run, called with the lock
+        private void startQueued() {
+            while (started < width && !queued.isEmpty()) {
+                Runnable task = queued.poll();
+                ++started;
+                threads.execute(() -> run(task));
+            }
+        }
+
+        private void run(Runnable task) {
+            synchronized (this) {
+                running.add(Thread.currentThread());
+            }
+            try {
+                task.run();
+            } finally {
+                synchronized (this) {
+                    running.remove(Thread.currentThread());
+                    // An interrupt of shutdownNow must not reach the next task of the thread
+                    Thread.interrupted();
+                    --started;
+                    startQueued();
+                    notifyAll();
+                }
+            }
+        }
+    }
+    // endregion
+}
@@ -9,6 +9,11 @@
  *                 - Replace a word : searches for a word in a text file and replaces the first
  *                                    or all occurrences.
  *                 - Convert image to B&W : Converts an image to black and white.
+ *                 - Index a text file : Builds the index used by Replace to search a word
+ *                                       without reading the whole file.
+ *                 - Serve and Client : Keeps the application running to execute the jobs of
+ *                                      the clients without starting a JVM for each one.
+ *                 - Bench : Measures the Replace and Convert commands on generated inputs.
  * @Remarque     : /
  * @Modification : /
  *  -----------------------------------------------------------------------------------
@@ -16,20 +21,75 @@
 
 package ch.heigvd;
 
+import Commands.BenchCommand;
+import Commands.ClientCommand;
 import Commands.ConvertBlackWhiteCommand;
+import Commands.IndexCommand;
 import Commands.ReplaceCommand;
+import Commands.ServeCommand;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import java.util.Arrays;
 
 @Command(name = "CLI",
-         subcommands = {ReplaceCommand.class, ConvertBlackWhiteCommand.class, CommandLine.HelpCommand.class},
-         description = "My CLI app can be used to execute 2 commands. The first is called <Replace> and" +
-                       "the second is called <Convert>. if you need more information on how to use" +
-                       "the 2 commands, you can get more informations by typing :" +
-                       "<Replace -help> or <Convert -help>.")
+         description = "My CLI app can be used to execute 6 commands : <Replace> replaces a word in a text file, " +
+                       "<Convert> converts an image to black and white, <Index> builds the index used by Replace, " +
+                       "<Serve> keeps the application running to execute the jobs sent by <Client>, and <Bench> " +
+                       "measures Replace and Convert on generated inputs. If you need more information on how to " +
+                       "use a command, you can get it by typing : <Replace --help>, <Convert --help> ...")
 public class MyApp {
+    // Names of the subcommands, in the order of the usage help
+    private static final String[] SUBCOMMANDS = {"Replace", "Convert", "Index", "Serve", "Client", "Bench"};
+
     public static void main(String[] args) {
-        int exitCode = new CommandLine(new MyApp()).execute(args);
+        int exitCode = commandLine(args).execute(args);
         System.exit(exitCode);
     }
+
+    /**
+     * Nom          : commandLine
+     * Description  : Creates the command line of the application. When the first argument is the name of a
+     *                subcommand, only this subcommand is created, so a Replace doesn't load the classes of
+     *                the Convert command (image stack) or of the server. Otherwise, all the subcommands
+     *                are created for the usage help.
+     * @param args  : Arguments of the application.
+     * @return      : The command line, ready to execute the arguments.
+     */
+    public static CommandLine commandLine(String... args) {
+        CommandLine commandLine = new CommandLine(new MyApp());
+        String name = args.length > 0 ? args[0] : "";
+        boolean all = !Arrays.asList(SUBCOMMANDS).contains(name);
+
+        for (String subcommand : SUBCOMMANDS)
+            if (all || subcommand.equals(name))
+                commandLine.addSubcommand(subcommand, subcommand(subcommand));
+        if (all)
+            commandLine.addSubcommand("help", new CommandLine.HelpCommand());
+
+        // The "@file" of a batch is the list of its inputs, picocli must not replace it with the lines of the file
+        commandLine.setExpandAtFiles(false);
+        // The arguments after the first positional one are the job sent by the client, with its own options
+        if (commandLine.getSubcommands().containsKey("Client"))
+            commandLine.getSubcommands().get("Client").setStopAtPositional(true);
+        return commandLine;
+    }
+
+    /**
+     * Nom          : subcommand
+     * Description  : Creates a subcommand. A switch is used rather than a list of classes or lambdas, so the
+     *                class of a subcommand is only loaded when it is created.
+     * @param name  : Name of the subcommand.
+     * @return      : The subcommand.
+     */
+    private static Object subcommand(String name) {
+        switch (name) {
+            case "Replace": return new ReplaceCommand();
+            case "Convert": return new ConvertBlackWhiteCommand();
+            case "Index":   return new IndexCommand();
+            case "Serve":   return new ServeCommand();
+            case "Client":  return new ClientCommand();
+            case "Bench":   return new BenchCommand();
+            default:        throw new IllegalArgumentException("Unknown subcommand " + name);
+        }
+    }
 }
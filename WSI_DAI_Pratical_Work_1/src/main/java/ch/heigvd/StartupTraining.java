@@ -0,0 +1,58 @@
+package ch.heigvd;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class is the training run of the class data sharing archive (cds Maven profile).
+ *                It executes the usual invocations of the application (usage help, a small Replace and
+ *                a small Convert) in one JVM started with -XX:ArchiveClassesAtExit, so the classes they
+ *                load are stored in the archive, already parsed and verified, for the next startups.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class StartupTraining {
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createDirectories(Path.of(args.length > 0 ? args[0] : "cds-training"));
+        Path text = Files.writeString(directory.resolve("input.txt"), "one two one three\n".repeat(100));
+        Path textOutput = directory.resolve("output.txt");
+        Files.deleteIfExists(textOutput);
+        Files.createFile(textOutput);
+
+        Path image = directory.resolve("input.png");
+        BufferedImage pixels = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 64; ++y)
+            for (int x = 0; x < 64; ++x)
+                pixels.setRGB(x, y, x * 4 << 16 | y * 4 << 8 | (x + y) * 2);
+        ImageIO.write(pixels, "png", image.toFile());
+
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            run("Replace", "--help");
+            run("Replace", text.toString(), textOutput.toString(), "one", "1");
+            run("Replace", text.toString(), textOutput.toString(), "one", "1", "-ao", "false");
+            run("Convert", image.toString(), directory.resolve("output.png").toString());
+            run("Convert", image.toString(), directory.resolve("output.jpg").toString());
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    /**
+     * Nom          : run
+     * Description  : Executes the application like MyApp.main, without exiting.
+     * @param args  : Arguments of the application.
+     */
+    private static void run(String... args) {
+        MyApp.commandLine(args).execute(args);
+    }
+}
@@ -0,0 +1,112 @@
+import Commands.ConvertBlackWhiteCommand;
+import ch.heigvd.MyApp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the batch mode of the ConvertBlackWhiteCommand
+ *                class, which converts many images with a pipeline.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class BatchConvertTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Nom          : testBatchPipeline
+     * Description  : Tests that every image of a directory is converted to grayscale in the output format,
+     *                and that the files which are not images are skipped.
+     */
+    @Test
+    @DisplayName("Batch conversion pipeline")
+    public void testBatchPipeline() throws IOException {
+        Path input = Files.createDirectories(tempDir.resolve("input").resolve("sub"));
+        Path output = Files.createDirectory(tempDir.resolve("output"));
+        for (int i = 0; i < 20; ++i)
+            ImageIO.write(colorImage(i), "png", input.resolve(i + ".png").toFile());
+        Files.writeString(input.resolve("readme.txt"), "not an image");
+
+        ConvertBlackWhiteCommand convertCommand = new ConvertBlackWhiteCommand();
+        convertCommand.setInputImagePath(tempDir.resolve("input").toString());
+        convertCommand.setOutputImagePath(output.toString());
+        convertCommand.setBatch(true);
+        convertCommand.setFormat("png");
+        convertCommand.run();
+
+        for (int i = 0; i < 20; ++i) {
+            BufferedImage converted = ImageIO.read(output.resolve("sub").resolve(i + ".png").toFile());
+            Color color = new Color(converted.getRGB(3, 2));
+            assertEquals(color.getRed(), color.getGreen(), "The image " + i + " is not grayscale.");
+            assertEquals(color.getGreen(), color.getBlue(), "The image " + i + " is not grayscale.");
+        }
+        assertFalse(Files.exists(output.resolve("sub").resolve("readme.png")), "A file which is not an image was converted");
+    }
+
+    /**
+     * Nom          : testListFile
+     * Description  : Tests that the "@file" of the command line is the list of the images, and that a batch
+     *                whose outputs would overwrite its inputs or each other is refused before anything is
+     *                written.
+     */
+    @Test
+    @DisplayName("Batch conversion of a list given on the command line")
+    public void testListFile() throws IOException {
+        Path input = Files.createDirectory(tempDir.resolve("input"));
+        Path output = Files.createDirectory(tempDir.resolve("output"));
+        ImageIO.write(colorImage(1), "png", input.resolve("a.png").toFile());
+        ImageIO.write(colorImage(2), "jpg", input.resolve("a.jpg").toFile());
+        ImageIO.write(colorImage(3), "png", input.resolve("b.png").toFile());
+        Path list = Files.write(tempDir.resolve("list.txt"), List.of(input.resolve("b.png").toString()));
+
+        executeCommandLine("Convert", "-b", "@" + list, output.toString());
+        assertTrue(Files.exists(output.resolve("b.png")), "The image of the list was not converted");
+
+        // a.png and a.jpg both become a.png, and the input directory is its own output
+        Path collisions = Files.createDirectory(tempDir.resolve("collisions"));
+        executeCommandLine("Convert", "-b", input.toString(), collisions.toString(), "-f", "png");
+        executeCommandLine("Convert", "-b", input.toString(), input.toString());
+        try (Stream<Path> files = Files.list(collisions)) {
+            assertEquals(0, files.count(), "A refused batch wrote its outputs");
+        }
+        assertEquals(colorImage(3).getRGB(0, 0), ImageIO.read(input.resolve("b.png").toFile()).getRGB(0, 0));
+    }
+
+    /**
+     * Nom          : colorImage
+     * Description  : Creates a small image filled with a color depending on its number.
+     * @param seed  : Number of the image.
+     * @return      : The image.
+     */
+    private BufferedImage colorImage(int seed) {
+        BufferedImage image = new BufferedImage(16, 8, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                image.setRGB(x, y, (seed * 40 + x) << 16 | (y * 30) << 8 | 200);
+        return image;
+    }
+
+    /**
+     * Nom          : executeCommandLine
+     * Description  : Executes the arguments like MyApp does, parsed by picocli.
+     * @param args  : Arguments of the application.
+     */
+    private void executeCommandLine(String... args) {
+        MyApp.commandLine(args).execute(args);
+    }
+}
@@ -0,0 +1,159 @@
+import Commands.ReplaceCommand;
+import ch.heigvd.MyApp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the batch mode of the ReplaceCommand class,
+ *                which replaces a word in many files in one run.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class BatchReplaceTest {
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testDirectory
+     * Description  : Tests that every file of a directory tree is replaced in the output directory,
+     *                under the same relative path.
+     */
+    @Test
+    @DisplayName("Batch over a directory")
+    public void testDirectory() throws IOException {
+        Path input = createTree();
+        Path output = Files.createDirectory(tempDir.resolve("output"));
+
+        executeBatch(input.toString(), output);
+
+        for (int i = 0; i < 50; ++i)
+            assertEquals("des noix " + i, Files.readString(output.resolve("sub" + i % 5).resolve(i + ".txt")));
+        assertEquals("des noix", Files.readString(output.resolve("notes.md")));
+    }
+
+    /**
+     * Nom          : testGlob
+     * Description  : Tests that only the files matching the glob are replaced.
+     */
+    @Test
+    @DisplayName("Batch over a glob")
+    public void testGlob() throws IOException {
+        Path input = createTree();
+        Path output = Files.createDirectory(tempDir.resolve("output"));
+
+        executeBatch(input + "/**.txt", output);
+
+        assertEquals("des noix 7", Files.readString(output.resolve("sub2").resolve("7.txt")));
+        assertFalse(Files.exists(output.resolve("notes.md")), "A file not matching the glob was replaced");
+    }
+
+    /**
+     * Nom          : testListFile
+     * Description  : Tests that the "@file" of the command line is the list of the inputs, not a file of
+     *                arguments expanded by picocli, and that a list whose outputs would collide or go out
+     *                of the output directory is refused before anything is written.
+     */
+    @Test
+    @DisplayName("Batch over a list given on the command line")
+    public void testListFile() throws IOException {
+        Path input = createTree();
+        Path output = Files.createDirectory(tempDir.resolve("output"));
+        Path list = Files.write(tempDir.resolve("list.txt"), List.of(input.resolve("sub2").resolve("7.txt").toString(),
+                input.resolve("notes.md").toString()));
+
+        executeCommandLine("Replace", "-b", "@" + list, output.toString(), "fruits", "noix");
+        assertEquals("des noix 7", Files.readString(output.resolve("7.txt")));
+        assertEquals("des noix", Files.readString(output.resolve("notes.md")));
+
+        Path emptyOutput = Files.createDirectory(tempDir.resolve("empty"));
+        Files.write(list, List.of(input.resolve("sub2").resolve("7.txt").toString(),
+                input.resolve("sub1").resolve("6.txt").toString(), input.resolve("sub1").resolve("7.txt").toString()));
+        executeCommandLine("Replace", "-b", "@" + list, emptyOutput.toString(), "fruits", "noix");
+        Files.write(list, List.of("../input.txt"));
+        executeCommandLine("Replace", "-b", "@" + list, emptyOutput.toString(), "fruits", "noix");
+        try (Stream<Path> files = Files.list(emptyOutput)) {
+            assertEquals(0, files.count(), "A refused batch wrote its outputs");
+        }
+    }
+
+    /**
+     * Nom          : testOutputOverInput
+     * Description  : Tests that a batch written over its own inputs is refused without changing them, and that
+     *                an output directory inside the input tree is not read again by the next run.
+     */
+    @Test
+    @DisplayName("Output directory over the input")
+    public void testOutputOverInput() throws IOException {
+        Path input = createTree();
+
+        executeCommandLine("Replace", "-b", input.toString(), input.toString(), "fruits", "noix");
+        assertEquals("des fruits 7", Files.readString(input.resolve("sub2").resolve("7.txt")));
+
+        Path output = Files.createDirectory(input.resolve("output"));
+        executeCommandLine("Replace", "-b", input.toString(), output.toString(), "fruits", "noix");
+        executeCommandLine("Replace", "-b", input.toString(), output.toString(), "fruits", "noix");
+        assertEquals("des noix 7", Files.readString(output.resolve("sub2").resolve("7.txt")));
+        assertFalse(Files.exists(output.resolve("output")), "The outputs of the previous run were replaced again");
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom          : createTree
+     * Description  : Creates 50 text files in 5 sub-directories and one markdown file.
+     * @return      : The root directory of the tree.
+     * @throws IOException if a file cannot be written.
+     */
+    private Path createTree() throws IOException {
+        Path input = tempDir.resolve("input");
+        for (int i = 0; i < 50; ++i) {
+            Path directory = Files.createDirectories(input.resolve("sub" + i % 5));
+            Files.writeString(directory.resolve(i + ".txt"), "des fruits " + i, StandardCharsets.UTF_8);
+        }
+        Files.writeString(input.resolve("notes.md"), "des fruits", StandardCharsets.UTF_8);
+        return input;
+    }
+
+    /**
+     * Nom          : executeCommandLine
+     * Description  : Executes the arguments like MyApp does, parsed by picocli.
+     * @param args  : Arguments of the application.
+     */
+    private void executeCommandLine(String... args) {
+        MyApp.commandLine(args).execute(args);
+    }
+
+    /**
+     * Nom           : executeBatch
+     * Description   : Executes the replace command in batch mode.
+     * @param input  : Directory, glob or @file of the batch.
+     * @param output : Output directory.
+     */
+    private void executeBatch(String input, Path output) {
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(input);
+        replaceCommand.setOutputFilePath(output.toString());
+        replaceCommand.setOldWord("fruits");
+        replaceCommand.setNewWord("noix");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setBatch(true);
+        replaceCommand.run();
+    }
+    // endregion
+}
@@ -0,0 +1,105 @@
+import Commands.BenchCommand;
+import Utils.BenchResult;
+import Utils.Json;
+import Utils.SyntheticCorpus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the Bench command, for the inputs it generates and
+ *                for the percentiles of its results.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class BenchCommandTest {
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testText
+     * Description  : Tests that the text of a seed is always the same, has the asked size and holds the
+     *                number of occurrences given by the density.
+     */
+    @Test
+    @DisplayName("Generated text")
+    public void testText() throws IOException {
+        Path first = tempDir.resolve("first.txt");
+        Path second = tempDir.resolve("second.txt");
+        long occurrences = SyntheticCorpus.writeText(first, 2_000_000, 60, 500, 7);
+        SyntheticCorpus.writeText(second, 2_000_000, 60, 500, 7);
+
+        String text = Files.readString(first);
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        assertEquals(2_000_000, Files.size(first));
+        assertEquals(text.split(SyntheticCorpus.WORD, -1).length - 1, occurrences);
+        assertTrue(Math.abs(occurrences - 1000) <= 1, "Occurrences : " + occurrences);
+    }
+
+    /**
+     * Nom          : testPercentiles
+     * Description  : Tests the percentiles and the throughputs of a result.
+     */
+    @Test
+    @DisplayName("Percentiles of a result")
+    public void testPercentiles() {
+        long[] nanos = new long[100];
+        for (int i = 0; i < nanos.length; ++i)
+            nanos[i] = (100 - i) * 1_000_000L;
+        BenchResult result = new BenchResult("convert", "10x10", 50_000_000, 100_000_000, nanos, 0, -1);
+
+        assertEquals(50_000_000, result.percentile(50));
+        assertEquals(99_000_000, result.percentile(99));
+        assertEquals(100_000_000, result.percentile(100));
+        assertEquals(1000, result.megabytesPerSecond(), 1e-9);
+        assertEquals(2000, result.megapixelsPerSecond(), 1e-9);
+    }
+
+    /**
+     * Nom          : testBench
+     * Description  : Tests that the Bench command measures both workloads and writes their results.
+     */
+    @Test
+    @DisplayName("Bench command")
+    public void testBench() throws IOException {
+        Path json = tempDir.resolve("bench.json");
+        BenchCommand benchCommand = new BenchCommand();
+        benchCommand.setIterations(1, 3);
+        benchCommand.setTextSize(0.5);
+        benchCommand.setImageSize("160x90");
+        benchCommand.setImages(2);
+        benchCommand.setMetricsOutPath(json.toString());
+        benchCommand.run();
+
+        List<?> results = (List<?>) ((Map<?, ?>) Json.parse(Files.readString(json))).get("results");
+        assertEquals(2, results.size());
+        for (Object value : results) {
+            Map<?, ?> result = (Map<?, ?>) value;
+            assertEquals(3L, result.get("iterations"));
+            assertTrue((Long) result.get("p50Nanos") > 0);
+            assertTrue((Long) result.get("p99Nanos") >= (Long) result.get("p50Nanos"));
+        }
+        assertEquals(2L * 160 * 90, ((Map<?, ?>) results.get(1)).get("pixels"));
+
+        // An unknown workload is refused
+        Files.delete(json);
+        benchCommand.setWorkloads(List.of("resize"));
+        benchCommand.run();
+        assertFalse(Files.exists(json));
+    }
+    // endregion
+}
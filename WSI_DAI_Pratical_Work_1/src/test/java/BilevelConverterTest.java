@@ -0,0 +1,152 @@
+import Commands.ConvertBlackWhiteCommand;
+import Convert.BilevelConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the BilevelConverter class, which converts a gray
+ *                image to 1 bit per pixel, and for the 1-bit PNG written by the Convert command.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class BilevelConverterTest {
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testDither
+     * Description  : Tests that the dithering of the rows in parallel gives the pixels of the sequential
+     *                algorithm of Floyd and Steinberg, on rows of several blocks of columns.
+     */
+    @Test
+    @DisplayName("Dithering in parallel")
+    public void testDither() {
+        BufferedImage gray = grayImage(1000, 300);
+        boolean[][] expected = floydSteinberg(gray);
+
+        for (int threads : new int[] {1, 4}) {
+            BufferedImage bilevel = new BilevelConverter(BilevelConverter.DITHER, 0, threads).convert(gray);
+            assertEquals(BufferedImage.TYPE_BYTE_BINARY, bilevel.getType());
+            for (int y = 0; y < gray.getHeight(); ++y)
+                for (int x = 0; x < gray.getWidth(); ++x)
+                    assertEquals(expected[y][x] ? 1 : 0, bilevel.getRaster().getSample(x, y, 0),
+                            threads + " threads, pixel " + x + "," + y);
+        }
+    }
+
+    /**
+     * Nom          : testOtsu
+     * Description  : Tests that the level of Otsu separates the two groups of levels of an image.
+     */
+    @Test
+    @DisplayName("Threshold of Otsu")
+    public void testOtsu() {
+        Random random = new Random(3);
+        BufferedImage gray = new BufferedImage(333, 200, BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < gray.getHeight(); ++y)
+            for (int x = 0; x < gray.getWidth(); ++x)
+                gray.getRaster().setSample(x, y, 0, (x < 100 ? 60 : 180) + random.nextInt(41) - 20);
+
+        BufferedImage bilevel = new BilevelConverter(BilevelConverter.OTSU, 0, 3).convert(gray);
+        for (int y = 0; y < gray.getHeight(); ++y)
+            for (int x = 0; x < gray.getWidth(); ++x)
+                assertEquals(x < 100 ? 0 : 1, bilevel.getRaster().getSample(x, y, 0), "Pixel " + x + "," + y);
+    }
+
+    /**
+     * Nom          : testPngOutput
+     * Description  : Tests that the Convert command writes a PNG of 1 bit per pixel with the pixels of the
+     *                fixed threshold, and refuses a JPEG output.
+     */
+    @Test
+    @DisplayName("PNG of 1 bit")
+    public void testPngOutput() throws IOException {
+        BufferedImage image = new BufferedImage(203, 150, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                image.setRGB(x, y, (x + y) % 256 * 0x010101);
+        File input = tempDir.resolve("input.png").toFile();
+        ImageIO.write(image, "png", input);
+
+        File output = tempDir.resolve("output.png").toFile();
+        ConvertBlackWhiteCommand convertCommand = new ConvertBlackWhiteCommand();
+        convertCommand.setInputImagePath(input.getPath());
+        convertCommand.setOutputImagePath(output.getPath());
+        convertCommand.setBilevel(BilevelConverter.THRESHOLD);
+        convertCommand.setThreshold(100);
+        convertCommand.run();
+
+        // Bit depth of the IHDR chunk
+        assertEquals(1, Files.readAllBytes(output.toPath())[24]);
+        BufferedImage converted = ImageIO.read(output);
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                assertEquals((x + y) % 256 >= 100 ? 0xFFFFFFFF : 0xFF000000, converted.getRGB(x, y), "Pixel " + x + "," + y);
+
+        File jpeg = tempDir.resolve("output.jpg").toFile();
+        convertCommand.setOutputImagePath(jpeg.getPath());
+        convertCommand.run();
+        assertFalse(jpeg.exists());
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom           : floydSteinberg
+     * Description   : Dithers a gray image with the sequential algorithm, the errors times 16.
+     * @param gray   : Gray image.
+     * @return       : true for the white pixels, by row.
+     */
+    private boolean[][] floydSteinberg(BufferedImage gray) {
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+        int[][] errors = new int[height + 1][width + 2];
+        boolean[][] white = new boolean[height][width];
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                int value = gray.getRaster().getSample(x, y, 0) + ((errors[y][x + 1] + 8) >> 4);
+                white[y][x] = value >= 128;
+                int error = value - (white[y][x] ? 255 : 0);
+                errors[y][x + 2] += 7 * error;
+                errors[y + 1][x] += 3 * error;
+                errors[y + 1][x + 1] += 5 * error;
+                errors[y + 1][x + 2] += error;
+            }
+        }
+        return white;
+    }
+
+    /**
+     * Nom           : grayImage
+     * Description   : Creates a gray image of gradients and noise.
+     * @param width  : Width of the image.
+     * @param height : Height of the image.
+     * @return       : The image.
+     */
+    private BufferedImage grayImage(int width, int height) {
+        Random random = new Random(11);
+        BufferedImage gray = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] data = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < data.length; ++i)
+            data[i] = (byte) Math.min(255, i % width * 255 / width + random.nextInt(16));
+        return gray;
+    }
+    // endregion
+}
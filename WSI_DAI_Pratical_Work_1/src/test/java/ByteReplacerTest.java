@@ -0,0 +1,213 @@
+import Commands.ReplaceCommand;
+import Replace.ByteReplacer;
+import Replace.LiteralMatcher;
+import Replace.Replacer;
+import Replace.StreamReplacer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the ByteReplacer class, which searches the encoded
+ *                word directly in the bytes of the input, and for the input encoding of the Replace
+ *                command.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ByteReplacerTest {
+    // region Text
+    // Multi-byte characters around the word, and a word made of multi-byte characters
+    private final String text = "Les fruits sont une merveille, les fruits séchés ou les fruitsfruits !".repeat(50);
+    // endregion
+
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testSameAsCharacterEngine
+     * Description  : Tests that the byte engine writes the same file as the character engine, with matches
+     *                crossing the chunks, for every chunk size and with or without memory mapping.
+     */
+    @Test
+    @DisplayName("Same output as the character engine")
+    public void testSameAsCharacterEngine() throws IOException {
+        for (String word : new String[] {"fruits", "séchés", "s"}) {
+            for (boolean replaceAll : new boolean[] {true, false}) {
+                String expected = replaceAll ? text.replace(word, "noix") : text.replaceFirst(word, "noix");
+                assertEquals(expected, replace(new StreamReplacer(new LiteralMatcher(word, "noix"), replaceAll,
+                        StandardCharsets.UTF_8, StandardCharsets.UTF_8, 16, false)));
+
+                for (int chunkSize = StreamReplacer.MIN_CHUNK_SIZE; chunkSize < 64; ++chunkSize) {
+                    for (boolean memoryMapped : new boolean[] {false, true}) {
+                        assertEquals(expected, replace(new ByteReplacer(word, "noix", replaceAll, StandardCharsets.UTF_8,
+                                chunkSize, memoryMapped)), "Wrong result for " + word + " with chunks of " + chunkSize
+                                + " bytes, mapped : " + memoryMapped);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Nom          : testFirstOccurrenceTail
+     * Description  : Tests that the rest of the file after the only replacement is copied whole, to a file
+     *                and to a channel which is not a file, when the file is read and when it is mapped.
+     */
+    @Test
+    @DisplayName("Rest of the file after the first occurrence")
+    public void testFirstOccurrenceTail() throws IOException {
+        String large = "Une ligne sans le mot.\n".repeat(200) + text + "Fin des fruits.\n".repeat(100_000);
+        Path input = Files.writeString(tempDir.resolve("tail-input.txt"), large);
+        Path output = tempDir.resolve("tail-output.txt");
+        String expected = large.replaceFirst("fruits", "noix");
+
+        for (boolean memoryMapped : new boolean[] {false, true}) {
+            ByteReplacer replacer = new ByteReplacer("fruits", "noix", false, StandardCharsets.UTF_8, 4096, memoryMapped);
+            assertEquals(1, replacer.replace(input, output));
+            assertEquals(expected, Files.readString(output), "Mapped : " + memoryMapped);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+                assertEquals(1, replacer.replace(in, Channels.newChannel(bytes)));
+            }
+            assertEquals(expected, bytes.toString(StandardCharsets.UTF_8), "Mapped : " + memoryMapped);
+        }
+    }
+
+    /**
+     * Nom          : testManyChunks
+     * Description  : Tests a mapped file of 90 000 chunks of the smallest size, more than
+     *                the mappings a process may hold : the windows mapped do not depend on the chunk size.
+     */
+    @Test
+    @DisplayName("Mapped file of many small chunks")
+    public void testManyChunks() throws IOException {
+        String large = text.repeat(400);
+        Path input = Files.writeString(tempDir.resolve("chunks-input.txt"), large);
+        Path output = tempDir.resolve("chunks-output.txt");
+
+        for (boolean replaceAll : new boolean[] {true, false}) {
+            ByteReplacer replacer = new ByteReplacer("fruits", "noix", replaceAll, StandardCharsets.UTF_8,
+                    StreamReplacer.MIN_CHUNK_SIZE, true);
+            replacer.replace(input, output);
+            assertEquals(replaceAll ? large.replace("fruits", "noix") : large.replaceFirst("fruits", "noix"),
+                    Files.readString(output), "Replace all : " + replaceAll);
+        }
+    }
+
+    /**
+     * Nom          : testChunksOfOneWindow
+     * Description  : Tests a mapped window of a million chunks : each chunk only searches its own bytes
+     *                and the start of the next one, instead of the rest of the window, so a file without
+     *                many matches is replaced in linear time. A match across two chunks is still found.
+     */
+    @Test
+    @DisplayName("Search of the chunks of one mapped window")
+    public void testChunksOfOneWindow() throws IOException {
+        byte[] large = new byte[16 * 1024 * 1024];
+        Arrays.fill(large, (byte) 'a');
+        int across = 1000 * StreamReplacer.MIN_CHUNK_SIZE - 3;
+        System.arraycopy("fruits".getBytes(StandardCharsets.US_ASCII), 0, large, across, 6);
+        System.arraycopy("fruits".getBytes(StandardCharsets.US_ASCII), 0, large, large.length - 6, 6);
+        Path input = Files.write(tempDir.resolve("window-input.txt"), large);
+        Path output = tempDir.resolve("window-output.txt");
+
+        ByteReplacer replacer = new ByteReplacer("fruits", "noix", true, StandardCharsets.UTF_8,
+                StreamReplacer.MIN_CHUNK_SIZE, true);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> replacer.replace(input, output));
+        String expected = new String(large, StandardCharsets.US_ASCII).replace("fruits", "noix");
+        assertEquals(expected, Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Nom          : testSupports
+     * Description  : Tests that the byte engine is only used when nothing is transcoded and a byte match is
+     *                a character match.
+     */
+    @Test
+    @DisplayName("Encodings supported by the byte engine")
+    public void testSupports() {
+        Charset latin1 = StandardCharsets.ISO_8859_1;
+        assertTrue(ByteReplacer.supports("séché", StandardCharsets.UTF_8, StandardCharsets.UTF_8));
+        assertTrue(ByteReplacer.supports("séché", latin1, latin1));
+        assertFalse(ByteReplacer.supports("word", StandardCharsets.UTF_8, latin1));
+        // In UTF-16, a byte match may start in the middle of a character
+        assertFalse(ByteReplacer.supports("word", StandardCharsets.UTF_16LE, StandardCharsets.UTF_16LE));
+        assertFalse(ByteReplacer.supports("séché", StandardCharsets.US_ASCII, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Nom          : testInputEncoding
+     * Description  : Tests that the input encoding option decodes a Latin-1 file, transcoded to UTF-8 or
+     *                replaced in its own encoding, and that the malformed bytes are kept by the byte engine.
+     */
+    @Test
+    @DisplayName("Input file encoding")
+    public void testInputEncoding() throws IOException {
+        Path input = Files.write(tempDir.resolve("input.txt"), "café et crème, café".getBytes(StandardCharsets.ISO_8859_1));
+        Path output = Files.createFile(tempDir.resolve("output.txt"));
+
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(input.toString());
+        replaceCommand.setOutputFilePath(output.toString());
+        replaceCommand.setOldWord("café");
+        replaceCommand.setNewWord("thé");
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setInputCharSet("ISO-8859-1");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.run();
+        assertEquals("thé et crème, thé", Files.readString(output, StandardCharsets.UTF_8));
+
+        replaceCommand.setCharSet("ISO-8859-1");
+        replaceCommand.run();
+        assertEquals("thé et crème, thé", Files.readString(output, StandardCharsets.ISO_8859_1));
+
+        // 0xFF is not UTF-8, the byte engine copies it unchanged
+        Files.write(input, new byte[] {'a', (byte) 0xFF, 'b', 'a'});
+        replaceCommand.setInputCharSet("UTF-8");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setOldWord("a");
+        replaceCommand.setNewWord("c");
+        replaceCommand.run();
+        assertArrayEquals(new byte[] {'c', (byte) 0xFF, 'b', 'c'}, Files.readAllBytes(output));
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom             : replace
+     * Description     : Writes the text in a UTF-8 file and replaces it with an engine.
+     * @param replacer : Engine to use.
+     * @return         : Content of the output file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private String replace(Replacer replacer) throws IOException {
+        Path input = Files.writeString(tempDir.resolve("engine-input.txt"), text);
+        Path output = tempDir.resolve("engine-output.txt");
+        replacer.replace(input, output);
+        return Files.readString(output);
+    }
+    // endregion
+}
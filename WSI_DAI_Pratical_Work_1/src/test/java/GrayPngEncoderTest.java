@@ -0,0 +1,105 @@
+import Convert.GrayPngEncoder;
+import Convert.ImageEncoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the GrayPngEncoder class, which deflates the blocks
+ *                of a gray PNG in parallel, and for the compression options of the ImageEncoder class.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class GrayPngEncoderTest {
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testDecodedPixels
+     * Description  : Tests that the PNG written with every level, in one or several threads, is decoded by
+     *                ImageIO with the pixels of the image, and that the threads don't change the file.
+     */
+    @Test
+    @DisplayName("Pixels of the written PNG")
+    public void testDecodedPixels() throws IOException {
+        // Gradients and noise, so every filter is chosen, over several blocks
+        BufferedImage image = new BufferedImage(701, 900, BufferedImage.TYPE_BYTE_GRAY);
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                image.getRaster().setSample(x, y, 0, y % 200 < 100 ? (x + y) & 0xFF : random.nextInt(256));
+
+        for (int level : new int[] {0, 1, 6, 9}) {
+            File sequential = write(image, level, 1, "sequential.png");
+            File parallel = write(image, level, 4, "parallel.png");
+            assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+            assertArrayEquals(pixels(image), pixels(ImageIO.read(parallel)), "Wrong pixels at level " + level);
+        }
+    }
+
+    /**
+     * Nom          : testCompressionOptions
+     * Description  : Tests that a higher PNG level or a lower JPEG quality gives a smaller file.
+     */
+    @Test
+    @DisplayName("PNG level and JPEG quality")
+    public void testCompressionOptions() throws IOException {
+        BufferedImage image = new BufferedImage(300, 200, BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                image.getRaster().setSample(x, y, 0, (x * y) & 0xFF);
+
+        assertTrue(write(image, 9, 2, "small.png").length() < write(image, 0, 2, "large.png").length());
+
+        File low = tempDir.resolve("low.jpg").toFile();
+        File high = tempDir.resolve("high.jpg").toFile();
+        new ImageEncoder(GrayPngEncoder.DEFAULT_LEVEL, 10, 1).write(image, "jpg", low);
+        new ImageEncoder(GrayPngEncoder.DEFAULT_LEVEL, 95, 1).write(image, "jpg", high);
+        assertTrue(low.length() < high.length());
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom            : write
+     * Description    : Writes a gray image as a PNG file.
+     * @param image   : Image to write.
+     * @param level   : Deflate level.
+     * @param threads : Number of threads deflating the blocks.
+     * @param name    : Name of the file in the temporary directory.
+     * @return        : The written file.
+     * @throws IOException if the file cannot be written.
+     */
+    private File write(BufferedImage image, int level, int threads, String name) throws IOException {
+        File file = tempDir.resolve(name).toFile();
+        new ImageEncoder(level, ImageEncoder.DEFAULT_JPEG_QUALITY, threads).write(image, "png", file);
+        return file;
+    }
+
+    /**
+     * Nom          : pixels
+     * Description  : Returns the bytes of a gray image.
+     * @param image : Gray image.
+     * @return      : The bytes of its raster.
+     */
+    private byte[] pixels(BufferedImage image) {
+        return ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+    }
+    // endregion
+}
@@ -0,0 +1,93 @@
+import Convert.GrayscaleConverter;
+import Convert.Luma;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the GrayscaleConverter class, which reads the
+ *                pixels directly from the data buffer of the images.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class GrayscaleConverterTest {
+
+    /**
+     * Nom          : testImageTypes
+     * Description  : Tests that every image layout gives the gray levels of the luma formula with the simd and
+     *                scalar kernels, on an image large enough to be cut in several tiles.
+     */
+    @Test
+    @DisplayName("Grayscale of every image type")
+    public void testImageTypes() {
+        int[] types = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_BGR,
+                BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_USHORT_565_RGB};
+
+        for (String kernel : new String[]{GrayscaleConverter.SIMD, GrayscaleConverter.SCALAR}) {
+            for (Luma luma : Luma.values()) {
+                GrayscaleConverter converter = new GrayscaleConverter(kernel, luma);
+                assertEquals(kernel, converter.getKernelName());
+                for (int type : types) {
+                    // 301 pixels per row, so the simd kernel also has a scalar tail
+                    BufferedImage image = randomImage(301, 500, type);
+                    assertGray(image, converter.convert(image), luma, kernel + ", type " + type + ", " + luma);
+                }
+            }
+        }
+    }
+
+    /**
+     * Nom          : testSubImage
+     * Description  : Tests that a sub-image, which doesn't start at the beginning of its data buffer, is converted.
+     */
+    @Test
+    @DisplayName("Grayscale of a sub-image")
+    public void testSubImage() {
+        GrayscaleConverter converter = new GrayscaleConverter(GrayscaleConverter.SCALAR, Luma.BT709);
+        BufferedImage image = randomImage(64, 48, BufferedImage.TYPE_3BYTE_BGR).getSubimage(5, 7, 40, 30);
+        assertGray(image, converter.convert(image), Luma.BT709, "sub-image");
+    }
+
+    /**
+     * Nom             : assertGray
+     * Description     : Checks every gray level of a converted image.
+     * @param image     : Source image.
+     * @param converted : Grayscale image.
+     * @param luma      : Weights of the components.
+     * @param message   : Description of the case.
+     */
+    private void assertGray(BufferedImage image, BufferedImage converted, Luma luma, String message) {
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, converted.getType(), message);
+        for (int y = 0; y < image.getHeight(); ++y) {
+            for (int x = 0; x < image.getWidth(); ++x) {
+                int argb = image.getRGB(x, y);
+                int expected = luma.gray(argb >> 16 & 0xFF, argb >> 8 & 0xFF, argb & 0xFF);
+                if (image.getColorModel().hasAlpha())
+                    expected = (expected * (argb >>> 24) + 127) / 255;
+                assertEquals(expected, converted.getRaster().getSample(x, y, 0), message + " at " + x + "," + y);
+            }
+        }
+    }
+
+    /**
+     * Nom          : randomImage
+     * Description  : Creates an image of random pixels.
+     * @param width  : Width of the image.
+     * @param height : Height of the image.
+     * @param type   : Type of the image.
+     * @return       : The image.
+     */
+    private BufferedImage randomImage(int width, int height, int type) {
+        Random random = new Random(type);
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x)
+                image.setRGB(x, y, random.nextInt());
+        return image;
+    }
+}
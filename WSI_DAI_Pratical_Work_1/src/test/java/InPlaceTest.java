@@ -0,0 +1,126 @@
+import Commands.ReplaceCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the in-place option of the Replace command : a
+ *                replacement of the same length is patched in the file itself, the others are written
+ *                in a temporary file which takes the place of the file.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class InPlaceTest {
+    // region Text
+    private final String text = "Les fruits sont une merveille, les fruits séchés aussi.\n".repeat(100);
+    // endregion
+
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testPatch
+     * Description  : Tests that a replacement of the same length is written in the file itself, which keeps
+     *                its identity, for all the occurrences or only the first one.
+     */
+    @Test
+    @DisplayName("Patch a replacement of the same length")
+    public void testPatch() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("text.txt"), text);
+        Object key = fileKey(file);
+
+        replaceInPlace(file, "fruits", "LEGUME", "true", false);
+        assertEquals(text.replace("fruits", "LEGUME"), Files.readString(file));
+        assertEquals(key, fileKey(file));
+
+        replaceInPlace(file, "séchés", "râpées", "false", false);
+        assertEquals(text.replace("fruits", "LEGUME").replaceFirst("séchés", "râpées"), Files.readString(file));
+        assertEquals(key, fileKey(file));
+    }
+
+    /**
+     * Nom          : testTemporaryFile
+     * Description  : Tests that a replacement of another length or a regular expression is written in a
+     *                temporary file which replaces the file, and that no temporary file is left.
+     */
+    @Test
+    @DisplayName("Replace through a temporary file")
+    public void testTemporaryFile() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("text.txt"), text);
+        Object key = fileKey(file);
+
+        replaceInPlace(file, "fruits", "noix", "true", false);
+        assertEquals(text.replace("fruits", "noix"), Files.readString(file));
+        assertNotEquals(key, fileKey(file));
+
+        replaceInPlace(file, "n[o]ix", "fruit", "true", true);
+        assertEquals(text.replace("fruits", "fruit"), Files.readString(file));
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    /**
+     * Nom          : testNoMatch
+     * Description  : Tests that a file without the word is not rewritten.
+     */
+    @Test
+    @DisplayName("File without the word")
+    public void testNoMatch() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("text.txt"), text);
+        Object key = fileKey(file);
+
+        replaceInPlace(file, "pommes", "noix", "true", false);
+        assertEquals(text, Files.readString(file));
+        assertEquals(key, fileKey(file));
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom               : replaceInPlace
+     * Description       : Replaces a word in a file with the in-place option.
+     * @param file       : File to replace.
+     * @param oldWord    : Word to search.
+     * @param newWord    : Replacement.
+     * @param replaceAll : "true" to replace all the occurrences.
+     * @param regex      : true if the word is a regular expression.
+     */
+    private void replaceInPlace(Path file, String oldWord, String newWord, String replaceAll, boolean regex) {
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(file.toString());
+        replaceCommand.setOldWord(oldWord);
+        replaceCommand.setNewWord(newWord);
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setReplaceAll(replaceAll);
+        replaceCommand.setRegex(regex);
+        replaceCommand.setInPlace(true);
+        replaceCommand.run();
+    }
+
+    /**
+     * Nom          : fileKey
+     * Description  : Returns the identity of a file (its inode), which changes when another file takes its place.
+     * @param file  : File.
+     * @return      : Key of the file.
+     * @throws IOException if the attributes cannot be read.
+     */
+    private Object fileKey(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+    }
+    // endregion
+}
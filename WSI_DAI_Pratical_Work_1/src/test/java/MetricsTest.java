@@ -0,0 +1,96 @@
+import Commands.ReplaceCommand;
+import Utils.Json;
+import Utils.Metrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the metrics of a command run, written as JSON
+ *                with --metrics-out.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class MetricsTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Nom          : testReplaceMetrics
+     * Description  : Tests that the JSON file of a Replace run has its phases, its counters and their rates.
+     */
+    @Test
+    @DisplayName("Metrics of a Replace run")
+    public void testReplaceMetrics() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), "one two one three one");
+        Path output = Files.createFile(tempDir.resolve("output.txt"));
+        Path metrics = tempDir.resolve("metrics.json");
+
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(input.toString());
+        replaceCommand.setOutputFilePath(output.toString());
+        replaceCommand.setOldWord("one");
+        replaceCommand.setNewWord("1");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setMetricsOutPath(metrics.toString());
+        replaceCommand.run();
+
+        String json = Files.readString(metrics);
+        assertTrue(json.contains("\"command\": \"Replace\""), json);
+        assertTrue(json.contains("{\"name\": \"validate\""), json);
+        assertTrue(json.contains("{\"name\": \"read\""), json);
+        assertTrue(json.contains("{\"name\": \"match-write\""), json);
+        assertTrue(json.contains("\"replacements\": 3"), json);
+        assertTrue(json.contains("\"inputBytes\": 21"), json);
+        assertTrue(json.contains("\"outputBytes\": 15"), json);
+        assertTrue(json.contains("\"replacementsPerSecond\": "), json);
+    }
+
+    /**
+     * Nom          : testAllocationsOfAllThreads
+     * Description  : Tests that the bytes allocated by a worker thread during a phase are counted, and not
+     *                only those of the thread which measures.
+     */
+    @Test
+    @DisplayName("Allocations of all the threads")
+    public void testAllocationsOfAllThreads() throws IOException, InterruptedException {
+        Metrics metrics = new Metrics("Test", true);
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch measured = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            byte[][] blocks = new byte[32][];
+            for (int i = 0; i < blocks.length; ++i)
+                blocks[i] = new byte[1 << 20];
+            allocated.countDown();
+            try {
+                measured.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try (Metrics.Phase phase = metrics.phase("work")) {
+            worker.start();
+            allocated.await();
+        }
+        measured.countDown();
+        worker.join();
+        metrics.finish();
+
+        Map<?, ?> json = (Map<?, ?>) Json.parse(metrics.toJson());
+        assertTrue(List.of("allThreads", "liveThreads").contains(json.get("allocatedBytesScope")), metrics.toJson());
+        Map<?, ?> phase = (Map<?, ?>) ((List<?>) json.get("phases")).get(0);
+        assertTrue(((Number) phase.get("allocatedBytes")).longValue() >= 32L << 20, metrics.toJson());
+    }
+}
@@ -0,0 +1,172 @@
+import Commands.ConvertBlackWhiteCommand;
+import Convert.GrayscaleConverter;
+import Convert.Luma;
+import Convert.OperationChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the operations fused with the grayscale conversion
+ *                (resize, gamma and threshold), on a whole image and by strips.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class OperationChainTest {
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testHalfSize
+     * Description  : Tests that an image resized to half its size has the mean of each block of 2 x 2 gray
+     *                pixels, over several tiles.
+     */
+    @Test
+    @DisplayName("Resize to half the size")
+    public void testHalfSize() {
+        BufferedImage image = randomImage(600, 400);
+        BufferedImage gray = new GrayscaleConverter(GrayscaleConverter.SCALAR, Luma.BT601).convert(image);
+        BufferedImage half = new GrayscaleConverter(GrayscaleConverter.SCALAR, Luma.BT601,
+                new OperationChain(300, 0, 1.0, -1)).convert(image);
+
+        assertEquals(300, half.getWidth());
+        assertEquals(200, half.getHeight());
+        for (int y = 0; y < half.getHeight(); ++y) {
+            for (int x = 0; x < half.getWidth(); ++x) {
+                int sum = 0;
+                for (int i = 0; i < 4; ++i)
+                    sum += gray.getRaster().getSample(2 * x + i % 2, 2 * y + i / 2, 0);
+                assertEquals((sum + 2) / 4, half.getRaster().getSample(x, y, 0), "Pixel " + x + "," + y);
+            }
+        }
+    }
+
+    /**
+     * Nom          : testLevels
+     * Description  : Tests that the gamma and the threshold change each gray level like the formula, and
+     *                that a threshold only gives black and white pixels.
+     */
+    @Test
+    @DisplayName("Gamma and threshold")
+    public void testLevels() {
+        BufferedImage image = randomImage(301, 500);
+        BufferedImage gray = new GrayscaleConverter(GrayscaleConverter.SCALAR, Luma.BT709).convert(image);
+        BufferedImage levels = new GrayscaleConverter(GrayscaleConverter.SCALAR, Luma.BT709,
+                new OperationChain(0, 0, 2.2, 100)).convert(image);
+
+        for (int y = 0; y < image.getHeight(); ++y) {
+            for (int x = 0; x < image.getWidth(); ++x) {
+                double corrected = 255 * Math.pow(gray.getRaster().getSample(x, y, 0) / 255.0, 1 / 2.2);
+                int expected = Math.round(corrected) >= 100 ? 255 : 0;
+                assertEquals(expected, levels.getRaster().getSample(x, y, 0), "Pixel " + x + "," + y);
+            }
+        }
+    }
+
+    /**
+     * Nom          : testStrips
+     * Description  : Tests that the Convert command gives the same resized image with or without strips,
+     *                whose rows cover input rows of two strips.
+     */
+    @Test
+    @DisplayName("Resize by strips")
+    public void testStrips() throws IOException {
+        File input = tempDir.resolve("input.png").toFile();
+        ImageIO.write(randomImage(301, 500), "png", input);
+
+        BufferedImage whole = convert(input, "whole.png", 0);
+        BufferedImage strips = convert(input, "strips.png", 37);
+        assertEquals(157, whole.getWidth());
+        assertEquals(261, whole.getHeight());
+        assertArrayEquals(whole.getRaster().getPixels(0, 0, 157, 261, (int[]) null),
+                strips.getRaster().getPixels(0, 0, 157, 261, (int[]) null));
+    }
+
+    /**
+     * Nom          : testSizes
+     * Description  : Tests the sizes accepted by the resize option.
+     */
+    @Test
+    @DisplayName("Size of the resize")
+    public void testSizes() {
+        assertArrayEquals(new int[] {800, 0}, OperationChain.parseSize("800x"));
+        assertArrayEquals(new int[] {800, 0}, OperationChain.parseSize("800"));
+        assertArrayEquals(new int[] {0, 600}, OperationChain.parseSize("x600"));
+        assertArrayEquals(new int[] {800, 600}, OperationChain.parseSize("800X600"));
+        for (String size : new String[] {"x", "", "0x0", "-5x", "axb", "1x2x3"})
+            assertThrows(IllegalArgumentException.class, () -> OperationChain.parseSize(size), size);
+
+        OperationChain operations = new OperationChain(0, 600, 1.0, -1);
+        assertEquals(800, operations.outputWidth(1600, 1200));
+        assertTrue(new OperationChain(0, 0, 1.0, -1).isIdentity(10, 10));
+    }
+
+    /**
+     * Nom          : testJava2dKernel
+     * Description  : Tests that the java2d kernel, which draws the whole image, refuses the operations
+     *                instead of converting them on a copy of the image.
+     */
+    @Test
+    @DisplayName("Operations refused by the java2d kernel")
+    public void testJava2dKernel() {
+        assertThrows(IllegalArgumentException.class, () -> new GrayscaleConverter(GrayscaleConverter.JAVA2D, Luma.BT601,
+                new OperationChain(100, 0, 1.0, -1)));
+        new GrayscaleConverter(GrayscaleConverter.JAVA2D, Luma.BT601, OperationChain.NONE);
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom                : convert
+     * Description        : Converts an image with the Convert command, resized to 157 pixels wide, with a gamma.
+     * @param input       : Input image.
+     * @param name        : Name of the output in the temporary directory.
+     * @param stripHeight : Number of rows of a strip, 0 to convert the image as a whole.
+     * @return            : The output image.
+     * @throws IOException if the output cannot be read.
+     */
+    private BufferedImage convert(File input, String name, int stripHeight) throws IOException {
+        File output = tempDir.resolve(name).toFile();
+        ConvertBlackWhiteCommand convertCommand = new ConvertBlackWhiteCommand();
+        convertCommand.setInputImagePath(input.getPath());
+        convertCommand.setOutputImagePath(output.getPath());
+        convertCommand.setStripHeight(stripHeight);
+        convertCommand.setResize("157x");
+        convertCommand.setGamma(0.8);
+        convertCommand.run();
+        return ImageIO.read(output);
+    }
+
+    /**
+     * Nom           : randomImage
+     * Description   : Creates an RGB image of random pixels.
+     * @param width  : Width of the image.
+     * @param height : Height of the image.
+     * @return       : The image.
+     */
+    private BufferedImage randomImage(int width, int height) {
+        Random random = new Random(width);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x)
+                image.setRGB(x, y, random.nextInt());
+        return image;
+    }
+    // endregion
+}
@@ -0,0 +1,172 @@
+import Commands.ReplaceCommand;
+import Replace.LiteralMatcher;
+import Replace.MultiWordMatcher;
+import Replace.ParallelReplacer;
+import Replace.StreamReplacer;
+import Replace.WordMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the ParallelReplacer class. The output of
+ *                the parallel engine must be exactly the output of the sequential one.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ParallelReplacerTest {
+    // region Text
+    // About 2 MB, so the file is split into several ranges with words crossing their boundaries
+    private final String text = "Les fruits séchés, les fruits confits et les fruitsfruits ! ".repeat(35_000);
+    // endregion
+
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testAllOccurrences
+     * Description  : Tests that all occurrences are replaced like the sequential engine does.
+     */
+    @Test
+    @DisplayName("Parallel all occurrences")
+    public void testAllOccurrences() throws IOException {
+        assertSameAsSequential(text, new LiteralMatcher("fruits", "noix"), true);
+        assertSameAsSequential(text, new LiteralMatcher("fruitsfruits", "x"), true);
+    }
+
+    /**
+     * Nom          : testMatchOnBoundary
+     * Description  : Tests words placed across the boundaries of the ranges. The file is 4 ranges
+     *                of 300'000 bytes long with 4 threads.
+     */
+    @Test
+    @DisplayName("Parallel match on range boundaries")
+    public void testMatchOnBoundary() throws IOException {
+        int rangeSize = 300_000;
+        StringBuilder input = new StringBuilder("a".repeat(4 * rangeSize));
+        input.replace(rangeSize - 3, rangeSize + 3, "fruits");
+        input.replace(2 * rangeSize - 1, 2 * rangeSize + 5, "fruits");
+        input.replace(3 * rangeSize - 5, 3 * rangeSize + 7, "fruitsfruits");
+
+        assertSameAsSequential(input.toString(), new LiteralMatcher("fruits", "noix"), true);
+        assertSameAsSequential(input.toString(), new LiteralMatcher("sfruit", "-"), true);
+        assertSameAsSequential(input.toString(), new LiteralMatcher("fruits", "noix"), false);
+    }
+
+    /**
+     * Nom          : testFirstOccurrence
+     * Description  : Tests that only the globally first occurrence is replaced, even when it is far
+     *                from the beginning of the file.
+     */
+    @Test
+    @DisplayName("Parallel first occurrence")
+    public void testFirstOccurrence() throws IOException {
+        String input = "a".repeat(1_500_000) + text;
+        assertSameAsSequential(input, new LiteralMatcher("fruits", "noix"), false);
+    }
+
+    /**
+     * Nom          : testMapping
+     * Description  : Tests a mapping with overlapping words in parallel.
+     */
+    @Test
+    @DisplayName("Parallel mapping")
+    public void testMapping() throws IOException {
+        Map<String, String> mapping = new LinkedHashMap<>();
+        mapping.put("fruit", "A");
+        mapping.put("fruitsfruits", "B");
+        mapping.put("s, les", "C");
+        assertSameAsSequential(text, new MultiWordMatcher(mapping), true);
+    }
+
+    /**
+     * Nom          : testOutputEncoding
+     * Description  : Tests that a UTF-16 output, whose encoder writes a byte order mark, has only one mark with
+     *                several threads and is the output of one thread, and that the output charsets with shift
+     *                states are refused.
+     */
+    @Test
+    @DisplayName("Parallel output with a byte order mark")
+    public void testOutputEncoding() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), text, StandardCharsets.UTF_8);
+        Path sequential = Files.createFile(tempDir.resolve("sequential.txt"));
+        Path parallel = Files.createFile(tempDir.resolve("parallel.txt"));
+
+        for (String encoding : new String[] {"UTF-16", "x-UTF-16LE-BOM", "UTF-32"}) {
+            executeReplace(input, sequential, encoding, 1);
+            executeReplace(input, parallel, encoding, 4);
+            assertArrayEquals(Files.readAllBytes(sequential), Files.readAllBytes(parallel),
+                    "The parallel " + encoding + " output differs from the sequential one");
+        }
+
+        assertTrue(ParallelReplacer.supports(StandardCharsets.UTF_8, StandardCharsets.UTF_16));
+        assertFalse(ParallelReplacer.supports(StandardCharsets.UTF_8, Charset.forName("ISO-2022-JP")));
+        assertFalse(ParallelReplacer.supports(StandardCharsets.UTF_16, StandardCharsets.UTF_8));
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom                : assertSameAsSequential
+     * Description        : Runs both engines on the same input and compares their outputs.
+     * @param input       : Text of the input file.
+     * @param matcher     : Matcher of the word to replace.
+     * @param replaceAll  : true to replace all occurrences.
+     * @throws IOException if an I/O error occurs while reading or writing files.
+     */
+    private void assertSameAsSequential(String input, WordMatcher matcher, boolean replaceAll) throws IOException {
+        Path inputFile = tempDir.resolve("input.txt");
+        Path sequentialFile = tempDir.resolve("sequential.txt");
+        Path parallelFile = tempDir.resolve("parallel.txt");
+        Files.writeString(inputFile, input, StandardCharsets.UTF_8);
+
+        long expected = new StreamReplacer(matcher.copy(), replaceAll, StandardCharsets.UTF_8, StandardCharsets.UTF_8,
+                StreamReplacer.DEFAULT_CHUNK_SIZE, false).replace(inputFile, sequentialFile);
+        long replacements = new ParallelReplacer(matcher.copy(), replaceAll, StandardCharsets.UTF_8, StandardCharsets.UTF_8,
+                StreamReplacer.DEFAULT_CHUNK_SIZE, 4).replace(inputFile, parallelFile);
+
+        assertEquals(expected, replacements, "Not the same number of replacements");
+        assertArrayEquals(Files.readAllBytes(sequentialFile), Files.readAllBytes(parallelFile),
+                "The parallel output differs from the sequential one");
+    }
+
+    /**
+     * Nom             : executeReplace
+     * Description     : Replaces all the occurrences with the Replace command, by chunks of 4096 bytes.
+     * @param input    : Input file, in UTF-8.
+     * @param output   : Output file.
+     * @param encoding : Encoding of the output file.
+     * @param threads  : Number of threads.
+     */
+    private void executeReplace(Path input, Path output, String encoding, int threads) {
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(input.toString());
+        replaceCommand.setOutputFilePath(output.toString());
+        replaceCommand.setOldWord("fruits");
+        replaceCommand.setNewWord("noix");
+        replaceCommand.setInputCharSet("UTF-8");
+        replaceCommand.setCharSet(encoding);
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setBufferSize(4096);
+        replaceCommand.setThreads(threads);
+        replaceCommand.run();
+    }
+    // endregion
+}
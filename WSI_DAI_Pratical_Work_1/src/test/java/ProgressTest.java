@@ -0,0 +1,200 @@
+import Commands.ConvertBlackWhiteCommand;
+import Commands.ReplaceCommand;
+import Utils.Json;
+import Utils.Progress;
+import Utils.SyntheticCorpus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the progress reports : the counter updated by
+ *                several threads, the JSON lines of the reporter and the progress of the Replace and
+ *                Convert commands, printed on System.err.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ProgressTest {
+    @TempDir
+    Path tempDir;
+
+    private PrintStream stderr;
+    private ByteArrayOutputStream err;
+
+    @BeforeEach
+    public void redirect() {
+        stderr = System.err;
+        err = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(err, true));
+    }
+
+    @AfterEach
+    public void restore() {
+        System.setErr(stderr);
+    }
+
+    // region Test functions
+
+    /**
+     * Nom          : testConcurrentAdds
+     * Description  : Tests that the units added by several threads are all counted, and that a progress
+     *                which was never started prints nothing.
+     */
+    @Test
+    @DisplayName("Units added by several threads")
+    public void testConcurrentAdds() throws InterruptedException {
+        ByteArrayOutputStream reports = new ByteArrayOutputStream();
+        Progress progress = new Progress("Replace", Progress.BYTES, Progress.TEXT, 1000, new PrintStream(reports, true));
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; ++i)
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 100_000; ++j)
+                    progress.add(1);
+            }));
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        progress.close();
+
+        assertEquals(400_000, progress.getDone());
+        assertEquals(0, reports.size());
+    }
+
+    /**
+     * Nom          : testJsonLines
+     * Description  : Tests that the reporter prints a JSON line after each interval and a last line with
+     *                the whole work when it is closed.
+     */
+    @Test
+    @DisplayName("JSON lines of the reporter")
+    public void testJsonLines() throws IOException, InterruptedException {
+        ByteArrayOutputStream reports = new ByteArrayOutputStream();
+        try (Progress progress = new Progress("Convert", Progress.IMAGES, Progress.JSON, 5, new PrintStream(reports, true))) {
+            progress.setTotal(10);
+            progress.start();
+            for (int i = 0; i < 10; ++i) {
+                progress.add(1);
+                Thread.sleep(5);
+            }
+        }
+
+        List<Map<?, ?>> lines = jsonLines(reports.toString(StandardCharsets.UTF_8));
+        assertTrue(lines.size() >= 2, "Lines : " + lines.size());
+        Map<?, ?> last = lines.get(lines.size() - 1);
+        assertEquals("images", last.get("unit"));
+        assertEquals(10L, last.get("done"));
+        assertEquals(10L, last.get("total"));
+        assertEquals(true, last.get("last"));
+        assertEquals(false, lines.get(0).get("last"));
+    }
+
+    /**
+     * Nom          : testReplaceProgress
+     * Description  : Tests that every engine of the Replace command reports all the bytes of the input,
+     *                sequentially, memory-mapped and with several threads, and that a wrong mode is refused.
+     */
+    @Test
+    @DisplayName("Progress of the Replace command")
+    public void testReplaceProgress() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        Path output = tempDir.resolve("output.txt");
+        SyntheticCorpus.writeText(input, 3_000_000, 60, 500, 3);
+        Files.createFile(output);
+
+        for (int variant = 0; variant < 4; ++variant) {
+            err.reset();
+            ReplaceCommand replaceCommand = new ReplaceCommand();
+            replaceCommand.setInputFilePath(input.toString());
+            replaceCommand.setOutputFilePath(output.toString());
+            replaceCommand.setOldWord(SyntheticCorpus.WORD);
+            replaceCommand.setNewWord("juice");
+            replaceCommand.setCharSet(variant == 3 ? "UTF-16" : "UTF-8");
+            replaceCommand.setReplaceAll("true");
+            replaceCommand.setMemoryMap(variant == 1);
+            replaceCommand.setThreads(variant == 2 ? 3 : 1);
+            replaceCommand.setProgress(Progress.JSON);
+            replaceCommand.run();
+
+            List<Map<?, ?>> lines = jsonLines(err.toString(StandardCharsets.UTF_8));
+            Map<?, ?> last = lines.get(lines.size() - 1);
+            assertEquals(3_000_000L, last.get("done"), "Variant " + variant);
+            assertEquals(3_000_000L, last.get("total"), "Variant " + variant);
+        }
+
+        err.reset();
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(input.toString());
+        replaceCommand.setOutputFilePath(output.toString());
+        replaceCommand.setOldWord(SyntheticCorpus.WORD);
+        replaceCommand.setNewWord("juice");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setProgress("xml");
+        replaceCommand.run();
+        assertTrue(err.toString(StandardCharsets.UTF_8).startsWith("Error: Unknown progress mode xml."));
+    }
+
+    /**
+     * Nom          : testConvertProgress
+     * Description  : Tests that the batch Convert command reports each image of the batch.
+     */
+    @Test
+    @DisplayName("Progress of a batch of images")
+    public void testConvertProgress() throws IOException {
+        Path input = Files.createDirectory(tempDir.resolve("images"));
+        Path output = Files.createDirectory(tempDir.resolve("gray"));
+        for (int i = 0; i < 3; ++i)
+            SyntheticCorpus.writeImage(input.resolve("image" + i + ".png"), "png", 64, 48, SyntheticCorpus.RGB, i);
+
+        ConvertBlackWhiteCommand convertCommand = new ConvertBlackWhiteCommand();
+        convertCommand.setInputImagePath(input.toString());
+        convertCommand.setOutputImagePath(output.toString());
+        convertCommand.setBatch(true);
+        convertCommand.setFormat("png");
+        convertCommand.setProgress(Progress.TEXT);
+        convertCommand.run();
+
+        String[] lines = err.toString(StandardCharsets.UTF_8).split("\\R");
+        String last = lines[lines.length - 1];
+        assertTrue(last.startsWith("Convert : 3 images / 3 images (100.0 %)"), last);
+        assertFalse(last.contains("ETA"));
+    }
+    // endregion
+
+    // region Private Method
+
+    /**
+     * Nom          : jsonLines
+     * Description  : Parses the JSON lines of the progress reports.
+     * @param text  : Reports, one JSON object per line.
+     * @return      : The parsed objects.
+     * @throws IOException if a line is not valid JSON.
+     */
+    private List<Map<?, ?>> jsonLines(String text) throws IOException {
+        List<Map<?, ?>> lines = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            if (line.startsWith("{"))
+                lines.add((Map<?, ?>) Json.parse(line));
+        }
+        return lines;
+    }
+    // endregion
+}
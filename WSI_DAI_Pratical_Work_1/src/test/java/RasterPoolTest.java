@@ -0,0 +1,137 @@
+import Commands.ConvertBlackWhiteCommand;
+import Convert.RasterPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the RasterPool class, which recycles the images of
+ *                a batch, and for the batch conversion into recycled images.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class RasterPoolTest {
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testRecycle
+     * Description  : Tests that a released image is given back for its size and layout only, and that the
+     *                statistics count it.
+     */
+    @Test
+    @DisplayName("Recycled images")
+    public void testRecycle() {
+        RasterPool pool = new RasterPool(1 << 20);
+        ImageTypeSpecifier rgb = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_3BYTE_BGR);
+        BufferedImage image = pool.acquire(rgb, 100, 50);
+        assertEquals(BufferedImage.TYPE_3BYTE_BGR, image.getType());
+        pool.release(image);
+
+        assertNotSame(image, pool.acquire(rgb, 50, 100));
+        assertNotSame(image, pool.acquireGray(100, 50));
+        assertSame(image, pool.acquire(rgb, 100, 50));
+        assertEquals(1, pool.getHits());
+        assertEquals(4, pool.getAcquires());
+        assertEquals(15000, pool.getRecycledBytes());
+
+        // A sub-image shares the pixels of its image
+        pool.release(image.getSubimage(0, 0, 10, 10));
+        assertEquals(0, pool.getPooledBytes());
+    }
+
+    /**
+     * Nom          : testBound
+     * Description  : Tests that the pool drops the images of the layouts used the least recently when it is
+     *                full.
+     */
+    @Test
+    @DisplayName("Size of the pool")
+    public void testBound() {
+        RasterPool pool = new RasterPool(25000);
+        BufferedImage first = pool.acquireGray(100, 100);
+        BufferedImage second = pool.acquireGray(100, 120);
+        BufferedImage third = pool.acquireGray(100, 130);
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertEquals(25000, pool.getPooledBytes());
+        assertNotSame(first, pool.acquireGray(100, 100));
+        assertSame(third, pool.acquireGray(100, 130));
+        pool.release(pool.acquireGray(200, 200));
+        assertEquals(12000, pool.getPooledBytes());
+    }
+
+    /**
+     * Nom          : testBatch
+     * Description  : Tests that a batch of images of the same size gives the same outputs with and without
+     *                the pool, so a recycled image keeps none of the pixels of the previous one.
+     */
+    @Test
+    @DisplayName("Batch with recycled images")
+    public void testBatch() throws IOException {
+        Path input = Files.createDirectories(tempDir.resolve("input"));
+        Random random = new Random(5);
+        for (int i = 0; i < 12; ++i) {
+            BufferedImage image = new BufferedImage(120, 80, i % 3 == 0 ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < image.getHeight(); ++y)
+                for (int x = 0; x < image.getWidth(); ++x)
+                    image.setRGB(x, y, random.nextInt());
+            ImageIO.write(image, "png", input.resolve(i + ".png").toFile());
+        }
+
+        Path pooled = convertBatch(input, "pooled", 64);
+        Path allocated = convertBatch(input, "allocated", 0);
+        for (int i = 0; i < 12; ++i) {
+            BufferedImage expected = ImageIO.read(allocated.resolve(i + ".png").toFile());
+            BufferedImage actual = ImageIO.read(pooled.resolve(i + ".png").toFile());
+            assertArrayEquals(expected.getRaster().getPixels(0, 0, 120, 80, (int[]) null),
+                    actual.getRaster().getPixels(0, 0, 120, 80, (int[]) null), "Image " + i);
+        }
+        assertTrue(Files.readString(tempDir.resolve("pooled.json")).contains("\"poolHits\""));
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom             : convertBatch
+     * Description     : Converts a directory of images with the Convert command.
+     * @param input    : Directory of the input images.
+     * @param name     : Name of the output directory and of the metrics in the temporary directory.
+     * @param poolSize : Size of the raster pool in megabytes.
+     * @return         : The output directory.
+     * @throws IOException if the output directory cannot be created.
+     */
+    private Path convertBatch(Path input, String name, long poolSize) throws IOException {
+        Path output = Files.createDirectories(tempDir.resolve(name));
+        ConvertBlackWhiteCommand convertCommand = new ConvertBlackWhiteCommand();
+        convertCommand.setInputImagePath(input.toString());
+        convertCommand.setOutputImagePath(output.toString());
+        convertCommand.setBatch(true);
+        convertCommand.setFormat("png");
+        convertCommand.setRasterPoolSize(poolSize);
+        convertCommand.setMetricsOutPath(tempDir.resolve(name + ".json").toString());
+        convertCommand.run();
+        return output;
+    }
+    // endregion
+}
@@ -0,0 +1,138 @@
+import Commands.ConvertBlackWhiteCommand;
+import Commands.ReplaceCommand;
+import Utils.ResultCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the cache of the outputs (--cache-dir) : hits and
+ *                misses of the commands and eviction of the least recently used entries.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ResultCacheTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Nom          : testReplaceHit
+     * Description  : Tests that a file replaced a second time with the same words is copied from the cache,
+     *                with its number of replacements, and that other words are a miss.
+     */
+    @Test
+    @DisplayName("Replace copied from the cache")
+    public void testReplaceHit() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), "one two one three one");
+        Path output = Files.createFile(tempDir.resolve("output.txt"));
+        Path metrics = tempDir.resolve("metrics.json");
+
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(input.toString());
+        replaceCommand.setOutputFilePath(output.toString());
+        replaceCommand.setOldWord("one");
+        replaceCommand.setNewWord("1");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setCacheDir(tempDir.resolve("cache").toString());
+        replaceCommand.setMetricsOutPath(metrics.toString());
+        replaceCommand.run();
+        assertTrue(Files.readString(metrics).contains("\"cacheMisses\": 1"), Files.readString(metrics));
+
+        Files.writeString(output, "");
+        replaceCommand.run();
+        String json = Files.readString(metrics);
+        assertTrue(json.contains("\"cacheHits\": 1") && json.contains("\"replacements\": 3"), json);
+        assertEquals("1 two 1 three 1", Files.readString(output));
+
+        replaceCommand.setNewWord("I");
+        replaceCommand.run();
+        assertTrue(Files.readString(metrics).contains("\"cacheMisses\": 1"), Files.readString(metrics));
+        assertEquals("I two I three I", Files.readString(output));
+    }
+
+    /**
+     * Nom          : testConvertBatchHit
+     * Description  : Tests that a batch converted a second time is copied from the cache, with the same
+     *                output images.
+     */
+    @Test
+    @DisplayName("Batch conversion copied from the cache")
+    public void testConvertBatchHit() throws IOException {
+        Path input = Files.createDirectory(tempDir.resolve("input"));
+        Path output = Files.createDirectory(tempDir.resolve("output"));
+        Path metrics = tempDir.resolve("metrics.json");
+        for (int i = 0; i < 5; ++i) {
+            BufferedImage image = new BufferedImage(16, 8, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(i, 1, 0xFF8040);
+            ImageIO.write(image, "png", input.resolve(i + ".png").toFile());
+        }
+
+        ConvertBlackWhiteCommand convertCommand = new ConvertBlackWhiteCommand();
+        convertCommand.setInputImagePath(input.toString());
+        convertCommand.setOutputImagePath(output.toString());
+        convertCommand.setBatch(true);
+        convertCommand.setFormat("png");
+        convertCommand.setCacheDir(tempDir.resolve("cache").toString());
+        convertCommand.setMetricsOutPath(metrics.toString());
+        convertCommand.run();
+        byte[] first = Files.readAllBytes(output.resolve("3.png"));
+        assertTrue(Files.readString(metrics).contains("\"cacheMisses\": 5"), Files.readString(metrics));
+
+        Files.delete(output.resolve("3.png"));
+        convertCommand.run();
+        String json = Files.readString(metrics);
+        assertTrue(json.contains("\"cacheHits\": 5") && json.contains("\"pixels\": 640"), json);
+        assertArrayEquals(first, Files.readAllBytes(output.resolve("3.png")));
+    }
+
+    /**
+     * Nom          : testEviction
+     * Description  : Tests that the least recently used entries are deleted when the cache is too large, a
+     *                restored entry being used again.
+     */
+    @Test
+    @DisplayName("Eviction of the least recently used entries")
+    public void testEviction() throws Exception {
+        ResultCache cache = new ResultCache(tempDir.resolve("cache"), 100);
+        Path output = tempDir.resolve("output");
+        Path[] inputs = new Path[3];
+        for (int i = 0; i < inputs.length; ++i)
+            inputs[i] = Files.writeString(tempDir.resolve("input" + i), ("input " + i).repeat(5));
+
+        for (int i = 0; i < 2; ++i) {
+            int items = i;
+            cache.apply(inputs[i], output, List.of("test"), () -> {
+                Files.writeString(output, "x".repeat(40));
+                return items;
+            });
+        }
+        // The first entry becomes the most recently used, so the second is evicted by the third
+        assertEquals(0, cache.restore(cache.key(inputs[0], List.of("test")), output));
+        cache.apply(inputs[2], output, List.of("test"), () -> {
+            Files.writeString(output, "x".repeat(40));
+            return 2;
+        });
+
+        assertEquals(80, cache.getSize());
+        assertEquals(-1, cache.restore(cache.key(inputs[1], List.of("test")), output));
+        assertEquals(2, cache.restore(cache.key(inputs[2], List.of("test")), output));
+
+        // The order survives a new cache on the same directory
+        ResultCache reopened = new ResultCache(tempDir.resolve("cache"), 100);
+        assertEquals(80, reopened.getSize());
+        assertEquals(0, reopened.restore(reopened.key(inputs[0], List.of("test")), output));
+    }
+}
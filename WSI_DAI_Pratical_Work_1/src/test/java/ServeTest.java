@@ -0,0 +1,118 @@
+import Commands.ClientCommand;
+import Commands.ServeCommand;
+import Utils.SyntheticCorpus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the Serve command, with jobs read on the standard
+ *                input and jobs sent by the Client command on a Unix domain socket.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class ServeTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Nom          : testJsonLines
+     * Description  : Tests that each JSON line is executed by the same server and answered with its output,
+     *                and that an invalid line is answered with an error.
+     */
+    @Test
+    @DisplayName("Jobs read as JSON lines")
+    public void testJsonLines() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), "one two one");
+        Path output = Files.createFile(tempDir.resolve("output.txt"));
+        String job = "{\"args\": [\"Replace\", \"" + input + "\", \"" + output + "\", \"one\", \"%s\"]}\n";
+
+        StringWriter answers = new StringWriter();
+        new ServeCommand().serve(new BufferedReader(new StringReader(String.format(job, "1") + "not a job\n"
+                + String.format(job, "3"))), new PrintWriter(answers));
+
+        String[] lines = answers.toString().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"exitCode\": 0,") && lines[0].contains("successful"), lines[0]);
+        assertTrue(lines[1].startsWith("{\"exitCode\": 2,") && lines[1].contains("Error: Invalid JSON"), lines[1]);
+        assertTrue(lines[2].startsWith("{\"exitCode\": 0,"), lines[2]);
+        assertEquals("3 two 3", Files.readString(output));
+    }
+
+    /**
+     * Nom          : testSocket
+     * Description  : Tests that the Client command sends its job to the server on a socket, gets the exit
+     *                code of the job, and stops the server.
+     */
+    @Test
+    @DisplayName("Jobs sent by the client on a socket")
+    public void testSocket() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), "one two one");
+        Path output = Files.createFile(tempDir.resolve("output.txt"));
+        Path socket = tempDir.resolve("server.sock");
+
+        ServeCommand serveCommand = new ServeCommand();
+        serveCommand.setSocketPath(socket.toString());
+        Thread server = new Thread(serveCommand);
+        server.start();
+        for (int i = 0; i < 100 && !Files.exists(socket); ++i)
+            Thread.sleep(50);
+
+        assertEquals(0, client("-s", socket.toString(), "Replace", input.toString(), output.toString(), "one", "1",
+                "-ao", "false"));
+        assertEquals("1 two one", Files.readString(output));
+        assertEquals(2, client("-s", socket.toString(), "Replace", "--unknown-option"));
+
+        assertEquals(0, client("-s", socket.toString(), "--stop"));
+        server.join(5000);
+        assertFalse(server.isAlive());
+        assertFalse(Files.exists(socket));
+    }
+
+    /**
+     * Nom          : testSharedWorkers
+     * Description  : Tests that the parallel Replace jobs run on the threads of the server, kept between the
+     *                jobs, instead of starting their own threads.
+     */
+    @Test
+    @DisplayName("Threads of the jobs kept by the server")
+    public void testSharedWorkers() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        Path output = Files.createFile(tempDir.resolve("output.txt"));
+        SyntheticCorpus.writeText(input, 1_000_000, 60, 500, 3);
+        String job = "{\"args\": [\"Replace\", \"" + input + "\", \"" + output + "\", \"" + SyntheticCorpus.WORD
+                + "\", \"juice\", \"-t\", \"3\"]}\n";
+
+        StringWriter answers = new StringWriter();
+        new ServeCommand().serve(new BufferedReader(new StringReader(job + job)), new PrintWriter(answers));
+
+        for (String line : answers.toString().split("\\R"))
+            assertTrue(line.startsWith("{\"exitCode\": 0,"), line);
+        assertEquals(Files.readString(input).replace(SyntheticCorpus.WORD, "juice"), Files.readString(output));
+        assertTrue(Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> thread.getName().equals("serve-worker")));
+    }
+
+    /**
+     * Nom          : client
+     * Description  : Executes the Client command like MyApp does.
+     * @param args  : Arguments of the client.
+     * @return      : Exit code of the client.
+     */
+    private static int client(String... args) {
+        return new CommandLine(new ClientCommand()).setStopAtPositional(true).execute(args);
+    }
+}
@@ -0,0 +1,123 @@
+import Commands.ConvertBlackWhiteCommand;
+import Commands.ReplaceCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the standard input and output ("-") of the Replace
+ *                and Convert commands : the data is read from System.in and written to System.out,
+ *                and the messages of the commands are printed on System.err.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class StandardStreamsTest {
+    @TempDir
+    Path tempDir;
+
+    private InputStream stdin;
+    private PrintStream stdout;
+    private PrintStream stderr;
+    private ByteArrayOutputStream out;
+    private ByteArrayOutputStream err;
+
+    @BeforeEach
+    public void redirect() {
+        stdin = System.in;
+        stdout = System.out;
+        stderr = System.err;
+        out = new ByteArrayOutputStream();
+        err = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true));
+        System.setErr(new PrintStream(err, true));
+    }
+
+    @AfterEach
+    public void restore() {
+        System.setIn(stdin);
+        System.setOut(stdout);
+        System.setErr(stderr);
+    }
+
+    /**
+     * Nom          : testReplacePipe
+     * Description  : Tests that the standard input is replaced into the standard output, with the messages
+     *                on the standard error, and that a file can be replaced into the standard output.
+     */
+    @Test
+    @DisplayName("Replace from the standard input to the standard output")
+    public void testReplacePipe() throws IOException {
+        // Longer than the buffer, so a match crosses two chunks of the input
+        String text = "one two one three\n".repeat(10);
+        System.setIn(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath("-");
+        replaceCommand.setOutputFilePath("-");
+        replaceCommand.setOldWord("one");
+        replaceCommand.setNewWord("1");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setBufferSize(16);
+        replaceCommand.run();
+
+        assertEquals(text.replace("one", "1"), out.toString(StandardCharsets.UTF_8));
+        assertTrue(err.toString().contains("The Replace command was successful!"), err.toString());
+
+        out.reset();
+        replaceCommand.setInputFilePath(Files.writeString(tempDir.resolve("input.txt"), "one two").toString());
+        replaceCommand.run();
+        assertEquals("1 two", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Nom          : testConvertPipe
+     * Description  : Tests that an image read on the standard input is converted and written on the standard
+     *                output in the format option, also by strips, and that the format is required.
+     */
+    @Test
+    @DisplayName("Convert from the standard input to the standard output")
+    public void testConvertPipe() throws IOException {
+        BufferedImage image = new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(3, 4, 0xFF8040);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        ConvertBlackWhiteCommand convertCommand = new ConvertBlackWhiteCommand();
+        convertCommand.setInputImagePath("-");
+        convertCommand.setOutputImagePath("-");
+        convertCommand.run();
+        assertTrue(err.toString().contains("--format"), err.toString());
+
+        for (int stripHeight : new int[] {0, 3}) {
+            out.reset();
+            System.setIn(new ByteArrayInputStream(png.toByteArray()));
+            convertCommand.setFormat("png");
+            convertCommand.setStripHeight(stripHeight);
+            convertCommand.run();
+
+            BufferedImage gray = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+            assertEquals(20, gray.getWidth());
+            assertEquals(10, gray.getHeight());
+            // 0.299 * 255 + 0.587 * 128 + 0.114 * 64
+            assertEquals(159, gray.getRaster().getSample(3, 4, 0));
+        }
+    }
+}
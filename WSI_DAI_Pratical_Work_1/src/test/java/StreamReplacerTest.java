@@ -0,0 +1,202 @@
+import Replace.LiteralMatcher;
+import Replace.MultiWordMatcher;
+import Replace.RegexMatcher;
+import Replace.StreamReplacer;
+import Replace.WordMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the StreamReplacer class, which replaces
+ *                the occurrences of a word chunk by chunk.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class StreamReplacerTest {
+    // region Text
+    // One line without any line break, with multi-byte characters around the word
+    private final String text = "Les fruits sont une merveille, les fruits séchés ou les fruitsfruits !".repeat(50);
+    // endregion
+
+    @TempDir
+    Path tempDir;
+
+    // region Test functions
+
+    /**
+     * Nom          : testMatchesAcrossChunks
+     * Description  : Tests that the occurrences crossing the boundary of two chunks are replaced,
+     *                for every chunk size and with or without memory mapping.
+     */
+    @Test
+    @DisplayName("Matches across chunk boundaries")
+    public void testMatchesAcrossChunks() throws IOException {
+        String expected = text.replace("fruits", "noix");
+
+        for (int chunkSize = StreamReplacer.MIN_CHUNK_SIZE; chunkSize < 64; ++chunkSize) {
+            assertEquals(expected, replace(text, literal("fruits", "noix"), true, chunkSize, false),
+                    "Wrong result with chunks of " + chunkSize + " bytes");
+            assertEquals(expected, replace(text, literal("fruits", "noix"), true, chunkSize, true),
+                    "Wrong result with mapped chunks of " + chunkSize + " bytes");
+        }
+    }
+
+    /**
+     * Nom          : testManyMappedChunks
+     * Description  : Tests a mapped file of 90 000 chunks of the smallest size, more than the mappings a
+     *                process may hold : the chunks are views of large mapped windows.
+     */
+    @Test
+    @DisplayName("Mapped file of many small chunks")
+    public void testManyMappedChunks() throws IOException {
+        String large = text.repeat(400);
+        assertEquals(large.replace("fruits", "noix"),
+                replace(large, literal("fruits", "noix"), true, StreamReplacer.MIN_CHUNK_SIZE, true));
+    }
+
+    /**
+     * Nom          : testFirstOccurrence
+     * Description  : Tests that only the first occurrence is replaced and the rest is copied unchanged.
+     */
+    @Test
+    @DisplayName("First occurrence only")
+    public void testFirstOccurrence() throws IOException {
+        String expected = text.replaceFirst("fruits", "noix");
+        assertEquals(expected, replace(text, literal("fruits", "noix"), false, StreamReplacer.MIN_CHUNK_SIZE, false));
+    }
+
+    /**
+     * Nom          : testLineBreaksKept
+     * Description  : Tests that the line breaks of the input are written unchanged.
+     */
+    @Test
+    @DisplayName("Line breaks kept")
+    public void testLineBreaksKept() throws IOException {
+        String input = "fruits\r\nfruits\n\nfruits";
+        assertEquals("noix\r\nnoix\n\nnoix", replace(input, literal("fruits", "noix"), true, 16, false));
+    }
+
+    /**
+     * Nom          : testLiteralMetacharacters
+     * Description  : Tests that a word containing regex metacharacters is searched as it is by default.
+     */
+    @Test
+    @DisplayName("Literal metacharacters")
+    public void testLiteralMetacharacters() throws IOException {
+        String input = "price: 5.00$ or 5x00$ ?";
+        assertEquals("price: five or 5x00$ ?", replace(input, literal("5.00$", "five"), true, 16, false));
+    }
+
+    /**
+     * Nom          : testRegexAcrossChunks
+     * Description  : Tests a regular expression with groups whose matches cross the chunk boundaries.
+     */
+    @Test
+    @DisplayName("Regex across chunk boundaries")
+    public void testRegexAcrossChunks() throws IOException {
+        String expected = text.replaceAll("(fruit)s+", "[$1]");
+
+        for (int chunkSize = StreamReplacer.MIN_CHUNK_SIZE; chunkSize < 64; ++chunkSize) {
+            assertEquals(expected, replace(text, new RegexMatcher("(fruit)s+", "[$1]", chunkSize), true, chunkSize, false),
+                    "Wrong result with chunks of " + chunkSize + " bytes");
+        }
+    }
+
+    /**
+     * Nom          : testMappingLeftmostLongest
+     * Description  : Tests a mapping with overlapping words : the match starting first wins, then the
+     *                longest one, whatever the chunk boundaries.
+     */
+    @Test
+    @DisplayName("Mapping leftmost-longest")
+    public void testMappingLeftmostLongest() throws IOException {
+        Map<String, String> mapping = new LinkedHashMap<>();
+        mapping.put("fruit", "A");
+        mapping.put("fruits", "B");
+        mapping.put("its s", "C");
+        mapping.put("séché", "D");
+        mapping.put("s", "E");
+        String expected = replaceLeftmostLongest(text, mapping);
+
+        for (int chunkSize = StreamReplacer.MIN_CHUNK_SIZE; chunkSize < 64; ++chunkSize) {
+            assertEquals(expected, replace(text, new MultiWordMatcher(mapping), true, chunkSize, false),
+                    "Wrong result with chunks of " + chunkSize + " bytes");
+        }
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom             : replaceLeftmostLongest
+     * Description     : Reference implementation of the mapping replacement, trying every word at every index.
+     * @param input    : Text to process.
+     * @param mapping  : Words and their replacement.
+     * @return         : Text with the words replaced.
+     */
+    private String replaceLeftmostLongest(String input, Map<String, String> mapping) {
+        StringBuilder result = new StringBuilder();
+        int i = 0;
+
+        while (i < input.length()) {
+            String longest = null;
+            for (String word : mapping.keySet()) {
+                if (input.startsWith(word, i) && (longest == null || word.length() > longest.length()))
+                    longest = word;
+            }
+
+            if (longest == null) {
+                result.append(input.charAt(i++));
+            } else {
+                result.append(mapping.get(longest));
+                i += longest.length();
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Nom                : literal
+     * Description        : Creates a literal matcher.
+     * @param oldWord     : Word to replace in the text.
+     * @param newWord     : New word that will replace the old word.
+     * @return            : The matcher.
+     */
+    private WordMatcher literal(String oldWord, String newWord) {
+        return new LiteralMatcher(oldWord, newWord);
+    }
+
+    /**
+     * Nom                : replace
+     * Description        : Writes the text in a file, runs the engine on it and reads back the output.
+     * @param input       : Text of the input file.
+     * @param matcher     : Matcher of the word to replace.
+     * @param replaceAll  : true to replace all occurrences.
+     * @param chunkSize   : Size of the chunks.
+     * @param memoryMap   : true to map the input file.
+     * @return            : Content of the output file.
+     * @throws IOException if an I/O error occurs while reading or writing files.
+     */
+    private String replace(String input, WordMatcher matcher, boolean replaceAll,
+                           int chunkSize, boolean memoryMap) throws IOException {
+        Path inputFile = tempDir.resolve("input.txt");
+        Path outputFile = tempDir.resolve("output.txt");
+        Files.writeString(inputFile, input, StandardCharsets.UTF_8);
+
+        new StreamReplacer(matcher, replaceAll, StandardCharsets.UTF_8, StandardCharsets.UTF_8,
+                chunkSize, memoryMap).replace(inputFile, outputFile);
+        return Files.readString(outputFile, StandardCharsets.UTF_8);
+    }
+    // endregion
+}
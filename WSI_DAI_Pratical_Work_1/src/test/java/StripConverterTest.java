@@ -0,0 +1,56 @@
+import Convert.GrayscaleConverter;
+import Convert.Luma;
+import Convert.StripConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the StripConverter class, which converts an
+ *                image strip by strip.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class StripConverterTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Nom          : testStrips
+     * Description  : Tests that an image converted by strips, whose height is not a multiple of the strip
+     *                height, is the same as the image converted as a whole.
+     */
+    @Test
+    @DisplayName("Conversion by strips")
+    public void testStrips() throws IOException {
+        Random random = new Random(7);
+        BufferedImage image = new BufferedImage(123, 301, BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                image.setRGB(x, y, random.nextInt());
+        File input = tempDir.resolve("input.png").toFile();
+        ImageIO.write(image, "png", input);
+
+        GrayscaleConverter converter = new GrayscaleConverter(GrayscaleConverter.SCALAR, Luma.BT601);
+        BufferedImage expected = converter.convert(image);
+        File output = tempDir.resolve("output.png").toFile();
+        new StripConverter(converter, 50).convert(input, output, "png");
+
+        BufferedImage converted = ImageIO.read(output);
+        assertEquals(image.getWidth(), converted.getWidth());
+        assertEquals(image.getHeight(), converted.getHeight());
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x)
+                assertEquals(expected.getRaster().getSample(x, y, 0), converted.getRaster().getSample(x, y, 0), "Pixel " + x + "," + y);
+    }
+}
@@ -0,0 +1,197 @@
+import Commands.IndexCommand;
+import Commands.ReplaceCommand;
+import Replace.ByteReplacer;
+import Replace.WordIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the index of a text file (Index command) and for
+ *                the Replace command using it, and for the count option of the Replace command.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class WordIndexTest {
+    // region Text
+    // A rare word (framboise), a frequent one (les) and multi-byte characters
+    private final String text = ("Les fruits sont une merveille, les fruits séchés aussi.\n".repeat(40)
+            + "Une framboise.\n").repeat(20) + "framboise";
+    // endregion
+
+    @TempDir
+    Path tempDir;
+
+    private PrintStream stdout;
+    private ByteArrayOutputStream out;
+
+    @BeforeEach
+    public void redirect() {
+        stdout = System.out;
+        out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true));
+    }
+
+    @AfterEach
+    public void restore() {
+        System.setOut(stdout);
+    }
+
+    // region Test functions
+
+    /**
+     * Nom          : testIndexedSearch
+     * Description  : Tests that the candidates of the index give the same output and count as a scan,
+     *                for all the occurrences or only the first one.
+     */
+    @Test
+    @DisplayName("Same output with the index as with a scan")
+    public void testIndexedSearch() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), text);
+        Path index = tempDir.resolve("input.idx");
+        WordIndex.build(input, index);
+        WordIndex wordIndex = WordIndex.open(input, index);
+        assertNotNull(wordIndex);
+
+        for (String word : new String[] {"framboise", "les", "séchés", "fruits s", "absent"}) {
+            for (boolean replaceAll : new boolean[] {true, false}) {
+                String expected = replaceAll ? text.replace(word, "X") : text.replaceFirst(word, "X");
+                ByteReplacer replacer = new ByteReplacer(word, "X", replaceAll, StandardCharsets.UTF_8, 64, false);
+                Path output = tempDir.resolve("output.txt");
+
+                try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                     FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE,
+                             StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    long replacements = replacer.replace(in, channel, wordIndex);
+                    assertEquals(replacements, replacer.count(in, wordIndex));
+                }
+                assertEquals(expected, Files.readString(output), "Wrong result for " + word);
+            }
+        }
+        assertTrue(new ByteReplacer("framboise", "X", true, StandardCharsets.UTF_8, 64, false).isSelective(wordIndex));
+        assertFalse(new ByteReplacer("les", "X", true, StandardCharsets.UTF_8, 64, false).isSelective(wordIndex));
+    }
+
+    /**
+     * Nom          : testRuns
+     * Description  : Tests that an index built in many runs, with a few kilobytes of memory, is the same
+     *                file as an index built in memory.
+     */
+    @Test
+    @DisplayName("Index built in runs")
+    public void testRuns() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), text.repeat(20));
+        Path inMemory = tempDir.resolve("memory.idx");
+        Path inRuns = tempDir.resolve("runs.idx");
+
+        long offsets = WordIndex.build(input, inMemory);
+        assertEquals(offsets, WordIndex.build(input, inRuns, 4096));
+        assertEquals(-1, Files.mismatch(inMemory, inRuns));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(3, files.count(), "The runs file must be deleted");
+        }
+    }
+
+    /**
+     * Nom          : testValidation
+     * Description  : Tests that the index is used while the file keeps its content, also when it is touched,
+     *                and ignored when the file changed, by the Replace command too.
+     */
+    @Test
+    @DisplayName("Index of a changed file")
+    public void testValidation() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), text);
+        IndexCommand indexCommand = new IndexCommand();
+        indexCommand.setInputFilePath(input.toString());
+        indexCommand.run();
+        Path index = WordIndex.defaultPath(input);
+        assertTrue(out.toString().contains("The Index command was successful!"), out.toString());
+
+        Path output = Files.createFile(tempDir.resolve("output.txt"));
+        Files.setLastModifiedTime(input, FileTime.fromMillis(0));
+        assertNotNull(WordIndex.open(input, index));
+        replaceCommand(input, output, "framboise", false).run();
+        assertEquals(text.replace("framboise", "fraise"), Files.readString(output));
+
+        String changed = text.replace("Une framboise", "Des framboise");
+        Files.writeString(input, changed);
+        assertNull(WordIndex.open(input, index));
+        replaceCommand(input, output, "framboise", false).run();
+        assertEquals(changed.replace("framboise", "fraise"), Files.readString(output));
+    }
+
+    /**
+     * Nom          : testCount
+     * Description  : Tests that the count option prints the occurrences without writing the output, with
+     *                and without the index.
+     */
+    @Test
+    @DisplayName("Count the occurrences")
+    public void testCount() throws IOException {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), text);
+        Path output = tempDir.resolve("output.txt");
+
+        for (boolean indexed : new boolean[] {false, true}) {
+            if (indexed)
+                WordIndex.build(input, WordIndex.defaultPath(input));
+
+            out.reset();
+            replaceCommand(input, output, "framboise", true).run();
+            assertTrue(out.toString().contains("Occurrences : 21"), out.toString());
+            assertFalse(Files.exists(output));
+
+            // Without the output file and the new word
+            out.reset();
+            ReplaceCommand replaceCommand = replaceCommand(input, null, "séchés", true);
+            replaceCommand.setNewWord(null);
+            replaceCommand.setReplaceAll("false");
+            replaceCommand.run();
+            assertTrue(out.toString().contains("Occurrences : 1"), out.toString());
+        }
+    }
+    // endregion
+
+    // region Private function
+
+    /**
+     * Nom           : replaceCommand
+     * Description   : Creates a Replace command of a word by "fraise".
+     * @param input  : Input file.
+     * @param output : Output file, null if it is not given.
+     * @param word   : Word to replace.
+     * @param count  : true to only count the occurrences.
+     * @return       : The command.
+     */
+    private ReplaceCommand replaceCommand(Path input, Path output, String word, boolean count) {
+        ReplaceCommand replaceCommand = new ReplaceCommand();
+        replaceCommand.setInputFilePath(input.toString());
+        replaceCommand.setOutputFilePath(output == null ? null : output.toString());
+        replaceCommand.setOldWord(word);
+        replaceCommand.setNewWord("fraise");
+        replaceCommand.setCharSet("UTF-8");
+        replaceCommand.setReplaceAll("true");
+        replaceCommand.setCount(count);
+        return replaceCommand;
+    }
+    // endregion
+}
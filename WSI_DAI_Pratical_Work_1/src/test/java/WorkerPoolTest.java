@@ -0,0 +1,83 @@
+import Utils.WorkerPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -----------------------------------------------------------------------------------
+ * @author      : Slimani Walid
+ * @date        : 18.10.2026
+ * @Description : This class contains unit tests for the pool of threads kept between the jobs of the
+ *                Serve command.
+ * -----------------------------------------------------------------------------------
+ **/
+
+public class WorkerPoolTest {
+
+    /**
+     * Nom          : testLaneWidth
+     * Description  : Tests that a lane runs all its tasks, never more than its width at the same time.
+     */
+    @Test
+    @DisplayName("Tasks of a lane limited to its width")
+    public void testLaneWidth() throws InterruptedException, ExecutionException {
+        try (WorkerPool pool = new WorkerPool("test-worker")) {
+            ExecutorService lane = pool.lane(3);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < 30; ++i)
+                tasks.add(lane.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(2);
+                    running.decrementAndGet();
+                    return null;
+                }));
+            for (Future<?> task : tasks)
+                task.get();
+            lane.shutdown();
+
+            assertTrue(lane.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(3, maxRunning.get());
+        }
+    }
+
+    /**
+     * Nom          : testShutdownNow
+     * Description  : Tests that shutting a lane down interrupts its running tasks and cancels its queued
+     *                ones, without stopping the threads of the pool for the other lanes.
+     */
+    @Test
+    @DisplayName("Lane shut down while its tasks run")
+    public void testShutdownNow() throws InterruptedException, ExecutionException {
+        try (WorkerPool pool = new WorkerPool("test-worker")) {
+            ExecutorService lane = pool.lane(1);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            lane.execute(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            });
+            lane.execute(() -> { });
+            started.await();
+
+            assertEquals(1, lane.shutdownNow().size());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            assertTrue(lane.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(42, pool.lane(2).submit(() -> 42).get());
+        }
+    }
+}